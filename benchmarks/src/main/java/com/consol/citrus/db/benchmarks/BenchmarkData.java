@@ -0,0 +1,90 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.benchmarks;
+
+import com.consol.citrus.db.driver.data.Row;
+import com.consol.citrus.db.driver.dataset.DataSet;
+import com.consol.citrus.db.driver.dataset.DataSetBuilder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Generates the data sets used by the benchmarks.
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Creates a row with the given number of columns named {@code column0} to {@code columnN},
+     * alternating between numeric and text values.
+     * @param rowIndex The index of the row, used to vary the values between rows
+     * @param columnCount The number of columns
+     * @return The row
+     */
+    static Row row(final int rowIndex, final int columnCount) {
+        final Map<String, Object> values = new LinkedHashMap<>();
+        for (int column = 0; column < columnCount; column++) {
+            values.put(columnName(column), column % 2 == 0 ? rowIndex * columnCount + column : "value-" + rowIndex);
+        }
+        return new Row(values);
+    }
+
+    /**
+     * Creates a data set with the given number of rows and columns.
+     * @param rowCount The number of rows
+     * @param columnCount The number of columns
+     * @return The data set
+     */
+    static DataSet dataSet(final int rowCount, final int columnCount) {
+        final DataSetBuilder builder = new DataSetBuilder();
+        for (int row = 0; row < rowCount; row++) {
+            builder.add(row(row, columnCount));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Creates a json array with the given number of rows and columns as read by the json data set producer.
+     * @param rowCount The number of rows
+     * @param columnCount The number of columns
+     * @return The json document
+     */
+    static String json(final int rowCount, final int columnCount) {
+        final StringBuilder json = new StringBuilder("[");
+        for (int row = 0; row < rowCount; row++) {
+            json.append(row > 0 ? ",{" : "{");
+            for (int column = 0; column < columnCount; column++) {
+                json.append(column > 0 ? "," : "").append('"').append(columnName(column)).append("\":");
+                if (column % 2 == 0) {
+                    json.append(row * columnCount + column);
+                } else {
+                    json.append("\"value-").append(row).append('"');
+                }
+            }
+            json.append('}');
+        }
+        return json.append(']').toString();
+    }
+
+    static String columnName(final int column) {
+        return "column" + column;
+    }
+}
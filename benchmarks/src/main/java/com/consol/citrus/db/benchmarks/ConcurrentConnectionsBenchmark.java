@@ -0,0 +1,149 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.benchmarks;
+
+import com.consol.citrus.db.server.JdbcServer;
+import com.consol.citrus.db.server.JdbcServerConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of many connections querying the same {@link JdbcServer} concurrently, one connection per
+ * benchmark thread. Compares the http transport, where each pending request occupies a socket of its own,
+ * with the HTTP/2 transport multiplexing all connections as streams over one socket, the binary tcp transport
+ * multiplexing them over a few sockets and the in process transport without any socket at all.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class ConcurrentConnectionsBenchmark {
+
+    private static final String QUERY = "SELECT * FROM benchmark";
+    private static final String IN_PROCESS_NAME = "benchmark";
+
+    @State(Scope.Benchmark)
+    public static class Server {
+
+        @Param({"http", "h2c", "tcp", "inproc"})
+        private String transport;
+
+        @Param({"1", "100"})
+        private int rowCount;
+
+        private JdbcServer server;
+        private String url;
+
+        /** Connections of all threads, closed before the server stops */
+        private final Queue<Connection> connections = new ConcurrentLinkedQueue<>();
+
+        @Setup(Level.Trial)
+        public void setup() throws IOException {
+            final JdbcServerConfiguration configuration = new JdbcServerConfiguration();
+            configuration.setPort(findFreePort());
+            configuration.setTcpPort(findFreePort());
+            configuration.setInProcessName(IN_PROCESS_NAME);
+            configuration.setHttp2("h2c".equals(transport));
+
+            server = new JdbcServer(configuration);
+            server.when().statement().executeQuery(QUERY).thenReturn(BenchmarkData.dataSet(rowCount, 5));
+            server.startAndAwaitInitialization();
+
+            switch (transport) {
+                case "h2c":
+                    url = "jdbc:citrus:h2c://localhost:" + configuration.getPort() + "/benchmark";
+                    break;
+                case "tcp":
+                    url = "jdbc:citrus:tcp://localhost:" + configuration.getTcpPort() + "/benchmark";
+                    break;
+                case "inproc":
+                    url = "jdbc:citrus:inproc:" + IN_PROCESS_NAME;
+                    break;
+                default:
+                    url = "jdbc:citrus:http://localhost:" + configuration.getPort() + "/benchmark";
+            }
+        }
+
+        Connection connect() throws SQLException {
+            final Connection connection = DriverManager.getConnection(url);
+            connections.add(connection);
+            return connection;
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws SQLException {
+            for (final Connection connection : connections) {
+                connection.close();
+            }
+            server.stop();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+
+        private Connection connection;
+
+        @Setup(Level.Trial)
+        public void setup(final Server server) throws SQLException {
+            connection = server.connect();
+        }
+    }
+
+    @Benchmark
+    public void executeQuery(final Client client, final Blackhole blackhole) throws SQLException {
+        try (final Statement statement = client.connection.createStatement();
+             final ResultSet resultSet = statement.executeQuery(QUERY)) {
+            while (resultSet.next()) {
+                blackhole.consume(resultSet.getObject(1));
+            }
+        }
+    }
+
+    private static int findFreePort() throws IOException {
+        try (final ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
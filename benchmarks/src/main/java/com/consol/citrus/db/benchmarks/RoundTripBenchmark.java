@@ -0,0 +1,110 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.benchmarks;
+
+import com.consol.citrus.db.server.JdbcServer;
+import com.consol.citrus.db.server.JdbcServerConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full round trip of a query from {@link DriverManager} through the http transport to a {@link JdbcServer}
+ * running in the same process and back, including reading all values of the result set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoundTripBenchmark {
+
+    private static final String QUERY = "SELECT * FROM benchmark";
+
+    @Param({"1", "100", "1000"})
+    private int rowCount;
+
+    @Param({"5", "20"})
+    private int columnCount;
+
+    @Param({"false", "true"})
+    private boolean resultStreaming;
+
+    private JdbcServer server;
+    private Connection connection;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, SQLException {
+        final JdbcServerConfiguration configuration = new JdbcServerConfiguration();
+        configuration.setPort(findFreePort());
+
+        server = new JdbcServer(configuration);
+        server.when().statement().executeQuery(QUERY).thenReturn(BenchmarkData.dataSet(rowCount, columnCount));
+        server.startAndAwaitInitialization();
+
+        final Properties properties = new Properties();
+        properties.setProperty("citrus.db.result.streaming", String.valueOf(resultStreaming));
+        connection = DriverManager.getConnection("jdbc:citrus:localhost:" + configuration.getPort(), properties);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+        server.stop();
+    }
+
+    @Benchmark
+    public void executeQuery(final Blackhole blackhole) throws SQLException {
+        try (final Statement statement = connection.createStatement();
+             final ResultSet resultSet = statement.executeQuery(QUERY)) {
+            while (resultSet.next()) {
+                for (int column = 1; column <= columnCount; column++) {
+                    blackhole.consume(resultSet.getObject(column));
+                }
+            }
+        }
+    }
+
+    private static int findFreePort() throws IOException {
+        try (final ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
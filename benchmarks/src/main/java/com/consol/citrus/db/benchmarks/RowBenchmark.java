@@ -0,0 +1,75 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.benchmarks;
+
+import com.consol.citrus.db.driver.data.Row;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Access of all values of a row by column index and by column name, as done by result sets reading a row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowBenchmark {
+
+    @Param({"5", "20", "100"})
+    private int columnCount;
+
+    private Row row;
+    private String[] columnNames;
+
+    @Setup
+    public void setup() {
+        row = BenchmarkData.row(1, columnCount);
+        columnNames = new String[columnCount];
+        for (int column = 0; column < columnCount; column++) {
+            columnNames[column] = BenchmarkData.columnName(column);
+        }
+    }
+
+    @Benchmark
+    public void getValueByIndex(final Blackhole blackhole) {
+        for (int column = 0; column < columnCount; column++) {
+            blackhole.consume(row.getValue(column));
+        }
+    }
+
+    @Benchmark
+    public void getValueByName(final Blackhole blackhole) {
+        for (final String columnName : columnNames) {
+            blackhole.consume(row.getValue(columnName));
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.benchmarks;
+
+import com.consol.citrus.db.driver.exchange.DatabaseResult;
+import com.consol.citrus.db.server.builder.RuleBasedControllerBuilder;
+import com.consol.citrus.db.server.controller.RuleBasedController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Lookup of the rule matching a query in a rule based controller holding a growing number of rules.
+ * The matching rule is the last one registered, so that a linear rule evaluation shows up as growing latency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RuleMatchingBenchmark {
+
+    /** Kind of rules registered */
+    public enum RuleType {
+        STATEMENT, PATTERN
+    }
+
+    @Param({"10", "100", "1000", "10000"})
+    private int ruleCount;
+
+    @Param({"STATEMENT", "PATTERN"})
+    private RuleType ruleType;
+
+    private RuleBasedController controller;
+    private String query;
+
+    @Setup
+    public void setup() {
+        controller = new RuleBasedController();
+        final RuleBasedControllerBuilder rules = new RuleBasedControllerBuilder(controller);
+
+        for (int i = 0; i < ruleCount; i++) {
+            final String statement = "SELECT * FROM table" + i + " WHERE id = 1";
+            if (ruleType == RuleType.STATEMENT) {
+                rules.statement().executeQuery(statement).thenReturn(BenchmarkData.dataSet(1, 5));
+            } else {
+                rules.statement().executeQuery(Pattern.compile("SELECT \\* FROM table" + i + " WHERE .*"))
+                        .thenReturn(BenchmarkData.dataSet(1, 5));
+            }
+        }
+
+        query = "SELECT * FROM table" + (ruleCount - 1) + " WHERE id = 1";
+    }
+
+    @Benchmark
+    public DatabaseResult executeQuery() {
+        return controller.executeQuery(query);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.benchmarks;
+
+import com.consol.citrus.db.driver.exchange.PreparedStatementCall;
+import com.consol.citrus.db.driver.exchange.StatementParameter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Composition of the statement string of a prepared statement, as done by the statement composer of the driver
+ * for every execution of a prepared statement without server side handle.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatementComposerBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int parameterCount;
+
+    private String statement;
+    private List<StatementParameter> parameters;
+
+    @Setup
+    public void setup() {
+        final StringJoiner placeholders = new StringJoiner(", ", "INSERT INTO benchmark VALUES (", ")");
+        parameters = new ArrayList<>(parameterCount);
+        for (int i = 1; i <= parameterCount; i++) {
+            placeholders.add("?");
+            parameters.add(StatementParameter.indexed(i, i % 2 == 0 ? i : "value-" + i));
+        }
+        statement = placeholders.toString();
+    }
+
+    @Benchmark
+    public String composeStatement() {
+        return new PreparedStatementCall(statement, parameters).getComposedStatement();
+    }
+}
@@ -21,16 +21,10 @@ import com.consol.citrus.db.driver.data.CitrusClob;
 import com.consol.citrus.db.driver.statement.JdbcCallableStatement;
 import com.consol.citrus.db.driver.statement.JdbcPreparedStatement;
 import com.consol.citrus.db.driver.statement.JdbcStatement;
-import org.apache.http.HttpResponse;
-import org.apache.http.HttpStatus;
+import com.consol.citrus.db.driver.transport.HttpTransport;
+import com.consol.citrus.db.driver.transport.JdbcTransport;
 import org.apache.http.client.HttpClient;
-import org.apache.http.client.methods.HttpUriRequest;
-import org.apache.http.client.methods.RequestBuilder;
-import org.apache.http.client.utils.HttpClientUtils;
-import org.apache.http.entity.StringEntity;
-import org.apache.http.util.EntityUtils;
 
-import java.io.IOException;
 import java.sql.Array;
 import java.sql.Blob;
 import java.sql.CallableStatement;
@@ -53,9 +47,20 @@ import java.util.concurrent.Executor;
 
 public class JdbcConnection implements Connection {
 
-    /** Http remote client */
-    private final HttpClient httpClient;
-    private final String serverUrl;
+    /** Header identifying the server session of a connection */
+    public static final String SESSION_HEADER = "Citrus-Db-Session";
+
+    /** SQL state of errors caused by a session the server does not know (anymore), e.g. after idle eviction */
+    public static final String UNKNOWN_SESSION_STATE = "08003";
+
+    /** Transport carrying the operations of this connection to the server */
+    private final JdbcTransport transport;
+
+    /** Whether query results are decoded lazily from the open response stream */
+    private final boolean resultStreaming;
+
+    /** The id of the server session, null if the server does not support sessions */
+    private final String sessionId;
 
     /** Indicates that this connection is closed */
     private boolean closed = false;
@@ -66,44 +71,57 @@ public class JdbcConnection implements Connection {
      * @param serverUrl Thr url of the server
      */
     JdbcConnection(final HttpClient httpClient, final String serverUrl) {
-        this.httpClient = httpClient;
-        this.serverUrl = serverUrl;
+        this(httpClient, serverUrl, false);
     }
 
-    @Override
-    public Statement createStatement() throws SQLException {
-        HttpResponse response = null;
-        try {
-            response = httpClient.execute(RequestBuilder.get(serverUrl + "/statement")
-                    .build());
+    /**
+     * Constructor using remote connection reference and result streaming setting.
+     * @param httpClient The http client to use for the db communication
+     * @param serverUrl Thr url of the server
+     * @param resultStreaming Whether query results should be streamed instead of being read into memory
+     */
+    JdbcConnection(final HttpClient httpClient, final String serverUrl, final boolean resultStreaming) {
+        this(httpClient, serverUrl, resultStreaming, null);
+    }
+
+    /**
+     * Constructor using remote connection reference, result streaming setting and server session.
+     * @param httpClient The http client to use for the db communication
+     * @param serverUrl Thr url of the server
+     * @param resultStreaming Whether query results should be streamed instead of being read into memory
+     * @param sessionId The id of the server session all requests of this connection are bound to, may be null
+     */
+    JdbcConnection(final HttpClient httpClient,
+                   final String serverUrl,
+                   final boolean resultStreaming,
+                   final String sessionId) {
+        this(new HttpTransport(httpClient, serverUrl, resultStreaming), resultStreaming, sessionId);
+    }
 
-            if (HttpStatus.SC_OK != response.getStatusLine().getStatusCode()) {
-                throw new SQLException("Failed to create statement: " + EntityUtils.toString(response.getEntity()));
-            }
+    /**
+     * Constructor using the transport to the server and the server session.
+     * @param transport The transport carrying the operations of this connection
+     * @param resultStreaming Whether query results should be streamed instead of being read into memory
+     * @param sessionId The id of the server session all operations of this connection are bound to, may be null
+     */
+    JdbcConnection(final JdbcTransport transport, final boolean resultStreaming, final String sessionId) {
+        this.transport = transport;
+        this.resultStreaming = resultStreaming;
+        this.sessionId = sessionId;
+    }
 
-            return new JdbcStatement(httpClient, serverUrl, this);
-        } catch (final IOException e) {
-            throw new SQLException(e);
-        } finally {
-            HttpClientUtils.closeQuietly(response);
-        }
+    @Override
+    public Statement createStatement() throws SQLException {
+        transport.createStatement(sessionId);
+        return new JdbcStatement(transport, this);
     }
 
     @Override
     public void close() throws SQLException {
-        HttpResponse response = null;
         try {
-            response = httpClient.execute(RequestBuilder.delete(serverUrl + "/connection")
-                    .build());
-
-            if (HttpStatus.SC_OK != response.getStatusLine().getStatusCode()) {
-                throw new SQLException("Failed to close connection: " + EntityUtils.toString(response.getEntity()));
-            }
-        } catch (final IOException e) {
-            throw new SQLException(e);
+            transport.closeConnection(sessionId);
         } finally {
             closed = true;
-            HttpClientUtils.closeQuietly(response);
         }
     }
 
@@ -114,81 +132,22 @@ public class JdbcConnection implements Connection {
 
     @Override
     public void setAutoCommit(final boolean autoCommit) throws SQLException {
-        HttpResponse response = null;
-        try {
-            final HttpUriRequest request = RequestBuilder
-                    .post(serverUrl + "/connection/transaction")
-                    .setEntity(new StringEntity(String.valueOf(!autoCommit)))
-                    .build();
-            response = httpClient.execute(request);
-
-            if (HttpStatus.SC_OK != response.getStatusLine().getStatusCode()) {
-                throw new SQLException("Failed to transmit auto commit value: " +
-                        EntityUtils.toString(response.getEntity()));
-            }
-        } catch (final IOException e) {
-            throw new SQLException(e);
-        } finally {
-            HttpClientUtils.closeQuietly(response);
-        }
+        transport.setTransactionState(sessionId, !autoCommit);
     }
 
     @Override
     public boolean getAutoCommit() throws SQLException {
-        HttpResponse response = null;
-        try {
-            response = httpClient.execute(
-                    RequestBuilder.get(serverUrl + "/connection/transaction")
-                            .build());
-
-            if (HttpStatus.SC_OK != response.getStatusLine().getStatusCode()) {
-                throw new SQLException("Failed to get auto commit value: " +
-                        EntityUtils.toString(response.getEntity()));
-            }
-            return !Boolean.valueOf(EntityUtils.toString(response.getEntity()));
-        } catch (final IOException e) {
-            throw new SQLException(e);
-        } finally {
-            HttpClientUtils.closeQuietly(response);
-        }
+        return !transport.getTransactionState(sessionId);
     }
 
     @Override
     public void commit() throws SQLException {
-        HttpResponse response = null;
-        try {
-            response = httpClient.execute(
-                    RequestBuilder.put(serverUrl + "/connection/transaction")
-                            .build());
-
-            if (HttpStatus.SC_OK != response.getStatusLine().getStatusCode()) {
-                throw new SQLException("Failed to commit statements: " +
-                        EntityUtils.toString(response.getEntity()));
-            }
-        } catch (final IOException e) {
-            throw new SQLException(e);
-        } finally {
-            HttpClientUtils.closeQuietly(response);
-        }
+        transport.commit(sessionId);
     }
 
     @Override
     public void rollback() throws SQLException {
-        HttpResponse response = null;
-        try {
-            response = httpClient.execute(
-                    RequestBuilder.delete(serverUrl + "/connection/transaction")
-                            .build());
-
-            if (HttpStatus.SC_OK != response.getStatusLine().getStatusCode()) {
-                throw new SQLException("Failed to rollback database: " +
-                        EntityUtils.toString(response.getEntity()));
-            }
-        } catch (final IOException e) {
-            throw new SQLException(e);
-        } finally {
-            HttpClientUtils.closeQuietly(response);
-        }
+        transport.rollback(sessionId);
     }
 
     @Override
@@ -239,42 +198,14 @@ public class JdbcConnection implements Connection {
 
     @Override
     public PreparedStatement prepareStatement(final String sql) throws SQLException {
-        HttpResponse response = null;
-        try {
-            response = httpClient.execute(RequestBuilder.post(serverUrl + "/preparedStatement")
-                    .setEntity(new StringEntity(sql))
-                    .build());
-
-            if (HttpStatus.SC_OK != response.getStatusLine().getStatusCode()) {
-                throw new SQLException("Failed to create prepared statement: " + EntityUtils.toString(response.getEntity()));
-            }
-
-            return new JdbcPreparedStatement(httpClient, sql, serverUrl, this);
-        } catch (final IOException e) {
-            throw new SQLException(e);
-        } finally {
-            HttpClientUtils.closeQuietly(response);
-        }
+        final String statementHandle = transport.createPreparedStatement(sessionId, sql);
+        return new JdbcPreparedStatement(transport, sql, this, statementHandle);
     }
 
     @Override
     public CallableStatement prepareCall(final String sql) throws SQLException {
-        HttpResponse response = null;
-        try {
-            response = httpClient.execute(RequestBuilder.post(serverUrl + "/callableStatement")
-                    .setEntity(new StringEntity(sql))
-                    .build());
-
-            if (HttpStatus.SC_OK != response.getStatusLine().getStatusCode()) {
-                throw new SQLException("Failed to create prepare call: " + EntityUtils.toString(response.getEntity()));
-            }
-
-            return new JdbcCallableStatement(httpClient, sql, serverUrl, this);
-        } catch (final IOException e) {
-            throw new SQLException(e);
-        } finally {
-            HttpClientUtils.closeQuietly(response);
-        }
+        transport.createCallableStatement(sessionId, sql);
+        return new JdbcCallableStatement(transport, sql, this);
     }
 
     @Override
@@ -443,26 +374,52 @@ public class JdbcConnection implements Connection {
         return false;
     }
 
+    /**
+     * Whether statements of this connection decode query results lazily from the open response stream.
+     * @return True if result streaming is enabled
+     */
+    public boolean isResultStreaming() {
+        return resultStreaming;
+    }
+
+    /**
+     * Gets the id of the server session this connection is bound to.
+     * @return The session id or null if the server does not support sessions
+     */
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    /**
+     * Gets the transport carrying the operations of this connection to the server.
+     * @return The transport
+     */
+    public JdbcTransport getTransport() {
+        return transport;
+    }
+
     @Override
     public final boolean equals(final Object o) {
         if (this == o) return true;
         if (!(o instanceof JdbcConnection)) return false;
         final JdbcConnection that = (JdbcConnection) o;
         return closed == that.closed &&
-                Objects.equals(httpClient, that.httpClient) &&
-                Objects.equals(serverUrl, that.serverUrl);
+                resultStreaming == that.resultStreaming &&
+                Objects.equals(transport, that.transport) &&
+                Objects.equals(sessionId, that.sessionId);
     }
 
     @Override
     public final int hashCode() {
-        return Objects.hash(httpClient, serverUrl, closed);
+        return Objects.hash(transport, resultStreaming, sessionId, closed);
     }
 
     @Override
     public String toString() {
         return "JdbcConnection{" +
-                "httpClient=" + httpClient +
-                ", serverUrl='" + serverUrl + '\'' +
+                "transport=" + transport +
+                ", resultStreaming=" + resultStreaming +
+                ", sessionId='" + sessionId + '\'' +
                 ", closed=" + closed +
                 '}';
     }
@@ -16,23 +16,36 @@
 
 package com.consol.citrus.db.driver;
 
-import org.apache.http.*;
+import com.consol.citrus.db.driver.transport.Http2Transport;
+import com.consol.citrus.db.driver.transport.HttpTransport;
+import com.consol.citrus.db.driver.transport.InProcessRegistry;
+import com.consol.citrus.db.driver.transport.JdbcTransport;
+import com.consol.citrus.db.driver.transport.TcpTransport;
+import com.consol.citrus.db.driver.transport.UnixDomainSockets;
+import org.apache.http.HttpHost;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.config.RequestConfig;
-import org.apache.http.client.methods.HttpUriRequest;
-import org.apache.http.client.methods.RequestBuilder;
-import org.apache.http.client.utils.HttpClientUtils;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
 import org.apache.http.impl.client.HttpClients;
-import org.apache.http.message.BasicNameValuePair;
-import org.apache.http.util.EntityUtils;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
 
+import java.io.IOException;
+import java.net.SocketAddress;
 import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Paths;
 import java.sql.*;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -43,6 +56,15 @@ public class JdbcDriver implements Driver {
     /** Client connects to db server */
     private final HttpClient httpClient;
 
+    /** Connection pool of the default http client, null when a custom client is used */
+    private final PoolingHttpClientConnectionManager connectionManager;
+
+    /** Whether the max total pool limit has been set from connection properties */
+    private final AtomicBoolean poolConfigured = new AtomicBoolean();
+
+    /** Servers the per route pool limit has been set for from connection properties */
+    private final Set<String> configuredRoutes = ConcurrentHashMap.newKeySet();
+
     /** Remote server url */
     private String serverUrl;
 
@@ -53,7 +75,22 @@ public class JdbcDriver implements Driver {
     private int defaultPort = 4567;
 
     /** Array of url patterns to accept and to handle with this driver */
-    private String[] acceptUrlPatterns = new String[] { "jdbc:citrus:.*" };
+    private Pattern[] acceptUrlPatterns = new Pattern[] { Pattern.compile("jdbc:citrus:.*") };
+
+    /**
+     * Server uris parsed from connection urls, cached as applications keep connecting with the same urls. The cache
+     * is cleared once it holds {@link #MAX_CACHED_SERVER_URIS} entries so that generated urls do not fill the heap.
+     */
+    private final Map<String, URI> serverUris = new ConcurrentHashMap<>();
+
+    /**
+     * Tcp and unix domain socket transports shared by all connections to the same server with the same number of
+     * sockets. A transport closes its sockets when its last connection is closed.
+     */
+    private final Map<String, TcpTransport> tcpTransports = new ConcurrentHashMap<>();
+
+    /** HTTP/2 client shared by all HTTP/2 connections so that their requests are multiplexed, created on first use */
+    private java.net.http.HttpClient http2Client;
 
     public static final String SERVER_URL_PROPERTY = "citrus.db.server.url";
     private static final String SERVER_URL_ENV = "CITRUS_DB_SERVER_URL";
@@ -64,6 +101,47 @@ public class JdbcDriver implements Driver {
     public static final String PORT_PROPERTY = "citrus.db.server.port";
     private static final String PORT_ENV = "CITRUS_DB_SERVER_PORT";
 
+    public static final String TIMEOUT_PROPERTY = "citrus.db.connection.timeout";
+    private static final String TIMEOUT_ENV = "CITRUS_DB_CONNECTION_TIMEOUT";
+
+    public static final String POOL_MAX_TOTAL_PROPERTY = "citrus.db.connection.pool.max.total";
+    private static final String POOL_MAX_TOTAL_ENV = "CITRUS_DB_CONNECTION_POOL_MAX_TOTAL";
+
+    public static final String POOL_MAX_PER_ROUTE_PROPERTY = "citrus.db.connection.pool.max.per.route";
+    private static final String POOL_MAX_PER_ROUTE_ENV = "CITRUS_DB_CONNECTION_POOL_MAX_PER_ROUTE";
+
+    public static final String POOL_KEEP_ALIVE_PROPERTY = "citrus.db.connection.pool.keep.alive";
+    private static final String POOL_KEEP_ALIVE_ENV = "CITRUS_DB_CONNECTION_POOL_KEEP_ALIVE";
+
+    public static final String POOL_IDLE_TIMEOUT_PROPERTY = "citrus.db.connection.pool.idle.timeout";
+    private static final String POOL_IDLE_TIMEOUT_ENV = "CITRUS_DB_CONNECTION_POOL_IDLE_TIMEOUT";
+
+    public static final String RESULT_STREAMING_PROPERTY = "citrus.db.result.streaming";
+    private static final String RESULT_STREAMING_ENV = "CITRUS_DB_RESULT_STREAMING";
+
+    public static final String TCP_CHANNELS_PROPERTY = "citrus.db.tcp.channels";
+    private static final String TCP_CHANNELS_ENV = "CITRUS_DB_TCP_CHANNELS";
+
+    public static final String HTTP2_PROPERTY = "citrus.db.http2";
+    private static final String HTTP2_ENV = "CITRUS_DB_HTTP2";
+
+    /** Default connection pool settings */
+    private static final int DEFAULT_POOL_MAX_TOTAL = 200;
+    private static final int DEFAULT_POOL_MAX_PER_ROUTE = 200;
+    private static final long DEFAULT_POOL_KEEP_ALIVE = 30000L;
+    private static final long DEFAULT_POOL_IDLE_TIMEOUT = 60000L;
+
+    /** Default number of sockets the connections to a tcp server are multiplexed over */
+    private static final int DEFAULT_TCP_CHANNELS = 2;
+
+    static final int MAX_CACHED_SERVER_URIS = 256;
+
+    /** Url scheme selecting the binary tcp transport */
+    private static final String TCP_SCHEME = "tcp";
+
+    /** Url scheme selecting the cleartext HTTP/2 transport */
+    private static final String H2C_SCHEME = "h2c";
+
     /** Driver URL prefix */
     private static final String[] URL_PREFIX_SET = { "jdbc:citrus:",
             "jdbc:weblogic:",
@@ -82,16 +160,18 @@ public class JdbcDriver implements Driver {
     public static final JdbcDriver driverInstance = new JdbcDriver();
 
     /**
-     * Default constructor creates default http client.
+     * Default constructor creates default http client backed by a pooling connection manager.
      */
     public JdbcDriver() {
-        this(HttpClients.custom()
-                .setDefaultRequestConfig(RequestConfig.copy(RequestConfig.DEFAULT)
-                        .setConnectionRequestTimeout(timeout)
-                        .setConnectTimeout(timeout)
-                        .setSocketTimeout(timeout)
-                        .build())
-                .build());
+        this(createConnectionManager());
+    }
+
+    /**
+     * Constructor using pooling connection manager for the default http client.
+     * @param connectionManager
+     */
+    private JdbcDriver(PoolingHttpClientConnectionManager connectionManager) {
+        this(createHttpClient(connectionManager), connectionManager);
     }
 
     /**
@@ -99,17 +179,101 @@ public class JdbcDriver implements Driver {
      * @param httpClient
      */
     public JdbcDriver(HttpClient httpClient) {
+        this(httpClient, null);
+    }
+
+    /**
+     * Constructor using http client and the connection manager that client is using.
+     * @param httpClient
+     * @param connectionManager
+     */
+    private JdbcDriver(HttpClient httpClient, PoolingHttpClientConnectionManager connectionManager) {
         this.httpClient = httpClient;
-        this.defaultPort = Integer.valueOf(System.getProperty(PORT_PROPERTY, (System.getenv(PORT_ENV) != null ? System.getenv(PORT_ENV) : String.valueOf(defaultPort))));
+        this.connectionManager = connectionManager;
+        this.defaultPort = getSetting(PORT_PROPERTY, PORT_ENV, defaultPort);
         this.serverUrl = System.getProperty(SERVER_URL_PROPERTY, (System.getenv(SERVER_URL_ENV) != null ? System.getenv(SERVER_URL_ENV) : serverUrl));
         String acceptUrlPatternString = System.getProperty(ACCEPT_URL_PATTERNS_PROPERTY, (System.getenv(ACCEPT_URL_PATTERNS_ENV) != null ? System.getenv(ACCEPT_URL_PATTERNS_ENV) : "jdbc:citrus:.*"));
 
-        if (acceptUrlPatternString.contains(",")) {
-            this.acceptUrlPatterns = acceptUrlPatternString.split(",");
-        } else {
-            this.acceptUrlPatterns = new String[] { acceptUrlPatternString };
+        this.acceptUrlPatterns = Stream.of(acceptUrlPatternString.split(","))
+                .map(Pattern::compile)
+                .toArray(Pattern[]::new);
+
+    }
+
+    /**
+     * Creates pooling connection manager with pool limits read from system properties or environment.
+     * @return
+     */
+    private static PoolingHttpClientConnectionManager createConnectionManager() {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(getSetting(POOL_MAX_TOTAL_PROPERTY, POOL_MAX_TOTAL_ENV, DEFAULT_POOL_MAX_TOTAL));
+        connectionManager.setDefaultMaxPerRoute(getSetting(POOL_MAX_PER_ROUTE_PROPERTY, POOL_MAX_PER_ROUTE_ENV, DEFAULT_POOL_MAX_PER_ROUTE));
+        return connectionManager;
+    }
+
+    /**
+     * Creates default http client on top of given connection manager. Connections are kept alive for the configured
+     * keep alive time unless the server says otherwise and idle connections get evicted in background.
+     * @param connectionManager
+     * @return
+     */
+    private static HttpClient createHttpClient(PoolingHttpClientConnectionManager connectionManager) {
+        int timeout = getSetting(TIMEOUT_PROPERTY, TIMEOUT_ENV, JdbcDriver.timeout);
+        long keepAlive = getSetting(POOL_KEEP_ALIVE_PROPERTY, POOL_KEEP_ALIVE_ENV, DEFAULT_POOL_KEEP_ALIVE);
+        long idleTimeout = getSetting(POOL_IDLE_TIMEOUT_PROPERTY, POOL_IDLE_TIMEOUT_ENV, DEFAULT_POOL_IDLE_TIMEOUT);
+
+        ConnectionKeepAliveStrategy keepAliveStrategy = (response, context) -> {
+            long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return serverKeepAlive > 0 ? serverKeepAlive : keepAlive;
+        };
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy(keepAliveStrategy)
+                .evictExpiredConnections()
+                .evictIdleConnections(idleTimeout, TimeUnit.MILLISECONDS)
+                .setDefaultRequestConfig(RequestConfig.copy(RequestConfig.DEFAULT)
+                        .setConnectionRequestTimeout(timeout)
+                        .setConnectTimeout(timeout)
+                        .setSocketTimeout(timeout)
+                        .build())
+                .build();
+    }
+
+    /**
+     * Reads numeric setting from system property with environment variable and default value as fallback.
+     * @param property
+     * @param env
+     * @param defaultValue
+     * @return
+     */
+    private static int getSetting(String property, String env, int defaultValue) {
+        return (int) getSetting(property, env, (long) defaultValue);
+    }
+
+    private static long getSetting(String property, String env, long defaultValue) {
+        return parseSetting(property, System.getProperty(property, System.getenv(env)), defaultValue);
+    }
+
+    /**
+     * Parses numeric setting value, invalid values are logged and replaced by the default value.
+     * @param property
+     * @param value
+     * @param defaultValue
+     * @return
+     */
+    private static long parseSetting(String property, String value, long defaultValue) {
+        if (value == null) {
+            return defaultValue;
         }
 
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            Logger.getLogger(JdbcDriver.class.getName()).log(Level.WARNING,
+                    String.format("Invalid numeric setting %s='%s' - using default %s", property, value, defaultValue));
+            return defaultValue;
+        }
     }
 
     static {
@@ -125,14 +289,39 @@ public class JdbcDriver implements Driver {
         JdbcConnection connection = null;
 
         if (acceptsURL(url)) {
+            final String inProcessName = InProcessRegistry.getName(url);
+            if (inProcessName != null) {
+                return connectInProcess(inProcessName, info);
+            }
+
+            final String socketPath = UnixDomainSockets.getPath(url);
+            if (socketPath != null) {
+                return connectUnixDomainSocket(url, socketPath, info);
+            }
+
             try {
-                URI uri = new URI(getServerUri(url));
+                URI uri = parseServerUri(url);
+                if (TCP_SCHEME.equals(uri.getScheme())) {
+                    final JdbcTransport transport = getTcpTransport(uri, info);
+                    return new JdbcConnection(transport, false,
+                            transport.openConnection(getDatabaseName(uri), convertProperties(info)));
+                }
+
                 if (serverUrl == null || serverUrl.length() == 0) {
                     serverUrl = "http://" + Optional.ofNullable(uri.getHost()).orElse("localhost") + (uri.getPort() > 0 ? ":" + uri.getPort() : ":" + defaultPort);
                 }
 
-                connectRemote(serverUrl, getDatabaseName(uri), info);
-                connection = new JdbcConnection(httpClient, serverUrl);
+                if (H2C_SCHEME.equals(uri.getScheme()) || isHttp2(info)) {
+                    final JdbcTransport transport = new Http2Transport(getHttp2Client(), serverUrl,
+                            isResultStreaming(info), Duration.ofMillis(getSetting(TIMEOUT_PROPERTY, TIMEOUT_ENV, timeout)));
+                    return new JdbcConnection(transport, isResultStreaming(info),
+                            transport.openConnection(getDatabaseName(uri), convertProperties(info)));
+                }
+
+                configureConnectionPool(serverUrl, info);
+                final JdbcTransport transport = new HttpTransport(httpClient, serverUrl, isResultStreaming(info));
+                final String sessionId = transport.openConnection(getDatabaseName(uri), convertProperties(info));
+                connection = new JdbcConnection(transport, isResultStreaming(info), sessionId);
             } catch(Exception ex) {
                 throw(new SQLException(ex.getMessage(), ex));
             }
@@ -142,51 +331,195 @@ public class JdbcDriver implements Driver {
     }
 
     /**
-     * This method makes the one time connection to the RMI server
+     * Connects to the endpoint registered under the given name within this JVM. Operations of the connection
+     * are invoked directly on the endpoint without any serialization.
+     * @param name The name of the in process endpoint
+     * @param info The connection properties
+     * @return The connection
+     * @throws SQLException In case no endpoint is registered under the name or the connection could not be opened
+     */
+    private Connection connectInProcess(String name, Properties info) throws SQLException {
+        final JdbcTransport transport = InProcessRegistry.lookup(name);
+        if (transport == null) {
+            throw new SQLException("No in process jdbc server registered with name: " + name);
+        }
+
+        final String sessionId = transport.openConnection(name, convertProperties(info));
+        return new JdbcConnection(transport, false, sessionId);
+    }
+
+    /**
+     * Connects to the server listening on the unix domain socket with the given path. The database name is
+     * given as url parameter, e.g. jdbc:citrus:unix:/tmp/citrus-db.sock?database=testdb
+     * @param url The connection url
+     * @param socketPath The path of the socket file
+     * @param info The connection properties
+     * @return The connection
+     * @throws SQLException In case unix domain sockets are not supported or the connection could not be opened
+     */
+    private Connection connectUnixDomainSocket(String url, String socketPath, Properties info) throws SQLException {
+        final SocketAddress address;
+        try {
+            address = UnixDomainSockets.getAddress(Paths.get(socketPath));
+        } catch (IOException e) {
+            throw new SQLException(e.getMessage(), e);
+        }
+
+        final int channels = getTcpChannels(info);
+        final JdbcTransport transport = tcpTransports.computeIfAbsent("unix:" + socketPath + "#" + channels,
+                key -> new TcpTransport(address, channels, getSetting(TIMEOUT_PROPERTY, TIMEOUT_ENV, timeout)));
+        final int parameter = url.indexOf("?database=");
+        final String databaseName = parameter >= 0 ? url.substring(parameter + "?database=".length()) : "";
+
+        return new JdbcConnection(transport, false, transport.openConnection(databaseName, convertProperties(info)));
+    }
+
+    /**
+     * Gets the tcp transport to the server referenced by the given uri. Connections to the same server share
+     * the transport so that they are multiplexed over the same sockets.
+     * @param uri The server uri
+     * @param info The connection properties
+     * @return The transport
+     */
+    private TcpTransport getTcpTransport(URI uri, Properties info) {
+        final String host = Optional.ofNullable(uri.getHost()).orElse("localhost");
+        final int port = uri.getPort() > 0 ? uri.getPort() : TcpTransport.DEFAULT_PORT;
+
+        final int channels = getTcpChannels(info);
+
+        return tcpTransports.computeIfAbsent(host + ":" + port + "#" + channels, key -> new TcpTransport(host, port,
+                channels, getSetting(TIMEOUT_PROPERTY, TIMEOUT_ENV, timeout)));
+    }
+
+    /**
+     * Number of sockets the connections to a server are multiplexed over, set either by connection property
+     * or by system property/environment setting.
+     * @param info
+     * @return
+     */
+    private int getTcpChannels(Properties info) {
+        return (int) parseSetting(TCP_CHANNELS_PROPERTY, info.getProperty(TCP_CHANNELS_PROPERTY),
+                getSetting(TCP_CHANNELS_PROPERTY, TCP_CHANNELS_ENV, DEFAULT_TCP_CHANNELS));
+    }
+
+    /**
+     * Gets the HTTP/2 client, the client is created by the first HTTP/2 connection.
+     * @return
+     */
+    private synchronized java.net.http.HttpClient getHttp2Client() {
+        if (http2Client == null) {
+            http2Client = Http2Transport.createHttpClient(Duration.ofMillis(getSetting(TIMEOUT_PROPERTY, TIMEOUT_ENV, timeout)));
+        }
+        return http2Client;
+    }
+
+    /**
+     * HTTP/2 for http connection urls is enabled either by connection property or by system property/environment setting.
+     * @param info
+     * @return
+     */
+    private boolean isHttp2(Properties info) {
+        return Boolean.parseBoolean(info.getProperty(HTTP2_PROPERTY,
+                System.getProperty(HTTP2_PROPERTY, System.getenv(HTTP2_ENV) != null ? System.getenv(HTTP2_ENV) : "false")));
+    }
+
+    /**
+     * Applies connection pool limits given as connection properties to the pool. As the pool is shared by all
+     * connections of this driver the limits are applied once only: the max total limit by the first connection
+     * giving it and the per route limit by the first connection to the given server. Later connections
+     * can not change the limits other connections are running with.
      * @param serverUrl
-     * @param databaseName
      * @param info
      */
-    private void connectRemote(String serverUrl, String databaseName, Properties info) throws SQLException {
-        HttpResponse response = null;
-        try {
-            HttpUriRequest uriRequest = RequestBuilder.get(serverUrl + "/connection")
-                    .addParameter("database", databaseName)
-                    .addParameters(convertProperties(info))
-                    .build();
+    private void configureConnectionPool(String serverUrl, Properties info) {
+        if (connectionManager == null) {
+            return;
+        }
 
-            response = httpClient.execute(uriRequest);
+        if (info.containsKey(POOL_MAX_TOTAL_PROPERTY) && poolConfigured.compareAndSet(false, true)) {
+            connectionManager.setMaxTotal((int) parseSetting(POOL_MAX_TOTAL_PROPERTY,
+                    info.getProperty(POOL_MAX_TOTAL_PROPERTY), connectionManager.getMaxTotal()));
+        }
 
-            if (HttpStatus.SC_OK != response.getStatusLine().getStatusCode()) {
-                throw new SQLException("Failed to connect to server: " + EntityUtils.toString(response.getEntity()));
-            }
-        } catch(Exception ex) {
-            throw new SQLException(ex);
-        } finally {
-            HttpClientUtils.closeQuietly(response);
+        if (info.containsKey(POOL_MAX_PER_ROUTE_PROPERTY) && configuredRoutes.add(serverUrl)) {
+            connectionManager.setMaxPerRoute(new HttpRoute(HttpHost.create(serverUrl)),
+                    (int) parseSetting(POOL_MAX_PER_ROUTE_PROPERTY,
+                            info.getProperty(POOL_MAX_PER_ROUTE_PROPERTY), connectionManager.getDefaultMaxPerRoute()));
         }
     }
 
+    /**
+     * Result streaming is enabled either by connection property or by system property/environment setting.
+     * @param info
+     * @return
+     */
+    private boolean isResultStreaming(Properties info) {
+        return Boolean.parseBoolean(info.getProperty(RESULT_STREAMING_PROPERTY,
+                System.getProperty(RESULT_STREAMING_PROPERTY, System.getenv(RESULT_STREAMING_ENV) != null ? System.getenv(RESULT_STREAMING_ENV) : "false")));
+    }
+
     @Override
     public boolean acceptsURL(String url) throws SQLException {
-        return Stream.of(acceptUrlPatterns).map(Pattern::compile).anyMatch(pattern -> pattern.matcher(url).matches());
+        for (Pattern pattern : acceptUrlPatterns) {
+            if (pattern.matcher(url).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the number of cached server uris.
+     * @return
+     */
+    int getCachedServerUris() {
+        return serverUris.size();
+    }
+
+    /**
+     * Parses the server uri of the given JDBC connection string. Parsed uris are cached per connection string.
+     * @param connectionString
+     * @return
+     * @throws URISyntaxException
+     */
+    private URI parseServerUri(String connectionString) throws URISyntaxException {
+        URI uri = serverUris.get(connectionString);
+        if (uri == null) {
+            uri = new URI(getServerUri(connectionString));
+            if (serverUris.size() >= MAX_CACHED_SERVER_URIS) {
+                serverUris.clear();
+            }
+            serverUris.put(connectionString, uri);
+        }
+        return uri;
     }
 
     /**
-     * Converts the given properties to a NameValuePair array
+     * Converts the given properties to the connection properties sent to the server.
      * @param properties The properties to convert
-     * @return A NameValuePair array containing the properties
+     * @return The connection properties without driver properties
      */
-    private NameValuePair[] convertProperties(Properties properties) {
-        return properties.entrySet()
-                .stream()
-                .map(entry ->
-                        new BasicNameValuePair(
-                                entry.getKey().toString(),
-                                entry.getValue() != null ? entry.getValue().toString() : ""))
-                .sorted(Comparator.comparingInt(BasicNameValuePair::hashCode))
-                .collect(Collectors.toList())
-                .toArray(new NameValuePair[properties.size()]);
+    private Map<String, String> convertProperties(Properties properties) {
+        final Map<String, String> connectionProperties = new LinkedHashMap<>();
+        properties.forEach((key, value) -> {
+            if (!isDriverProperty(key.toString())) {
+                connectionProperties.put(key.toString(), value != null ? value.toString() : "");
+            }
+        });
+        return connectionProperties;
+    }
+
+    /**
+     * Driver properties only configure the client side and are not sent to the server.
+     * @param name
+     * @return
+     */
+    private boolean isDriverProperty(String name) {
+        return name.equals(POOL_MAX_TOTAL_PROPERTY)
+                || name.equals(POOL_MAX_PER_ROUTE_PROPERTY)
+                || name.equals(RESULT_STREAMING_PROPERTY)
+                || name.equals(TCP_CHANNELS_PROPERTY)
+                || name.equals(HTTP2_PROPERTY);
     }
 
     /**
@@ -284,6 +617,16 @@ public class JdbcDriver implements Driver {
         return Logger.getGlobal();
     }
 
+    /**
+     * Gets the total statistics of the http connection pool used by this driver.
+     * Returns null when driver uses a custom http client.
+     *
+     * @return
+     */
+    public PoolStats getConnectionPoolStats() {
+        return connectionManager != null ? connectionManager.getTotalStats() : null;
+    }
+
     /**
      * Gets the serverUrl.
      *
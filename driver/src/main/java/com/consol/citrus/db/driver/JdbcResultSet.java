@@ -19,7 +19,11 @@ package com.consol.citrus.db.driver;
 import com.consol.citrus.db.driver.data.CitrusBlob;
 import com.consol.citrus.db.driver.data.CitrusClob;
 import com.consol.citrus.db.driver.data.Row;
+import com.consol.citrus.db.driver.dataset.ColumnVector;
+import com.consol.citrus.db.driver.dataset.ColumnarDataSet;
 import com.consol.citrus.db.driver.dataset.DataSet;
+import com.consol.citrus.db.driver.dataset.DataSetCursor;
+import com.consol.citrus.db.driver.dataset.StreamingDataSet;
 import com.consol.citrus.db.driver.statement.JdbcStatement;
 import org.apache.commons.codec.binary.Base64;
 
@@ -55,9 +59,18 @@ public class JdbcResultSet implements java.sql.ResultSet {
     private final DataSet dataSet;
     private final JdbcStatement statement;
 
+    /** Cursor of this result set, data sets may be shared by several result sets */
+    private final DataSetCursor cursor;
+
     //The current ResultSet data row
     private Row row;
 
+    /** Index of the current row in the columnar data set */
+    private int rowIndex = -1;
+
+    /** Whether the last value read was null */
+    private boolean lastValueNull;
+
     /** Indicates that this data set is closed */
     private boolean closed = false;
 
@@ -67,11 +80,22 @@ public class JdbcResultSet implements java.sql.ResultSet {
     public JdbcResultSet(final DataSet dataSet, final JdbcStatement statement) {
         this.dataSet = dataSet;
         this.statement = statement;
+        this.cursor = dataSet != null ? dataSet.cursor() : null;
     }
 
     @Override
     public boolean next() {
-        final Row nextRow = dataSet.getNextRow();
+        if (cursor instanceof ColumnarDataSet.ColumnarCursor) {
+            final int nextRowIndex = ((ColumnarDataSet.ColumnarCursor) cursor).nextRowIndex();
+            if (nextRowIndex < 0) {
+                return false;
+            }
+            rowIndex = nextRowIndex;
+            row = null;
+            return true;
+        }
+
+        final Row nextRow = cursor.next();
         final boolean nextRowContainsData = nextRow != null;
         if(nextRowContainsData){
             this.row = nextRow;
@@ -82,50 +106,66 @@ public class JdbcResultSet implements java.sql.ResultSet {
     @Override
     public void close() {
         closed = true;
+        if (dataSet instanceof StreamingDataSet) {
+            ((StreamingDataSet) dataSet).close();
+        }
     }
 
     public String getString(final int columnIndex) {
-        return (String) row.getValue(columnIndex-1, String.class);
+        return (String) tracked(currentRow().getValue(columnIndex-1, String.class));
     }
 
     public String getString(final String columnName) {
-        return (String) row.getValue(columnName, String.class);
+        return (String) tracked(currentRow().getValue(columnName, String.class));
     }
 
     public float getFloat(final int columnIndex) {
-        return (float) row.getValue(columnIndex-1, float.class);
+        return (float) tracked(currentRow().getValue(columnIndex-1, float.class));
     }
 
     public float getFloat(final String columnName) {
-        return (float) row.getValue(columnName, float.class);
+        return (float) tracked(currentRow().getValue(columnName, float.class));
     }
 
     public int getInt(final int columnIndex) {
-        return (int) row.getValue(columnIndex-1, int.class);
+        if (dataSet instanceof ColumnarDataSet) {
+            return columnVector(columnIndex-1).getInt(rowIndex);
+        }
+        return (int) tracked(currentRow().getValue(columnIndex-1, int.class));
     }
 
     public int getInt(final String columnName) {
-        return (int) row.getValue(columnName, int.class);
+        final int column = columnarIndex(columnName);
+        if (column >= 0) {
+            return columnVector(column).getInt(rowIndex);
+        }
+        return (int) tracked(currentRow().getValue(columnName, int.class));
     }
 
     public boolean getBoolean(final int columnIndex) {
-        return (boolean) row.getValue(columnIndex-1, boolean.class);
+        return (boolean) tracked(currentRow().getValue(columnIndex-1, boolean.class));
     }
 
     public byte getByte(final int columnIndex) {
-        return (byte) row.getValue(columnIndex-1, byte.class);
+        return (byte) tracked(currentRow().getValue(columnIndex-1, byte.class));
     }
 
     public short getShort(final int columnIndex) {
-        return (short) row.getValue(columnIndex-1, short.class);
+        return (short) tracked(currentRow().getValue(columnIndex-1, short.class));
     }
 
     public long getLong(final int columnIndex) {
-        return (long) row.getValue(columnIndex-1, long.class);
+        if (dataSet instanceof ColumnarDataSet) {
+            return columnVector(columnIndex-1).getLong(rowIndex);
+        }
+        return (long) tracked(currentRow().getValue(columnIndex-1, long.class));
     }
 
     public double getDouble(final int columnIndex) {
-        return (double) row.getValue(columnIndex-1, double.class);
+        if (dataSet instanceof ColumnarDataSet) {
+            return columnVector(columnIndex-1).getDouble(rowIndex);
+        }
+        return (double) tracked(currentRow().getValue(columnIndex-1, double.class));
     }
 
     public BigDecimal getBigDecimal(final int columnIndex, final int scale) {
@@ -133,19 +173,19 @@ public class JdbcResultSet implements java.sql.ResultSet {
     }
 
     public byte[] getBytes(final int columnIndex) {
-        return (byte[]) row.getValue(columnIndex-1, byte[].class);
+        return (byte[]) tracked(currentRow().getValue(columnIndex-1, byte[].class));
     }
 
     public Date getDate(final int columnIndex) {
-        return (Date) row.getValue(columnIndex-1, Date.class);
+        return (Date) tracked(currentRow().getValue(columnIndex-1, Date.class));
     }
 
     public Time getTime(final int columnIndex) {
-        return (Time) row.getValue(columnIndex-1, Time.class);
+        return (Time) tracked(currentRow().getValue(columnIndex-1, Time.class));
     }
 
     public Timestamp getTimestamp(final int columnIndex) {
-        return (Timestamp) row.getValue(columnIndex-1, Timestamp.class);
+        return (Timestamp) tracked(currentRow().getValue(columnIndex-1, Timestamp.class));
     }
 
     public InputStream getAsciiStream(final int columnIndex) {
@@ -161,31 +201,39 @@ public class JdbcResultSet implements java.sql.ResultSet {
     }
 
     public Object getObject(final int columnIndex) {
-        return row.getValue(columnIndex-1);
+        return tracked(currentRow().getValue(columnIndex-1));
     }
 
     public BigDecimal getBigDecimal(final int columnIndex) {
-        return (BigDecimal) row.getValue(columnIndex-1, BigDecimal.class);
+        return (BigDecimal) tracked(currentRow().getValue(columnIndex-1, BigDecimal.class));
     }
 
     public boolean getBoolean(final String columnName) {
-        return (boolean) row.getValue(columnName, boolean.class);
+        return (boolean) tracked(currentRow().getValue(columnName, boolean.class));
     }
 
     public byte getByte(final String columnName) {
-        return (byte) row.getValue(columnName, byte.class);
+        return (byte) tracked(currentRow().getValue(columnName, byte.class));
     }
 
     public short getShort(final String columnName) {
-        return (short) row.getValue(columnName, short.class);
+        return (short) tracked(currentRow().getValue(columnName, short.class));
     }
 
     public long getLong(final String columnName) {
-        return (long) row.getValue(columnName, long.class);
+        final int column = columnarIndex(columnName);
+        if (column >= 0) {
+            return columnVector(column).getLong(rowIndex);
+        }
+        return (long) tracked(currentRow().getValue(columnName, long.class));
     }
 
     public double getDouble(final String columnName) {
-        return (double) row.getValue(columnName, double.class);
+        final int column = columnarIndex(columnName);
+        if (column >= 0) {
+            return columnVector(column).getDouble(rowIndex);
+        }
+        return (double) tracked(currentRow().getValue(columnName, double.class));
     }
 
     public BigDecimal getBigDecimal(final String columnName, final int scale) {
@@ -193,27 +241,27 @@ public class JdbcResultSet implements java.sql.ResultSet {
     }
 
     public byte[] getBytes(final String columnName) {
-        return (byte[]) row.getValue(columnName, byte[].class);
+        return (byte[]) tracked(currentRow().getValue(columnName, byte[].class));
     }
 
     public Date getDate(final String columnName) {
-        return (Date) row.getValue(columnName, Date.class);
+        return (Date) tracked(currentRow().getValue(columnName, Date.class));
     }
 
     public Time getTime(final String columnName) {
-        return (Time) row.getValue(columnName, Time.class);
+        return (Time) tracked(currentRow().getValue(columnName, Time.class));
     }
 
     public Timestamp getTimestamp(final String columnName) {
-        return (Timestamp) row.getValue(columnName, Timestamp.class);
+        return (Timestamp) tracked(currentRow().getValue(columnName, Timestamp.class));
     }
 
     public Object getObject(final String columnName) {
-        return row.getValue(columnName);
+        return tracked(currentRow().getValue(columnName));
     }
 
     public BigDecimal getBigDecimal(final String columnName) {
-        return (BigDecimal) row.getValue(columnName, BigDecimal.class);
+        return (BigDecimal) tracked(currentRow().getValue(columnName, BigDecimal.class));
     }
 
     public InputStream getAsciiStream(final String columnName) {
@@ -245,7 +293,7 @@ public class JdbcResultSet implements java.sql.ResultSet {
     }
 
     public int findColumn(final String columnName) {
-        return row.getColumns().indexOf(columnName)+1;
+        return currentRow().getColumnIndex(columnName)+1;
     }
 
     public Reader getCharacterStream(final int columnIndex) {
@@ -289,7 +337,7 @@ public class JdbcResultSet implements java.sql.ResultSet {
     }
 
     public int getRow() {
-        return dataSet.getCursor();
+        return cursor.getPosition();
     }
 
     public boolean absolute(final int row) throws SQLException {
@@ -842,7 +890,7 @@ public class JdbcResultSet implements java.sql.ResultSet {
     }
 
     public boolean wasNull() {
-        return row.getLastValue() == null;
+        return lastValueNull;
     }
 
     public void updateBoolean(final String columnName, final boolean x) {
@@ -932,12 +980,14 @@ public class JdbcResultSet implements java.sql.ResultSet {
         return closed == resultSet.closed &&
                 Objects.equals(dataSet, resultSet.dataSet) &&
                 Objects.equals(statement, resultSet.statement) &&
-                Objects.equals(row, resultSet.row);
+                rowIndex == resultSet.rowIndex &&
+                Objects.equals(row, resultSet.row) &&
+                lastValueNull == resultSet.lastValueNull;
     }
 
     @Override
     public final int hashCode() {
-        return Objects.hash(dataSet, statement, row, closed);
+        return Objects.hash(dataSet, statement, row, rowIndex, lastValueNull, closed);
     }
 
     @Override
@@ -945,8 +995,52 @@ public class JdbcResultSet implements java.sql.ResultSet {
         return "JdbcResultSet{" +
                 "dataSet=" + dataSet +
                 ", statement=" + statement +
+                ", cursor=" + cursor +
                 ", row=" + row +
+                ", rowIndex=" + rowIndex +
+                ", lastValueNull=" + lastValueNull +
                 ", closed=" + closed +
                 '}';
     }
-}
\ No newline at end of file
+
+    /**
+     * Gets the current row, materializing it from the columnar data set if required.
+     * @return The current row
+     */
+    private Row currentRow() {
+        if (row == null && dataSet instanceof ColumnarDataSet && rowIndex >= 0) {
+            row = ((ColumnarDataSet) dataSet).getRow(rowIndex);
+        }
+        return row;
+    }
+
+    /**
+     * Records whether the given value read from the current row is null.
+     * @param value The value read
+     * @return The value
+     */
+    private Object tracked(final Object value) {
+        lastValueNull = value == null;
+        return value;
+    }
+
+    /**
+     * Gets the index of a column of the columnar data set.
+     * @param columnName The column name
+     * @return The 0-based column index or -1 if the data set is not columnar or has no such column
+     */
+    private int columnarIndex(final String columnName) {
+        return dataSet instanceof ColumnarDataSet ? ((ColumnarDataSet) dataSet).getColumnIndex(columnName) : -1;
+    }
+
+    /**
+     * Gets a column of the columnar data set and records whether the value of the current row is null.
+     * @param column The 0-based column index
+     * @return The column
+     */
+    private ColumnVector columnVector(final int column) {
+        final ColumnVector vector = ((ColumnarDataSet) dataSet).getColumn(column);
+        lastValueNull = vector.isNull(rowIndex);
+        return vector;
+    }
+}
@@ -17,6 +17,7 @@
 package com.consol.citrus.db.driver;
 
 import com.consol.citrus.db.driver.dataset.DataSet;
+import com.consol.citrus.db.driver.dataset.DataSetSchema;
 
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
@@ -26,19 +27,19 @@ import java.sql.SQLException;
  */
 public class JdbcResultSetMetaData implements ResultSetMetaData {
 
-    private final DataSet dataSet;
+    private final DataSetSchema schema;
 
     /**
      * Default constructor using result set.
      * @param dataSet
      */
     public JdbcResultSetMetaData(DataSet dataSet) {
-        this.dataSet = dataSet;
+        this.schema = dataSet.getSchema();
     }
 
     @Override
     public int getColumnCount() throws SQLException {
-        return dataSet.getColumns().size();
+        return schema.getColumnCount();
     }
 
     @Override
@@ -63,7 +64,7 @@ public class JdbcResultSetMetaData implements ResultSetMetaData {
 
     @Override
     public int isNullable(int column) throws SQLException {
-        return 0;
+        return schema.isNullable(column-1);
     }
 
     @Override
@@ -83,7 +84,7 @@ public class JdbcResultSetMetaData implements ResultSetMetaData {
 
     @Override
     public String getColumnName(int column) throws SQLException {
-        return dataSet.getColumns().get(column-1);
+        return schema.getColumnName(column-1);
     }
 
     @Override
@@ -113,12 +114,12 @@ public class JdbcResultSetMetaData implements ResultSetMetaData {
 
     @Override
     public int getColumnType(int column) throws SQLException {
-        return 0;
+        return schema.getColumnType(column-1);
     }
 
     @Override
     public String getColumnTypeName(int column) throws SQLException {
-        return "";
+        return schema.getColumnTypeName(column-1);
     }
 
     @Override
@@ -138,7 +139,7 @@ public class JdbcResultSetMetaData implements ResultSetMetaData {
 
     @Override
     public String getColumnClassName(int column) throws SQLException {
-        return "";
+        return schema.getColumnClassName(column-1);
     }
 
     @Override
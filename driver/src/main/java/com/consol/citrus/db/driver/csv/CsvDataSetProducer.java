@@ -0,0 +1,108 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.driver.csv;
+
+import com.consol.citrus.db.driver.JdbcDriverException;
+import com.consol.citrus.db.driver.dataset.DataSet;
+import com.consol.citrus.db.driver.dataset.DataSetProducer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * Produces a data set from CSV content with a header row naming the columns. Files are memory mapped instead of
+ * being read through a stream, and the values are kept in typed column vectors, so that rows are only
+ * materialized when they are accessed. Columns may carry a type hint in the header such as {@code id:INTEGER};
+ * columns without type hint hold strings.
+ */
+public class CsvDataSetProducer implements DataSetProducer {
+
+    /** CSV file used as data set source, null if the content has been given directly */
+    private final Path path;
+
+    /** CSV content used as data set source if no file has been given */
+    private final byte[] content;
+
+    private char delimiter = ',';
+
+    /** Data set produced on first call, shared by all subsequent calls as it is immutable */
+    private DataSet dataSet;
+
+    public CsvDataSetProducer(final File file) {
+        this(file.toPath());
+    }
+
+    public CsvDataSetProducer(final Path path) {
+        this.path = path;
+        this.content = null;
+    }
+
+    public CsvDataSetProducer(final String csvInput) {
+        this.path = null;
+        this.content = csvInput.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public CsvDataSetProducer(final InputStream inputStream) {
+        this.path = null;
+        try (InputStream in = inputStream) {
+            this.content = in.readAllBytes();
+        } catch (final IOException e) {
+            throw new JdbcDriverException("Failed to read csv input content", e);
+        }
+    }
+
+    /**
+     * Sets the delimiter separating the fields, defaults to comma.
+     * @param delimiter The delimiter
+     * @return
+     */
+    public CsvDataSetProducer delimiter(final char delimiter) {
+        this.delimiter = delimiter;
+        return this;
+    }
+
+    @Override
+    public synchronized DataSet produce() {
+        if (dataSet == null) {
+            dataSet = new CsvReader(buffer(path, content), delimiter).read();
+        }
+        return dataSet;
+    }
+
+    /**
+     * Gets the buffer holding the CSV content either mapped from the given file or wrapping the given content.
+     * @param path The file, may be null
+     * @param content The content used if no file is given
+     * @return The buffer
+     */
+    static ByteBuffer buffer(final Path path, final byte[] content) {
+        if (path == null) {
+            return ByteBuffer.wrap(content);
+        }
+
+        try {
+            return CsvReader.map(path);
+        } catch (final IOException e) {
+            throw new JdbcDriverException("Failed to access csv input file content", e);
+        }
+    }
+}
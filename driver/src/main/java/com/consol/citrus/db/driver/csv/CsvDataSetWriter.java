@@ -0,0 +1,118 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.driver.csv;
+
+import com.consol.citrus.db.driver.data.Row;
+import com.consol.citrus.db.driver.dataset.DataSet;
+import com.consol.citrus.db.driver.dataset.DataSetCursor;
+import com.consol.citrus.db.driver.dataset.DataSetWriter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a data set as CSV with a header row holding the column names. Fields holding the delimiter, quotes
+ * or line breaks are quoted as described in RFC 4180. Null values are written as empty fields while empty
+ * strings are written as quoted empty fields, so that both can be told apart when the file is read again.
+ */
+public class CsvDataSetWriter implements DataSetWriter {
+
+    private char delimiter = ',';
+
+    @Override
+    public void write(final DataSet dataSet, final Writer writer) throws IOException {
+        final List<String> columns = dataSet.getColumns();
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                writer.write(delimiter);
+            }
+            writeField(writer, columns.get(i));
+        }
+        writer.write('\n');
+
+        final DataSetCursor cursor = dataSet.cursor();
+        Row row;
+        while ((row = cursor.next()) != null) {
+            final Map<String, Object> values = row.getValues();
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(delimiter);
+                }
+
+                final Object value = values.get(columns.get(i));
+                if (value instanceof byte[]) {
+                    writeField(writer, Base64.getEncoder().encodeToString((byte[]) value));
+                } else if (value != null) {
+                    writeField(writer, value.toString());
+                }
+            }
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    private void writeField(final Writer writer, final String field) throws IOException {
+        if (!requiresQuotes(field)) {
+            writer.write(field);
+            return;
+        }
+
+        writer.write('"');
+        for (int i = 0; i < field.length(); i++) {
+            final char c = field.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    private boolean requiresQuotes(final String field) {
+        if (field.isEmpty()) {
+            return true;
+        }
+
+        for (int i = 0; i < field.length(); i++) {
+            final char c = field.charAt(i);
+            if (c == delimiter || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the delimiter separating the fields.
+     * @return The delimiter
+     */
+    public char getDelimiter() {
+        return delimiter;
+    }
+
+    /**
+     * Sets the delimiter separating the fields.
+     * @param delimiter The delimiter
+     */
+    public void setDelimiter(final char delimiter) {
+        this.delimiter = delimiter;
+    }
+}
@@ -0,0 +1,476 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.driver.csv;
+
+import com.consol.citrus.db.driver.JdbcDriverException;
+import com.consol.citrus.db.driver.data.ColumnDictionary;
+import com.consol.citrus.db.driver.data.ValueConverters;
+import com.consol.citrus.db.driver.dataset.ColumnVector;
+import com.consol.citrus.db.driver.dataset.ColumnarDataSet;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Date;
+import java.sql.JDBCType;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Reads UTF-8 encoded CSV content into a columnar data set. The first record is the header holding the column
+ * names, each optionally followed by a type hint such as {@code id:INTEGER} naming a {@link JDBCType}. Fields
+ * of integer, bigint and double columns are parsed straight from the bytes into primitive column vectors,
+ * all other fields are read as strings and converted to the type of the hint, if any. Unquoted empty fields
+ * are read as null, quoted empty fields as empty strings.
+ */
+final class CsvReader {
+
+    /** Length reported for unquoted empty fields */
+    private static final int NULL_FIELD = -1;
+
+    /** Number of digits that always fit into a long */
+    private static final int MAX_LONG_DIGITS = 18;
+
+    private final ByteBuffer buffer;
+    private final byte delimiter;
+    private final int limit;
+
+    private int position;
+
+    /** Whether the last field read has been the last field of its record */
+    private boolean endOfRecord;
+
+    /** Bytes of the last field read with quotes removed */
+    private byte[] field = new byte[64];
+
+    /**
+     * Default constructor using the content and the delimiter separating the fields.
+     * @param buffer The CSV content
+     * @param delimiter The delimiter, must be a single byte character
+     */
+    CsvReader(final ByteBuffer buffer, final char delimiter) {
+        if (delimiter > 0x7F || delimiter == '"' || delimiter == '\n' || delimiter == '\r') {
+            throw new IllegalArgumentException("CSV delimiter must be an ASCII character other than quotes and line breaks");
+        }
+
+        this.buffer = buffer;
+        this.delimiter = (byte) delimiter;
+        this.limit = buffer.limit();
+
+        if (limit >= 3 && (buffer.get(0) & 0xFF) == 0xEF && (buffer.get(1) & 0xFF) == 0xBB && (buffer.get(2) & 0xFF) == 0xBF) {
+            position = 3;
+        }
+    }
+
+    /**
+     * Maps the given file into memory.
+     * @param path The file to map
+     * @return The read only buffer holding the file content
+     * @throws IOException in case the file can not be mapped
+     */
+    static ByteBuffer map(final Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException(String.format("CSV file %s exceeds the maximum size of %s bytes", path, Integer.MAX_VALUE));
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+    }
+
+    /**
+     * Reads the header and all records.
+     * @return The data set holding the records
+     */
+    ColumnarDataSet read() {
+        if (position >= limit) {
+            return new ColumnarDataSet(ColumnDictionary.EMPTY);
+        }
+
+        final List<String> names = new ArrayList<>();
+        final List<ColumnBuilder> builders = new ArrayList<>();
+        final Set<String> distinctNames = new HashSet<>();
+        do {
+            final int length = readField();
+            final String header = length == NULL_FIELD ? "" : string(length);
+            final int separator = header.lastIndexOf(':');
+            final JDBCType type = separator > 0 ? typeOf(header.substring(separator + 1)) : null;
+            final String name = type != null ? header.substring(0, separator) : header;
+
+            if (!distinctNames.add(name)) {
+                throw new JdbcDriverException(String.format("Duplicate column '%s' in CSV header", name));
+            }
+            names.add(name);
+            builders.add(ColumnBuilder.of(type, name));
+        } while (!endOfRecord);
+
+        int rows = 0;
+        while (position < limit) {
+            rows++;
+            int column = 0;
+            do {
+                final int length = readField();
+                if (column >= builders.size()) {
+                    throw new JdbcDriverException(String.format(
+                            "Row %s of CSV input holds more fields than the %s columns of the header", rows, builders.size()));
+                }
+
+                final ColumnBuilder builder = builders.get(column++);
+                if (length == NULL_FIELD) {
+                    builder.addNull();
+                } else {
+                    try {
+                        builder.add(this, length);
+                    } catch (final IllegalArgumentException e) {
+                        throw new JdbcDriverException(String.format("Invalid value '%s' in row %s column '%s' of CSV input",
+                                string(length), rows, builder.name), e);
+                    }
+                }
+            } while (!endOfRecord);
+
+            while (column < builders.size()) {
+                builders.get(column++).addNull();
+            }
+        }
+
+        final ColumnVector[] vectors = new ColumnVector[builders.size()];
+        for (int i = 0; i < vectors.length; i++) {
+            vectors[i] = builders.get(i).build();
+        }
+        return new ColumnarDataSet(ColumnDictionary.of(names), vectors);
+    }
+
+    /**
+     * Reads the next field into the field buffer and moves behind the delimiter or line break ending it.
+     * @return The length of the field or {@link #NULL_FIELD} for an unquoted empty field
+     */
+    private int readField() {
+        int length = 0;
+        boolean quoted = false;
+
+        if (position < limit && buffer.get(position) == '"') {
+            quoted = true;
+            position++;
+            while (true) {
+                if (position >= limit) {
+                    throw new JdbcDriverException("Unterminated quoted field in CSV input");
+                }
+
+                final byte b = buffer.get(position++);
+                if (b == '"') {
+                    if (position < limit && buffer.get(position) == '"') {
+                        position++;
+                    } else {
+                        break;
+                    }
+                }
+                length = append(length, b);
+            }
+        }
+
+        final int start = position;
+        while (position < limit) {
+            final byte b = buffer.get(position);
+            if (b == delimiter || b == '\n' || b == '\r') {
+                break;
+            }
+            position++;
+        }
+
+        if (position > start) {
+            final int unquoted = position - start;
+            ensureCapacity(length + unquoted);
+            buffer.position(start);
+            buffer.get(field, length, unquoted);
+            length += unquoted;
+        }
+
+        if (position >= limit) {
+            endOfRecord = true;
+        } else if (buffer.get(position) == delimiter) {
+            endOfRecord = false;
+            position++;
+        } else {
+            endOfRecord = true;
+            if (buffer.get(position++) == '\r' && position < limit && buffer.get(position) == '\n') {
+                position++;
+            }
+        }
+
+        return !quoted && length == 0 ? NULL_FIELD : length;
+    }
+
+    private int append(final int length, final byte b) {
+        ensureCapacity(length + 1);
+        field[length] = b;
+        return length + 1;
+    }
+
+    private void ensureCapacity(final int capacity) {
+        if (capacity > field.length) {
+            field = Arrays.copyOf(field, Math.max(capacity, field.length * 2));
+        }
+    }
+
+    /**
+     * Decodes the field buffer as string.
+     * @param length The length of the field
+     * @return The field value
+     */
+    private String string(final int length) {
+        return new String(field, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parses the field buffer as long without creating a string for plain decimal numbers.
+     * @param length The length of the field
+     * @return The field value
+     * @throws NumberFormatException in case the field is no valid long value
+     */
+    private long parseLong(final int length) {
+        int i = 0;
+        final boolean negative = length > 0 && field[0] == '-';
+        if (length > 0 && (negative || field[0] == '+')) {
+            i++;
+        }
+
+        if (i == length || length - i > MAX_LONG_DIGITS) {
+            return Long.parseLong(string(length).trim());
+        }
+
+        long result = 0;
+        for (; i < length; i++) {
+            final int digit = field[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return Long.parseLong(string(length).trim());
+            }
+            result = result * 10 + digit;
+        }
+        return negative ? -result : result;
+    }
+
+    private int parseInt(final int length) {
+        final long value = parseLong(length);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new NumberFormatException("Value out of integer range: " + value);
+        }
+        return (int) value;
+    }
+
+    private double parseDouble(final int length) {
+        return Double.parseDouble(string(length));
+    }
+
+    private static JDBCType typeOf(final String hint) {
+        try {
+            return JDBCType.valueOf(hint.trim().toUpperCase(Locale.ENGLISH));
+        } catch (final IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Collects the values of a single column.
+     */
+    private abstract static class ColumnBuilder {
+        private static final int INITIAL_CAPACITY = 1024;
+
+        final String name;
+        final BitSet nulls = new BitSet();
+        int size;
+
+        ColumnBuilder(final String name) {
+            this.name = name;
+        }
+
+        static ColumnBuilder of(final JDBCType type, final String name) {
+            if (type == null) {
+                return new ObjectBuilder(name, String.class);
+            }
+
+            switch (type) {
+                case TINYINT:
+                case SMALLINT:
+                case INTEGER:
+                    return new IntBuilder(name);
+                case BIGINT:
+                    return new LongBuilder(name);
+                case FLOAT:
+                case REAL:
+                case DOUBLE:
+                    return new DoubleBuilder(name);
+                case DECIMAL:
+                case NUMERIC:
+                    return new ObjectBuilder(name, BigDecimal.class);
+                case BIT:
+                case BOOLEAN:
+                    return new ObjectBuilder(name, Boolean.class);
+                case DATE:
+                    return new ObjectBuilder(name, Date.class);
+                case TIME:
+                    return new ObjectBuilder(name, Time.class);
+                case TIMESTAMP:
+                    return new ObjectBuilder(name, Timestamp.class);
+                case CHAR:
+                case VARCHAR:
+                case LONGVARCHAR:
+                case NCHAR:
+                case NVARCHAR:
+                case LONGNVARCHAR:
+                    return new ObjectBuilder(name, String.class);
+                default:
+                    throw new JdbcDriverException(String.format("Unsupported type %s of column '%s' in CSV header", type, name));
+            }
+        }
+
+        void addNull() {
+            grow(size + 1);
+            nulls.set(size++);
+        }
+
+        void add(final CsvReader reader, final int length) {
+            grow(size + 1);
+            set(reader, length);
+            size++;
+        }
+
+        static int capacity(final int current, final int required) {
+            return current >= required ? current : Math.max(required, Math.max(INITIAL_CAPACITY, current * 2));
+        }
+
+        abstract void grow(int capacity);
+
+        abstract void set(CsvReader reader, int length);
+
+        abstract ColumnVector build();
+    }
+
+    private static final class IntBuilder extends ColumnBuilder {
+        private int[] values = new int[0];
+
+        IntBuilder(final String name) {
+            super(name);
+        }
+
+        @Override
+        void grow(final int capacity) {
+            if (capacity > values.length) {
+                values = Arrays.copyOf(values, capacity(values.length, capacity));
+            }
+        }
+
+        @Override
+        void set(final CsvReader reader, final int length) {
+            values[size] = reader.parseInt(length);
+        }
+
+        @Override
+        ColumnVector build() {
+            return ColumnVector.ofInts(Arrays.copyOf(values, size), nulls);
+        }
+    }
+
+    private static final class LongBuilder extends ColumnBuilder {
+        private long[] values = new long[0];
+
+        LongBuilder(final String name) {
+            super(name);
+        }
+
+        @Override
+        void grow(final int capacity) {
+            if (capacity > values.length) {
+                values = Arrays.copyOf(values, capacity(values.length, capacity));
+            }
+        }
+
+        @Override
+        void set(final CsvReader reader, final int length) {
+            values[size] = reader.parseLong(length);
+        }
+
+        @Override
+        ColumnVector build() {
+            return ColumnVector.ofLongs(Arrays.copyOf(values, size), nulls);
+        }
+    }
+
+    private static final class DoubleBuilder extends ColumnBuilder {
+        private double[] values = new double[0];
+
+        DoubleBuilder(final String name) {
+            super(name);
+        }
+
+        @Override
+        void grow(final int capacity) {
+            if (capacity > values.length) {
+                values = Arrays.copyOf(values, capacity(values.length, capacity));
+            }
+        }
+
+        @Override
+        void set(final CsvReader reader, final int length) {
+            values[size] = reader.parseDouble(length);
+        }
+
+        @Override
+        ColumnVector build() {
+            return ColumnVector.ofDoubles(Arrays.copyOf(values, size), nulls);
+        }
+    }
+
+    private static final class ObjectBuilder extends ColumnBuilder {
+        private final Class<?> type;
+        private final List<Object> values = new ArrayList<>();
+
+        ObjectBuilder(final String name, final Class<?> type) {
+            super(name);
+            this.type = type;
+        }
+
+        @Override
+        void grow(final int capacity) {
+            while (values.size() < capacity) {
+                values.add(null);
+            }
+        }
+
+        @Override
+        void set(final CsvReader reader, final int length) {
+            final String value = reader.string(length);
+            values.set(size, type == String.class ? value : ValueConverters.convert(value, type));
+        }
+
+        @Override
+        ColumnVector build() {
+            return ColumnVector.of(values);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.driver.csv;
+
+import com.consol.citrus.db.driver.JdbcDriverException;
+import com.consol.citrus.db.driver.data.Table;
+import com.consol.citrus.db.driver.data.TableProducer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Produces a single table from CSV content with a header row naming the columns. Files are memory mapped and
+ * named after the file unless a table name is given. See {@link CsvDataSetProducer} for the supported format.
+ */
+public class CsvTableProducer implements TableProducer {
+
+    private final String tableName;
+
+    /** CSV file used as table source, null if the content has been given directly */
+    private final Path path;
+
+    /** CSV content used as table source if no file has been given */
+    private final byte[] content;
+
+    private char delimiter = ',';
+
+    public CsvTableProducer(final File file) {
+        this(file.toPath());
+    }
+
+    public CsvTableProducer(final Path path) {
+        this(tableName(path), path);
+    }
+
+    public CsvTableProducer(final String tableName, final Path path) {
+        this.tableName = tableName;
+        this.path = path;
+        this.content = null;
+    }
+
+    public CsvTableProducer(final String tableName, final String csvInput) {
+        this.tableName = tableName;
+        this.path = null;
+        this.content = csvInput.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public CsvTableProducer(final String tableName, final InputStream inputStream) {
+        this.tableName = tableName;
+        this.path = null;
+        try (InputStream in = inputStream) {
+            this.content = in.readAllBytes();
+        } catch (final IOException e) {
+            throw new JdbcDriverException("Failed to read csv input content", e);
+        }
+    }
+
+    /**
+     * Sets the delimiter separating the fields, defaults to comma.
+     * @param delimiter The delimiter
+     * @return
+     */
+    public CsvTableProducer delimiter(final char delimiter) {
+        this.delimiter = delimiter;
+        return this;
+    }
+
+    @Override
+    public List<Table> produce() {
+        final Table table = new Table(tableName);
+        table.getRows().addAll(new CsvReader(CsvDataSetProducer.buffer(path, content), delimiter).read().getRows());
+        final List<Table> tables = new ArrayList<>();
+        tables.add(table);
+        return tables;
+    }
+
+    private static String tableName(final Path path) {
+        final String fileName = path.getFileName().toString();
+        final int extension = fileName.lastIndexOf('.');
+        return extension > 0 ? fileName.substring(0, extension) : fileName;
+    }
+}
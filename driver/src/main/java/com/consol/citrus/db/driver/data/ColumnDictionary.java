@@ -0,0 +1,204 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.driver.data;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable dictionary of column names mapping each name to its index. Rows of the same data set share
+ * one dictionary so that their values can be kept in plain arrays and looked up by index or name in
+ * constant time.
+ */
+public final class ColumnDictionary {
+
+    /** Dictionary without any columns */
+    public static final ColumnDictionary EMPTY = new ColumnDictionary(new String[0]);
+
+    /** Column names in column order */
+    private final String[] names;
+
+    /** Column index by column name */
+    private final Map<String, Integer> indices;
+
+    /** Unmodifiable view on the column names */
+    private final List<String> columns;
+
+    private ColumnDictionary(final String[] names) {
+        this.names = names;
+        this.indices = new HashMap<>(names.length * 4 / 3 + 1);
+        for (int i = 0; i < names.length; i++) {
+            indices.putIfAbsent(names[i], i);
+        }
+        this.columns = Collections.unmodifiableList(Arrays.asList(names));
+    }
+
+    /**
+     * Creates a dictionary holding the given columns in iteration order.
+     * @param columns The column names
+     * @return The dictionary
+     */
+    public static ColumnDictionary of(final Collection<? extends String> columns) {
+        if (columns.isEmpty()) {
+            return EMPTY;
+        }
+        return new ColumnDictionary(columns.toArray(new String[0]));
+    }
+
+    /**
+     * Creates a dictionary holding the given columns in the given order.
+     * @param columns The column names
+     * @return The dictionary
+     */
+    public static ColumnDictionary of(final String... columns) {
+        if (columns.length == 0) {
+            return EMPTY;
+        }
+        return new ColumnDictionary(columns.clone());
+    }
+
+    /**
+     * Creates a dictionary holding the distinct columns of all given rows in order of their first occurrence.
+     * Rows sharing a dictionary with their predecessor are skipped, so that data sets with a single column
+     * layout are processed in linear time.
+     * @param rows The rows to collect the columns of
+     * @return The dictionary
+     */
+    public static ColumnDictionary union(final Collection<Row> rows) {
+        ColumnDictionary union = EMPTY;
+        ColumnDictionary previous = null;
+        Set<String> columns = null;
+        for (final Row row : rows) {
+            final ColumnDictionary dictionary = row.getColumnDictionary();
+            if (dictionary == previous || dictionary.equals(union)) {
+                continue;
+            }
+
+            if (union == EMPTY && columns == null) {
+                union = dictionary;
+            } else {
+                if (columns == null) {
+                    columns = new LinkedHashSet<>(union.getColumns());
+                }
+                if (columns.addAll(dictionary.getColumns())) {
+                    union = of(columns);
+                }
+            }
+            previous = dictionary;
+        }
+        return union;
+    }
+
+    /**
+     * Lets consecutive rows holding the same columns share a single dictionary instance,
+     * so that only one dictionary per distinct column layout is retained.
+     * @param rows The rows to share the dictionaries of
+     */
+    public static void share(final Collection<Row> rows) {
+        ColumnDictionary shared = null;
+        for (final Row row : rows) {
+            if (row != null) {
+                shared = row.shareColumnDictionary(shared);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of columns.
+     * @return The number of columns
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Gets the index of the given column.
+     * @param column The column name
+     * @return The 0-based index or -1 if the column is not part of this dictionary
+     */
+    public int indexOf(final Object column) {
+        final Integer index = indices.get(column);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Gets the name of the column with the given index.
+     * @param index The 0-based column index
+     * @return The column name
+     */
+    public String getColumn(final int index) {
+        return names[index];
+    }
+
+    /**
+     * Gets the column names in column order.
+     * @return Unmodifiable list of column names
+     */
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    /**
+     * Creates a new dictionary holding the columns of this dictionary plus the given column.
+     * @param column The column to append
+     * @return The new dictionary
+     */
+    ColumnDictionary with(final String column) {
+        final String[] extended = Arrays.copyOf(names, names.length + 1);
+        extended[names.length] = column;
+        return new ColumnDictionary(extended);
+    }
+
+    /**
+     * Creates a new dictionary holding the columns of this dictionary except the column with the given index.
+     * @param index The index of the column to remove
+     * @return The new dictionary
+     */
+    ColumnDictionary without(final int index) {
+        final String[] reduced = new String[names.length - 1];
+        System.arraycopy(names, 0, reduced, 0, index);
+        System.arraycopy(names, index + 1, reduced, index, names.length - index - 1);
+        return reduced.length == 0 ? EMPTY : new ColumnDictionary(reduced);
+    }
+
+    @Override
+    public final boolean equals(final Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ColumnDictionary)) return false;
+        final ColumnDictionary that = (ColumnDictionary) o;
+        return Arrays.equals(names, that.names);
+    }
+
+    @Override
+    public final int hashCode() {
+        return Arrays.hashCode(names);
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnDictionary{" +
+                "columns=" + columns +
+                '}';
+    }
+}
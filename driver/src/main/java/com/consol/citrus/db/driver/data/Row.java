@@ -19,10 +19,7 @@ package com.consol.citrus.db.driver.data;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import org.apache.commons.beanutils.ConvertUtils;
 
-import java.util.Arrays;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -30,17 +27,30 @@ import java.util.SortedMap;
 
 public class Row {
 
-    /** Row values with column name as key */
-    private Map<String, Object> values = new LinkedHashMap<>();
-
-    private Object lastValue;
+    /** Row values with column name as key, backed by an array in the order of the column dictionary */
+    private Map<String, Object> values = new RowValues();
 
     public Row() {
     }
 
+    /**
+     * Creates a row holding a copy of the given values. Changes made to the map afterwards are not
+     * reflected by the row.
+     * @param values The values with column name as key
+     */
     @JsonCreator
     public Row(@JsonProperty("values") final Map<String, Object> values) {
-        this.values = values;
+        this.values = RowValues.of(values);
+    }
+
+    /**
+     * Creates a row holding the given values in the order of the given column dictionary. Rows of
+     * the same data set should share the dictionary instance.
+     * @param columns The column dictionary
+     * @param values The values in column order
+     */
+    public Row(final ColumnDictionary columns, final Object... values) {
+        this.values = new RowValues(columns, values);
     }
 
     /**
@@ -49,18 +59,40 @@ public class Row {
      */
     @JsonIgnore
     public List<String> getColumns() {
-        return Arrays.asList(values.keySet().toArray(new String[0]));
+        return getColumnDictionary().getColumns();
+    }
+
+    /**
+     * Gets the dictionary of the columns available in this row.
+     * @return The column dictionary
+     */
+    @JsonIgnore
+    public ColumnDictionary getColumnDictionary() {
+        if (values instanceof RowValues) {
+            return ((RowValues) values).getDictionary();
+        }
+        return ColumnDictionary.of(values.keySet());
     }
 
     /**
-     * Gets the row value identified by its column name.
+     * Gets the index of the given column in this row.
+     * @param columnName The name of the column
+     * @return The 0-based column index or -1 if the row does not hold that column
+     */
+    @JsonIgnore
+    public int getColumnIndex(final String columnName) {
+        return getColumnDictionary().indexOf(columnName);
+    }
+
+    /**
+     * Gets the row value identified by its column name. Reading a value does not modify the row, so rows
+     * of a shared data set can be read by many result sets concurrently.
      * @param columnName The name to get the value for
      * @return The value of that column
      */
     @JsonIgnore
     public Object getValue(final String columnName) {
-        lastValue = values.get(columnName);
-        return lastValue;
+        return values.get(columnName);
     }
 
     /**
@@ -83,8 +115,10 @@ public class Row {
      */
     @JsonIgnore
     public Object getValue(final int columnIndex) {
-        lastValue = values.values().toArray()[columnIndex];
-        return lastValue;
+        if (values instanceof RowValues) {
+            return ((RowValues) values).getValue(columnIndex);
+        }
+        return values.values().toArray()[columnIndex];
     }
 
     /**
@@ -115,20 +149,23 @@ public class Row {
      * @param values The values to set in the Row
      */
     public void setValues(final SortedMap<String, Object> values) {
-        this.values = values;
-    }
-
-    private <T> Object convertData(final Object value, final Class<T> clazz) {
-        return Objects.isNull(value) ? null : ConvertUtils.convert(value, clazz);
+        this.values = RowValues.of(values);
     }
 
     /**
-     * Gets the lastValue.
-     * @return The last value as object
+     * Replaces the column dictionary of this row with the given one if both hold the same columns.
+     * @param candidate The dictionary to share, may be null
+     * @return The dictionary used by this row afterwards
      */
-    @JsonIgnore
-    public Object getLastValue() {
-        return lastValue;
+    ColumnDictionary shareColumnDictionary(final ColumnDictionary candidate) {
+        if (values instanceof RowValues) {
+            return ((RowValues) values).share(candidate);
+        }
+        return candidate;
+    }
+
+    private <T> Object convertData(final Object value, final Class<T> clazz) {
+        return Objects.isNull(value) ? null : ValueConverters.convert(value, clazz);
     }
 
     @Override
@@ -136,20 +173,18 @@ public class Row {
         if (this == o) return true;
         if (!(o instanceof Row)) return false;
         final Row row = (Row) o;
-        return Objects.equals(values, row.values) &&
-                Objects.equals(lastValue, row.lastValue);
+        return Objects.equals(values, row.values);
     }
 
     @Override
     public final int hashCode() {
-        return Objects.hash(values, lastValue);
+        return Objects.hash(values);
     }
 
     @Override
     public String toString() {
         return "Row{" +
                 "values=" + values +
-                ", lastValue=" + lastValue +
                 '}';
     }
 }
@@ -0,0 +1,242 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.driver.data;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Row values kept in an array in the order of a column dictionary that is usually shared by all rows of
+ * a data set. Provides the values as map keyed by column name in column order, with constant time access by
+ * name and by index. Adding or removing columns replaces the dictionary of this row only.
+ */
+final class RowValues extends AbstractMap<String, Object> {
+
+    private ColumnDictionary dictionary;
+    private Object[] values;
+
+    RowValues() {
+        this(ColumnDictionary.EMPTY, new Object[0]);
+    }
+
+    RowValues(final ColumnDictionary dictionary, final Object[] values) {
+        if (dictionary.size() != values.length) {
+            throw new IllegalArgumentException(String.format(
+                    "Number of values %s does not match number of columns %s", values.length, dictionary.size()));
+        }
+        this.dictionary = dictionary;
+        this.values = values;
+    }
+
+    static RowValues of(final Map<String, Object> values) {
+        if (values instanceof RowValues) {
+            final RowValues rowValues = (RowValues) values;
+            return new RowValues(rowValues.dictionary, rowValues.values.clone());
+        }
+        return new RowValues(ColumnDictionary.of(values.keySet()), values.values().toArray());
+    }
+
+    ColumnDictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Replaces the dictionary of this row with the given one if both hold the same columns.
+     * @param candidate The dictionary to share, may be null
+     * @return The dictionary used by this row after sharing
+     */
+    ColumnDictionary share(final ColumnDictionary candidate) {
+        if (candidate != null && candidate != dictionary && candidate.equals(dictionary)) {
+            dictionary = candidate;
+        }
+        return dictionary;
+    }
+
+    Object getValue(final int index) {
+        return values[index];
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return dictionary.indexOf(key) >= 0;
+    }
+
+    @Override
+    public Object get(final Object key) {
+        final int index = dictionary.indexOf(key);
+        return index >= 0 ? values[index] : null;
+    }
+
+    @Override
+    public Object put(final String key, final Object value) {
+        final int index = dictionary.indexOf(key);
+        if (index >= 0) {
+            final Object previous = values[index];
+            values[index] = value;
+            return previous;
+        }
+
+        dictionary = dictionary.with(key);
+        values = Arrays.copyOf(values, values.length + 1);
+        values[values.length - 1] = value;
+        return null;
+    }
+
+    @Override
+    public void putAll(final Map<? extends String, ?> map) {
+        if (values.length == 0 && !map.isEmpty()) {
+            dictionary = ColumnDictionary.of(map.keySet());
+            values = map.values().toArray();
+        } else {
+            super.putAll(map);
+        }
+    }
+
+    @Override
+    public Object remove(final Object key) {
+        final int index = dictionary.indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        final Object previous = values[index];
+        removeAt(index);
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        dictionary = ColumnDictionary.EMPTY;
+        values = new Object[0];
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<Entry<String, Object>>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return values.length;
+            }
+        };
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = 0;
+        for (int i = 0; i < values.length; i++) {
+            hashCode += Objects.hashCode(dictionary.getColumn(i)) ^ Objects.hashCode(values[i]);
+        }
+        return hashCode;
+    }
+
+    private void removeAt(final int index) {
+        final Object[] reduced = new Object[values.length - 1];
+        System.arraycopy(values, 0, reduced, 0, index);
+        System.arraycopy(values, index + 1, reduced, index, values.length - index - 1);
+        dictionary = dictionary.without(index);
+        values = reduced;
+    }
+
+    private final class EntryIterator implements Iterator<Entry<String, Object>> {
+
+        private int next;
+        private int last = -1;
+
+        @Override
+        public boolean hasNext() {
+            return next < values.length;
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = next++;
+            return new ValueEntry(last);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            removeAt(last);
+            next = last;
+            last = -1;
+        }
+    }
+
+    private final class ValueEntry implements Entry<String, Object> {
+
+        private final int index;
+
+        private ValueEntry(final int index) {
+            this.index = index;
+        }
+
+        @Override
+        public String getKey() {
+            return dictionary.getColumn(index);
+        }
+
+        @Override
+        public Object getValue() {
+            return values[index];
+        }
+
+        @Override
+        public Object setValue(final Object value) {
+            final Object previous = values[index];
+            values[index] = value;
+            return previous;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof Entry)) return false;
+            final Entry<?, ?> entry = (Entry<?, ?>) o;
+            return Objects.equals(getKey(), entry.getKey()) && Objects.equals(getValue(), entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+}
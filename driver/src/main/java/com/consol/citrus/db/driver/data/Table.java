@@ -18,7 +18,6 @@ package com.consol.citrus.db.driver.data;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * @author Christoph Deppisch
@@ -81,7 +80,7 @@ public class Table {
      * @return
      */
     public List<String> getColumns() {
-        return rows.stream().flatMap(row -> row.getColumns().stream()).distinct().collect(Collectors.toList());
+        return ColumnDictionary.union(rows).getColumns();
     }
 
     /**
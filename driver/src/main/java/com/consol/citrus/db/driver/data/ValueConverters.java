@@ -0,0 +1,211 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.driver.data;
+
+import org.apache.commons.beanutils.ConvertUtils;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Converters of row values into the types requested by result set getters. A converter is chosen once per
+ * pair of value type and target type and cached. Common pairs such as numbers into other numbers, strings
+ * into numbers or long values into timestamps are converted directly, all other pairs and values the direct
+ * conversion does not cover are delegated to {@link ConvertUtils} so that the conversion results stay the same.
+ */
+public final class ValueConverters {
+
+    /** Converters by target type, cached per value type */
+    private static final ClassValue<Map<Class<?>, Function<Object, Object>>> CONVERTERS =
+            new ClassValue<Map<Class<?>, Function<Object, Object>>>() {
+                @Override
+                protected Map<Class<?>, Function<Object, Object>> computeValue(final Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    private ValueConverters() {
+    }
+
+    /**
+     * Converts the given value into the given type.
+     * @param value The value to convert, must not be null
+     * @param target The type to convert to
+     * @return The converted value
+     */
+    public static Object convert(final Object value, final Class<?> target) {
+        return converter(value.getClass(), target).apply(value);
+    }
+
+    /**
+     * Gets the converter for values of the given type into the given target type.
+     * @param source The type of the values
+     * @param target The type to convert to
+     * @return The converter
+     */
+    static Function<Object, Object> converter(final Class<?> source, final Class<?> target) {
+        final Map<Class<?>, Function<Object, Object>> converters = CONVERTERS.get(source);
+        Function<Object, Object> converter = converters.get(target);
+        if (converter == null) {
+            converter = createConverter(source, target);
+            converters.put(target, converter);
+        }
+        return converter;
+    }
+
+    private static Function<Object, Object> createConverter(final Class<?> source, final Class<?> target) {
+        final Class<?> boxedTarget = box(target);
+        if (boxedTarget.isAssignableFrom(source)) {
+            return Function.identity();
+        }
+
+        if (boxedTarget == String.class && !source.isArray()) {
+            return Object::toString;
+        }
+
+        final Function<Object, Object> fallback = value -> ConvertUtils.convert(value, target);
+        if (source == Long.class) {
+            return fromLong(boxedTarget, fallback);
+        }
+
+        if (Number.class.isAssignableFrom(source)) {
+            return fromNumber(boxedTarget, fallback);
+        }
+
+        if (source == String.class) {
+            return fromString(boxedTarget, fallback);
+        }
+
+        return fallback;
+    }
+
+    private static Function<Object, Object> fromNumber(final Class<?> target, final Function<Object, Object> fallback) {
+        if (target == Integer.class) {
+            return value -> {
+                final Number number = (Number) value;
+                final long longValue = number.longValue();
+                return longValue >= Integer.MIN_VALUE && longValue <= Integer.MAX_VALUE ? number.intValue() : fallback.apply(value);
+            };
+        } else if (target == Long.class) {
+            return value -> ((Number) value).longValue();
+        } else if (target == Double.class) {
+            return value -> ((Number) value).doubleValue();
+        } else if (target == Float.class) {
+            return value -> {
+                final double doubleValue = ((Number) value).doubleValue();
+                return Math.abs(doubleValue) <= Float.MAX_VALUE || Double.isNaN(doubleValue) ? ((Number) value).floatValue() : fallback.apply(value);
+            };
+        } else if (target == Short.class) {
+            return value -> {
+                final Number number = (Number) value;
+                final long longValue = number.longValue();
+                return longValue >= Short.MIN_VALUE && longValue <= Short.MAX_VALUE ? number.shortValue() : fallback.apply(value);
+            };
+        } else if (target == Byte.class) {
+            return value -> {
+                final Number number = (Number) value;
+                final long longValue = number.longValue();
+                return longValue >= Byte.MIN_VALUE && longValue <= Byte.MAX_VALUE ? number.byteValue() : fallback.apply(value);
+            };
+        } else if (target == BigDecimal.class) {
+            return value -> new BigDecimal(value.toString());
+        }
+
+        return fallback;
+    }
+
+    private static Function<Object, Object> fromString(final Class<?> target, final Function<Object, Object> fallback) {
+        if (target == Integer.class) {
+            return parsing(Integer::valueOf, fallback);
+        } else if (target == Long.class) {
+            return parsing(Long::valueOf, fallback);
+        } else if (target == Double.class) {
+            return parsing(Double::valueOf, fallback);
+        } else if (target == Float.class) {
+            return parsing(Float::valueOf, fallback);
+        } else if (target == Short.class) {
+            return parsing(Short::valueOf, fallback);
+        } else if (target == Byte.class) {
+            return parsing(Byte::valueOf, fallback);
+        } else if (target == BigDecimal.class) {
+            return parsing(BigDecimal::new, fallback);
+        } else if (target == Timestamp.class) {
+            return parsing(Timestamp::valueOf, fallback);
+        } else if (target == Date.class) {
+            return parsing(Date::valueOf, fallback);
+        } else if (target == Time.class) {
+            return parsing(Time::valueOf, fallback);
+        }
+
+        return fallback;
+    }
+
+    private static Function<Object, Object> fromLong(final Class<?> target, final Function<Object, Object> fallback) {
+        if (target == Timestamp.class) {
+            return value -> new Timestamp((Long) value);
+        } else if (target == Date.class) {
+            return value -> new Date((Long) value);
+        } else if (target == Time.class) {
+            return value -> new Time((Long) value);
+        }
+
+        return fromNumber(target, fallback);
+    }
+
+    /**
+     * Parses the trimmed string representation of a value, delegating values that can not be parsed
+     * to the fallback conversion.
+     */
+    private static Function<Object, Object> parsing(final Function<String, Object> parser, final Function<Object, Object> fallback) {
+        return value -> {
+            try {
+                return parser.apply(((String) value).trim());
+            } catch (final IllegalArgumentException e) {
+                return fallback.apply(value);
+            }
+        };
+    }
+
+    private static Class<?> box(final Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        } else if (type == int.class) {
+            return Integer.class;
+        } else if (type == long.class) {
+            return Long.class;
+        } else if (type == double.class) {
+            return Double.class;
+        } else if (type == float.class) {
+            return Float.class;
+        } else if (type == boolean.class) {
+            return Boolean.class;
+        } else if (type == short.class) {
+            return Short.class;
+        } else if (type == byte.class) {
+            return Byte.class;
+        } else if (type == char.class) {
+            return Character.class;
+        }
+        return type;
+    }
+}
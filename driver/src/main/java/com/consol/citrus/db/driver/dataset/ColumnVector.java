@@ -0,0 +1,484 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.driver.dataset;
+
+import com.consol.citrus.db.driver.data.ValueConverters;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Values of a single column of a {@link ColumnarDataSet}. Columns holding only integer, long or double values
+ * are kept in primitive arrays, columns holding only strings are dictionary encoded. Null values are tracked
+ * in a bitmap. Numeric values can be read without boxing, all other access goes through {@link #getObject(int)}.
+ */
+public abstract class ColumnVector {
+
+    /** Rows holding a null value */
+    private final BitSet nulls;
+
+    private final int size;
+
+    ColumnVector(final BitSet nulls, final int size) {
+        this.nulls = nulls;
+        this.size = size;
+    }
+
+    /**
+     * Creates a column holding the given values using the most compact representation
+     * that preserves the values and their types.
+     * @param values The values of the column in row order
+     * @return The column
+     */
+    public static ColumnVector of(final List<?> values) {
+        final BitSet nulls = new BitSet(values.size());
+        Class<?> type = null;
+        boolean uniform = true;
+        for (int i = 0; i < values.size(); i++) {
+            final Object value = values.get(i);
+            if (value == null) {
+                nulls.set(i);
+            } else if (type == null) {
+                type = value.getClass();
+            } else if (type != value.getClass()) {
+                uniform = false;
+            }
+        }
+
+        if (uniform && type == Integer.class) {
+            final int[] ints = new int[values.size()];
+            for (int i = 0; i < ints.length; i++) {
+                ints[i] = nulls.get(i) ? 0 : (Integer) values.get(i);
+            }
+            return new IntColumn(ints, nulls);
+        } else if (uniform && type == Long.class) {
+            final long[] longs = new long[values.size()];
+            for (int i = 0; i < longs.length; i++) {
+                longs[i] = nulls.get(i) ? 0L : (Long) values.get(i);
+            }
+            return new LongColumn(longs, nulls);
+        } else if (uniform && type == Double.class) {
+            final double[] doubles = new double[values.size()];
+            for (int i = 0; i < doubles.length; i++) {
+                doubles[i] = nulls.get(i) ? 0D : (Double) values.get(i);
+            }
+            return new DoubleColumn(doubles, nulls);
+        } else if (uniform && type == String.class) {
+            return StringColumn.encode(values, nulls);
+        }
+
+        return new ObjectColumn(values.toArray(), nulls);
+    }
+
+    /**
+     * Creates a column of integer values.
+     * @param values The values of the column in row order, the values of null rows are ignored
+     * @param nulls The rows holding a null value
+     * @return The column
+     */
+    public static ColumnVector ofInts(final int[] values, final BitSet nulls) {
+        return new IntColumn(values, nulls);
+    }
+
+    /**
+     * Creates a column of long values.
+     * @param values The values of the column in row order, the values of null rows are ignored
+     * @param nulls The rows holding a null value
+     * @return The column
+     */
+    public static ColumnVector ofLongs(final long[] values, final BitSet nulls) {
+        return new LongColumn(values, nulls);
+    }
+
+    /**
+     * Creates a column of double values.
+     * @param values The values of the column in row order, the values of null rows are ignored
+     * @param nulls The rows holding a null value
+     * @return The column
+     */
+    public static ColumnVector ofDoubles(final double[] values, final BitSet nulls) {
+        return new DoubleColumn(values, nulls);
+    }
+
+    /**
+     * Creates a builder appending the values of a column one by one.
+     * @return The builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Gets the number of rows in this column.
+     * @return The number of rows
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Whether the given row holds a null value.
+     * @param row The 0-based row index
+     * @return True if the value is null
+     */
+    public boolean isNull(final int row) {
+        return nulls.get(row);
+    }
+
+    /**
+     * Whether any row of this column holds a null value.
+     * @return True if the column holds null values
+     */
+    public boolean hasNulls() {
+        return !nulls.isEmpty();
+    }
+
+    /**
+     * Gets the index of the first row holding a value.
+     * @return The 0-based row index or -1 if all values are null
+     */
+    int firstValue() {
+        final int row = nulls.nextClearBit(0);
+        return row < size ? row : -1;
+    }
+
+    /**
+     * Gets the value of the given row.
+     * @param row The 0-based row index
+     * @return The value or null
+     */
+    public abstract Object getObject(int row);
+
+    /**
+     * Gets the value of the given row as int.
+     * @param row The 0-based row index
+     * @return The value or 0 if the value is null
+     */
+    public int getInt(final int row) {
+        return (int) convert(row, int.class, 0);
+    }
+
+    /**
+     * Gets the value of the given row as long.
+     * @param row The 0-based row index
+     * @return The value or 0 if the value is null
+     */
+    public long getLong(final int row) {
+        return (long) convert(row, long.class, 0L);
+    }
+
+    /**
+     * Gets the value of the given row as double.
+     * @param row The 0-based row index
+     * @return The value or 0 if the value is null
+     */
+    public double getDouble(final int row) {
+        return (double) convert(row, double.class, 0D);
+    }
+
+    private Object convert(final int row, final Class<?> type, final Object nullValue) {
+        final Object value = getObject(row);
+        return value == null ? nullValue : ValueConverters.convert(value, type);
+    }
+
+    /**
+     * Column of integer values.
+     */
+    static final class IntColumn extends ColumnVector {
+        private final int[] values;
+
+        IntColumn(final int[] values, final BitSet nulls) {
+            super(nulls, values.length);
+            this.values = values;
+        }
+
+        @Override
+        public Object getObject(final int row) {
+            return isNull(row) ? null : values[row];
+        }
+
+        @Override
+        public int getInt(final int row) {
+            return values[row];
+        }
+
+        @Override
+        public long getLong(final int row) {
+            return values[row];
+        }
+
+        @Override
+        public double getDouble(final int row) {
+            return values[row];
+        }
+    }
+
+    /**
+     * Column of long values.
+     */
+    static final class LongColumn extends ColumnVector {
+        private final long[] values;
+
+        LongColumn(final long[] values, final BitSet nulls) {
+            super(nulls, values.length);
+            this.values = values;
+        }
+
+        @Override
+        public Object getObject(final int row) {
+            return isNull(row) ? null : values[row];
+        }
+
+        @Override
+        public int getInt(final int row) {
+            final long value = values[row];
+            return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE ? (int) value : super.getInt(row);
+        }
+
+        @Override
+        public long getLong(final int row) {
+            return values[row];
+        }
+
+        @Override
+        public double getDouble(final int row) {
+            return values[row];
+        }
+    }
+
+    /**
+     * Column of double values.
+     */
+    static final class DoubleColumn extends ColumnVector {
+        private final double[] values;
+
+        DoubleColumn(final double[] values, final BitSet nulls) {
+            super(nulls, values.length);
+            this.values = values;
+        }
+
+        @Override
+        public Object getObject(final int row) {
+            return isNull(row) ? null : values[row];
+        }
+
+        @Override
+        public int getInt(final int row) {
+            final double value = values[row];
+            return value > Integer.MIN_VALUE - 1D && value < Integer.MAX_VALUE + 1D ? (int) value : super.getInt(row);
+        }
+
+        @Override
+        public long getLong(final int row) {
+            final double value = values[row];
+            return value >= -0x1p63 && value < 0x1p63 ? (long) value : super.getLong(row);
+        }
+
+        @Override
+        public double getDouble(final int row) {
+            return values[row];
+        }
+    }
+
+    /**
+     * Column of string values encoded as indices into a dictionary of the distinct values.
+     */
+    static final class StringColumn extends ColumnVector {
+        private final int[] codes;
+        private final String[] dictionary;
+
+        private StringColumn(final int[] codes, final String[] dictionary, final BitSet nulls) {
+            super(nulls, codes.length);
+            this.codes = codes;
+            this.dictionary = dictionary;
+        }
+
+        static StringColumn encode(final List<?> values, final BitSet nulls) {
+            final Map<String, Integer> codesByValue = new HashMap<>();
+            final int[] codes = new int[values.size()];
+            String[] dictionary = new String[16];
+            for (int i = 0; i < codes.length; i++) {
+                if (!nulls.get(i)) {
+                    final String value = (String) values.get(i);
+                    Integer code = codesByValue.get(value);
+                    if (code == null) {
+                        code = codesByValue.size();
+                        codesByValue.put(value, code);
+                        if (code == dictionary.length) {
+                            dictionary = Arrays.copyOf(dictionary, dictionary.length * 2);
+                        }
+                        dictionary[code] = value;
+                    }
+                    codes[i] = code;
+                }
+            }
+            return new StringColumn(codes, Arrays.copyOf(dictionary, codesByValue.size()), nulls);
+        }
+
+        @Override
+        public Object getObject(final int row) {
+            return isNull(row) ? null : dictionary[codes[row]];
+        }
+    }
+
+    /**
+     * Column of values of mixed or other types.
+     */
+    static final class ObjectColumn extends ColumnVector {
+        private final Object[] values;
+
+        ObjectColumn(final Object[] values, final BitSet nulls) {
+            super(nulls, values.length);
+            this.values = values;
+        }
+
+        @Override
+        public Object getObject(final int row) {
+            return values[row];
+        }
+    }
+
+    /**
+     * Builder appending the values of a column one by one. Integer, long and double values are written
+     * straight into a primitive array as long as the column holds values of a single type, so that large
+     * columns are never held as boxed values. The builder falls back to an object array on the first value
+     * of another type.
+     */
+    public static final class Builder {
+        private final BitSet nulls = new BitSet();
+        private int size;
+
+        /** Type of the values or null as long as only null values have been added */
+        private Class<?> type;
+        private boolean uniform = true;
+
+        private int[] ints;
+        private long[] longs;
+        private double[] doubles;
+        private Object[] objects;
+
+        private Builder() {
+        }
+
+        /**
+         * Appends a value to the column.
+         * @param value The value, may be null
+         * @return This builder
+         */
+        public Builder add(final Object value) {
+            if (value == null) {
+                nulls.set(size);
+            } else if (type == null) {
+                type = value.getClass();
+                allocate();
+                set(value);
+            } else if (type != value.getClass() && uniform) {
+                uniform = false;
+                if (objects == null) {
+                    objects = new Object[capacity()];
+                    for (int i = 0; i < size; i++) {
+                        objects[i] = get(i);
+                    }
+                    ints = null;
+                    longs = null;
+                    doubles = null;
+                }
+                set(value);
+            } else {
+                set(value);
+            }
+            size++;
+            return this;
+        }
+
+        /**
+         * Builds the column holding the values added so far.
+         * @return The column
+         */
+        public ColumnVector build() {
+            final BitSet columnNulls = (BitSet) nulls.clone();
+            if (objects != null || type == null) {
+                final Object[] values = objects != null ? Arrays.copyOf(objects, size) : new Object[size];
+                return uniform && type == String.class
+                        ? StringColumn.encode(Arrays.asList(values), columnNulls)
+                        : new ObjectColumn(values, columnNulls);
+            } else if (ints != null) {
+                return new IntColumn(Arrays.copyOf(ints, size), columnNulls);
+            } else if (longs != null) {
+                return new LongColumn(Arrays.copyOf(longs, size), columnNulls);
+            }
+            return new DoubleColumn(Arrays.copyOf(doubles, size), columnNulls);
+        }
+
+        private void allocate() {
+            if (type == Integer.class) {
+                ints = new int[capacity()];
+            } else if (type == Long.class) {
+                longs = new long[capacity()];
+            } else if (type == Double.class) {
+                doubles = new double[capacity()];
+            } else {
+                objects = new Object[capacity()];
+            }
+        }
+
+        private int capacity() {
+            return Math.max(16, size * 2);
+        }
+
+        private void set(final Object value) {
+            if (ints != null) {
+                if (size == ints.length) {
+                    ints = Arrays.copyOf(ints, size * 2);
+                }
+                ints[size] = (Integer) value;
+            } else if (longs != null) {
+                if (size == longs.length) {
+                    longs = Arrays.copyOf(longs, size * 2);
+                }
+                longs[size] = (Long) value;
+            } else if (doubles != null) {
+                if (size == doubles.length) {
+                    doubles = Arrays.copyOf(doubles, size * 2);
+                }
+                doubles[size] = (Double) value;
+            } else {
+                if (size == objects.length) {
+                    objects = Arrays.copyOf(objects, size * 2);
+                }
+                objects[size] = value;
+            }
+        }
+
+        private Object get(final int row) {
+            if (nulls.get(row)) {
+                return null;
+            } else if (ints != null) {
+                return ints[row];
+            } else if (longs != null) {
+                return longs[row];
+            } else if (doubles != null) {
+                return doubles[row];
+            }
+            return objects[row];
+        }
+    }
+}
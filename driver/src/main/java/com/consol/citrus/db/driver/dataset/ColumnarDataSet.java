@@ -0,0 +1,235 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.driver.dataset;
+
+import com.consol.citrus.db.driver.data.ColumnDictionary;
+import com.consol.citrus.db.driver.data.Row;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Data set holding its values column by column in typed {@link ColumnVector}s instead of one map per row.
+ * Large, mostly numeric data sets take a fraction of the heap of a row based data set, and result sets read
+ * numeric values straight from the column arrays without boxing. Rows are only materialized on demand,
+ * e.g. when the data set is serialized. The data set is immutable apart from its shared cursor.
+ */
+public class ColumnarDataSet extends DataSet {
+
+    private final ColumnDictionary columns;
+    private final ColumnVector[] vectors;
+    private final int rowCount;
+    private final DataSetSchema schema;
+
+    /** Cursor position on selected row */
+    private final AtomicInteger cursor = new AtomicInteger(0);
+
+    /** Rows materialized on first access */
+    private volatile List<Row> rows;
+
+    /**
+     * Default constructor using the column dictionary and a vector per column.
+     * @param columns The columns of the data set
+     * @param vectors The values of each column in the order of the dictionary
+     */
+    public ColumnarDataSet(final ColumnDictionary columns, final ColumnVector... vectors) {
+        if (columns.size() != vectors.length) {
+            throw new IllegalArgumentException(String.format(
+                    "Number of column vectors %s does not match number of columns %s", vectors.length, columns.size()));
+        }
+
+        this.rowCount = vectors.length > 0 ? vectors[0].size() : 0;
+        for (final ColumnVector vector : vectors) {
+            if (vector.size() != rowCount) {
+                throw new IllegalArgumentException("Column vectors must have the same number of rows");
+            }
+        }
+
+        this.columns = columns;
+        this.vectors = vectors.clone();
+        this.schema = DataSetSchema.of(columns, this.vectors);
+    }
+
+    /**
+     * Creates a columnar data set holding the values of the given rows. Columns missing
+     * in some of the rows are filled up with null values.
+     * @param rows The rows to convert
+     * @return The columnar data set
+     */
+    public static ColumnarDataSet of(final List<Row> rows) {
+        final ColumnDictionary columns = ColumnDictionary.union(rows);
+        final ColumnVector.Builder[] builders = new ColumnVector.Builder[columns.size()];
+        for (int i = 0; i < builders.length; i++) {
+            builders[i] = ColumnVector.builder();
+        }
+
+        for (final Row row : rows) {
+            final Map<String, Object> rowValues = row.getValues();
+            for (int i = 0; i < builders.length; i++) {
+                builders[i].add(rowValues.get(columns.getColumn(i)));
+            }
+        }
+        return of(columns, builders);
+    }
+
+    /**
+     * Creates a columnar data set holding the values appended to the given column builders.
+     * @param columns The columns of the data set
+     * @param builders The builder of each column in the order of the dictionary
+     * @return The columnar data set
+     */
+    public static ColumnarDataSet of(final ColumnDictionary columns, final ColumnVector.Builder... builders) {
+        final ColumnVector[] vectors = new ColumnVector[builders.length];
+        for (int i = 0; i < vectors.length; i++) {
+            vectors[i] = builders[i].build();
+        }
+        return new ColumnarDataSet(columns, vectors);
+    }
+
+    @Override
+    public ColumnarCursor cursor() {
+        return new ColumnarCursor();
+    }
+
+    /**
+     * Moves the shared cursor to the next row without materializing it.
+     * If there is no further row, the cursor position stays untouched.
+     * @return The 0-based index of the next row or -1 if no further row is available
+     */
+    public int nextRowIndex() {
+        int index;
+        do {
+            index = cursor.get();
+            if (index >= rowCount) {
+                return -1;
+            }
+        } while (!cursor.compareAndSet(index, index + 1));
+        return index;
+    }
+
+    @Override
+    @JsonIgnore
+    public Row getNextRow() {
+        final int index = nextRowIndex();
+        return index >= 0 ? getRow(index) : null;
+    }
+
+    /**
+     * Materializes the row with the given index.
+     * @param row The 0-based row index
+     * @return The row
+     */
+    public Row getRow(final int row) {
+        final Object[] values = new Object[vectors.length];
+        for (int i = 0; i < vectors.length; i++) {
+            values[i] = vectors[i].getObject(row);
+        }
+        return new Row(columns, values);
+    }
+
+    /**
+     * Gets the values of a column.
+     * @param column The 0-based column index
+     * @return The column vector
+     */
+    public ColumnVector getColumn(final int column) {
+        return vectors[column];
+    }
+
+    /**
+     * Gets the index of a column.
+     * @param columnName The column name
+     * @return The 0-based column index or -1 if the data set has no such column
+     */
+    public int getColumnIndex(final String columnName) {
+        return columns.indexOf(columnName);
+    }
+
+    /**
+     * Gets the number of rows.
+     * @return The number of rows
+     */
+    @JsonIgnore
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Gets all rows in this dataset, materializing them on first access.
+     * @return Unmodifiable list of rows
+     */
+    @Override
+    public List<Row> getRows() {
+        List<Row> materialized = rows;
+        if (materialized == null) {
+            final List<Row> list = new ArrayList<>(rowCount);
+            for (int i = 0; i < rowCount; i++) {
+                list.add(getRow(i));
+            }
+            materialized = Collections.unmodifiableList(list);
+            rows = materialized;
+        }
+        return materialized;
+    }
+
+    @Override
+    @JsonIgnore
+    public DataSetSchema getSchema() {
+        return schema;
+    }
+
+    @Override
+    @JsonIgnore
+    public int getCursor() {
+        return cursor.get();
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnarDataSet{" +
+                "columns=" + columns.getColumns() +
+                ", rowCount=" + rowCount +
+                ", cursor=" + cursor +
+                '}';
+    }
+
+    /**
+     * Cursor able to move over the rows without materializing them, so that values can be read
+     * straight from the column vectors with the current row index.
+     */
+    public final class ColumnarCursor extends DataSetCursor {
+
+        /**
+         * Moves the cursor to the next row without materializing it.
+         * If there is no further row, the cursor position stays untouched.
+         * @return The 0-based index of the next row or -1 if no further row is available
+         */
+        public int nextRowIndex() {
+            return getPosition() < rowCount ? advance() : -1;
+        }
+
+        @Override
+        protected Row readRow(final int position) {
+            return position < rowCount ? getRow(position) : null;
+        }
+    }
+}
@@ -16,36 +16,59 @@
 
 package com.consol.citrus.db.driver.dataset;
 
+import com.consol.citrus.db.driver.data.ColumnDictionary;
 import com.consol.citrus.db.driver.data.Row;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
 
+/**
+ * Immutable snapshot of rows. As the list of rows can not be changed once the data set has been created,
+ * a single data set instance can be shared by any number of result sets. Each reader iterates the rows
+ * with a {@link DataSetCursor} of its own obtained via {@link #cursor()}.
+ */
 public class DataSet {
 
     /** Rows in this data set */
-    private final List<Row> rows = new ArrayList<>();
+    private final List<Row> rows;
 
     /** Cursor position on selected row */
     private AtomicInteger cursor = new AtomicInteger(0);
 
+    /** Schema inferred from the rows on first access */
+    private transient volatile DataSetSchema schema;
+
     public DataSet() {
+        this.rows = Collections.emptyList();
     }
 
     @JsonCreator
     public DataSet(@JsonProperty("rows") final List<Row> rows){
-        this.rows.addAll(rows);
+        final List<Row> snapshot = new ArrayList<>(rows);
+        ColumnDictionary.share(snapshot);
+        this.rows = Collections.unmodifiableList(snapshot);
+    }
+
+    /**
+     * Creates a new cursor positioned before the first row of this data set.
+     * Cursors are independent of each other and of the shared cursor used by {@link #getNextRow()}.
+     * @return The new cursor
+     */
+    public DataSetCursor cursor() {
+        return new RowListCursor(rows);
     }
 
     /**
      * Gets next row in this data set based on cursor position.
      * If there is no further row, the index cursor position stays untouched.
+     * The cursor is shared by all callers, readers that need to iterate the data set on their own
+     * should use a dedicated {@link #cursor()} instead.
      * @return The next row of the dataset or null if no further row is available
      */
     @JsonIgnore
@@ -65,12 +88,28 @@ public class DataSet {
      */
     @JsonIgnore
     public List<String> getColumns() {
-        return rows.stream().flatMap(row -> row.getColumns().stream()).distinct().collect(Collectors.toList());
+        return getSchema().getColumns();
+    }
+
+    /**
+     * Gets the schema of this dataset. The schema is inferred from the rows once and cached.
+     * @return The schema of the dataset
+     */
+    @JsonIgnore
+    public DataSetSchema getSchema() {
+        DataSetSchema cached = schema;
+        if (cached == null) {
+            cached = DataSetSchema.of(rows);
+            schema = cached;
+        }
+        return cached;
     }
 
     /**
-     * Gets all rows in this dataset.
-     * @return The rows of the Dataset
+     * Gets all rows in this dataset. The list can not be modified, any attempt to add or remove rows throws an
+     * {@link UnsupportedOperationException}. Data sets holding other rows are created with the {@link DataSetBuilder},
+     * e.g. {@code new DataSetBuilder(dataSet).add(row).build()}, or the {@link #DataSet(List)} constructor.
+     * @return The unmodifiable rows of the Dataset
      */
     public List<Row> getRows() {
         return rows;
@@ -91,13 +130,13 @@ public class DataSet {
         if (this == o) return true;
         if (!(o instanceof DataSet)) return false;
         final DataSet dataSet = (DataSet) o;
-        return Objects.equals(rows, dataSet.rows);
+        return Objects.equals(getRows(), dataSet.getRows());
     }
 
     @Override
     @JsonIgnore
     public final int hashCode() {
-        return Objects.hash(rows);
+        return Objects.hash(getRows());
     }
 
     @Override
@@ -108,4 +147,20 @@ public class DataSet {
                 ", cursor=" + cursor +
                 '}';
     }
+
+    /**
+     * Cursor reading the rows of an in memory data set by their position.
+     */
+    private static final class RowListCursor extends DataSetCursor {
+        private final List<Row> rows;
+
+        private RowListCursor(final List<Row> rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        protected Row readRow(final int position) {
+            return position < rows.size() ? rows.get(position) : null;
+        }
+    }
 }
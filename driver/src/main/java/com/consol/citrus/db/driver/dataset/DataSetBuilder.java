@@ -20,6 +20,7 @@ import com.consol.citrus.db.driver.data.Row;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -29,6 +30,21 @@ public class DataSetBuilder {
 
     private List<Row> rows = new ArrayList<>();
 
+    /**
+     * Default constructor starting with an empty list of rows.
+     */
+    public DataSetBuilder() {
+    }
+
+    /**
+     * Constructor starting with the rows of the given data set. As data sets are immutable, this is
+     * the way to derive a data set holding additional rows from an existing one.
+     * @param dataSet The data set to copy the rows from
+     */
+    public DataSetBuilder(DataSet dataSet) {
+        this.rows.addAll(dataSet.getRows());
+    }
+
     /**
      * Adds rows to builder.
      * @param rows
@@ -43,13 +59,20 @@ public class DataSetBuilder {
         return this;
     }
 
+    /**
+     * Adds all rows of the given collection to builder.
+     * @param rows
+     */
+    public DataSetBuilder addAll(Collection<Row> rows) {
+        this.rows.addAll(rows);
+        return this;
+    }
+
     /**
      * Build new data set instance.
      * @return
      */
     public DataSet build() {
-        DataSet dataSet = new DataSet();
-        dataSet.getRows().addAll(rows);
-        return dataSet;
+        return new DataSet(rows);
     }
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.driver.dataset;
+
+import com.consol.citrus.db.driver.data.Row;
+
+/**
+ * Forward only cursor over the rows of a data set. Each reader, e.g. a result set, owns its own cursor so
+ * that several readers are able to iterate the same data set independently from each other.
+ */
+public abstract class DataSetCursor {
+
+    /** Number of rows read so far */
+    private int position;
+
+    /**
+     * Moves the cursor to the next row. If there is no further row, the cursor position stays untouched.
+     * @return The next row or null if no further row is available
+     */
+    public Row next() {
+        final Row row = readRow(position);
+        if (row != null) {
+            position++;
+        }
+        return row;
+    }
+
+    /**
+     * Gets the number of rows this cursor has read so far.
+     * @return The cursor position
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    /**
+     * Reads the row at the given position.
+     * @param position The 0-based position of the row
+     * @return The row or null if there is no row at this position
+     */
+    protected abstract Row readRow(int position);
+
+    /**
+     * Moves the cursor one row forward without reading the row.
+     * @return The 0-based position of the row the cursor is placed on
+     */
+    protected int advance() {
+        return position++;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{" +
+                "position=" + position +
+                '}';
+    }
+}
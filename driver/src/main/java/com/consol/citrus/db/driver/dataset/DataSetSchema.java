@@ -0,0 +1,225 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.driver.dataset;
+
+import com.consol.citrus.db.driver.data.ColumnDictionary;
+import com.consol.citrus.db.driver.data.Row;
+import com.consol.citrus.db.driver.exchange.StatementParameter;
+
+import java.sql.JDBCType;
+import java.sql.ResultSetMetaData;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Schema of a data set holding its columns along with the SQL type, the Java class and the nullability of
+ * each column. Types are inferred from the first non null value of a column, columns holding null values or
+ * missing in some rows are nullable. The schema is computed once per data set and serves the result set
+ * meta data.
+ */
+public final class DataSetSchema {
+
+    /** Schema without any columns */
+    public static final DataSetSchema EMPTY = new DataSetSchema(ColumnDictionary.EMPTY, new int[0], new String[0], new int[0]);
+
+    private final ColumnDictionary columns;
+    private final int[] sqlTypes;
+    private final String[] classNames;
+    private final int[] nullability;
+
+    private DataSetSchema(final ColumnDictionary columns, final int[] sqlTypes, final String[] classNames, final int[] nullability) {
+        this.columns = columns;
+        this.sqlTypes = sqlTypes;
+        this.classNames = classNames;
+        this.nullability = nullability;
+    }
+
+    /**
+     * Infers the schema of the given rows.
+     * @param rows The rows of the data set
+     * @return The schema
+     */
+    public static DataSetSchema of(final List<Row> rows) {
+        final ColumnDictionary columns = ColumnDictionary.union(rows);
+        if (columns.size() == 0) {
+            return EMPTY;
+        }
+
+        final int[] sqlTypes = new int[columns.size()];
+        final String[] classNames = new String[columns.size()];
+        final int[] nullability = new int[columns.size()];
+        Arrays.fill(sqlTypes, Types.NULL);
+        Arrays.fill(nullability, ResultSetMetaData.columnNoNulls);
+
+        int unresolved = columns.size();
+        for (final Row row : rows) {
+            final Map<String, Object> values = row.getValues();
+            for (int i = 0; i < columns.size(); i++) {
+                final Object value = values.get(columns.getColumn(i));
+                if (value == null) {
+                    nullability[i] = ResultSetMetaData.columnNullable;
+                } else if (classNames[i] == null) {
+                    sqlTypes[i] = StatementParameter.sqlTypeOf(value);
+                    classNames[i] = value.getClass().getName();
+                    unresolved--;
+                }
+            }
+
+            if (unresolved == 0 && isNullable(nullability)) {
+                break;
+            }
+        }
+
+        for (int i = 0; i < classNames.length; i++) {
+            if (classNames[i] == null) {
+                classNames[i] = Object.class.getName();
+            }
+        }
+
+        return new DataSetSchema(columns, sqlTypes, classNames, nullability);
+    }
+
+    /**
+     * Creates the schema of columnar data. Types are taken from the first non null value of each column.
+     * @param columns The column names
+     * @param vectors The column values in dictionary order
+     * @return The schema
+     */
+    static DataSetSchema of(final ColumnDictionary columns, final ColumnVector[] vectors) {
+        final int[] sqlTypes = new int[vectors.length];
+        final String[] classNames = new String[vectors.length];
+        final int[] nullability = new int[vectors.length];
+        for (int i = 0; i < vectors.length; i++) {
+            final int row = vectors[i].firstValue();
+            final Object value = row >= 0 ? vectors[i].getObject(row) : null;
+            sqlTypes[i] = StatementParameter.sqlTypeOf(value);
+            classNames[i] = value != null ? value.getClass().getName() : Object.class.getName();
+            nullability[i] = vectors[i].hasNulls() ? ResultSetMetaData.columnNullable : ResultSetMetaData.columnNoNulls;
+        }
+        return new DataSetSchema(columns, sqlTypes, classNames, nullability);
+    }
+
+    /**
+     * Creates a schema for the given columns whose types and nullability are unknown. Used for data sets
+     * whose rows are not available up front.
+     * @param columns The column names
+     * @return The schema
+     */
+    public static DataSetSchema of(final ColumnDictionary columns) {
+        final int[] sqlTypes = new int[columns.size()];
+        final String[] classNames = new String[columns.size()];
+        final int[] nullability = new int[columns.size()];
+        Arrays.fill(sqlTypes, Types.JAVA_OBJECT);
+        Arrays.fill(classNames, Object.class.getName());
+        Arrays.fill(nullability, ResultSetMetaData.columnNullableUnknown);
+        return new DataSetSchema(columns, sqlTypes, classNames, nullability);
+    }
+
+    /**
+     * Gets the column dictionary.
+     * @return The columns of the data set
+     */
+    public ColumnDictionary getColumnDictionary() {
+        return columns;
+    }
+
+    /**
+     * Gets the column names.
+     * @return Unmodifiable list of column names in column order
+     */
+    public List<String> getColumns() {
+        return columns.getColumns();
+    }
+
+    /**
+     * Gets the number of columns.
+     * @return The number of columns
+     */
+    public int getColumnCount() {
+        return columns.size();
+    }
+
+    /**
+     * Gets the name of a column.
+     * @param column The 0-based column index
+     * @return The column name
+     */
+    public String getColumnName(final int column) {
+        return columns.getColumn(column);
+    }
+
+    /**
+     * Gets the SQL type of a column.
+     * @param column The 0-based column index
+     * @return The SQL type as defined by {@link Types}
+     */
+    public int getColumnType(final int column) {
+        return sqlTypes[column];
+    }
+
+    /**
+     * Gets the name of the SQL type of a column.
+     * @param column The 0-based column index
+     * @return The SQL type name
+     */
+    public String getColumnTypeName(final int column) {
+        try {
+            return JDBCType.valueOf(sqlTypes[column]).getName();
+        } catch (final IllegalArgumentException e) {
+            return "";
+        }
+    }
+
+    /**
+     * Gets the fully qualified name of the Java class of the values of a column.
+     * @param column The 0-based column index
+     * @return The class name
+     */
+    public String getColumnClassName(final int column) {
+        return classNames[column];
+    }
+
+    /**
+     * Gets the nullability of a column.
+     * @param column The 0-based column index
+     * @return The nullability as defined by {@link ResultSetMetaData}
+     */
+    public int isNullable(final int column) {
+        return nullability[column];
+    }
+
+    private static boolean isNullable(final int[] nullability) {
+        for (final int columnNullability : nullability) {
+            if (columnNullability != ResultSetMetaData.columnNullable) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "DataSetSchema{" +
+                "columns=" + columns.getColumns() +
+                ", sqlTypes=" + Arrays.toString(sqlTypes) +
+                ", nullability=" + Arrays.toString(nullability) +
+                '}';
+    }
+}
@@ -16,6 +16,16 @@
 
 package com.consol.citrus.db.driver.dataset;
 
+import com.consol.citrus.db.driver.JdbcDriverException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
 /**
  * @author Christoph Deppisch
  */
@@ -26,5 +36,34 @@ public interface DataSetWriter {
      * @param dataSet
      * @return
      */
-    String write(DataSet dataSet);
+    default String write(DataSet dataSet) {
+        final StringWriter output = new StringWriter();
+        try {
+            write(dataSet, output);
+        } catch (final IOException e) {
+            throw new JdbcDriverException("Failed to write data set", e);
+        }
+        return output.toString();
+    }
+
+    /**
+     * Writes dataset row by row to the given writer, so that the written document never needs to be
+     * held in memory. The writer is flushed but not closed.
+     * @param dataSet The data set to write
+     * @param writer The writer to write to
+     * @throws IOException in case the writer fails
+     */
+    void write(DataSet dataSet, Writer writer) throws IOException;
+
+    /**
+     * Writes dataset row by row as UTF-8 to the given output stream. The stream is flushed but not closed.
+     * @param dataSet The data set to write
+     * @param outputStream The output stream to write to
+     * @throws IOException in case the stream fails
+     */
+    default void write(final DataSet dataSet, final OutputStream outputStream) throws IOException {
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        write(dataSet, writer);
+        writer.flush();
+    }
 }
@@ -0,0 +1,375 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.driver.dataset;
+
+import com.consol.citrus.db.driver.JdbcDriverException;
+import com.consol.citrus.db.driver.data.Table;
+import com.consol.citrus.db.driver.data.TableProducer;
+import com.consol.citrus.db.driver.exchange.DatabaseResult;
+import com.consol.citrus.db.driver.exchange.DatabaseResultCodec;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Persistent cache of parsed fixture files. The data set or tables produced from a fixture are written as
+ * binary snapshot to the cache directory and memory mapped on subsequent reads, so that fixtures are only parsed
+ * again after they have been changed. Entries are keyed by the absolute path of the fixture and validated
+ * against its size, modification time and content hash. A fixture that has only been touched is recognized by
+ * its unchanged content hash, the entry is then kept and updated with the new modification time.
+ *
+ * <pre>
+ * entry   := MAGIC VERSION kind size modified hash[32] path payload
+ * payload := result | int (flag schema? name int result)*
+ * </pre>
+ *
+ * The cache never fails a read because of a broken or unwritable entry, the fixture is produced from its source
+ * instead.
+ */
+public class FixtureCache {
+
+    static final int MAGIC = 0x43444643;
+    static final byte VERSION = 1;
+
+    static final byte DATA_SET = 1;
+    static final byte TABLES = 2;
+
+    /** Position of the modification time in the entry header */
+    private static final int MODIFIED_OFFSET = 6 + Long.BYTES;
+
+    private static final int HASH_LENGTH = 32;
+
+    private static final Logger log = Logger.getLogger(FixtureCache.class.getName());
+
+    private final Path directory;
+
+    private final DatabaseResultCodec codec = new DatabaseResultCodec();
+
+    public FixtureCache(final Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Gets the data set of the given fixture from the cache or produces it on cache miss. The producer is only
+     * created on cache miss, as producers reading files usually open the file on construction.
+     * @param source The fixture file
+     * @param producer Supplies the producer reading the data set from the fixture
+     * @return The data set
+     * @throws SQLException In case the data set could not be produced
+     */
+    public DataSet getDataSet(final Path source, final Supplier<? extends DataSetProducer> producer) throws SQLException {
+        if (!Files.isRegularFile(source)) {
+            return producer.get().produce();
+        }
+
+        final Entry entry = new Entry(source, DATA_SET);
+        final ByteBuffer payload = entry.load();
+        if (payload != null) {
+            try {
+                return codec.decode(new ByteBufferInputStream(payload)).getDataSet();
+            } catch (final IOException e) {
+                log.log(Level.FINE, "Discard broken fixture cache entry " + entry.file, e);
+            }
+        }
+
+        final DataSet dataSet = producer.get().produce();
+        entry.store(out -> codec.encode(new DatabaseResult(dataSet), out));
+        return dataSet;
+    }
+
+    /**
+     * Gets the tables of the given fixture from the cache or produces them on cache miss. The producer is only
+     * created on cache miss.
+     * @param source The fixture file
+     * @param producer Supplies the producer reading the tables from the fixture
+     * @return The tables
+     */
+    public List<Table> getTables(final Path source, final Supplier<? extends TableProducer> producer) {
+        if (!Files.isRegularFile(source)) {
+            return producer.get().produce();
+        }
+
+        final Entry entry = new Entry(source, TABLES);
+        final ByteBuffer payload = entry.load();
+        if (payload != null) {
+            try {
+                return decodeTables(payload);
+            } catch (final IOException | RuntimeException e) {
+                log.log(Level.FINE, "Discard broken fixture cache entry " + entry.file, e);
+            }
+        }
+
+        final List<Table> tables = producer.get().produce();
+        entry.store(out -> encodeTables(tables, out));
+        return tables;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    private void encodeTables(final List<Table> tables, final DataOutputStream out) throws IOException {
+        out.writeInt(tables.size());
+        for (final Table table : tables) {
+            out.writeBoolean(table.getSchema() != null);
+            if (table.getSchema() != null) {
+                writeString(out, table.getSchema());
+            }
+            writeString(out, table.getName());
+
+            final byte[] rows = codec.encode(new DatabaseResult(new DataSet(table.getRows())));
+            out.writeInt(rows.length);
+            out.write(rows);
+        }
+    }
+
+    private List<Table> decodeTables(final ByteBuffer payload) throws IOException {
+        final int count = payload.getInt();
+        final List<Table> tables = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final String schema = payload.get() != 0 ? readString(payload) : null;
+            final Table table = new Table(schema, readString(payload));
+
+            final int length = payload.getInt();
+            final ByteBuffer rows = payload.slice();
+            rows.limit(length);
+            payload.position(payload.position() + length);
+            table.setRows(new ArrayList<>(codec.decode(new ByteBufferInputStream(rows)).getDataSet().getRows()));
+            tables.add(table);
+        }
+        return tables;
+    }
+
+    private static void writeString(final DataOutputStream out, final String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(final ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Cache entry of a single fixture file.
+     */
+    private final class Entry {
+
+        private final Path source;
+        private final byte kind;
+        private final Path file;
+
+        private long size;
+        private long modified;
+        private byte[] hash;
+
+        private Entry(final Path source, final byte kind) {
+            this.source = source.toAbsolutePath().normalize();
+            this.kind = kind;
+            this.file = directory.resolve(toHex(digest(this.source.toString().getBytes(StandardCharsets.UTF_8)))
+                    + (kind == DATA_SET ? ".dataset" : ".tables"));
+        }
+
+        /**
+         * Maps the cache entry and validates it against the current state of the fixture.
+         * @return The payload of the entry or null if there is no valid entry
+         */
+        private ByteBuffer load() {
+            try {
+                size = Files.size(source);
+                modified = Files.getLastModifiedTime(source).toMillis();
+
+                if (!Files.isRegularFile(file)) {
+                    return null;
+                }
+
+                final ByteBuffer buffer;
+                try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                    buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                }
+
+                if (buffer.getInt() != MAGIC || buffer.get() != VERSION || buffer.get() != kind
+                        || buffer.getLong() != size) {
+                    return null;
+                }
+
+                final long cachedModified = buffer.getLong();
+                final byte[] cachedHash = new byte[HASH_LENGTH];
+                buffer.get(cachedHash);
+                if (!source.toString().equals(readString(buffer))) {
+                    return null;
+                }
+
+                if (cachedModified != modified) {
+                    hash = hash(source);
+                    if (!Arrays.equals(hash, cachedHash)) {
+                        return null;
+                    }
+                    touch();
+                }
+
+                return buffer.slice();
+            } catch (final IOException | RuntimeException e) {
+                log.log(Level.FINE, "Unable to read fixture cache entry " + file, e);
+                return null;
+            }
+        }
+
+        /**
+         * Writes the entry to a temporary file first and moves it in place afterwards, so that concurrent
+         * readers never see a partially written entry.
+         */
+        private void store(final PayloadWriter payloadWriter) {
+            Path temp = null;
+            try {
+                if (hash == null) {
+                    hash = hash(source);
+                }
+
+                Files.createDirectories(directory);
+                temp = Files.createTempFile(directory, "fixture", ".tmp");
+                try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                    out.writeInt(MAGIC);
+                    out.writeByte(VERSION);
+                    out.writeByte(kind);
+                    out.writeLong(size);
+                    out.writeLong(modified);
+                    out.write(hash);
+                    writeString(out, source.toString());
+                    payloadWriter.write(out);
+                }
+
+                try {
+                    Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+                } catch (final AtomicMoveNotSupportedException e) {
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } catch (final IOException | RuntimeException e) {
+                log.log(Level.WARNING, "Unable to write fixture cache entry " + file, e);
+                deleteQuietly(temp);
+            }
+        }
+
+        private void touch() throws IOException {
+            try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                final ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES).putLong(0, modified);
+                channel.write(buffer, MODIFIED_OFFSET);
+            }
+        }
+
+        private void deleteQuietly(final Path path) {
+            if (path != null) {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (final IOException e) {
+                    log.log(Level.FINE, "Unable to delete " + path, e);
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface PayloadWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private static byte[] hash(final Path source) throws IOException {
+        final MessageDigest digest = createDigest();
+        final byte[] buffer = new byte[65536];
+        try (final InputStream in = Files.newInputStream(source)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return digest.digest();
+    }
+
+    private static byte[] digest(final byte[] data) {
+        return createDigest().digest(data);
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new JdbcDriverException("Missing SHA-256 message digest", e);
+        }
+    }
+
+    private static String toHex(final byte[] bytes) {
+        final StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (final byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Input stream reading the memory mapped payload of a cache entry.
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            final int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
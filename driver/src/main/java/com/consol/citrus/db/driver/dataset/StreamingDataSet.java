@@ -0,0 +1,174 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.db.driver.dataset;
+
+import com.consol.citrus.db.driver.JdbcDriverException;
+import com.consol.citrus.db.driver.data.Row;
+import com.consol.citrus.db.driver.exchange.DatabaseResultReader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Data set decoding its rows lazily from an open binary result stream. Rows are not retained once they
+ * have been handed out by {@link #getNextRow()} so that arbitrarily large results can be read in constant
+ * memory. The underlying resource is released as soon as the last row has been read or the data set is closed.
+ * As the stream can only be read once, all cursors of a streaming data set share the same position.
+ */
+public class StreamingDataSet extends DataSet implements Closeable {
+
+    /** Reader decoding rows from the result stream */
+    private final DatabaseResultReader reader;
+
+    /** Resource to release once the stream is exhausted or closed */
+    private final Closeable resource;
+
+    /** Number of rows handed out directly from the stream */
+    private int streamedRows;
+
+    /** Whether remaining rows have been read into memory */
+    private boolean buffered;
+
+    /** Remaining rows read into memory */
+    private List<Row> bufferedRows = Collections.emptyList();
+
+    /** Number of rows handed out from the buffered rows */
+    private int bufferedPosition;
+
+    private boolean closed;
+
+    /** Schema of the columns announced by the result header */
+    private final DataSetSchema schema;
+
+    /**
+     * Default constructor using reader and the resource backing the result stream.
+     * @param reader The reader positioned on the first row
+     * @param resource The resource to release after the stream has been consumed
+     */
+    public StreamingDataSet(final DatabaseResultReader reader, final Closeable resource) {
+        this.reader = reader;
+        this.resource = resource;
+        this.schema = DataSetSchema.of(reader.getColumnDictionary());
+    }
+
+    @Override
+    public DataSetCursor cursor() {
+        return new DataSetCursor() {
+            @Override
+            protected Row readRow(final int position) {
+                return getNextRow();
+            }
+        };
+    }
+
+    @Override
+    public Row getNextRow() {
+        if (buffered) {
+            return bufferedPosition < bufferedRows.size() ? bufferedRows.get(bufferedPosition++) : null;
+        }
+
+        if (closed) {
+            return null;
+        }
+
+        final Row row = readRow();
+        if (row == null) {
+            close();
+            return null;
+        }
+
+        streamedRows++;
+        return row;
+    }
+
+    @Override
+    public List<String> getColumns() {
+        return reader.getColumns();
+    }
+
+    /**
+     * Gets the schema of the columns announced by the result header. As rows are not known up front,
+     * column types and nullability are reported as unknown.
+     * @return The schema of the data set
+     */
+    @Override
+    public DataSetSchema getSchema() {
+        return schema;
+    }
+
+    /**
+     * Reads all rows that have not been consumed by the cursor yet into memory.
+     * Rows already handed out by {@link #getNextRow()} are not part of the returned list.
+     * @return The remaining rows of the data set
+     */
+    @Override
+    public List<Row> getRows() {
+        if (!buffered) {
+            final List<Row> rows = new ArrayList<>();
+            if (!closed) {
+                Row row;
+                while ((row = readRow()) != null) {
+                    rows.add(row);
+                }
+                close();
+            }
+            bufferedRows = Collections.unmodifiableList(rows);
+            buffered = true;
+        }
+
+        return bufferedRows;
+    }
+
+    @Override
+    public int getCursor() {
+        return streamedRows + bufferedPosition;
+    }
+
+    /**
+     * Whether the underlying stream has been released.
+     * @return True if the data set is closed
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        try {
+            resource.close();
+        } catch (final IOException e) {
+            //releasing the result stream is best effort
+        }
+    }
+
+    private Row readRow() {
+        try {
+            return reader.readRow();
+        } catch (final IOException e) {
+            close();
+            throw new JdbcDriverException("Failed to read row from result stream", e);
+        }
+    }
+}
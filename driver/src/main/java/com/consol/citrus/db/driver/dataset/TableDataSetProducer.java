@@ -21,8 +21,10 @@ import com.consol.citrus.db.driver.data.Table;
 
 import java.sql.SQLException;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * @author Christoph Deppisch
@@ -35,6 +37,9 @@ public class TableDataSetProducer implements DataSetProducer {
     private Function<Row, Row> mapper = (row) -> row;
     private Map<String, String> filter = new LinkedHashMap<>();
 
+    /** Whether to produce a columnar data set */
+    private boolean columnar;
+
     public TableDataSetProducer(Table table) {
         this(table, table.getRows().size());
     }
@@ -75,18 +80,31 @@ public class TableDataSetProducer implements DataSetProducer {
         return this;
     }
 
+    /**
+     * Produce a columnar data set holding the table values in typed column vectors
+     * instead of a row based data set.
+     * @return
+     */
+    public TableDataSetProducer columnar() {
+        this.columnar = true;
+        return this;
+    }
+
     @Override
     public DataSet produce() throws SQLException {
-        DataSetBuilder builder = new DataSetBuilder();
-        table.getRows()
+        List<Row> rows = table.getRows()
                 .stream()
                 .filter(row -> filter.entrySet()
                                     .stream()
                                     .allMatch(entry -> row.getValues().containsKey(entry.getKey()) && row.getValue(entry.getKey()).equals(entry.getValue())))
                 .limit(limit)
                 .map(mapper)
-                .forEach(builder::add);
-        return builder.build();
+                .collect(Collectors.toList());
+
+        if (columnar) {
+            return ColumnarDataSet.of(rows);
+        }
+        return new DataSet(rows);
     }
 
     /**
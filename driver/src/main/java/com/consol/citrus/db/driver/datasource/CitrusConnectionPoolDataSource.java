@@ -0,0 +1,209 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.db.driver.datasource;
+
+import com.consol.citrus.db.driver.JdbcDriver;
+
+import javax.sql.ConnectionPoolDataSource;
+import javax.sql.PooledConnection;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Properties;
+import java.util.logging.Logger;
+
+/**
+ * Connection pool data source creating the physical connections of the Citrus JDBC driver. Application servers
+ * and connection pools use it to open pooled connections, each of them holding a single session on the server.
+ */
+public class CitrusConnectionPoolDataSource implements ConnectionPoolDataSource {
+
+    /** The JDBC connection url */
+    private String url;
+
+    /** Default credentials */
+    private String username;
+    private String password;
+
+    /** Additional connection properties passed to the driver */
+    private Properties properties = new Properties();
+
+    /** The driver opening the physical connections */
+    private JdbcDriver driver = JdbcDriver.driverInstance;
+
+    private int loginTimeout;
+    private PrintWriter logWriter;
+
+    /**
+     * Default constructor.
+     */
+    public CitrusConnectionPoolDataSource() {
+        super();
+    }
+
+    /**
+     * Constructor using the connection url.
+     * @param url
+     */
+    public CitrusConnectionPoolDataSource(String url) {
+        this.url = url;
+    }
+
+    @Override
+    public PooledConnection getPooledConnection() throws SQLException {
+        return getPooledConnection(username, password);
+    }
+
+    @Override
+    public PooledConnection getPooledConnection(String user, String password) throws SQLException {
+        return new CitrusPooledConnection(connect(user, password));
+    }
+
+    /**
+     * Opens a physical connection with the given credentials.
+     * @param user
+     * @param password
+     * @return
+     * @throws SQLException
+     */
+    Connection connect(String user, String password) throws SQLException {
+        if (url == null) {
+            throw new SQLException("Missing connection url for data source");
+        }
+
+        Properties info = new Properties();
+        info.putAll(properties);
+        if (user != null) {
+            info.setProperty("username", user);
+        }
+        if (password != null) {
+            info.setProperty("password", password);
+        }
+
+        Connection connection = driver.connect(url, info);
+        if (connection == null) {
+            throw new SQLException("Unsupported connection url: " + url);
+        }
+        return connection;
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return logWriter;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        this.logWriter = out;
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        this.loginTimeout = seconds;
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return loginTimeout;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return driver.getParentLogger();
+    }
+
+    /**
+     * Gets the url.
+     * @return
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * Sets the url.
+     * @param url
+     */
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    /**
+     * Gets the username.
+     * @return
+     */
+    public String getUsername() {
+        return username;
+    }
+
+    /**
+     * Sets the username.
+     * @param username
+     */
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    /**
+     * Gets the password.
+     * @return
+     */
+    public String getPassword() {
+        return password;
+    }
+
+    /**
+     * Sets the password.
+     * @param password
+     */
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    /**
+     * Gets the properties.
+     * @return
+     */
+    public Properties getProperties() {
+        return properties;
+    }
+
+    /**
+     * Sets the properties.
+     * @param properties
+     */
+    public void setProperties(Properties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Gets the driver.
+     * @return
+     */
+    public JdbcDriver getDriver() {
+        return driver;
+    }
+
+    /**
+     * Sets the driver.
+     * @param driver
+     */
+    public void setDriver(JdbcDriver driver) {
+        this.driver = driver;
+    }
+}
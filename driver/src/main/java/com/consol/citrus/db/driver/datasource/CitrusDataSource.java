@@ -0,0 +1,314 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.db.driver.datasource;
+
+import com.consol.citrus.db.driver.JdbcDriver;
+
+import javax.sql.ConnectionEvent;
+import javax.sql.ConnectionEventListener;
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Deque;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Data source for the Citrus JDBC driver that can be configured as bean, e.g. in a Spring application context
+ * with url, username and password properties. Physical connections are kept in a pool of idle connections
+ * when the application closes them, so subsequent connections reuse the session opened on the server
+ * instead of connecting again.
+ */
+public class CitrusDataSource implements DataSource, AutoCloseable {
+
+    /** Logger */
+    private static final Logger LOG = Logger.getLogger(CitrusDataSource.class.getName());
+
+    /** Default number of idle connections kept in the pool */
+    public static final int DEFAULT_MAX_IDLE = 8;
+
+    /** Data source opening the physical connections */
+    private final CitrusConnectionPoolDataSource connectionPoolDataSource;
+
+    /** Physical connections currently not in use */
+    private final Deque<CitrusPooledConnection> idleConnections = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+
+    /** Maximum number of idle connections, connections returned to a full pool are closed */
+    private int maxIdle = DEFAULT_MAX_IDLE;
+
+    private volatile boolean closed;
+
+    /** Returns pooled connections to the idle pool once the application closed their handle */
+    private final ConnectionEventListener poolListener = new ConnectionEventListener() {
+        @Override
+        public void connectionClosed(ConnectionEvent event) {
+            release((CitrusPooledConnection) event.getSource());
+        }
+
+        @Override
+        public void connectionErrorOccurred(ConnectionEvent event) {
+            closeQuietly((CitrusPooledConnection) event.getSource());
+        }
+    };
+
+    /**
+     * Default constructor.
+     */
+    public CitrusDataSource() {
+        this(new CitrusConnectionPoolDataSource());
+    }
+
+    /**
+     * Constructor using the connection url.
+     * @param url
+     */
+    public CitrusDataSource(String url) {
+        this(new CitrusConnectionPoolDataSource(url));
+    }
+
+    /**
+     * Constructor using the data source opening the physical connections.
+     * @param connectionPoolDataSource
+     */
+    public CitrusDataSource(CitrusConnectionPoolDataSource connectionPoolDataSource) {
+        this.connectionPoolDataSource = connectionPoolDataSource;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Data source is closed");
+        }
+
+        CitrusPooledConnection pooledConnection;
+        while ((pooledConnection = idleConnections.pollFirst()) != null) {
+            idleCount.decrementAndGet();
+            if (!pooledConnection.getPhysicalConnection().isClosed()) {
+                return pooledConnection.getConnection();
+            }
+        }
+
+        pooledConnection = (CitrusPooledConnection) connectionPoolDataSource.getPooledConnection();
+        pooledConnection.addConnectionEventListener(poolListener);
+        return pooledConnection.getConnection();
+    }
+
+    /**
+     * Opens a connection with credentials other than the configured ones. These connections are not pooled.
+     * @param username
+     * @param password
+     * @return
+     * @throws SQLException
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (closed) {
+            throw new SQLException("Data source is closed");
+        }
+
+        return connectionPoolDataSource.connect(username, password);
+    }
+
+    /**
+     * Closes all idle connections. Connections still in use are closed once the application closes them.
+     */
+    @Override
+    public void close() {
+        closed = true;
+
+        CitrusPooledConnection pooledConnection;
+        while ((pooledConnection = idleConnections.pollFirst()) != null) {
+            idleCount.decrementAndGet();
+            closeQuietly(pooledConnection);
+        }
+    }
+
+    private void release(CitrusPooledConnection pooledConnection) {
+        if (closed) {
+            closeQuietly(pooledConnection);
+            return;
+        }
+
+        if (idleCount.incrementAndGet() > maxIdle) {
+            idleCount.decrementAndGet();
+            closeQuietly(pooledConnection);
+            return;
+        }
+
+        idleConnections.offerFirst(pooledConnection);
+        if (closed) {
+            // data source has been closed concurrently, make sure the connection does not stay idle
+            close();
+        }
+    }
+
+    private void closeQuietly(CitrusPooledConnection pooledConnection) {
+        try {
+            pooledConnection.close();
+        } catch (SQLException e) {
+            LOG.log(Level.WARNING, "Failed to close pooled connection", e);
+        }
+    }
+
+    /**
+     * Gets the number of idle connections in the pool.
+     * @return
+     */
+    public int getIdleConnections() {
+        return idleConnections.size();
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return connectionPoolDataSource.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        connectionPoolDataSource.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        connectionPoolDataSource.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return connectionPoolDataSource.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return connectionPoolDataSource.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("Data source is not a wrapper for " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this);
+    }
+
+    /**
+     * Gets the url.
+     * @return
+     */
+    public String getUrl() {
+        return connectionPoolDataSource.getUrl();
+    }
+
+    /**
+     * Sets the url.
+     * @param url
+     */
+    public void setUrl(String url) {
+        connectionPoolDataSource.setUrl(url);
+    }
+
+    /**
+     * Gets the username.
+     * @return
+     */
+    public String getUsername() {
+        return connectionPoolDataSource.getUsername();
+    }
+
+    /**
+     * Sets the username.
+     * @param username
+     */
+    public void setUsername(String username) {
+        connectionPoolDataSource.setUsername(username);
+    }
+
+    /**
+     * Gets the password.
+     * @return
+     */
+    public String getPassword() {
+        return connectionPoolDataSource.getPassword();
+    }
+
+    /**
+     * Sets the password.
+     * @param password
+     */
+    public void setPassword(String password) {
+        connectionPoolDataSource.setPassword(password);
+    }
+
+    /**
+     * Gets the properties.
+     * @return
+     */
+    public Properties getProperties() {
+        return connectionPoolDataSource.getProperties();
+    }
+
+    /**
+     * Sets the properties.
+     * @param properties
+     */
+    public void setProperties(Properties properties) {
+        connectionPoolDataSource.setProperties(properties);
+    }
+
+    /**
+     * Gets the driver.
+     * @return
+     */
+    public JdbcDriver getDriver() {
+        return connectionPoolDataSource.getDriver();
+    }
+
+    /**
+     * Sets the driver.
+     * @param driver
+     */
+    public void setDriver(JdbcDriver driver) {
+        connectionPoolDataSource.setDriver(driver);
+    }
+
+    /**
+     * Gets the maxIdle.
+     * @return
+     */
+    public int getMaxIdle() {
+        return maxIdle;
+    }
+
+    /**
+     * Sets the maxIdle.
+     * @param maxIdle
+     */
+    public void setMaxIdle(int maxIdle) {
+        this.maxIdle = maxIdle;
+    }
+}
@@ -0,0 +1,347 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.db.driver.datasource;
+
+import javax.sql.ConnectionEvent;
+import javax.sql.ConnectionEventListener;
+import javax.sql.PooledConnection;
+import javax.sql.StatementEventListener;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Pooled connection holding a physical connection and its session on the server. Connections handed out to the
+ * application are logical handles, closing a handle keeps the physical connection open and notifies the
+ * registered listeners so that the pool can reuse the connection without opening a new session.
+ */
+public class CitrusPooledConnection implements PooledConnection {
+
+    private static final Logger LOG = Logger.getLogger(CitrusPooledConnection.class.getName());
+
+    /** SQL state class of connection exceptions, e.g. an evicted session */
+    private static final String CONNECTION_ERROR_STATE_CLASS = "08";
+
+    /** The physical connection */
+    private final Connection connection;
+
+    /** The logical connection currently handed out, null if there is none */
+    private LogicalConnection handle;
+
+    private final List<ConnectionEventListener> connectionEventListeners = new CopyOnWriteArrayList<>();
+    private final List<StatementEventListener> statementEventListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructor using the physical connection.
+     * @param connection
+     */
+    public CitrusPooledConnection(Connection connection) {
+        this.connection = connection;
+    }
+
+    @Override
+    public synchronized Connection getConnection() throws SQLException {
+        if (connection.isClosed()) {
+            throw new SQLException("Pooled connection is closed");
+        }
+
+        if (handle != null) {
+            handle.invalidate();
+        }
+
+        handle = new LogicalConnection();
+        handle.proxy = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class }, handle);
+        return handle.proxy;
+    }
+
+    @Override
+    public synchronized void close() throws SQLException {
+        handle = null;
+        connection.close();
+    }
+
+    @Override
+    public void addConnectionEventListener(ConnectionEventListener listener) {
+        connectionEventListeners.add(listener);
+    }
+
+    @Override
+    public void removeConnectionEventListener(ConnectionEventListener listener) {
+        connectionEventListeners.remove(listener);
+    }
+
+    @Override
+    public void addStatementEventListener(StatementEventListener listener) {
+        statementEventListeners.add(listener);
+    }
+
+    @Override
+    public void removeStatementEventListener(StatementEventListener listener) {
+        statementEventListeners.remove(listener);
+    }
+
+    /**
+     * Gets the physical connection.
+     * @return
+     */
+    public Connection getPhysicalConnection() {
+        return connection;
+    }
+
+    /**
+     * Notifies the listeners that the physical connection is no longer usable, if the given error was raised because
+     * the connection or its session on the server has been lost. Errors caused by the application's statements leave
+     * the connection in the pool.
+     * @param error
+     */
+    private void fireConnectionError(Throwable error) {
+        if (error instanceof SQLException && isConnectionError((SQLException) error)) {
+            ConnectionEvent event = new ConnectionEvent(this, (SQLException) error);
+            connectionEventListeners.forEach(listener -> listener.connectionErrorOccurred(event));
+        }
+    }
+
+    private boolean isConnectionError(SQLException error) {
+        if (error.getSQLState() != null && error.getSQLState().startsWith(CONNECTION_ERROR_STATE_CLASS)) {
+            return true;
+        }
+
+        try {
+            return connection.isClosed();
+        } catch (SQLException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Logical connection delegating to the physical connection until it is closed. Closing the logical
+     * connection closes the statements created through it and rolls back a transaction left open by the
+     * application so the next handle starts in auto commit mode.
+     */
+    private class LogicalConnection implements InvocationHandler {
+
+        /** The proxy handed out to the application */
+        private Connection proxy;
+
+        private boolean closed;
+
+        /** Statements created through this handle and not closed yet */
+        private final List<Statement> statements = new CopyOnWriteArrayList<>();
+
+        /** Whether auto commit has been disabled through this handle */
+        private boolean transactional;
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CitrusPooledConnection.LogicalConnection@" + Integer.toHexString(System.identityHashCode(proxy));
+                case "isClosed":
+                    return closed;
+                case "close":
+                    close();
+                    return null;
+                default:
+                    break;
+            }
+
+            if (closed) {
+                throw new SQLException("Connection is closed");
+            }
+
+            if (method.getName().equals("setAutoCommit")) {
+                transactional = !((Boolean) args[0]);
+            }
+
+            final Object result;
+            try {
+                result = method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                fireConnectionError(e.getCause());
+                throw e.getCause();
+            }
+
+            if (result instanceof Statement) {
+                Statement statement = (Statement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                        new Class<?>[] { method.getReturnType() }, new LogicalStatement(this, (Statement) result));
+                statements.add(statement);
+                return statement;
+            }
+
+            if (result instanceof DatabaseMetaData) {
+                return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { DatabaseMetaData.class },
+                        new LogicalChild(result, "getConnection", this.proxy));
+            }
+
+            return result;
+        }
+
+        private void close() throws SQLException {
+            if (invalidate()) {
+                ConnectionEvent event = new ConnectionEvent(CitrusPooledConnection.this);
+                connectionEventListeners.forEach(listener -> listener.connectionClosed(event));
+            }
+        }
+
+        /**
+         * Closes this handle without notifying the listeners, e.g. when the pooled connection hands out a new
+         * handle while this one is still open. The physical connection stays with the handle that replaces this one.
+         * @return true if this handle has been open before
+         * @throws SQLException
+         */
+        private boolean invalidate() throws SQLException {
+            synchronized (CitrusPooledConnection.this) {
+                if (closed) {
+                    return false;
+                }
+
+                closed = true;
+                if (handle == this) {
+                    handle = null;
+                }
+            }
+
+            for (Statement statement : statements) {
+                try {
+                    statement.close();
+                } catch (SQLException e) {
+                    LOG.log(Level.FINE, "Failed to close statement of logical connection", e);
+                }
+            }
+
+            try {
+                if (transactional) {
+                    connection.rollback();
+                    connection.setAutoCommit(true);
+                }
+            } catch (SQLException e) {
+                ConnectionEvent event = new ConnectionEvent(CitrusPooledConnection.this, e);
+                connectionEventListeners.forEach(listener -> listener.connectionErrorOccurred(event));
+                throw e;
+            }
+
+            return true;
+        }
+    }
+
+    /**
+     * Statement created through a logical connection. The statement refers to the logical connection instead of
+     * the physical one and is released from its connection once it is closed.
+     */
+    private class LogicalStatement implements InvocationHandler {
+
+        private final LogicalConnection owner;
+        private final Statement statement;
+
+        private LogicalStatement(LogicalConnection owner, Statement statement) {
+            this.owner = owner;
+            this.statement = statement;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CitrusPooledConnection.LogicalStatement@" + Integer.toHexString(System.identityHashCode(proxy));
+                case "getConnection":
+                    return owner.proxy;
+                case "close":
+                    owner.statements.remove(proxy);
+                    break;
+                default:
+                    break;
+            }
+
+            final Object result;
+            try {
+                result = method.invoke(statement, args);
+            } catch (InvocationTargetException e) {
+                fireConnectionError(e.getCause());
+                throw e.getCause();
+            }
+
+            if (result instanceof ResultSet) {
+                return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { ResultSet.class },
+                        new LogicalChild(result, "getStatement", proxy));
+            }
+
+            return result;
+        }
+    }
+
+    /**
+     * Result set or database metadata obtained through a logical handle. The object refers to the logical parent it
+     * has been obtained from, so that the physical connection is not reachable from the application.
+     */
+    private class LogicalChild implements InvocationHandler {
+
+        private final Object target;
+
+        /** Name of the method returning the parent */
+        private final String parentMethod;
+        private final Object parent;
+
+        private LogicalChild(Object target, String parentMethod, Object parent) {
+            this.target = target;
+            this.parentMethod = parentMethod;
+            this.parent = parent;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CitrusPooledConnection.LogicalChild@" + Integer.toHexString(System.identityHashCode(proxy));
+                default:
+                    break;
+            }
+
+            if (method.getName().equals(parentMethod) && method.getParameterCount() == 0) {
+                return parent;
+            }
+
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                fireConnectionError(e.getCause());
+                throw e.getCause();
+            }
+        }
+    }
+}
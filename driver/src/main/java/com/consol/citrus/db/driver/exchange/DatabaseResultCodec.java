@@ -0,0 +1,306 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.db.driver.exchange;
+
+import com.consol.citrus.db.driver.data.ColumnDictionary;
+import com.consol.citrus.db.driver.data.Row;
+import com.consol.citrus.db.driver.dataset.ColumnVector;
+import com.consol.citrus.db.driver.dataset.ColumnarDataSet;
+import com.consol.citrus.db.driver.dataset.DataSet;
+import com.consol.citrus.db.driver.dataset.DataSetCursor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary representation of a {@link DatabaseResult} used as alternative to the Json representation.
+ * Column names are written once per result as a dictionary, each row is then written as a sequence of
+ * type tagged values in dictionary order. All variable length values are length prefixed.
+ *
+ * <pre>
+ * result  := MAGIC VERSION (AFFECTED_ROWS int | DATA_SET columns row* END)
+ * columns := int (string)*
+ * row     := ROW (value)* | ROW_INDEXED int (int value)*
+ * value   := tag payload
+ * </pre>
+ *
+ * Rows that do not follow the column dictionary order are written with explicit column indexes so
+ * that the column order of each row survives the round trip.
+ */
+public class DatabaseResultCodec {
+
+    /** Content type identifying the binary representation */
+    public static final String CONTENT_TYPE = "application/x-citrus-db-result";
+
+    static final int MAGIC = 0x43444252;
+    static final byte VERSION = 1;
+
+    static final byte AFFECTED_ROWS = 0;
+    static final byte DATA_SET = 1;
+
+    static final byte END = 0;
+    static final byte ROW = 1;
+    static final byte ROW_INDEXED = 2;
+
+    static final byte ABSENT = 0;
+    static final byte NULL = 1;
+    static final byte STRING = 2;
+    static final byte INTEGER = 3;
+    static final byte LONG = 4;
+    static final byte DOUBLE = 5;
+    static final byte FLOAT = 6;
+    static final byte TRUE = 7;
+    static final byte FALSE = 8;
+    static final byte SHORT = 9;
+    static final byte BYTE = 10;
+    static final byte BIG_DECIMAL = 11;
+    static final byte BIG_INTEGER = 12;
+    static final byte BYTES = 13;
+    static final byte DATE = 14;
+    static final byte TIME = 15;
+    static final byte TIMESTAMP = 16;
+    static final byte JSON = 17;
+
+    /** Fallback mapper for values without a dedicated type tag */
+    static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * Encodes the given result to a byte array.
+     * @param databaseResult The result to encode
+     * @return The binary representation of the result
+     * @throws IOException In case the result could not be encoded
+     */
+    public byte[] encode(final DatabaseResult databaseResult) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        encode(databaseResult, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Encodes the given result to the output stream. The stream is flushed but not closed. The column
+     * dictionary is taken from the schema of the data set and rows are written one by one as they are
+     * read from a cursor of the data set, so that the rows are never collected up front.
+     * @param databaseResult The result to encode
+     * @param outputStream The stream to write to
+     * @throws IOException In case the result could not be written
+     */
+    public void encode(final DatabaseResult databaseResult, final OutputStream outputStream) throws IOException {
+        final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputStream));
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+
+        if (databaseResult.isDataSet() && databaseResult.getDataSet() != null) {
+            out.writeByte(DATA_SET);
+            final DataSet dataSet = databaseResult.getDataSet();
+            final ColumnDictionary columns = dataSet.getSchema().getColumnDictionary();
+
+            out.writeInt(columns.size());
+            for (final String column : columns.getColumns()) {
+                writeString(out, column);
+            }
+
+            final DataSetCursor cursor = dataSet.cursor();
+            Row row;
+            while ((row = cursor.next()) != null) {
+                writeRow(out, row, columns);
+            }
+
+            out.writeByte(END);
+        } else {
+            out.writeByte(AFFECTED_ROWS);
+            out.writeInt(databaseResult.getAffectedRows());
+        }
+
+        out.flush();
+    }
+
+    /**
+     * Decodes a result from the given byte array.
+     * @param data The binary representation of the result
+     * @return The decoded result
+     * @throws IOException In case the data is no valid binary result
+     */
+    public DatabaseResult decode(final byte[] data) throws IOException {
+        return decode(new ByteArrayInputStream(data));
+    }
+
+    /**
+     * Decodes a result from the given input stream. All rows are read into memory, use a
+     * {@link DatabaseResultReader} to read the rows of large results one by one. Data sets whose
+     * rows all hold every column are decoded straight into the column vectors of a {@link ColumnarDataSet}.
+     * @param inputStream The stream to read the binary representation from
+     * @return The decoded result
+     * @throws IOException In case the stream does not contain a valid binary result
+     */
+    public DatabaseResult decode(final InputStream inputStream) throws IOException {
+        final DatabaseResultReader reader = new DatabaseResultReader(inputStream);
+        if (!reader.isDataSet()) {
+            return new DatabaseResult(reader.getAffectedRows());
+        }
+
+        final ColumnDictionary columns = reader.getColumnDictionary();
+        final ColumnVector.Builder[] builders = new ColumnVector.Builder[columns.size()];
+        for (int i = 0; i < builders.length; i++) {
+            builders[i] = ColumnVector.builder();
+        }
+
+        int rowCount = 0;
+        Row row;
+        while ((row = reader.readRow()) != null) {
+            if (row.getColumnDictionary() != columns) {
+                return new DatabaseResult(readRows(reader, ColumnarDataSet.of(columns, builders).getRows(), row));
+            }
+
+            for (int i = 0; i < builders.length; i++) {
+                builders[i].add(row.getValue(i));
+            }
+            rowCount++;
+        }
+
+        if (rowCount > 0) {
+            return new DatabaseResult(ColumnarDataSet.of(columns, builders));
+        }
+        return new DatabaseResult(new DataSet());
+    }
+
+    /**
+     * Reads the remaining rows of a data set whose rows do not all hold every column.
+     * @param reader The reader positioned behind the given row
+     * @param decoded The rows decoded so far
+     * @param row The first row not holding every column
+     * @return The row based data set
+     * @throws IOException In case a row could not be decoded
+     */
+    private DataSet readRows(final DatabaseResultReader reader, final List<Row> decoded, final Row row) throws IOException {
+        final List<Row> rows = new ArrayList<>(decoded);
+        Row next = row;
+        do {
+            rows.add(next);
+        } while ((next = reader.readRow()) != null);
+        return new DataSet(rows);
+    }
+
+    private void writeRow(final DataOutputStream out, final Row row, final ColumnDictionary columns) throws IOException {
+        final Map<String, Object> values = row.getValues();
+        if (isDictionaryOrder(values, columns)) {
+            out.writeByte(ROW);
+            for (final String column : columns.getColumns()) {
+                if (values.containsKey(column)) {
+                    writeValue(out, values.get(column));
+                } else {
+                    out.writeByte(ABSENT);
+                }
+            }
+        } else {
+            out.writeByte(ROW_INDEXED);
+            out.writeInt(values.size());
+            for (final Map.Entry<String, Object> entry : values.entrySet()) {
+                out.writeInt(columns.indexOf(entry.getKey()));
+                writeValue(out, entry.getValue());
+            }
+        }
+    }
+
+    private boolean isDictionaryOrder(final Map<String, Object> values, final ColumnDictionary columns) throws IOException {
+        int lastIndex = -1;
+        for (final String column : values.keySet()) {
+            final int index = columns.indexOf(column);
+            if (index < 0) {
+                throw new IOException("Row column '" + column + "' is not part of the data set schema");
+            } else if (index < lastIndex) {
+                return false;
+            }
+            lastIndex = index;
+        }
+        return true;
+    }
+
+    private void writeValue(final DataOutputStream out, final Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof String) {
+            out.writeByte(STRING);
+            writeString(out, (String) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(INTEGER);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            out.writeByte(DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            out.writeByte(FLOAT);
+            out.writeFloat((Float) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte((Boolean) value ? TRUE : FALSE);
+        } else if (value instanceof Short) {
+            out.writeByte(SHORT);
+            out.writeShort((Short) value);
+        } else if (value instanceof Byte) {
+            out.writeByte(BYTE);
+            out.writeByte((Byte) value);
+        } else if (value instanceof BigDecimal) {
+            out.writeByte(BIG_DECIMAL);
+            writeString(out, value.toString());
+        } else if (value instanceof BigInteger) {
+            out.writeByte(BIG_INTEGER);
+            writeString(out, value.toString());
+        } else if (value instanceof byte[]) {
+            out.writeByte(BYTES);
+            writeBytes(out, (byte[]) value);
+        } else if (value instanceof Timestamp) {
+            out.writeByte(TIMESTAMP);
+            out.writeLong(((Timestamp) value).getTime());
+            out.writeInt(((Timestamp) value).getNanos());
+        } else if (value instanceof Date) {
+            out.writeByte(DATE);
+            out.writeLong(((Date) value).getTime());
+        } else if (value instanceof Time) {
+            out.writeByte(TIME);
+            out.writeLong(((Time) value).getTime());
+        } else {
+            out.writeByte(JSON);
+            writeBytes(out, OBJECT_MAPPER.writeValueAsBytes(value));
+        }
+    }
+
+    private void writeString(final DataOutputStream out, final String value) throws IOException {
+        writeBytes(out, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void writeBytes(final DataOutputStream out, final byte[] value) throws IOException {
+        out.writeInt(value.length);
+        out.write(value);
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.db.driver.exchange;
+
+import com.consol.citrus.db.driver.data.ColumnDictionary;
+import com.consol.citrus.db.driver.data.Row;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.consol.citrus.db.driver.exchange.DatabaseResultCodec.*;
+
+/**
+ * Reads a binary database result written by {@link DatabaseResultCodec} incrementally. The result header
+ * is read on construction, rows are then decoded one by one on demand so that the reader only ever holds
+ * a single row in memory.
+ */
+public class DatabaseResultReader implements Closeable {
+
+    /** Placeholder for columns a row does not hold a value for */
+    private static final Object ABSENT_VALUE = new Object();
+
+    private final DataInputStream in;
+
+    private final boolean dataSet;
+    private final int affectedRows;
+    private final String[] columns;
+
+    /** Dictionary shared by all rows holding a value for every column */
+    private final ColumnDictionary dictionary;
+
+    /** Whether the end marker of the result has been read */
+    private boolean finished;
+
+    /**
+     * Reads the result header from the given stream.
+     * @param inputStream The stream holding the binary result
+     * @throws IOException In case the stream does not contain a valid binary result
+     */
+    public DatabaseResultReader(final InputStream inputStream) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(inputStream));
+
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Invalid binary database result - unexpected magic number");
+        }
+
+        final byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported binary database result version: " + version);
+        }
+
+        final byte kind = in.readByte();
+        if (kind == AFFECTED_ROWS) {
+            dataSet = false;
+            affectedRows = in.readInt();
+            columns = new String[0];
+            dictionary = ColumnDictionary.EMPTY;
+            finished = true;
+        } else if (kind == DATA_SET) {
+            dataSet = true;
+            affectedRows = -1;
+            columns = new String[in.readInt()];
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = readString();
+            }
+            dictionary = ColumnDictionary.of(columns);
+        } else {
+            throw new IOException("Invalid binary database result - unknown result kind: " + kind);
+        }
+    }
+
+    /**
+     * Reads the next row of the result.
+     * @return The next row or null if all rows have been read
+     * @throws IOException In case the row could not be decoded
+     */
+    public Row readRow() throws IOException {
+        if (finished) {
+            return null;
+        }
+
+        final byte marker = in.readByte();
+        if (marker == END) {
+            finished = true;
+            return null;
+        }
+
+        final Map<String, Object> values = new LinkedHashMap<>();
+        if (marker == ROW) {
+            final Object[] rowValues = new Object[columns.length];
+            boolean complete = true;
+            for (int i = 0; i < columns.length; i++) {
+                final byte tag = in.readByte();
+                if (tag != ABSENT) {
+                    rowValues[i] = readValue(tag);
+                } else {
+                    complete = false;
+                    rowValues[i] = ABSENT_VALUE;
+                }
+            }
+
+            if (complete) {
+                return new Row(dictionary, rowValues);
+            }
+
+            for (int i = 0; i < columns.length; i++) {
+                if (rowValues[i] != ABSENT_VALUE) {
+                    values.put(columns[i], rowValues[i]);
+                }
+            }
+        } else if (marker == ROW_INDEXED) {
+            final int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                final String column = columns[in.readInt()];
+                values.put(column, readValue(in.readByte()));
+            }
+        } else {
+            throw new IOException("Invalid binary database result - unknown row marker: " + marker);
+        }
+
+        return new Row(values);
+    }
+
+    /**
+     * Gets the column dictionary of the result.
+     * @return The column names in dictionary order
+     */
+    public List<String> getColumns() {
+        return dictionary.getColumns();
+    }
+
+    /**
+     * Gets the column dictionary of the result as shared by the rows holding a value for every column.
+     * @return The column dictionary
+     */
+    public ColumnDictionary getColumnDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Whether the result is a data set or an affected rows count.
+     * @return True if the result holds rows
+     */
+    public boolean isDataSet() {
+        return dataSet;
+    }
+
+    /**
+     * Gets the affected rows.
+     * @return The affected rows or -1 if the result is a data set
+     */
+    public int getAffectedRows() {
+        return affectedRows;
+    }
+
+    /**
+     * Whether all rows of the result have been read.
+     * @return True if the end of the result has been reached
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private Object readValue(final byte tag) throws IOException {
+        switch (tag) {
+            case NULL:
+                return null;
+            case STRING:
+                return readString();
+            case INTEGER:
+                return in.readInt();
+            case LONG:
+                return in.readLong();
+            case DOUBLE:
+                return in.readDouble();
+            case FLOAT:
+                return in.readFloat();
+            case TRUE:
+                return Boolean.TRUE;
+            case FALSE:
+                return Boolean.FALSE;
+            case SHORT:
+                return in.readShort();
+            case BYTE:
+                return in.readByte();
+            case BIG_DECIMAL:
+                return new BigDecimal(readString());
+            case BIG_INTEGER:
+                return new BigInteger(readString());
+            case BYTES:
+                return readBytes();
+            case DATE:
+                return new Date(in.readLong());
+            case TIME:
+                return new Time(in.readLong());
+            case TIMESTAMP:
+                final Timestamp timestamp = new Timestamp(in.readLong());
+                timestamp.setNanos(in.readInt());
+                return timestamp;
+            case JSON:
+                return OBJECT_MAPPER.readValue(readBytes(), Object.class);
+            default:
+                throw new IOException("Invalid binary database result - unknown value type: " + tag);
+        }
+    }
+
+    private String readString() throws IOException {
+        return new String(readBytes(), StandardCharsets.UTF_8);
+    }
+
+    private byte[] readBytes() throws IOException {
+        final int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Invalid binary database result - negative length: " + length);
+        }
+
+        final byte[] value = new byte[length];
+        in.readFully(value);
+        return value;
+    }
+}
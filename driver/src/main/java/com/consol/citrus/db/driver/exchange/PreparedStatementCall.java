@@ -0,0 +1,161 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.db.driver.exchange;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Execution of a prepared statement with its bound parameters. The parameters are kept as typed values
+ * so that they can be evaluated without parsing the statement. The composed statement string
+ * (e.g. {@code SELECT * FROM users WHERE id=? - (42)}) is only built on demand for controllers and
+ * rules working on plain statement strings.
+ */
+public class PreparedStatementCall {
+
+    /*
+        Regex explanation:
+        The intended group to catch is the group of variables in the sql statement.
+        In case of a callable statement, it is possible that the statement starts with a '? = '
+        indicating a out parameter of the statement. This parameter should be ignored concerning variable
+        replacement. That is why the first non-catching group handles the '? = ' (if existing) and the second group catches
+        named and unnamed variable references within the rest of the sql statement.
+     */
+    private static final Pattern PARAMETER_PATTERN = Pattern.compile("(?:\\? ?=)|(:[a-zA-Z]+|\\?)");
+
+    /** The prepared statement */
+    private final String statement;
+
+    /** The bound parameters ordered by index followed by the named parameters */
+    private final List<StatementParameter> parameters;
+
+    /** Lazily composed statement string */
+    private String composedStatement;
+
+    public PreparedStatementCall(final String statement, final List<StatementParameter> parameters) {
+        this.statement = statement;
+        this.parameters = Collections.unmodifiableList(new ArrayList<>(parameters));
+    }
+
+    public String getStatement() {
+        return statement;
+    }
+
+    public List<StatementParameter> getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Gets the values of all bound parameters in the order they have been sent.
+     * @return The parameter values
+     */
+    public List<Object> getParameterValues() {
+        return parameters.stream()
+                .map(StatementParameter::getValue)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Gets the value of the parameter with the given index.
+     * @param index The 1-based parameter index
+     * @return The value or null if the parameter is not bound
+     */
+    public Object getParameter(final int index) {
+        for (final StatementParameter parameter : parameters) {
+            if (parameter.getIndex() != null && parameter.getIndex() == index) {
+                return parameter.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the value of the parameter with the given name.
+     * @param name The parameter name
+     * @return The value or null if the parameter is not bound
+     */
+    public Object getParameter(final String name) {
+        for (final StatementParameter parameter : parameters) {
+            if (name.equals(parameter.getName())) {
+                return parameter.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Composes the statement string holding the parameter values in order of their placeholders.
+     * Placeholders without bound value are kept as they are.
+     * @return The composed statement
+     */
+    public String getComposedStatement() {
+        if (composedStatement == null) {
+            composedStatement = statement + " - (" +
+                    determineParameterOrder()
+                            .stream()
+                            .map(param -> param != null ? param.toString() : "null")
+                            .collect(Collectors.joining(",")) + ")";
+        }
+        return composedStatement;
+    }
+
+    private List<Object> determineParameterOrder() {
+        final Matcher parameterMatcher = PARAMETER_PATTERN.matcher(statement);
+        final List<Object> orderedParameterList = new ArrayList<>();
+
+        for (int matchIndex = 1; parameterMatcher.find(); matchIndex++) {
+            final String parameterPlaceholder = parameterMatcher.group(1);
+            if (parameterPlaceholder != null) {
+                final Object parameterValue;
+                if (parameterPlaceholder.startsWith(":")) {
+                    parameterValue = getParameter(parameterPlaceholder.substring(1));
+                } else {
+                    parameterValue = getParameter(matchIndex);
+                }
+                orderedParameterList.add(parameterValue != null ? parameterValue : parameterPlaceholder);
+            }
+        }
+        return orderedParameterList;
+    }
+
+    @Override
+    public final boolean equals(final Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PreparedStatementCall)) return false;
+        final PreparedStatementCall that = (PreparedStatementCall) o;
+        return Objects.equals(statement, that.statement) &&
+                Objects.equals(parameters, that.parameters);
+    }
+
+    @Override
+    public final int hashCode() {
+        return Objects.hash(statement, parameters);
+    }
+
+    @Override
+    public String toString() {
+        return "PreparedStatementCall{" +
+                "statement='" + statement + '\'' +
+                ", parameters=" + parameters +
+                '}';
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.db.driver.exchange;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonGetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URL;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.RowId;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Single parameter bound to a prepared statement, identified either by its index or by its name and
+ * carrying the SQL type it has been bound with. Values are transferred in a representation Json can
+ * carry without loss and are converted back to the Java type matching the SQL type on deserialization.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StatementParameter {
+
+    /** The 1-based index of the parameter, null for named parameters */
+    private final Integer index;
+
+    /** The name of the parameter, null for indexed parameters */
+    private final String name;
+
+    /** The SQL type as defined by {@link Types} */
+    private final int sqlType;
+
+    private final Object value;
+
+    public StatementParameter(final Integer index, final String name, final int sqlType, final Object value) {
+        this.index = index;
+        this.name = name;
+        this.sqlType = sqlType;
+        this.value = value;
+    }
+
+    @JsonCreator
+    static StatementParameter fromJson(@JsonProperty("index") final Integer index,
+                                       @JsonProperty("name") final String name,
+                                       @JsonProperty("sqlType") final int sqlType,
+                                       @JsonProperty("value") final Object value) {
+        return new StatementParameter(index, name, sqlType, toJavaValue(value, sqlType));
+    }
+
+    /**
+     * Creates an indexed parameter with the SQL type derived from the given value.
+     * @param index The 1-based index of the parameter
+     * @param value The value of the parameter
+     * @return The parameter
+     */
+    public static StatementParameter indexed(final int index, final Object value) {
+        return new StatementParameter(index, null, sqlTypeOf(value), value);
+    }
+
+    /**
+     * Creates a named parameter with the SQL type derived from the given value.
+     * @param name The name of the parameter
+     * @param value The value of the parameter
+     * @return The parameter
+     */
+    public static StatementParameter named(final String name, final Object value) {
+        return new StatementParameter(null, name, sqlTypeOf(value), value);
+    }
+
+    /**
+     * Determines the SQL type a value is bound with if no explicit type has been given.
+     * @param value The value to determine the SQL type for
+     * @return The SQL type as defined by {@link Types}
+     */
+    public static int sqlTypeOf(final Object value) {
+        if (value == null) {
+            return Types.NULL;
+        } else if (value instanceof String) {
+            return Types.VARCHAR;
+        } else if (value instanceof Integer) {
+            return Types.INTEGER;
+        } else if (value instanceof Long) {
+            return Types.BIGINT;
+        } else if (value instanceof Boolean) {
+            return Types.BOOLEAN;
+        } else if (value instanceof Double) {
+            return Types.DOUBLE;
+        } else if (value instanceof Float) {
+            return Types.REAL;
+        } else if (value instanceof Short) {
+            return Types.SMALLINT;
+        } else if (value instanceof Byte) {
+            return Types.TINYINT;
+        } else if (value instanceof BigDecimal) {
+            return Types.DECIMAL;
+        } else if (value instanceof BigInteger) {
+            return Types.NUMERIC;
+        } else if (value instanceof byte[]) {
+            return Types.VARBINARY;
+        } else if (value instanceof Timestamp) {
+            return Types.TIMESTAMP;
+        } else if (value instanceof Date) {
+            return Types.DATE;
+        } else if (value instanceof Time) {
+            return Types.TIME;
+        } else if (value instanceof Blob) {
+            return Types.BLOB;
+        } else if (value instanceof Clob) {
+            return Types.CLOB;
+        } else if (value instanceof URL) {
+            return Types.DATALINK;
+        } else if (value instanceof RowId) {
+            return Types.ROWID;
+        }
+
+        return Types.JAVA_OBJECT;
+    }
+
+    @JsonGetter("index")
+    public Integer getIndex() {
+        return index;
+    }
+
+    @JsonGetter("name")
+    public String getName() {
+        return name;
+    }
+
+    @JsonGetter("sqlType")
+    public int getSqlType() {
+        return sqlType;
+    }
+
+    @JsonIgnore
+    public Object getValue() {
+        return value;
+    }
+
+    /**
+     * Gets the value in the representation sent over the wire. Values without a lossless Json
+     * representation are sent as their string representation, which is the same representation
+     * used when composing the statement string of a prepared statement.
+     * @return The value to serialize
+     */
+    @JsonGetter("value")
+    Object getWireValue() {
+        if (value == null
+                || value instanceof String
+                || value instanceof Boolean
+                || value instanceof Integer
+                || value instanceof Long
+                || value instanceof Short
+                || value instanceof Byte
+                || value instanceof Double
+                || value instanceof Float
+                || value instanceof byte[]) {
+            return value;
+        }
+
+        return value.toString();
+    }
+
+    private static Object toJavaValue(final Object value, final int sqlType) {
+        if (value == null) {
+            return null;
+        }
+
+        try {
+            switch (sqlType) {
+                case Types.TINYINT:
+                    return value instanceof Number ? ((Number) value).byteValue() : Byte.valueOf(value.toString());
+                case Types.SMALLINT:
+                    return value instanceof Number ? ((Number) value).shortValue() : Short.valueOf(value.toString());
+                case Types.INTEGER:
+                    return value instanceof Number ? ((Number) value).intValue() : Integer.valueOf(value.toString());
+                case Types.BIGINT:
+                    return value instanceof Number ? ((Number) value).longValue() : Long.valueOf(value.toString());
+                case Types.REAL:
+                    return value instanceof Number ? ((Number) value).floatValue() : Float.valueOf(value.toString());
+                case Types.FLOAT:
+                case Types.DOUBLE:
+                    return value instanceof Number ? ((Number) value).doubleValue() : Double.valueOf(value.toString());
+                case Types.DECIMAL:
+                case Types.NUMERIC:
+                    return new BigDecimal(value.toString());
+                case Types.BIT:
+                case Types.BOOLEAN:
+                    return value instanceof Boolean ? value : Boolean.valueOf(value.toString());
+                case Types.DATE:
+                    return Date.valueOf(value.toString());
+                case Types.TIME:
+                    return Time.valueOf(value.toString());
+                case Types.TIMESTAMP:
+                    return Timestamp.valueOf(value.toString());
+                case Types.BINARY:
+                case Types.VARBINARY:
+                case Types.LONGVARBINARY:
+                    return value instanceof String ? Base64.getDecoder().decode((String) value) : value;
+                default:
+                    return value;
+            }
+        } catch (final IllegalArgumentException e) {
+            return value;
+        }
+    }
+
+    @Override
+    public final boolean equals(final Object o) {
+        if (this == o) return true;
+        if (!(o instanceof StatementParameter)) return false;
+        final StatementParameter that = (StatementParameter) o;
+        return sqlType == that.sqlType &&
+                Objects.equals(index, that.index) &&
+                Objects.equals(name, that.name) &&
+                Objects.deepEquals(value, that.value);
+    }
+
+    @Override
+    public final int hashCode() {
+        return Objects.hash(index, name, sqlType, Arrays.deepHashCode(new Object[]{ value }));
+    }
+
+    @Override
+    public String toString() {
+        return "StatementParameter{" +
+                "index=" + index +
+                ", name='" + name + '\'' +
+                ", sqlType=" + sqlType +
+                ", value=" + value +
+                '}';
+    }
+}
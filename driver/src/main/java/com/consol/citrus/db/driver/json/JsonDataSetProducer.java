@@ -17,11 +17,9 @@
 package com.consol.citrus.db.driver.json;
 
 import com.consol.citrus.db.driver.JdbcDriverException;
-import com.consol.citrus.db.driver.data.Row;
 import com.consol.citrus.db.driver.dataset.DataSet;
 import com.consol.citrus.db.driver.dataset.DataSetBuilder;
 import com.consol.citrus.db.driver.dataset.DataSetProducer;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
@@ -31,8 +29,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Path;
 import java.sql.SQLException;
-import java.util.List;
-import java.util.Map;
 
 /**
  * @author Christoph Deppisch
@@ -42,7 +38,8 @@ public class JsonDataSetProducer implements DataSetProducer {
     /** Json data used as table source */
     private final InputStream input;
 
-    private DataSetBuilder builder;
+    /** Data set produced on first call, shared by all subsequent calls as it is immutable */
+    private DataSet dataSet;
 
     public JsonDataSetProducer(final File file) {
         this(file.toPath());
@@ -65,25 +62,31 @@ public class JsonDataSetProducer implements DataSetProducer {
     }
 
     @Override
-    public DataSet produce() throws SQLException {
-        if (builder != null) {
-            return builder.build();
+    public synchronized DataSet produce() throws SQLException {
+        if (dataSet != null) {
+            return dataSet;
         }
 
-        builder = new DataSetBuilder();
+        final DataSetBuilder builder = new DataSetBuilder();
+        try (final JsonRowReader reader = rows()) {
+            reader.forEachRemaining(builder::add);
+        }
 
-        try {
-            final List<Map<String, Object>> rawDataSet = new ObjectMapper().readValue(input, List.class);
+        dataSet = builder.build();
+        return dataSet;
+    }
 
-            rawDataSet.forEach(rowData -> {
-                final Row row = new Row();
-                row.getValues().putAll(rowData);
-                builder.add(row);
-            });
+    /**
+     * Gets a reader handing out the rows one at a time while the Json input is parsed, so that consumers
+     * streaming the rows never hold the whole data set in memory. The input can only be read once, hence
+     * either use this reader or {@link #produce()}.
+     * @return The reader positioned before the first row
+     */
+    public JsonRowReader rows() {
+        try {
+            return new JsonRowReader(input);
         } catch (final IOException e) {
             throw new JdbcDriverException("Unable to read table data set from Json input", e);
         }
-
-        return builder.build();
     }
 }
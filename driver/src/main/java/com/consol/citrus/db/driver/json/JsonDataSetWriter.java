@@ -0,0 +1,77 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.driver.json;
+
+import com.consol.citrus.db.driver.data.Row;
+import com.consol.citrus.db.driver.dataset.DataSet;
+import com.consol.citrus.db.driver.dataset.DataSetCursor;
+import com.consol.citrus.db.driver.dataset.DataSetWriter;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * Writes a data set as Json array of row objects, the format read by {@link JsonDataSetProducer}.
+ * Rows are written one at a time with Jackson's streaming generator.
+ */
+public class JsonDataSetWriter implements DataSetWriter {
+
+    private boolean prettyPrint = true;
+
+    @Override
+    public void write(final DataSet dataSet, final Writer writer) throws IOException {
+        try (JsonGenerator generator = JsonRowReader.OBJECT_MAPPER.getFactory().createGenerator(writer)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (prettyPrint) {
+                generator.useDefaultPrettyPrinter();
+            }
+
+            generator.writeStartArray();
+            final DataSetCursor cursor = dataSet.cursor();
+            Row row;
+            while ((row = cursor.next()) != null) {
+                generator.writeStartObject();
+                for (final Map.Entry<String, Object> column : row.getValues().entrySet()) {
+                    generator.writeFieldName(column.getKey());
+                    generator.writeObject(column.getValue());
+                }
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+        writer.flush();
+    }
+
+    /**
+     * Whether the output is indented.
+     * @return True if pretty printing is enabled
+     */
+    public boolean isPrettyPrint() {
+        return prettyPrint;
+    }
+
+    /**
+     * Enables or disables indenting the output.
+     * @param prettyPrint Whether to indent the output
+     */
+    public void setPrettyPrint(final boolean prettyPrint) {
+        this.prettyPrint = prettyPrint;
+    }
+}
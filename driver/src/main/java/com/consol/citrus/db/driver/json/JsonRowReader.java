@@ -0,0 +1,190 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.driver.json;
+
+import com.consol.citrus.db.driver.JdbcDriverException;
+import com.consol.citrus.db.driver.data.ColumnDictionary;
+import com.consol.citrus.db.driver.data.Row;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads rows from a Json array of row objects with Jackson's streaming parser. Rows are read one at a time
+ * when they are requested, so that only the current row is held in memory no matter how large the input is.
+ * Consecutive rows holding the same columns share one column dictionary.
+ */
+public class JsonRowReader implements Iterator<Row>, Closeable {
+
+    static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final JsonParser parser;
+
+    /** Whether the parser is owned by this reader and released once all rows have been read */
+    private final boolean ownsParser;
+
+    /** Column dictionary of the last row read */
+    private ColumnDictionary dictionary;
+
+    /** Row read ahead by {@link #hasNext()} */
+    private Row nextRow;
+
+    private boolean exhausted;
+
+    /**
+     * Default constructor reading the rows from the given Json input.
+     * @param input The Json input holding an array of row objects
+     * @throws IOException in case the input is not a Json array
+     */
+    public JsonRowReader(final InputStream input) throws IOException {
+        this(OBJECT_MAPPER.getFactory().createParser(input), true);
+        parser.nextToken();
+        expectArray(parser);
+    }
+
+    /**
+     * Constructor reading the rows of the array the given parser is positioned on.
+     * @param parser The parser positioned on the start of the array
+     * @param ownsParser Whether to close the parser once all rows have been read
+     */
+    JsonRowReader(final JsonParser parser, final boolean ownsParser) {
+        this.parser = parser;
+        this.ownsParser = ownsParser;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextRow == null && !exhausted) {
+            try {
+                nextRow = readRow();
+            } catch (final IOException e) {
+                close();
+                throw new JdbcDriverException("Unable to read row from Json input", e);
+            }
+
+            if (nextRow == null) {
+                exhausted = true;
+                if (ownsParser) {
+                    close();
+                }
+            }
+        }
+        return nextRow != null;
+    }
+
+    @Override
+    public Row next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No further row in Json input");
+        }
+
+        final Row row = nextRow;
+        nextRow = null;
+        return row;
+    }
+
+    @Override
+    public void close() {
+        exhausted = true;
+        try {
+            parser.close();
+        } catch (final IOException e) {
+            //releasing the input is best effort
+        }
+    }
+
+    /**
+     * Verifies that the parser is positioned on the start of an array.
+     * @param parser The parser
+     * @throws JsonParseException in case the current token does not start an array
+     */
+    static void expectArray(final JsonParser parser) throws JsonParseException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new JsonParseException(parser, "Expected Json array of rows but found " + parser.currentToken());
+        }
+    }
+
+    private Row readRow() throws IOException {
+        final JsonToken token = parser.nextToken();
+        if (token == JsonToken.END_ARRAY || token == null) {
+            return null;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected Json object for row but found " + token);
+        }
+
+        final List<String> names = new ArrayList<>();
+        final List<Object> values = new ArrayList<>();
+        boolean sameColumns = dictionary != null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String name = parser.getCurrentName();
+            parser.nextToken();
+            final Object value = readValue();
+
+            final int existing = names.indexOf(name);
+            if (existing >= 0) {
+                values.set(existing, value);
+                continue;
+            }
+
+            sameColumns = sameColumns && names.size() < dictionary.size()
+                    && dictionary.getColumn(names.size()).equals(name);
+            names.add(name);
+            values.add(value);
+        }
+
+        if (!sameColumns || names.size() != dictionary.size()) {
+            dictionary = ColumnDictionary.of(names);
+        }
+        return new Row(dictionary, values.toArray());
+    }
+
+    /**
+     * Reads the value the parser is positioned on. Scalars are read straight from the parser using the
+     * same types Jackson uses for untyped values, nested objects and arrays are bound as maps and lists.
+     * @return The value
+     * @throws IOException in case the value can not be read
+     */
+    private Object readValue() throws IOException {
+        switch (parser.currentToken()) {
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+                return parser.getNumberValue();
+            case VALUE_NUMBER_FLOAT:
+                return parser.getDoubleValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NULL:
+                return null;
+            default:
+                return OBJECT_MAPPER.readValue(parser, Object.class);
+        }
+    }
+}
@@ -18,7 +18,9 @@ package com.consol.citrus.db.driver.json;
 
 import com.consol.citrus.db.driver.JdbcDriverException;
 import com.consol.citrus.db.driver.data.*;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 
 import java.io.*;
 import java.nio.file.Path;
@@ -56,17 +58,17 @@ public class JsonTableProducer implements TableProducer {
     public List<Table> produce() {
         List<Table> tables = new ArrayList<>();
 
-        try {
-            Map<String, List<Map<String, String>>> rawDataSet = new ObjectMapper().readValue(input, Map.class);
+        try (JsonParser parser = JsonRowReader.OBJECT_MAPPER.getFactory().createParser(input)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected Json object of tables but found " + parser.currentToken());
+            }
 
-            for (Map.Entry<String, List<Map<String, String>>> tableData : rawDataSet.entrySet()) {
-                Table table = new Table(tableData.getKey());
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                Table table = new Table(parser.getCurrentName());
 
-                tableData.getValue().forEach(rowData -> {
-                    Row row = new Row();
-                    row.getValues().putAll(rowData);
-                    table.getRows().add(row);
-                });
+                parser.nextToken();
+                JsonRowReader.expectArray(parser);
+                new JsonRowReader(parser, false).forEachRemaining(table.getRows()::add);
 
                 tables.add(table);
             }
@@ -19,6 +19,7 @@ package com.consol.citrus.db.driver.statement;
 import com.consol.citrus.db.driver.JdbcConnection;
 import com.consol.citrus.db.driver.data.CitrusBlob;
 import com.consol.citrus.db.driver.data.CitrusClob;
+import com.consol.citrus.db.driver.transport.JdbcTransport;
 import com.consol.citrus.db.driver.utils.LobUtils;
 import org.apache.http.client.HttpClient;
 
@@ -55,6 +56,18 @@ public final class JdbcCallableStatement extends JdbcPreparedStatement implement
         super(httpClient, callableStatement, serverUrl, connection);
     }
 
+    /**
+     * Constructor using the transport of the connection the statement belongs to.
+     * @param transport The transport carrying the operations of this statement
+     * @param callableStatement The statement to call
+     * @param connection The connection the statement belongs to
+     */
+    public JdbcCallableStatement(final JdbcTransport transport,
+                                 final String callableStatement,
+                                 final JdbcConnection connection) {
+        super(transport, callableStatement, connection, null);
+    }
+
     JdbcCallableStatement(final HttpClient httpClient,
                           final String callableStatement,
                           final String serverUrl,
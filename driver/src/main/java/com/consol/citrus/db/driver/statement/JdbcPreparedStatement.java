@@ -19,8 +19,9 @@ package com.consol.citrus.db.driver.statement;
 import com.consol.citrus.db.driver.JdbcConnection;
 import com.consol.citrus.db.driver.data.CitrusBlob;
 import com.consol.citrus.db.driver.data.CitrusClob;
+import com.consol.citrus.db.driver.exchange.PreparedStatementCall;
+import com.consol.citrus.db.driver.transport.JdbcTransport;
 import com.consol.citrus.db.driver.utils.LobUtils;
-import org.apache.commons.lang3.ArrayUtils;
 import org.apache.http.client.HttpClient;
 
 import java.io.InputStream;
@@ -54,6 +55,9 @@ public class JdbcPreparedStatement extends JdbcStatement implements PreparedStat
     /** The prepared statement to be executed */
     private final String preparedStatement;
 
+    /** The handle of the statement prepared on the server, null if the server does not cache statements */
+    private final String statementHandle;
+
     /** The parameters to add to the statement */
     private StatementParameters parameters = new StatementParameters();
 
@@ -68,8 +72,42 @@ public class JdbcPreparedStatement extends JdbcStatement implements PreparedStat
                           final String preparedStatement,
                           final String serverUrl,
                           final JdbcConnection connection) {
+        this(httpClient, preparedStatement, serverUrl, connection, null);
+    }
+
+    /**
+     * Constructor for statements prepared on the server. Executions only send the statement handle
+     * along with the bound parameters instead of the composed statement.
+     * @param httpClient The http client to use for the db communication
+     * @param preparedStatement The prepared statement
+     * @param serverUrl The url of the server
+     * @param connection The connection the statement belongs to
+     * @param statementHandle The handle of the statement on the server, may be null
+     */
+    public JdbcPreparedStatement(final HttpClient httpClient,
+                                 final String preparedStatement,
+                                 final String serverUrl,
+                                 final JdbcConnection connection,
+                                 final String statementHandle) {
         super(httpClient, serverUrl, connection);
         this.preparedStatement = preparedStatement;
+        this.statementHandle = statementHandle;
+    }
+
+    /**
+     * Constructor using the transport of the connection the statement belongs to.
+     * @param transport The transport carrying the operations of this statement
+     * @param preparedStatement The prepared statement
+     * @param connection The connection the statement belongs to
+     * @param statementHandle The handle of the statement on the server, may be null
+     */
+    public JdbcPreparedStatement(final JdbcTransport transport,
+                                 final String preparedStatement,
+                                 final JdbcConnection connection,
+                                 final String statementHandle) {
+        super(transport, connection);
+        this.preparedStatement = preparedStatement;
+        this.statementHandle = statementHandle;
     }
 
     JdbcPreparedStatement(final HttpClient httpClient,
@@ -85,17 +123,25 @@ public class JdbcPreparedStatement extends JdbcStatement implements PreparedStat
 
     @Override
     public ResultSet executeQuery() throws SQLException {
+        if (statementHandle != null) {
+            closeResultSet();
+            return readResultSet(transport.executePreparedQuery(getSessionId(), statementHandle, createCall(parameters)));
+        }
         return super.executeQuery(composeStatement());
     }
 
     @Override
     public int executeUpdate() throws SQLException {
+        if (statementHandle != null) {
+            return transport.executePreparedUpdate(getSessionId(), statementHandle, createCall(parameters));
+        }
         return super.executeUpdate(composeStatement());
     }
 
     @Override
     public void setNull(final int parameterIndex, final int sqlType) {
         setParameter(parameterIndex, null);
+        parameters.setSqlType(parameterIndex, sqlType);
     }
 
     @Override
@@ -186,6 +232,7 @@ public class JdbcPreparedStatement extends JdbcStatement implements PreparedStat
     @Override
     public void setObject(final int parameterIndex, final Object x, final int targetSqlType) {
         setParameter(parameterIndex, x);
+        parameters.setSqlType(parameterIndex, targetSqlType);
     }
 
     @Override
@@ -195,6 +242,11 @@ public class JdbcPreparedStatement extends JdbcStatement implements PreparedStat
 
     @Override
     public boolean execute() throws SQLException {
+        if (statementHandle != null) {
+            closeResultSet();
+            return readExecutionResult(
+                    transport.executePreparedStatement(getSessionId(), statementHandle, createCall(parameters)));
+        }
         return super.execute(composeStatement());
     }
 
@@ -206,12 +258,15 @@ public class JdbcPreparedStatement extends JdbcStatement implements PreparedStat
 
     @Override
     public int[] executeBatch() throws SQLException {
-        final ArrayList<Integer> arrayList = new ArrayList<>();
+        if (statementHandle != null) {
+            return executeHandleBatch();
+        }
+
+        final List<String> statements = new ArrayList<>(batchParameters.size());
         for (final StatementParameters statementParameters : batchParameters){
-            execute(statementComposer.composeStatement(preparedStatement, statementParameters));
-            arrayList.add(getUpdateCount());
+            statements.add(statementComposer.composeStatement(preparedStatement, statementParameters));
         }
-        return ArrayUtils.toPrimitive(arrayList.toArray(new Integer[0]));
+        return executeBatch(statements);
     }
 
     @Override
@@ -267,6 +322,7 @@ public class JdbcPreparedStatement extends JdbcStatement implements PreparedStat
     @Override
     public void setNull(final int parameterIndex, final int sqlType, final String typeName) {
         setParameter(parameterIndex, null);
+        parameters.setSqlType(parameterIndex, sqlType);
     }
 
     @Override
@@ -328,6 +384,7 @@ public class JdbcPreparedStatement extends JdbcStatement implements PreparedStat
     @Override
     public void setObject(final int parameterIndex, final Object x, final int targetSqlType, final int scaleOrLength) {
         setParameter(parameterIndex, x);
+        parameters.setSqlType(parameterIndex, targetSqlType);
     }
 
     @Override
@@ -398,6 +455,42 @@ public class JdbcPreparedStatement extends JdbcStatement implements PreparedStat
         return parameters;
     }
 
+    String getStatementHandle() {
+        return statementHandle;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (statementHandle != null) {
+            transport.closePreparedStatement(getSessionId(), statementHandle);
+            released();
+        } else {
+            super.close();
+        }
+    }
+
+    /**
+     * Sends the parameter sets of all batch entries to the server in a single request.
+     * @return The update counts of the batch entries
+     * @throws SQLException In case the batch could not be executed
+     */
+    private int[] executeHandleBatch() throws SQLException {
+        if (batchParameters.isEmpty()) {
+            return new int[0];
+        }
+
+        final List<PreparedStatementCall> calls = new ArrayList<>(batchParameters.size());
+        for (final StatementParameters statementParameters : batchParameters) {
+            calls.add(createCall(statementParameters));
+        }
+
+        return transport.executePreparedBatch(getSessionId(), statementHandle, calls);
+    }
+
+    private PreparedStatementCall createCall(final StatementParameters statementParameters) {
+        return new PreparedStatementCall(preparedStatement, statementParameters.toParameterList());
+    }
+
     private String createFunctionNotSupportedMessage(final String methodName) {
         return String.format("Not supported JDBC prepared statement function '%s'", methodName);
     }
@@ -409,9 +502,9 @@ public class JdbcPreparedStatement extends JdbcStatement implements PreparedStat
         if (o.getClass().equals(JdbcStatement.class)) return false;
         final JdbcPreparedStatement that = (JdbcPreparedStatement) o;
         return Objects.equals(preparedStatement, that.preparedStatement) &&
+                Objects.equals(statementHandle, that.statementHandle) &&
                 Objects.equals(parameters, that.parameters)&&
-                Objects.equals(httpClient, that.httpClient) &&
-                Objects.equals(serverUrl, that.serverUrl) &&
+                Objects.equals(transport, that.transport) &&
                 Objects.equals(connection, that.connection) &&
                 Objects.equals(batchStatements, that.batchStatements) &&
                 Objects.equals(closed, that.closed) &&
@@ -421,13 +514,14 @@ public class JdbcPreparedStatement extends JdbcStatement implements PreparedStat
 
     @Override
     public final int hashCode() {
-        return Objects.hash(super.hashCode(), preparedStatement, parameters, batchParameters);
+        return Objects.hash(super.hashCode(), preparedStatement, statementHandle, parameters, batchParameters);
     }
 
     @Override
     public String toString() {
         return "JdbcPreparedStatement{" +
                 "preparedStatement='" + preparedStatement + '\'' +
+                ", statementHandle='" + statementHandle + '\'' +
                 ", parameters=" + parameters +
                 ", resultSet=" + resultSet +
                 ", batchParameters=" + batchParameters +
@@ -19,18 +19,11 @@ package com.consol.citrus.db.driver.statement;
 import com.consol.citrus.db.driver.JdbcConnection;
 import com.consol.citrus.db.driver.JdbcResultSet;
 import com.consol.citrus.db.driver.exchange.DatabaseResult;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.consol.citrus.db.driver.transport.HttpTransport;
+import com.consol.citrus.db.driver.transport.JdbcTransport;
 import org.apache.commons.lang3.ArrayUtils;
-import org.apache.http.HttpResponse;
-import org.apache.http.HttpStatus;
 import org.apache.http.client.HttpClient;
-import org.apache.http.client.methods.RequestBuilder;
-import org.apache.http.client.utils.HttpClientUtils;
-import org.apache.http.entity.ContentType;
-import org.apache.http.entity.StringEntity;
-import org.apache.http.util.EntityUtils;
 
-import java.io.IOException;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.SQLWarning;
@@ -43,8 +36,8 @@ import java.util.Objects;
 
 public class JdbcStatement implements Statement {
 
-    final HttpClient httpClient;
-    final String serverUrl;
+    /** Transport carrying the operations of this statement to the server */
+    final JdbcTransport transport;
     final JdbcConnection connection;
 
     /** List of batch statements */
@@ -65,106 +58,79 @@ public class JdbcStatement implements Statement {
      * @param serverUrl Thr url of the server
      */
     public JdbcStatement(final HttpClient httpClient, final String serverUrl, final JdbcConnection connection) {
-        this.httpClient = httpClient;
-        this.serverUrl = serverUrl;
+        this(new HttpTransport(httpClient, serverUrl, connection != null && connection.isResultStreaming()), connection);
+    }
+
+    /**
+     * Constructor using the transport of the connection the statement belongs to.
+     * @param transport The transport carrying the operations of this statement
+     * @param connection The connection the statement belongs to
+     */
+    public JdbcStatement(final JdbcTransport transport, final JdbcConnection connection) {
+        this.transport = transport;
         this.connection = connection;
     }
 
     @Override
     public java.sql.ResultSet executeQuery(final String sqlQuery) throws SQLException {
-        HttpResponse response = null;
-        try {
-            response = httpClient.execute(RequestBuilder.post(serverUrl + "/query")
-                    .setEntity(new StringEntity(sqlQuery, ContentType.create("text/plain", "UTF-8")))
-                    .build());
-
-            if (HttpStatus.SC_OK != response.getStatusLine().getStatusCode()
-                    || !response.getEntity().getContentType().getValue().equals("application/json")) {
-                throw new SQLException("Failed to execute query: " + sqlQuery);
-            }
-
-            final DatabaseResult databaseResult = getDatabaseResult(response);
-            resultSet = new JdbcResultSet(databaseResult.getDataSet(), this);
-            return resultSet;
-        } catch (final IOException e) {
-            throw new SQLException(e);
-        } finally {
-            HttpClientUtils.closeQuietly(response);
-        }
+        closeResultSet();
+        return readResultSet(transport.executeQuery(getSessionId(), sqlQuery));
     }
 
     @Override
     public int executeUpdate(final String sql) throws SQLException {
-        HttpResponse response = null;
-        try {
-            response = httpClient.execute(RequestBuilder.post(serverUrl + "/update")
-                    .setEntity(new StringEntity(sql, ContentType.create("text/plain", "UTF-8")))
-                    .build());
-
-            if (HttpStatus.SC_OK != response.getStatusLine().getStatusCode()) {
-                throw new SQLException("Failed to execute update: " + EntityUtils.toString(response.getEntity()));
-            }
-
-            final String responseBody = EntityUtils.toString(response.getEntity());
-            return Integer.valueOf(responseBody);
-        } catch (final IOException e) {
-            throw new SQLException(e);
-        } finally {
-            HttpClientUtils.closeQuietly(response);
-        }
+        return transport.executeUpdate(getSessionId(), sql);
     }
 
     @Override
     public boolean execute(final String sql) throws SQLException {
-        HttpResponse response = null;
-        try {
-            response = httpClient.execute(RequestBuilder.post(serverUrl + "/execute")
-                    .setEntity(new StringEntity(sql, ContentType.create("text/plain", "UTF-8")))
-                    .build());
-
-            if (HttpStatus.SC_OK != response.getStatusLine().getStatusCode()) {
-                throw new SQLException(String.format("Failed to execute statement '%s' due to server error: %s %s", sql, response.getStatusLine().getStatusCode(), response.getStatusLine().getReasonPhrase()));
-            }
-
-            if (response.getEntity().getContentType().getValue().equals("application/json")) {
-                final DatabaseResult databaseResult = getDatabaseResult(response);
-
-                if(databaseResult.isDataSet()){
-                    resultSet = new JdbcResultSet(databaseResult.getDataSet(), this);
-                    updateCount = -1;
-                    return true;
-                }else{
-                    resultSet = null;
-                    this.updateCount = databaseResult.getAffectedRows();
-                    return false;
-                }
-            }
+        closeResultSet();
+        return readExecutionResult(transport.executeStatement(getSessionId(), sql));
+    }
+
+    /**
+     * Creates the result set of a query result.
+     * @param databaseResult The result of the query
+     * @return The result set
+     */
+    java.sql.ResultSet readResultSet(final DatabaseResult databaseResult) {
+        resultSet = new JdbcResultSet(databaseResult.getDataSet(), this);
+        return resultSet;
+    }
+
+    /**
+     * Reads either result set or update count from the result of an execution.
+     * @param databaseResult The result of the execution, may be null
+     * @return True if the result is a result set
+     */
+    boolean readExecutionResult(final DatabaseResult databaseResult) {
+        if (databaseResult == null) {
+            return false;
+        }
 
+        if(databaseResult.isDataSet()){
+            resultSet = new JdbcResultSet(databaseResult.getDataSet(), this);
+            updateCount = -1;
+            return true;
+        }else{
+            resultSet = null;
+            this.updateCount = databaseResult.getAffectedRows();
             return false;
-        } catch (final IOException e) {
-            throw new SQLException(e);
-        } finally {
-            HttpClientUtils.closeQuietly(response);
         }
     }
 
     @Override
     public void close() throws SQLException {
-        HttpResponse response = null;
-        try {
-            response = httpClient.execute(RequestBuilder.delete(serverUrl + "/statement")
-                    .build());
-
-            if (response.getStatusLine().getStatusCode() < 200 || response.getStatusLine().getStatusCode() > 299) {
-                throw new SQLException("Failed to close statement");
-            }
-            closed = true;
-            closeResultSet();
-        } catch (final IOException e) {
-            throw new SQLException(e);
-        } finally {
-            HttpClientUtils.closeQuietly(response);
-        }
+        transport.closeStatement(getSessionId());
+        released();
+    }
+
+    /**
+     * Marks the statement as closed and releases the result set.
+     */
+    void released() {
+        closed = true;
+        closeResultSet();
     }
 
     @Override
@@ -282,9 +248,29 @@ public class JdbcStatement implements Statement {
 
     @Override
     public int[] executeBatch() throws SQLException {
+        return executeBatch(batchStatements);
+    }
+
+    /**
+     * Sends all given statements to the server in a single request. Servers without batch support
+     * receive the statements one by one.
+     * @param statements The statements to execute
+     * @return The update counts of the statements
+     * @throws SQLException In case the batch could not be executed
+     */
+    int[] executeBatch(final List<String> statements) throws SQLException {
+        if (statements.isEmpty()) {
+            return new int[0];
+        }
+
+        final int[] updateCounts = transport.executeBatch(getSessionId(), statements);
+        return updateCounts != null ? updateCounts : executeEach(statements);
+    }
+
+    private int[] executeEach(final List<String> statements) throws SQLException {
         final ArrayList<Integer> arrayList = new ArrayList<>();
-        for (final String batchStatement : batchStatements){
-            execute(batchStatement);
+        for (final String statement : statements){
+            execute(statement);
             arrayList.add(getUpdateCount());
         }
         return ArrayUtils.toPrimitive(arrayList.toArray(new Integer[0]));
@@ -416,12 +402,15 @@ public class JdbcStatement implements Statement {
         throw new SQLException("Not supported JDBC statement function 'isWrapperFor'");
     }
 
-    private DatabaseResult getDatabaseResult(final HttpResponse response) throws IOException {
-        final ObjectMapper objectMapper = new ObjectMapper();
-        return objectMapper.readValue(response.getEntity().getContent(), DatabaseResult.class);
+    /**
+     * Gets the server session the operations of this statement are bound to.
+     * @return The session id of the connection or null if there is no session
+     */
+    String getSessionId() {
+        return connection != null ? connection.getSessionId() : null;
     }
 
-    private void closeResultSet() {
+    void closeResultSet() {
         if(resultSet != null){
             resultSet.close();
         }
@@ -440,8 +429,7 @@ public class JdbcStatement implements Statement {
         if (o.getClass().equals(JdbcPreparedStatement.class)) return false;
         if (!(o instanceof JdbcStatement)) return false;
         final JdbcStatement that = (JdbcStatement) o;
-        return Objects.equals(httpClient, that.httpClient) &&
-                Objects.equals(serverUrl, that.serverUrl) &&
+        return Objects.equals(transport, that.transport) &&
                 Objects.equals(connection, that.connection) &&
                 Objects.equals(batchStatements, that.batchStatements) &&
                 Objects.equals(closed, that.closed) &&
@@ -450,14 +438,13 @@ public class JdbcStatement implements Statement {
 
     @Override
     public int hashCode() {
-        return Objects.hash(httpClient, serverUrl, connection, batchStatements, closed, updateCount);
+        return Objects.hash(transport, connection, batchStatements, closed, updateCount);
     }
 
     @Override
     public String toString() {
         return "JdbcStatement{" +
-                "httpClient=" + httpClient +
-                ", serverUrl='" + serverUrl + '\'' +
+                "transport=" + transport +
                 ", connection=" + connection +
                 ", batchStatements=" + batchStatements +
                 ", closed=" + closed +
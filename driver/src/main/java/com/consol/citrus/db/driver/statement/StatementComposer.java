@@ -16,62 +16,11 @@
 
 package com.consol.citrus.db.driver.statement;
 
-import java.util.Collection;
-import java.util.LinkedList;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
+import com.consol.citrus.db.driver.exchange.PreparedStatementCall;
 
 class StatementComposer {
 
     String composeStatement(final String statement, final StatementParameters parameters) {
-        return statement + " - (" +
-                determineParameterOrder(statement, parameters)
-                        .stream()
-                        .map(param -> param != null ? param.toString() : "null")
-                        .collect(Collectors.joining(",")) + ")";
+        return new PreparedStatementCall(statement, parameters.toParameterList()).getComposedStatement();
     }
-
-    private Collection<Object> determineParameterOrder(final String statement,
-                                                       final StatementParameters parameters) {
-        /*
-            Regex explanation:
-            The intended group to catch is the group of variables in the sql statement.
-            In case of a callable statement, it is possible that the statement starts with a '? = '
-            indicating a out parameter of the statement. This parameter should be ignored concerning variable
-            replacement. That is why the first non-catching group handles the '? = ' (if existing) and the second group catches
-            named and unnamed variable references within the rest of the sql statement.
-         */
-        final Pattern parameterPattern = Pattern.compile("(?:\\? ?=)|(:[a-zA-Z]+|\\?)");
-        final Matcher parameterMatcher = parameterPattern.matcher(statement);
-
-        final LinkedList<Object> orderedParameterList = new LinkedList<>();
-
-        for(int matchIndex = 1; parameterMatcher.find(); matchIndex++){
-            final String parameterPlaceholder = parameterMatcher.group(1);
-            if(parameterPlaceholder != null) {
-                orderedParameterList.add(
-                        getParameterValue(parameters, parameterPlaceholder, matchIndex));
-            }
-        }
-        return orderedParameterList;
-    }
-
-    private Object getParameterValue(final StatementParameters parameters,
-                                     final String parameterPlaceholder,
-                                     final int matchIndex) {
-        final Object parameterValue;
-        if(parameterPlaceholder.startsWith(":")){
-            final String parameterName = parameterPlaceholder.replace(":", "");
-            parameterValue = parameters.get(parameterName);
-        }else{
-            parameterValue = parameters.get(matchIndex);
-        }
-
-        if(parameterValue != null){
-            return parameterValue;
-        }else{
-            return parameterPlaceholder;
-        }
-    }
-}
\ No newline at end of file
+}
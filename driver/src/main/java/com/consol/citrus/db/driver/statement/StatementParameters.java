@@ -16,24 +16,39 @@
 
 package com.consol.citrus.db.driver.statement;
 
+import com.consol.citrus.db.driver.exchange.StatementParameter;
+
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.TreeMap;
 
 public class StatementParameters {
 
     private final Map<String, Object> namedParameters = new HashMap<>();
     private final Map<Integer, Object> indexedParameters = new HashMap<>();
 
+    /** SQL types of parameters that have been bound with an explicit type */
+    private final Map<String, Integer> namedSqlTypes = new HashMap<>();
+    private final Map<Integer, Integer> indexedSqlTypes = new HashMap<>();
+
     StatementParameters() {
     }
 
     StatementParameters(final StatementParameters statementParameters) {
         namedParameters.putAll(statementParameters.namedParameters);
-        indexedParameters.putAll(
-                importParameterList(new ArrayList<>(statementParameters.indexedParameters.values())));
+        namedSqlTypes.putAll(statementParameters.namedSqlTypes);
+
+        int index = 0;
+        for (final Map.Entry<Integer, Object> parameter : statementParameters.indexedParameters.entrySet()) {
+            indexedParameters.put(index, parameter.getValue());
+            if (statementParameters.indexedSqlTypes.containsKey(parameter.getKey())) {
+                indexedSqlTypes.put(index, statementParameters.indexedSqlTypes.get(parameter.getKey()));
+            }
+            index++;
+        }
     }
 
     public Object get(final int parameterIndex) {
@@ -48,25 +63,51 @@ public class StatementParameters {
         return namedParameters.size() + indexedParameters.size();
     }
 
+    /**
+     * Gets all parameters with their SQL types, indexed parameters ordered by index followed by
+     * the named parameters.
+     * @return The typed parameters
+     */
+    public List<StatementParameter> toParameterList() {
+        final List<StatementParameter> parameterList = new ArrayList<>(size());
+        for (final Map.Entry<Integer, Object> parameter : new TreeMap<>(indexedParameters).entrySet()) {
+            final Integer sqlType = indexedSqlTypes.get(parameter.getKey());
+            parameterList.add(sqlType != null ?
+                    new StatementParameter(parameter.getKey() + 1, null, sqlType, parameter.getValue()) :
+                    StatementParameter.indexed(parameter.getKey() + 1, parameter.getValue()));
+        }
+        for (final Map.Entry<String, Object> parameter : namedParameters.entrySet()) {
+            final Integer sqlType = namedSqlTypes.get(parameter.getKey());
+            parameterList.add(sqlType != null ?
+                    new StatementParameter(null, parameter.getKey(), sqlType, parameter.getValue()) :
+                    StatementParameter.named(parameter.getKey(), parameter.getValue()));
+        }
+        return parameterList;
+    }
+
     void setParameter(final String parameterName, final Object value) {
         namedParameters.put(parameterName, value);
+        namedSqlTypes.remove(parameterName);
     }
 
     void setParameter(final int parameterIndex, final Object value) {
         indexedParameters.put(parameterIndex-1, value);
+        indexedSqlTypes.remove(parameterIndex-1);
+    }
+
+    void setSqlType(final String parameterName, final int sqlType) {
+        namedSqlTypes.put(parameterName, sqlType);
+    }
+
+    void setSqlType(final int parameterIndex, final int sqlType) {
+        indexedSqlTypes.put(parameterIndex-1, sqlType);
     }
 
     void clear() {
         namedParameters.clear();
         indexedParameters.clear();
-    }
-
-    private Map<Integer, Object> importParameterList(final List<Object> statementParameters) {
-        final HashMap<Integer, Object> parameterMap = new HashMap<>();
-        for (int i = 0; i < statementParameters.size(); i++) {
-            parameterMap.put(i, statementParameters.get(i));
-        }
-        return parameterMap;
+        namedSqlTypes.clear();
+        indexedSqlTypes.clear();
     }
 
     @Override
@@ -75,12 +116,14 @@ public class StatementParameters {
         if (!(o instanceof StatementParameters)) return false;
         final StatementParameters that = (StatementParameters) o;
         return Objects.equals(namedParameters, that.namedParameters) &&
-                Objects.equals(indexedParameters, that.indexedParameters);
+                Objects.equals(indexedParameters, that.indexedParameters) &&
+                Objects.equals(namedSqlTypes, that.namedSqlTypes) &&
+                Objects.equals(indexedSqlTypes, that.indexedSqlTypes);
     }
 
     @Override
     public final int hashCode() {
-        return Objects.hash(namedParameters, indexedParameters);
+        return Objects.hash(namedParameters, indexedParameters, namedSqlTypes, indexedSqlTypes);
     }
 
     @Override
@@ -88,6 +131,8 @@ public class StatementParameters {
         return "StatementParameters{" +
                 "namedParameters=" + namedParameters +
                 ", indexedParameters=" + indexedParameters +
+                ", namedSqlTypes=" + namedSqlTypes +
+                ", indexedSqlTypes=" + indexedSqlTypes +
                 '}';
     }
 }
@@ -0,0 +1,531 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.db.driver.transport;
+
+import com.consol.citrus.db.driver.JdbcConnection;
+import com.consol.citrus.db.driver.dataset.StreamingDataSet;
+import com.consol.citrus.db.driver.exchange.DatabaseResult;
+import com.consol.citrus.db.driver.exchange.DatabaseResultCodec;
+import com.consol.citrus.db.driver.exchange.DatabaseResultReader;
+import com.consol.citrus.db.driver.exchange.PreparedStatementCall;
+import com.consol.citrus.db.driver.exchange.StatementParameter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Transport sending the JDBC operations to the http endpoints of the server over HTTP/2. Plain http server
+ * urls use cleartext HTTP/2 (h2c): the first request of a connection asks the server for the upgrade and the
+ * requests of all connections using the same client are multiplexed as streams over the upgraded socket.
+ * Servers not supporting HTTP/2 keep answering over HTTP/1.1.
+ */
+public class Http2Transport implements JdbcTransport {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final DatabaseResultCodec RESULT_CODEC = new DatabaseResultCodec();
+
+    private static final String CONTENT_TYPE_HEADER = "Content-Type";
+    private static final String ACCEPT_HEADER = "Accept";
+    private static final String TEXT_CONTENT_TYPE = "text/plain; charset=UTF-8";
+    private static final String JSON_CONTENT_TYPE = "application/json";
+
+    private static final int OK = 200;
+    private static final int NOT_FOUND = 404;
+    private static final int GONE = 410;
+
+    /** Http client shared by all connections to the server */
+    private final HttpClient httpClient;
+    private final String serverUrl;
+
+    /** Whether query results are decoded lazily from the open response stream */
+    private final boolean resultStreaming;
+
+    /** Time to wait for the response of a request */
+    private final Duration timeout;
+
+    /**
+     * Constructor using the http client, the server and the result streaming setting.
+     * @param httpClient The http client to use for the db communication
+     * @param serverUrl The url of the server
+     * @param resultStreaming Whether query results should be streamed instead of being read into memory
+     * @param timeout The time to wait for the response of a request
+     */
+    public Http2Transport(final HttpClient httpClient,
+                          final String serverUrl,
+                          final boolean resultStreaming,
+                          final Duration timeout) {
+        this.httpClient = httpClient;
+        this.serverUrl = serverUrl;
+        this.resultStreaming = resultStreaming;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Creates a http client preferring HTTP/2.
+     * @param connectTimeout The time to wait for a socket to connect
+     * @return The http client
+     */
+    public static HttpClient createHttpClient(final Duration connectTimeout) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .build();
+    }
+
+    @Override
+    public String openConnection(final String databaseName, final Map<String, String> properties) throws SQLException {
+        final StringBuilder query = new StringBuilder("?database=").append(encode(databaseName));
+        properties.forEach((key, value) -> query.append('&').append(encode(key)).append('=').append(encode(value)));
+
+        final HttpResponse<InputStream> response = send(request("/connection" + query, null).GET());
+        return readToken(response, "Failed to connect to server: ");
+    }
+
+    @Override
+    public void closeConnection(final String sessionId) throws SQLException {
+        expectOk(send(request("/connection", sessionId).DELETE()), "Failed to close connection: ");
+    }
+
+    @Override
+    public void createStatement(final String sessionId) throws SQLException {
+        expectOk(send(request("/statement", sessionId).GET()), "Failed to create statement: ");
+    }
+
+    @Override
+    public void closeStatement(final String sessionId) throws SQLException {
+        close("/statement", sessionId);
+    }
+
+    @Override
+    public String createPreparedStatement(final String sessionId, final String sql) throws SQLException {
+        final HttpResponse<InputStream> response = send(request("/preparedStatement", sessionId)
+                .POST(HttpRequest.BodyPublishers.ofString(sql, StandardCharsets.UTF_8)));
+        return readToken(response, "Failed to create prepared statement: ");
+    }
+
+    @Override
+    public void closePreparedStatement(final String sessionId, final String handle) throws SQLException {
+        close(getHandlePath(handle, ""), sessionId);
+    }
+
+    @Override
+    public void createCallableStatement(final String sessionId, final String sql) throws SQLException {
+        expectOk(send(request("/callableStatement", sessionId)
+                .POST(HttpRequest.BodyPublishers.ofString(sql, StandardCharsets.UTF_8))),
+                "Failed to create prepare call: ");
+    }
+
+    @Override
+    public DatabaseResult executeQuery(final String sessionId, final String sql) throws SQLException {
+        return executeQuery(statementRequest("/query", sessionId, sql), sql);
+    }
+
+    @Override
+    public DatabaseResult executeStatement(final String sessionId, final String sql) throws SQLException {
+        return execute(statementRequest("/execute", sessionId, sql), sql);
+    }
+
+    @Override
+    public int executeUpdate(final String sessionId, final String sql) throws SQLException {
+        return executeUpdate(statementRequest("/update", sessionId, sql));
+    }
+
+    /**
+     * Sends all statements in a single request.
+     * @return The update counts or null if the server does not provide the batch endpoint
+     */
+    @Override
+    public int[] executeBatch(final String sessionId, final List<String> statements) throws SQLException {
+        final HttpResponse<InputStream> response = send(jsonRequest("/batch", sessionId, statements));
+        if (NOT_FOUND == response.statusCode()) {
+            readString(response);
+            return null;
+        }
+
+        return readUpdateCounts(response);
+    }
+
+    @Override
+    public DatabaseResult executePreparedQuery(final String sessionId,
+                                               final String handle,
+                                               final PreparedStatementCall call) throws SQLException {
+        return executeQuery(jsonRequest(getHandlePath(handle, "/query"), sessionId, call.getParameters()),
+                call.getStatement());
+    }
+
+    @Override
+    public DatabaseResult executePreparedStatement(final String sessionId,
+                                                   final String handle,
+                                                   final PreparedStatementCall call) throws SQLException {
+        return execute(jsonRequest(getHandlePath(handle, "/execute"), sessionId, call.getParameters()),
+                call.getStatement());
+    }
+
+    @Override
+    public int executePreparedUpdate(final String sessionId,
+                                     final String handle,
+                                     final PreparedStatementCall call) throws SQLException {
+        return executeUpdate(jsonRequest(getHandlePath(handle, "/update"), sessionId, call.getParameters()));
+    }
+
+    @Override
+    public int[] executePreparedBatch(final String sessionId,
+                                      final String handle,
+                                      final List<PreparedStatementCall> calls) throws SQLException {
+        final List<List<StatementParameter>> batch = calls.stream()
+                .map(PreparedStatementCall::getParameters)
+                .collect(Collectors.toList());
+
+        return readUpdateCounts(send(jsonRequest(getHandlePath(handle, "/batch"), sessionId, batch)));
+    }
+
+    @Override
+    public void setTransactionState(final String sessionId, final boolean transactionState) throws SQLException {
+        expectOk(send(request("/connection/transaction", sessionId)
+                .POST(HttpRequest.BodyPublishers.ofString(String.valueOf(transactionState)))),
+                "Failed to transmit auto commit value: ");
+    }
+
+    @Override
+    public boolean getTransactionState(final String sessionId) throws SQLException {
+        final HttpResponse<InputStream> response = send(request("/connection/transaction", sessionId).GET());
+        final String body = readString(response);
+        if (OK != response.statusCode()) {
+            throw error(response, body, "Failed to get auto commit value: ");
+        }
+
+        return Boolean.valueOf(body);
+    }
+
+    @Override
+    public void commit(final String sessionId) throws SQLException {
+        expectOk(send(request("/connection/transaction", sessionId)
+                .PUT(HttpRequest.BodyPublishers.noBody())), "Failed to commit statements: ");
+    }
+
+    @Override
+    public void rollback(final String sessionId) throws SQLException {
+        expectOk(send(request("/connection/transaction", sessionId).DELETE()), "Failed to rollback database: ");
+    }
+
+    /**
+     * Sends a query request and reads the result from the response.
+     * @param request The request describing the query
+     * @param description The description of the query used in error messages
+     * @return The result of the query
+     * @throws SQLException In case the query failed
+     */
+    private DatabaseResult executeQuery(final HttpRequest.Builder request, final String description) throws SQLException {
+        final HttpResponse<InputStream> response = send(request.header(ACCEPT_HEADER, HttpTransport.ACCEPTED_RESULT_TYPES));
+        if (OK != response.statusCode() || !isDatabaseResult(response)) {
+            throw error(response, readString(response), "Failed to execute query: " + description + " ");
+        }
+
+        return readResult(response);
+    }
+
+    /**
+     * Sends an execute request and reads either result set or update count from the response.
+     * @param request The request describing the statement
+     * @param description The description of the statement used in error messages
+     * @return The result or null if the response does not hold a result
+     * @throws SQLException In case the execution failed
+     */
+    private DatabaseResult execute(final HttpRequest.Builder request, final String description) throws SQLException {
+        final HttpResponse<InputStream> response = send(request.header(ACCEPT_HEADER, HttpTransport.ACCEPTED_RESULT_TYPES));
+        if (OK != response.statusCode()) {
+            throw error(response, readString(response),
+                    String.format("Failed to execute statement '%s' due to server error: %s ", description, response.statusCode()));
+        }
+
+        if (isDatabaseResult(response)) {
+            return readResult(response);
+        }
+
+        readString(response);
+        return null;
+    }
+
+    /**
+     * Sends an update request and reads the update count from the response.
+     * @param request The request describing the update
+     * @return The update count
+     * @throws SQLException In case the update failed
+     */
+    private int executeUpdate(final HttpRequest.Builder request) throws SQLException {
+        final HttpResponse<InputStream> response = send(request);
+        final String body = readString(response);
+        if (OK != response.statusCode()) {
+            throw error(response, body, "Failed to execute update: ");
+        }
+
+        return Integer.valueOf(body);
+    }
+
+    /**
+     * Sends the close request to the given path.
+     * @param path The path to send the request to
+     * @param sessionId The session id, may be null
+     * @throws SQLException In case the statement could not be closed
+     */
+    private void close(final String path, final String sessionId) throws SQLException {
+        final HttpResponse<InputStream> response = send(request(path, sessionId).DELETE());
+        final String body = readString(response);
+        if (response.statusCode() < 200 || response.statusCode() > 299) {
+            throw error(response, body, "Failed to close statement: ");
+        }
+    }
+
+    /**
+     * Sends the given request and opens the response body.
+     * @param request The request to send
+     * @return The response
+     * @throws SQLException In case the request could not be sent
+     */
+    private HttpResponse<InputStream> send(final HttpRequest.Builder request) throws SQLException {
+        try {
+            return httpClient.send(request.timeout(timeout).build(), HttpResponse.BodyHandlers.ofInputStream());
+        } catch (final IOException e) {
+            throw new SQLException(e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException(e);
+        }
+    }
+
+    /**
+     * Reads the response of a request expecting an empty response.
+     * @param response The response
+     * @param errorMessage The error message used in case the server responds with an error
+     * @throws SQLException In case the server responded with an error
+     */
+    private void expectOk(final HttpResponse<InputStream> response, final String errorMessage) throws SQLException {
+        final String body = readString(response);
+        if (OK != response.statusCode()) {
+            throw error(response, body, errorMessage);
+        }
+    }
+
+    /**
+     * Reads a token like a session id or statement handle from the response. Servers that do not
+     * support the token respond with an empty body.
+     * @param response The response to read
+     * @param errorMessage The error message used in case the server responds with an error
+     * @return The token or null
+     * @throws SQLException In case the server responded with an error
+     */
+    private String readToken(final HttpResponse<InputStream> response, final String errorMessage) throws SQLException {
+        final String token = readString(response);
+        if (OK != response.statusCode()) {
+            throw error(response, token, errorMessage);
+        }
+
+        return token.trim().isEmpty() ? null : token.trim();
+    }
+
+    /**
+     * Reads the update counts of a batch execution from the response.
+     * @param response The response of the batch request
+     * @return The update counts
+     * @throws SQLException In case the batch failed
+     */
+    private int[] readUpdateCounts(final HttpResponse<InputStream> response) throws SQLException {
+        if (OK != response.statusCode()) {
+            throw error(response, readString(response), "Failed to execute batch: ");
+        }
+
+        try (final InputStream body = response.body()) {
+            return OBJECT_MAPPER.readValue(body, int[].class);
+        } catch (final IOException e) {
+            throw new SQLException(e);
+        }
+    }
+
+    /**
+     * Reads the result in the representation given by the response content type. Streamed results take
+     * ownership of the response body and close it once all rows have been read or the result set is closed.
+     * @param response The response holding the result
+     * @return The result
+     * @throws SQLException In case the result could not be read
+     */
+    private DatabaseResult readResult(final HttpResponse<InputStream> response) throws SQLException {
+        final InputStream body = response.body();
+        boolean streaming = false;
+        try {
+            if (!DatabaseResultCodec.CONTENT_TYPE.equals(getMimeType(response))) {
+                return OBJECT_MAPPER.readValue(body, DatabaseResult.class);
+            }
+
+            if (!resultStreaming) {
+                return RESULT_CODEC.decode(body);
+            }
+
+            final DatabaseResultReader reader = new DatabaseResultReader(body);
+            if (!reader.isDataSet()) {
+                return new DatabaseResult(reader.getAffectedRows());
+            }
+
+            streaming = true;
+            return new DatabaseResult(new StreamingDataSet(reader, reader));
+        } catch (final IOException e) {
+            throw new SQLException(e);
+        } finally {
+            if (!streaming) {
+                closeQuietly(body);
+            }
+        }
+    }
+
+    /**
+     * Reads the response body as string and closes it.
+     * @param response The response to read
+     * @return The body
+     * @throws SQLException In case the body could not be read
+     */
+    private String readString(final HttpResponse<InputStream> response) throws SQLException {
+        try (final InputStream body = response.body()) {
+            return new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (final IOException e) {
+            throw new SQLException(e);
+        }
+    }
+
+    /**
+     * Creates the error of a failed request. Responses telling that the server does not know the session of
+     * the connection get the {@link JdbcConnection#UNKNOWN_SESSION_STATE} SQL state.
+     * @param response The error response
+     * @param body The response body
+     * @param errorMessage The error message
+     * @return The error
+     */
+    private SQLException error(final HttpResponse<InputStream> response, final String body, final String errorMessage) {
+        if (GONE == response.statusCode()) {
+            return new SQLException(body, JdbcConnection.UNKNOWN_SESSION_STATE);
+        }
+
+        return new SQLException(errorMessage + body);
+    }
+
+    private HttpRequest.Builder request(final String path, final String sessionId) {
+        final HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(serverUrl + path));
+        if (sessionId != null) {
+            request.header(JdbcConnection.SESSION_HEADER, sessionId);
+        }
+        return request;
+    }
+
+    private HttpRequest.Builder statementRequest(final String path, final String sessionId, final String sql) {
+        return request(path, sessionId)
+                .header(CONTENT_TYPE_HEADER, TEXT_CONTENT_TYPE)
+                .POST(HttpRequest.BodyPublishers.ofString(sql, StandardCharsets.UTF_8));
+    }
+
+    private HttpRequest.Builder jsonRequest(final String path, final String sessionId, final Object body) throws SQLException {
+        try {
+            return request(path, sessionId)
+                    .header(CONTENT_TYPE_HEADER, JSON_CONTENT_TYPE)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(OBJECT_MAPPER.writeValueAsBytes(body)));
+        } catch (final JsonProcessingException e) {
+            throw new SQLException("Failed to serialize statement parameters", e);
+        }
+    }
+
+    private String getHandlePath(final String handle, final String operation) {
+        return "/preparedStatement/" + handle + operation;
+    }
+
+    /**
+     * Checks whether the response holds a database result in one of the accepted representations.
+     * @param response The response to check
+     * @return True if the response is either a Json or a binary database result
+     */
+    private boolean isDatabaseResult(final HttpResponse<InputStream> response) {
+        final String mimeType = getMimeType(response);
+        return JSON_CONTENT_TYPE.equals(mimeType) || DatabaseResultCodec.CONTENT_TYPE.equals(mimeType);
+    }
+
+    private String getMimeType(final HttpResponse<InputStream> response) {
+        return response.headers()
+                .firstValue(CONTENT_TYPE_HEADER)
+                .map(contentType -> contentType.split(";")[0].trim())
+                .orElse(null);
+    }
+
+    private static String encode(final String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static void closeQuietly(final InputStream body) {
+        try {
+            body.close();
+        } catch (final IOException e) {
+            // response already failed or has been read
+        }
+    }
+
+    public HttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    public String getServerUrl() {
+        return serverUrl;
+    }
+
+    public boolean isResultStreaming() {
+        return resultStreaming;
+    }
+
+    @Override
+    public final boolean equals(final Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Http2Transport)) return false;
+        final Http2Transport that = (Http2Transport) o;
+        return resultStreaming == that.resultStreaming &&
+                Objects.equals(httpClient, that.httpClient) &&
+                Objects.equals(serverUrl, that.serverUrl) &&
+                Objects.equals(timeout, that.timeout);
+    }
+
+    @Override
+    public final int hashCode() {
+        return Objects.hash(httpClient, serverUrl, resultStreaming, timeout);
+    }
+
+    @Override
+    public String toString() {
+        return "Http2Transport{" +
+                "httpClient=" + httpClient +
+                ", serverUrl='" + serverUrl + '\'' +
+                ", resultStreaming=" + resultStreaming +
+                ", timeout=" + timeout +
+                '}';
+    }
+}
@@ -0,0 +1,619 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.driver.transport;
+
+import com.consol.citrus.db.driver.JdbcConnection;
+import com.consol.citrus.db.driver.dataset.StreamingDataSet;
+import com.consol.citrus.db.driver.exchange.DatabaseResult;
+import com.consol.citrus.db.driver.exchange.DatabaseResultCodec;
+import com.consol.citrus.db.driver.exchange.DatabaseResultReader;
+import com.consol.citrus.db.driver.exchange.PreparedStatementCall;
+import com.consol.citrus.db.driver.exchange.StatementParameter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.NameValuePair;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.client.utils.HttpClientUtils;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.message.BasicNameValuePair;
+import org.apache.http.util.EntityUtils;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Transport sending each JDBC operation as REST request to the http endpoints of the server. Results are
+ * requested in the binary representation and read from Json for servers not supporting it. With result
+ * streaming enabled the rows of binary results are decoded lazily from the open response.
+ */
+public class HttpTransport implements JdbcTransport {
+
+    /** Accepted result representations, the binary representation is preferred over Json */
+    public static final String ACCEPTED_RESULT_TYPES = DatabaseResultCodec.CONTENT_TYPE + ", "
+            + ContentType.APPLICATION_JSON.getMimeType() + ";q=0.9";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final DatabaseResultCodec RESULT_CODEC = new DatabaseResultCodec();
+
+    /** Http remote client */
+    private final HttpClient httpClient;
+    private final String serverUrl;
+
+    /** Whether query results are decoded lazily from the open response stream */
+    private final boolean resultStreaming;
+
+    /**
+     * Constructor using remote connection reference and result streaming setting.
+     * @param httpClient The http client to use for the db communication
+     * @param serverUrl The url of the server
+     * @param resultStreaming Whether query results should be streamed instead of being read into memory
+     */
+    public HttpTransport(final HttpClient httpClient, final String serverUrl, final boolean resultStreaming) {
+        this.httpClient = httpClient;
+        this.serverUrl = serverUrl;
+        this.resultStreaming = resultStreaming;
+    }
+
+    @Override
+    public String openConnection(final String databaseName, final Map<String, String> properties) throws SQLException {
+        HttpResponse response = null;
+        try {
+            response = httpClient.execute(RequestBuilder.get(serverUrl + "/connection")
+                    .addParameter("database", databaseName)
+                    .addParameters(convertProperties(properties))
+                    .build());
+
+            if (HttpStatus.SC_OK != response.getStatusLine().getStatusCode()) {
+                throw new SQLException("Failed to connect to server: " + EntityUtils.toString(response.getEntity()));
+            }
+
+            return readToken(response);
+        } catch(final Exception ex) {
+            throw new SQLException(ex);
+        } finally {
+            HttpClientUtils.closeQuietly(response);
+        }
+    }
+
+    @Override
+    public void closeConnection(final String sessionId) throws SQLException {
+        send(withSession(RequestBuilder.delete(serverUrl + "/connection"), sessionId), "Failed to close connection: ");
+    }
+
+    @Override
+    public void createStatement(final String sessionId) throws SQLException {
+        send(withSession(RequestBuilder.get(serverUrl + "/statement"), sessionId), "Failed to create statement: ");
+    }
+
+    @Override
+    public void closeStatement(final String sessionId) throws SQLException {
+        close(serverUrl + "/statement", sessionId);
+    }
+
+    @Override
+    public String createPreparedStatement(final String sessionId, final String sql) throws SQLException {
+        HttpResponse response = null;
+        try {
+            response = httpClient.execute(withSession(RequestBuilder.post(serverUrl + "/preparedStatement"), sessionId)
+                    .setEntity(new StringEntity(sql))
+                    .build());
+
+            if (HttpStatus.SC_OK != response.getStatusLine().getStatusCode()) {
+                checkSession(response);
+                throw new SQLException("Failed to create prepared statement: " + EntityUtils.toString(response.getEntity()));
+            }
+
+            return readToken(response);
+        } catch (final IOException e) {
+            throw new SQLException(e);
+        } finally {
+            HttpClientUtils.closeQuietly(response);
+        }
+    }
+
+    @Override
+    public void closePreparedStatement(final String sessionId, final String handle) throws SQLException {
+        close(getHandleUrl(handle, ""), sessionId);
+    }
+
+    @Override
+    public void createCallableStatement(final String sessionId, final String sql) throws SQLException {
+        try {
+            send(withSession(RequestBuilder.post(serverUrl + "/callableStatement"), sessionId)
+                    .setEntity(new StringEntity(sql)), "Failed to create prepare call: ");
+        } catch (final UnsupportedEncodingException e) {
+            throw new SQLException(e);
+        }
+    }
+
+    @Override
+    public DatabaseResult executeQuery(final String sessionId, final String sql) throws SQLException {
+        return executeQuery(serverUrl + "/query", sessionId, createStatementEntity(sql), sql);
+    }
+
+    @Override
+    public DatabaseResult executeStatement(final String sessionId, final String sql) throws SQLException {
+        return execute(serverUrl + "/execute", sessionId, createStatementEntity(sql), sql);
+    }
+
+    @Override
+    public int executeUpdate(final String sessionId, final String sql) throws SQLException {
+        return executeUpdate(serverUrl + "/update", sessionId, createStatementEntity(sql));
+    }
+
+    /**
+     * Sends all statements in a single request.
+     * @return The update counts or null if the server does not provide the batch endpoint
+     */
+    @Override
+    public int[] executeBatch(final String sessionId, final List<String> statements) throws SQLException {
+        HttpResponse response = null;
+        try {
+            response = httpClient.execute(withSession(RequestBuilder.post(serverUrl + "/batch"), sessionId)
+                    .setEntity(new StringEntity(OBJECT_MAPPER.writeValueAsString(statements), ContentType.APPLICATION_JSON))
+                    .build());
+
+            if (HttpStatus.SC_NOT_FOUND == response.getStatusLine().getStatusCode()) {
+                return null;
+            }
+
+            return readUpdateCounts(response);
+        } catch (final IOException e) {
+            throw new SQLException(e);
+        } finally {
+            HttpClientUtils.closeQuietly(response);
+        }
+    }
+
+    @Override
+    public DatabaseResult executePreparedQuery(final String sessionId,
+                                               final String handle,
+                                               final PreparedStatementCall call) throws SQLException {
+        return executeQuery(getHandleUrl(handle, "/query"), sessionId,
+                createParameterEntity(call.getParameters()), call.getStatement());
+    }
+
+    @Override
+    public DatabaseResult executePreparedStatement(final String sessionId,
+                                                   final String handle,
+                                                   final PreparedStatementCall call) throws SQLException {
+        return execute(getHandleUrl(handle, "/execute"), sessionId,
+                createParameterEntity(call.getParameters()), call.getStatement());
+    }
+
+    @Override
+    public int executePreparedUpdate(final String sessionId,
+                                     final String handle,
+                                     final PreparedStatementCall call) throws SQLException {
+        return executeUpdate(getHandleUrl(handle, "/update"), sessionId, createParameterEntity(call.getParameters()));
+    }
+
+    @Override
+    public int[] executePreparedBatch(final String sessionId,
+                                      final String handle,
+                                      final List<PreparedStatementCall> calls) throws SQLException {
+        final List<List<StatementParameter>> batch = calls.stream()
+                .map(PreparedStatementCall::getParameters)
+                .collect(Collectors.toList());
+
+        HttpResponse response = null;
+        try {
+            response = httpClient.execute(withSession(RequestBuilder.post(getHandleUrl(handle, "/batch")), sessionId)
+                    .setEntity(createParameterEntity(batch))
+                    .build());
+            return readUpdateCounts(response);
+        } catch (final IOException e) {
+            throw new SQLException(e);
+        } finally {
+            HttpClientUtils.closeQuietly(response);
+        }
+    }
+
+    @Override
+    public void setTransactionState(final String sessionId, final boolean transactionState) throws SQLException {
+        try {
+            send(withSession(RequestBuilder.post(serverUrl + "/connection/transaction"), sessionId)
+                    .setEntity(new StringEntity(String.valueOf(transactionState))),
+                    "Failed to transmit auto commit value: ");
+        } catch (final UnsupportedEncodingException e) {
+            throw new SQLException(e);
+        }
+    }
+
+    @Override
+    public boolean getTransactionState(final String sessionId) throws SQLException {
+        HttpResponse response = null;
+        try {
+            response = httpClient.execute(
+                    withSession(RequestBuilder.get(serverUrl + "/connection/transaction"), sessionId)
+                            .build());
+
+            if (HttpStatus.SC_OK != response.getStatusLine().getStatusCode()) {
+                checkSession(response);
+                throw new SQLException("Failed to get auto commit value: " +
+                        EntityUtils.toString(response.getEntity()));
+            }
+            return Boolean.valueOf(EntityUtils.toString(response.getEntity()));
+        } catch (final IOException e) {
+            throw new SQLException(e);
+        } finally {
+            HttpClientUtils.closeQuietly(response);
+        }
+    }
+
+    @Override
+    public void commit(final String sessionId) throws SQLException {
+        send(withSession(RequestBuilder.put(serverUrl + "/connection/transaction"), sessionId),
+                "Failed to commit statements: ");
+    }
+
+    @Override
+    public void rollback(final String sessionId) throws SQLException {
+        send(withSession(RequestBuilder.delete(serverUrl + "/connection/transaction"), sessionId),
+                "Failed to rollback database: ");
+    }
+
+    /**
+     * Sends a query request to the given url and reads the result from the response.
+     * @param url The url to send the request to
+     * @param sessionId The session id, may be null
+     * @param body The request body describing the query
+     * @param description The description of the query used in error messages
+     * @return The result of the query
+     * @throws SQLException In case the query failed
+     */
+    private DatabaseResult executeQuery(final String url,
+                                        final String sessionId,
+                                        final HttpEntity body,
+                                        final String description) throws SQLException {
+        HttpResponse response = null;
+        boolean streaming = false;
+        try {
+            response = httpClient.execute(withSession(RequestBuilder.post(url), sessionId)
+                    .addHeader(HttpHeaders.ACCEPT, ACCEPTED_RESULT_TYPES)
+                    .setEntity(body)
+                    .build());
+
+            if (HttpStatus.SC_OK != response.getStatusLine().getStatusCode()
+                    || !isDatabaseResult(response.getEntity())) {
+                checkSession(response);
+                throw new SQLException("Failed to execute query: " + description);
+            }
+
+            final DatabaseResult databaseResult = getDatabaseResult(response);
+            streaming = isStreaming(databaseResult);
+            return databaseResult;
+        } catch (final IOException e) {
+            throw new SQLException(e);
+        } finally {
+            if (!streaming) {
+                HttpClientUtils.closeQuietly(response);
+            }
+        }
+    }
+
+    /**
+     * Sends an execute request to the given url and reads either result set or update count from the response.
+     * @param url The url to send the request to
+     * @param sessionId The session id, may be null
+     * @param body The request body describing the statement
+     * @param description The description of the statement used in error messages
+     * @return The result or null if the response does not hold a result
+     * @throws SQLException In case the execution failed
+     */
+    private DatabaseResult execute(final String url,
+                                   final String sessionId,
+                                   final HttpEntity body,
+                                   final String description) throws SQLException {
+        HttpResponse response = null;
+        boolean streaming = false;
+        try {
+            response = httpClient.execute(withSession(RequestBuilder.post(url), sessionId)
+                    .addHeader(HttpHeaders.ACCEPT, ACCEPTED_RESULT_TYPES)
+                    .setEntity(body)
+                    .build());
+
+            if (HttpStatus.SC_OK != response.getStatusLine().getStatusCode()) {
+                checkSession(response);
+                throw new SQLException(String.format("Failed to execute statement '%s' due to server error: %s %s", description, response.getStatusLine().getStatusCode(), response.getStatusLine().getReasonPhrase()));
+            }
+
+            if (isDatabaseResult(response.getEntity())) {
+                final DatabaseResult databaseResult = getDatabaseResult(response);
+                streaming = isStreaming(databaseResult);
+                return databaseResult;
+            }
+
+            return null;
+        } catch (final IOException e) {
+            throw new SQLException(e);
+        } finally {
+            if (!streaming) {
+                HttpClientUtils.closeQuietly(response);
+            }
+        }
+    }
+
+    /**
+     * Sends an update request to the given url and reads the update count from the response.
+     * @param url The url to send the request to
+     * @param sessionId The session id, may be null
+     * @param body The request body describing the update
+     * @return The update count
+     * @throws SQLException In case the update failed
+     */
+    private int executeUpdate(final String url, final String sessionId, final HttpEntity body) throws SQLException {
+        HttpResponse response = null;
+        try {
+            response = httpClient.execute(withSession(RequestBuilder.post(url), sessionId)
+                    .setEntity(body)
+                    .build());
+
+            if (HttpStatus.SC_OK != response.getStatusLine().getStatusCode()) {
+                checkSession(response);
+                throw new SQLException("Failed to execute update: " + EntityUtils.toString(response.getEntity()));
+            }
+
+            final String responseBody = EntityUtils.toString(response.getEntity());
+            return Integer.valueOf(responseBody);
+        } catch (final IOException e) {
+            throw new SQLException(e);
+        } finally {
+            HttpClientUtils.closeQuietly(response);
+        }
+    }
+
+    /**
+     * Sends the close request to the given url.
+     * @param url The url to send the request to
+     * @param sessionId The session id, may be null
+     * @throws SQLException In case the statement could not be closed
+     */
+    private void close(final String url, final String sessionId) throws SQLException {
+        HttpResponse response = null;
+        try {
+            response = httpClient.execute(withSession(RequestBuilder.delete(url), sessionId)
+                    .build());
+
+            if (response.getStatusLine().getStatusCode() < 200 || response.getStatusLine().getStatusCode() > 299) {
+                checkSession(response);
+                throw new SQLException("Failed to close statement");
+            }
+        } catch (final IOException e) {
+            throw new SQLException(e);
+        } finally {
+            HttpClientUtils.closeQuietly(response);
+        }
+    }
+
+    /**
+     * Sends the given request expecting an empty response.
+     * @param request The request to send
+     * @param errorMessage The error message used in case the server responds with an error
+     * @throws SQLException In case the request failed
+     */
+    private void send(final RequestBuilder request, final String errorMessage) throws SQLException {
+        HttpResponse response = null;
+        try {
+            response = httpClient.execute(request.build());
+
+            if (HttpStatus.SC_OK != response.getStatusLine().getStatusCode()) {
+                checkSession(response);
+                throw new SQLException(errorMessage + EntityUtils.toString(response.getEntity()));
+            }
+        } catch (final IOException e) {
+            throw new SQLException(e);
+        } finally {
+            HttpClientUtils.closeQuietly(response);
+        }
+    }
+
+    /**
+     * Reads the update counts of a batch execution from the response.
+     * @param response The response of the batch request
+     * @return The update counts
+     * @throws IOException In case the response could not be read
+     * @throws SQLException In case the batch failed
+     */
+    private int[] readUpdateCounts(final HttpResponse response) throws IOException, SQLException {
+        if (HttpStatus.SC_OK != response.getStatusLine().getStatusCode()) {
+            checkSession(response);
+            throw new SQLException("Failed to execute batch: " + EntityUtils.toString(response.getEntity()));
+        }
+
+        return OBJECT_MAPPER.readValue(response.getEntity().getContent(), int[].class);
+    }
+
+    private DatabaseResult getDatabaseResult(final HttpResponse response) throws IOException {
+        final HttpEntity entity = response.getEntity();
+        if (DatabaseResultCodec.CONTENT_TYPE.equals(getMimeType(entity))) {
+            if (resultStreaming) {
+                return getStreamingDatabaseResult(response);
+            }
+
+            return RESULT_CODEC.decode(entity.getContent());
+        }
+
+        return OBJECT_MAPPER.readValue(entity.getContent(), DatabaseResult.class);
+    }
+
+    /**
+     * Reads the result header only and leaves the response open so rows are decoded lazily
+     * by the data set. The data set takes ownership of the response and releases it once all
+     * rows have been read or the result set is closed.
+     */
+    private DatabaseResult getStreamingDatabaseResult(final HttpResponse response) throws IOException {
+        final DatabaseResultReader reader = new DatabaseResultReader(response.getEntity().getContent());
+        if (!reader.isDataSet()) {
+            return new DatabaseResult(reader.getAffectedRows());
+        }
+
+        return new DatabaseResult(new StreamingDataSet(reader, () -> releaseResultStream(response, reader)));
+    }
+
+    /**
+     * Releases the response backing a streamed result. Fully read responses return their connection
+     * to the pool, partially read responses abort the connection instead of reading the remaining rows.
+     */
+    private void releaseResultStream(final HttpResponse response, final DatabaseResultReader reader) throws IOException {
+        if (!(response instanceof CloseableHttpResponse)) {
+            HttpClientUtils.closeQuietly(response);
+        } else if (reader.isFinished()) {
+            HttpClientUtils.closeQuietly((CloseableHttpResponse) response);
+        } else {
+            ((CloseableHttpResponse) response).close();
+        }
+    }
+
+    /**
+     * Raises responses telling that the server does not know the session of the connection, e.g. because it
+     * has been evicted after being idle, as error with the {@link JdbcConnection#UNKNOWN_SESSION_STATE} SQL state.
+     * @param response The error response
+     * @throws IOException In case the response could not be read
+     * @throws SQLException In case the session of the connection is unknown to the server
+     */
+    private void checkSession(final HttpResponse response) throws IOException, SQLException {
+        if (HttpStatus.SC_GONE == response.getStatusLine().getStatusCode()) {
+            throw new SQLException(EntityUtils.toString(response.getEntity()), JdbcConnection.UNKNOWN_SESSION_STATE);
+        }
+    }
+
+    /**
+     * Binds the request to the given server session if there is one.
+     * @param request The request to send
+     * @param sessionId The session id, may be null
+     * @return The request builder
+     */
+    private RequestBuilder withSession(final RequestBuilder request, final String sessionId) {
+        if (sessionId != null) {
+            request.setHeader(JdbcConnection.SESSION_HEADER, sessionId);
+        }
+        return request;
+    }
+
+    /**
+     * Reads a token like a session id or statement handle from the response. Servers that do not
+     * support the token respond with an empty body.
+     * @param response The response to read
+     * @return The token or null
+     */
+    private String readToken(final HttpResponse response) throws IOException {
+        final HttpEntity entity = response.getEntity();
+        final String token = entity != null ? EntityUtils.toString(entity) : null;
+        return token == null || token.trim().isEmpty() ? null : token.trim();
+    }
+
+    /**
+     * Converts the given properties to a NameValuePair array
+     * @param properties The properties to convert
+     * @return A NameValuePair array containing the properties
+     */
+    private NameValuePair[] convertProperties(final Map<String, String> properties) {
+        return properties.entrySet()
+                .stream()
+                .map(entry -> new BasicNameValuePair(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingInt(BasicNameValuePair::hashCode))
+                .collect(Collectors.toList())
+                .toArray(new NameValuePair[0]);
+    }
+
+    private String getHandleUrl(final String handle, final String operation) {
+        return serverUrl + "/preparedStatement/" + handle + operation;
+    }
+
+    private static HttpEntity createStatementEntity(final String sql) {
+        return new StringEntity(sql, ContentType.create("text/plain", "UTF-8"));
+    }
+
+    private static HttpEntity createParameterEntity(final Object parameters) throws SQLException {
+        try {
+            return new StringEntity(OBJECT_MAPPER.writeValueAsString(parameters), ContentType.APPLICATION_JSON);
+        } catch (final JsonProcessingException e) {
+            throw new SQLException("Failed to serialize statement parameters", e);
+        }
+    }
+
+    private boolean isStreaming(final DatabaseResult databaseResult) {
+        return databaseResult.getDataSet() instanceof StreamingDataSet;
+    }
+
+    /**
+     * Checks whether the entity holds a database result in one of the accepted representations.
+     * @param entity The response entity to check
+     * @return True if the entity is either a Json or a binary database result
+     */
+    private boolean isDatabaseResult(final HttpEntity entity) {
+        final String mimeType = getMimeType(entity);
+        return ContentType.APPLICATION_JSON.getMimeType().equals(mimeType)
+                || DatabaseResultCodec.CONTENT_TYPE.equals(mimeType);
+    }
+
+    private String getMimeType(final HttpEntity entity) {
+        final ContentType contentType = ContentType.get(entity);
+        return contentType != null ? contentType.getMimeType() : null;
+    }
+
+    public HttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    public String getServerUrl() {
+        return serverUrl;
+    }
+
+    public boolean isResultStreaming() {
+        return resultStreaming;
+    }
+
+    @Override
+    public final boolean equals(final Object o) {
+        if (this == o) return true;
+        if (!(o instanceof HttpTransport)) return false;
+        final HttpTransport that = (HttpTransport) o;
+        return resultStreaming == that.resultStreaming &&
+                Objects.equals(httpClient, that.httpClient) &&
+                Objects.equals(serverUrl, that.serverUrl);
+    }
+
+    @Override
+    public final int hashCode() {
+        return Objects.hash(httpClient, serverUrl, resultStreaming);
+    }
+
+    @Override
+    public String toString() {
+        return "HttpTransport{" +
+                "httpClient=" + httpClient +
+                ", serverUrl='" + serverUrl + '\'' +
+                ", resultStreaming=" + resultStreaming +
+                '}';
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.driver.transport;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of transports served within the same JVM. Servers register their endpoint under a name that
+ * clients reference with the {@code jdbc:citrus:inproc:<name>} connection url. Operations are invoked
+ * directly on the registered transport so that results are handed over without serialization.
+ */
+public final class InProcessRegistry {
+
+    /** Url prefix of connections to in process endpoints */
+    public static final String URL_PREFIX = "jdbc:citrus:inproc:";
+
+    private static final Map<String, JdbcTransport> ENDPOINTS = new ConcurrentHashMap<>();
+
+    private InProcessRegistry() {
+    }
+
+    /**
+     * Registers the given transport under the given name, replacing any transport registered before.
+     * @param name The name clients connect to
+     * @param transport The transport serving the connections
+     */
+    public static void register(final String name, final JdbcTransport transport) {
+        ENDPOINTS.put(name, transport);
+    }
+
+    /**
+     * Removes the given transport if it is still registered under the given name.
+     * @param name The name the transport has been registered with
+     * @param transport The transport to remove
+     */
+    public static void unregister(final String name, final JdbcTransport transport) {
+        ENDPOINTS.remove(name, transport);
+    }
+
+    /**
+     * Gets the transport registered under the given name.
+     * @param name The name clients connect to
+     * @return The transport or null if no transport is registered under the name
+     */
+    public static JdbcTransport lookup(final String name) {
+        return ENDPOINTS.get(name);
+    }
+
+    /**
+     * Extracts the endpoint name from an in process connection url. Parameters following the name are ignored.
+     * @param url The connection url
+     * @return The endpoint name or null if the url does not reference an in process endpoint
+     */
+    public static String getName(final String url) {
+        if (url == null || !url.startsWith(URL_PREFIX)) {
+            return null;
+        }
+
+        final String name = url.substring(URL_PREFIX.length());
+        final int parameters = name.indexOf('?');
+        return parameters >= 0 ? name.substring(0, parameters) : name;
+    }
+}
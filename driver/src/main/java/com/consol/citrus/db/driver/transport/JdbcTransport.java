@@ -0,0 +1,194 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.driver.transport;
+
+import com.consol.citrus.db.driver.exchange.DatabaseResult;
+import com.consol.citrus.db.driver.exchange.PreparedStatementCall;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Carries the JDBC operations of connections and statements to the server. All operations of a connection
+ * are bound to the session opened by {@link #openConnection(String, Map)}, servers without session support
+ * return no session id in which case null is passed to subsequent operations.
+ */
+public interface JdbcTransport {
+
+    /**
+     * Opens a connection to the given database.
+     * @param databaseName The name of the database
+     * @param properties The connection properties
+     * @return The id of the session opened by the server or null if the server does not support sessions
+     * @throws SQLException In case the connection could not be opened
+     */
+    String openConnection(String databaseName, Map<String, String> properties) throws SQLException;
+
+    /**
+     * Closes the connection of the given session.
+     * @param sessionId The session id, may be null
+     * @throws SQLException In case the connection could not be closed
+     */
+    void closeConnection(String sessionId) throws SQLException;
+
+    /**
+     * Creates a statement.
+     * @param sessionId The session id, may be null
+     * @throws SQLException In case the statement could not be created
+     */
+    void createStatement(String sessionId) throws SQLException;
+
+    /**
+     * Closes a statement.
+     * @param sessionId The session id, may be null
+     * @throws SQLException In case the statement could not be closed
+     */
+    void closeStatement(String sessionId) throws SQLException;
+
+    /**
+     * Prepares the given statement on the server.
+     * @param sessionId The session id, may be null
+     * @param sql The statement to prepare
+     * @return The handle of the prepared statement or null if the server does not cache prepared statements
+     * @throws SQLException In case the statement could not be prepared
+     */
+    String createPreparedStatement(String sessionId, String sql) throws SQLException;
+
+    /**
+     * Closes the prepared statement with the given handle.
+     * @param sessionId The session id, may be null
+     * @param handle The handle of the prepared statement
+     * @throws SQLException In case the statement could not be closed
+     */
+    void closePreparedStatement(String sessionId, String handle) throws SQLException;
+
+    /**
+     * Creates a callable statement.
+     * @param sessionId The session id, may be null
+     * @param sql The statement to call
+     * @throws SQLException In case the statement could not be created
+     */
+    void createCallableStatement(String sessionId, String sql) throws SQLException;
+
+    /**
+     * Executes the given query.
+     * @param sessionId The session id, may be null
+     * @param sql The query to execute
+     * @return The result of the query
+     * @throws SQLException In case the query failed
+     */
+    DatabaseResult executeQuery(String sessionId, String sql) throws SQLException;
+
+    /**
+     * Executes the given statement.
+     * @param sessionId The session id, may be null
+     * @param sql The statement to execute
+     * @return The result of the execution or null if the server did not return a result
+     * @throws SQLException In case the execution failed
+     */
+    DatabaseResult executeStatement(String sessionId, String sql) throws SQLException;
+
+    /**
+     * Executes the given update.
+     * @param sessionId The session id, may be null
+     * @param sql The update to execute
+     * @return The update count
+     * @throws SQLException In case the update failed
+     */
+    int executeUpdate(String sessionId, String sql) throws SQLException;
+
+    /**
+     * Executes the given updates in one go.
+     * @param sessionId The session id, may be null
+     * @param statements The updates to execute in order
+     * @return The update counts or null if the server does not support batches
+     * @throws SQLException In case the batch failed
+     */
+    int[] executeBatch(String sessionId, List<String> statements) throws SQLException;
+
+    /**
+     * Executes the query of a prepared statement.
+     * @param sessionId The session id, may be null
+     * @param handle The handle of the prepared statement
+     * @param call The prepared statement and its bound parameters
+     * @return The result of the query
+     * @throws SQLException In case the query failed
+     */
+    DatabaseResult executePreparedQuery(String sessionId, String handle, PreparedStatementCall call) throws SQLException;
+
+    /**
+     * Executes a prepared statement.
+     * @param sessionId The session id, may be null
+     * @param handle The handle of the prepared statement
+     * @param call The prepared statement and its bound parameters
+     * @return The result of the execution or null if the server did not return a result
+     * @throws SQLException In case the execution failed
+     */
+    DatabaseResult executePreparedStatement(String sessionId, String handle, PreparedStatementCall call) throws SQLException;
+
+    /**
+     * Executes the update of a prepared statement.
+     * @param sessionId The session id, may be null
+     * @param handle The handle of the prepared statement
+     * @param call The prepared statement and its bound parameters
+     * @return The update count
+     * @throws SQLException In case the update failed
+     */
+    int executePreparedUpdate(String sessionId, String handle, PreparedStatementCall call) throws SQLException;
+
+    /**
+     * Executes the updates of a prepared statement in one go.
+     * @param sessionId The session id, may be null
+     * @param handle The handle of the prepared statement
+     * @param calls The prepared statement executions in order
+     * @return The update counts
+     * @throws SQLException In case the batch failed
+     */
+    int[] executePreparedBatch(String sessionId, String handle, List<PreparedStatementCall> calls) throws SQLException;
+
+    /**
+     * Sets whether the connection is within a transaction.
+     * @param sessionId The session id, may be null
+     * @param transactionState True to start a transaction
+     * @throws SQLException In case the transaction state could not be set
+     */
+    void setTransactionState(String sessionId, boolean transactionState) throws SQLException;
+
+    /**
+     * Gets whether the connection is within a transaction.
+     * @param sessionId The session id, may be null
+     * @return The transaction state
+     * @throws SQLException In case the transaction state could not be read
+     */
+    boolean getTransactionState(String sessionId) throws SQLException;
+
+    /**
+     * Commits the current transaction.
+     * @param sessionId The session id, may be null
+     * @throws SQLException In case the transaction could not be committed
+     */
+    void commit(String sessionId) throws SQLException;
+
+    /**
+     * Rolls back the current transaction.
+     * @param sessionId The session id, may be null
+     * @throws SQLException In case the transaction could not be rolled back
+     */
+    void rollback(String sessionId) throws SQLException;
+}
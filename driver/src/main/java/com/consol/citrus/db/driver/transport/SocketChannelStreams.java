@@ -0,0 +1,87 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.driver.transport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Streams on top of a blocking socket channel. Other than the streams of {@link java.nio.channels.Channels}
+ * reading and writing do not share a lock, so a thread waiting for data does not block threads writing
+ * requests to the same channel.
+ */
+public final class SocketChannelStreams {
+
+    private SocketChannelStreams() {
+    }
+
+    /**
+     * Creates an input stream reading from the given channel.
+     * @param channel The blocking channel to read from
+     * @return The input stream
+     */
+    public static InputStream newInputStream(final SocketChannel channel) {
+        return new InputStream() {
+            @Override
+            public int read() throws IOException {
+                final byte[] single = new byte[1];
+                return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+            }
+
+            @Override
+            public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+                return length == 0 ? 0 : channel.read(ByteBuffer.wrap(bytes, offset, length));
+            }
+
+            @Override
+            public void close() throws IOException {
+                channel.close();
+            }
+        };
+    }
+
+    /**
+     * Creates an output stream writing to the given channel.
+     * @param channel The blocking channel to write to
+     * @return The output stream
+     */
+    public static OutputStream newOutputStream(final SocketChannel channel) {
+        return new OutputStream() {
+            @Override
+            public void write(final int b) throws IOException {
+                write(new byte[] { (byte) b }, 0, 1);
+            }
+
+            @Override
+            public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+                final ByteBuffer buffer = ByteBuffer.wrap(bytes, offset, length);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                channel.close();
+            }
+        };
+    }
+}
@@ -0,0 +1,354 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.driver.transport;
+
+import com.consol.citrus.db.driver.exchange.DatabaseResult;
+import com.consol.citrus.db.driver.exchange.DatabaseResultCodec;
+import com.consol.citrus.db.driver.exchange.PreparedStatementCall;
+import com.consol.citrus.db.driver.exchange.StatementParameter;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary protocol of the tcp transport. Each {@link JdbcTransport} operation is sent as length prefixed
+ * request frame tagged with a request id chosen by the client. Responses carry the id of their request so
+ * that many requests of many connections can be pending on the same socket and answered in any order.
+ *
+ * <pre>
+ * request  := int(length) int(id) byte(operation) string(session) arguments
+ * response := int(length) int(id) (OK result | ERROR string(message) string(sqlState))
+ * string   := int(-1) | int(length) utf8
+ * </pre>
+ *
+ * Results are written in the {@link DatabaseResultCodec} representation, statement parameters in the same
+ * Json representation the http transport sends.
+ */
+public final class TcpProtocol {
+
+    /** Upper bound of frame sizes, protects both sides from reading garbage as frame length */
+    public static final int MAX_FRAME_LENGTH = 256 * 1024 * 1024;
+
+    static final byte OK = 0;
+    static final byte ERROR = 1;
+
+    static final byte OPEN_CONNECTION = 1;
+    static final byte CLOSE_CONNECTION = 2;
+    static final byte CREATE_STATEMENT = 3;
+    static final byte CLOSE_STATEMENT = 4;
+    static final byte CREATE_PREPARED_STATEMENT = 5;
+    static final byte CLOSE_PREPARED_STATEMENT = 6;
+    static final byte CREATE_CALLABLE_STATEMENT = 7;
+    static final byte EXECUTE_QUERY = 8;
+    static final byte EXECUTE_STATEMENT = 9;
+    static final byte EXECUTE_UPDATE = 10;
+    static final byte EXECUTE_BATCH = 11;
+    static final byte EXECUTE_PREPARED_QUERY = 12;
+    static final byte EXECUTE_PREPARED_STATEMENT = 13;
+    static final byte EXECUTE_PREPARED_UPDATE = 14;
+    static final byte EXECUTE_PREPARED_BATCH = 15;
+    static final byte SET_TRANSACTION_STATE = 16;
+    static final byte GET_TRANSACTION_STATE = 17;
+    static final byte COMMIT = 18;
+    static final byte ROLLBACK = 19;
+
+    private static final DatabaseResultCodec RESULT_CODEC = new DatabaseResultCodec();
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final TypeReference<List<StatementParameter>> PARAMETERS_TYPE =
+            new TypeReference<List<StatementParameter>>() {};
+
+    private TcpProtocol() {
+    }
+
+    /**
+     * Reads the operation of a request frame and invokes it on the given transport. The response payload
+     * is written to the given output, errors of the transport and malformed requests are written as error
+     * response.
+     * @param transport The transport serving the operations, usually the server endpoint
+     * @param in The request payload following the request id
+     * @param out The response payload following the request id
+     * @throws IOException In case the response could not be written
+     */
+    public static void dispatch(final JdbcTransport transport,
+                                final DataInputStream in,
+                                final DataOutputStream out) throws IOException {
+        final Response response;
+        try {
+            response = invoke(transport, in.readByte(), readString(in), in);
+        } catch (final IOException | SQLException | RuntimeException e) {
+            writeError(out, e);
+            return;
+        }
+
+        out.writeByte(OK);
+        response.write(out);
+    }
+
+    /**
+     * Writes the error response payload for the given failure.
+     * @param out The response payload following the request id
+     * @param e The failure to report to the client
+     * @throws IOException In case the response could not be written
+     */
+    public static void writeError(final DataOutputStream out, final Exception e) throws IOException {
+        out.writeByte(ERROR);
+        writeString(out, e.getMessage() != null ? e.getMessage() : e.getClass().getName());
+        writeString(out, e instanceof SQLException ? ((SQLException) e).getSQLState() : null);
+    }
+
+    private static Response invoke(final JdbcTransport transport,
+                                   final byte operation,
+                                   final String sessionId,
+                                   final DataInputStream in) throws IOException, SQLException {
+        switch (operation) {
+            case OPEN_CONNECTION: {
+                final String sid = transport.openConnection(readString(in), readProperties(in));
+                return out -> writeString(out, sid);
+            }
+            case CLOSE_CONNECTION:
+                transport.closeConnection(sessionId);
+                return out -> {};
+            case CREATE_STATEMENT:
+                transport.createStatement(sessionId);
+                return out -> {};
+            case CLOSE_STATEMENT:
+                transport.closeStatement(sessionId);
+                return out -> {};
+            case CREATE_PREPARED_STATEMENT: {
+                final String handle = transport.createPreparedStatement(sessionId, readString(in));
+                return out -> writeString(out, handle);
+            }
+            case CLOSE_PREPARED_STATEMENT:
+                transport.closePreparedStatement(sessionId, readString(in));
+                return out -> {};
+            case CREATE_CALLABLE_STATEMENT:
+                transport.createCallableStatement(sessionId, readString(in));
+                return out -> {};
+            case EXECUTE_QUERY: {
+                final DatabaseResult result = transport.executeQuery(sessionId, readString(in));
+                return out -> writeResult(out, result);
+            }
+            case EXECUTE_STATEMENT: {
+                final DatabaseResult result = transport.executeStatement(sessionId, readString(in));
+                return out -> writeResult(out, result);
+            }
+            case EXECUTE_UPDATE: {
+                final int updateCount = transport.executeUpdate(sessionId, readString(in));
+                return out -> out.writeInt(updateCount);
+            }
+            case EXECUTE_BATCH: {
+                final int[] updateCounts = transport.executeBatch(sessionId, readStrings(in));
+                return out -> writeUpdateCounts(out, updateCounts);
+            }
+            case EXECUTE_PREPARED_QUERY: {
+                final DatabaseResult result = transport.executePreparedQuery(sessionId, readString(in), readCall(in));
+                return out -> writeResult(out, result);
+            }
+            case EXECUTE_PREPARED_STATEMENT: {
+                final DatabaseResult result =
+                        transport.executePreparedStatement(sessionId, readString(in), readCall(in));
+                return out -> writeResult(out, result);
+            }
+            case EXECUTE_PREPARED_UPDATE: {
+                final int updateCount = transport.executePreparedUpdate(sessionId, readString(in), readCall(in));
+                return out -> out.writeInt(updateCount);
+            }
+            case EXECUTE_PREPARED_BATCH: {
+                final String handle = readString(in);
+                final int size = in.readInt();
+                final List<PreparedStatementCall> calls = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    calls.add(readCall(in));
+                }
+                final int[] updateCounts = transport.executePreparedBatch(sessionId, handle, calls);
+                return out -> writeUpdateCounts(out, updateCounts);
+            }
+            case SET_TRANSACTION_STATE:
+                transport.setTransactionState(sessionId, in.readBoolean());
+                return out -> {};
+            case GET_TRANSACTION_STATE: {
+                final boolean transactionState = transport.getTransactionState(sessionId);
+                return out -> out.writeBoolean(transactionState);
+            }
+            case COMMIT:
+                transport.commit(sessionId);
+                return out -> {};
+            case ROLLBACK:
+                transport.rollback(sessionId);
+                return out -> {};
+            default:
+                throw new SQLException("Unsupported operation: " + operation);
+        }
+    }
+
+    static void writeString(final DataOutputStream out, final String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+        } else {
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    static String readString(final DataInputStream in) throws IOException {
+        final byte[] bytes = readBytes(in);
+        return bytes != null ? new String(bytes, StandardCharsets.UTF_8) : null;
+    }
+
+    static void writeStrings(final DataOutputStream out, final List<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (final String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    private static List<String> readStrings(final DataInputStream in) throws IOException {
+        final int size = in.readInt();
+        final List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(readString(in));
+        }
+        return values;
+    }
+
+    static void writeProperties(final DataOutputStream out, final Map<String, String> properties) throws IOException {
+        out.writeInt(properties.size());
+        for (final Map.Entry<String, String> property : properties.entrySet()) {
+            writeString(out, property.getKey());
+            writeString(out, property.getValue());
+        }
+    }
+
+    private static Map<String, String> readProperties(final DataInputStream in) throws IOException {
+        final int size = in.readInt();
+        final Map<String, String> properties = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            properties.put(readString(in), readString(in));
+        }
+        return properties;
+    }
+
+    static void writeCall(final DataOutputStream out, final PreparedStatementCall call) throws IOException {
+        writeString(out, call.getStatement());
+        final byte[] parameters = OBJECT_MAPPER.writeValueAsBytes(call.getParameters());
+        out.writeInt(parameters.length);
+        out.write(parameters);
+    }
+
+    private static PreparedStatementCall readCall(final DataInputStream in) throws IOException {
+        final String statement = readString(in);
+        return new PreparedStatementCall(statement, OBJECT_MAPPER.readValue(readBytes(in), PARAMETERS_TYPE));
+    }
+
+    /**
+     * Writes the given result, null results are written as absent.
+     */
+    private static void writeResult(final DataOutputStream out, final DatabaseResult result) throws IOException {
+        out.writeBoolean(result != null);
+        if (result != null) {
+            RESULT_CODEC.encode(result, out);
+        }
+    }
+
+    /**
+     * Reads a result written by {@link #writeResult(DataOutputStream, DatabaseResult)}, results are the
+     * last element of a response so the codec may read ahead.
+     */
+    static DatabaseResult readResult(final DataInputStream in) throws IOException {
+        return in.readBoolean() ? RESULT_CODEC.decode(in) : null;
+    }
+
+    private static void writeUpdateCounts(final DataOutputStream out, final int[] updateCounts) throws IOException {
+        out.writeBoolean(updateCounts != null);
+        if (updateCounts != null) {
+            out.writeInt(updateCounts.length);
+            for (final int updateCount : updateCounts) {
+                out.writeInt(updateCount);
+            }
+        }
+    }
+
+    static int[] readUpdateCounts(final DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+
+        final int[] updateCounts = new int[in.readInt()];
+        for (int i = 0; i < updateCounts.length; i++) {
+            updateCounts[i] = in.readInt();
+        }
+        return updateCounts;
+    }
+
+    private static byte[] readBytes(final DataInputStream in) throws IOException {
+        final int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    /**
+     * Writes a frame consisting of the given request id and payload.
+     * @param out The stream to write to
+     * @param id The request id
+     * @param payload The payload
+     * @param length The number of payload bytes
+     * @throws IOException In case the frame could not be written
+     */
+    public static void writeFrame(final DataOutputStream out, final int id, final byte[] payload, final int length) throws IOException {
+        out.writeInt(length + Integer.BYTES);
+        out.writeInt(id);
+        out.write(payload, 0, length);
+    }
+
+    /**
+     * Reads the next frame consisting of request id and payload.
+     * @param in The stream to read from
+     * @return The frame holding the request id in its first four bytes
+     * @throws IOException In case the stream does not hold a valid frame or is closed
+     */
+    public static byte[] readFrame(final DataInputStream in) throws IOException {
+        final int length = in.readInt();
+        if (length < Integer.BYTES || length > MAX_FRAME_LENGTH) {
+            throw new IOException("Invalid frame length: " + length);
+        }
+
+        final byte[] frame = new byte[length];
+        in.readFully(frame);
+        return frame;
+    }
+
+    @FunctionalInterface
+    private interface Response {
+        void write(DataOutputStream out) throws IOException;
+    }
+}
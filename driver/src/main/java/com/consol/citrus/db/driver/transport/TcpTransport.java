@@ -0,0 +1,469 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.driver.transport;
+
+import com.consol.citrus.db.driver.exchange.DatabaseResult;
+import com.consol.citrus.db.driver.exchange.PreparedStatementCall;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.SocketChannel;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Transport sending the operations in the binary {@link TcpProtocol} over a few long living sockets. The
+ * transport is shared by all connections to the same server: requests of all connections are multiplexed
+ * over the sockets and do not wait for the responses of other requests before being sent. Each socket has
+ * a reader thread completing the pending requests as their responses arrive. Sockets are either tcp sockets
+ * or unix domain sockets, depending on the address of the server.
+ */
+public class TcpTransport implements JdbcTransport, Closeable {
+
+    /** Port of the binary listener of the server if the connection url does not specify one */
+    public static final int DEFAULT_PORT = 4566;
+
+    private static final Logger LOG = Logger.getLogger(TcpTransport.class.getName());
+
+    /** Tcp address or unix domain socket address of the server */
+    private final SocketAddress address;
+
+    /** Connect and response timeout in milliseconds, no timeout if not positive */
+    private final int timeout;
+
+    private final Channel[] channels;
+    private final AtomicInteger nextChannel = new AtomicInteger();
+
+    /** Sessions opened on this transport and the number of connections currently being opened */
+    private final Set<String> sessions = new HashSet<>();
+    private int pendingConnections;
+
+    /**
+     * Constructor using server address and the number of sockets to open.
+     * @param host The host of the server
+     * @param port The port of the binary listener of the server
+     * @param channels The number of sockets requests are distributed over
+     * @param timeout The connect and response timeout in milliseconds
+     */
+    public TcpTransport(final String host, final int port, final int channels, final int timeout) {
+        this(InetSocketAddress.createUnresolved(host, port), channels, timeout);
+    }
+
+    /**
+     * Constructor using the socket address of the server and the number of sockets to open.
+     * @param address The tcp or unix domain socket address of the server
+     * @param channels The number of sockets requests are distributed over
+     * @param timeout The connect and response timeout in milliseconds
+     */
+    public TcpTransport(final SocketAddress address, final int channels, final int timeout) {
+        this.address = address;
+        this.timeout = timeout;
+        this.channels = new Channel[Math.max(1, channels)];
+        for (int i = 0; i < this.channels.length; i++) {
+            this.channels[i] = new Channel();
+        }
+    }
+
+    /**
+     * Opens a connection. The transport keeps its sockets open as long as there are open connections.
+     */
+    @Override
+    public String openConnection(final String databaseName, final Map<String, String> properties) throws SQLException {
+        synchronized (this) {
+            pendingConnections++;
+        }
+
+        try {
+            final String sessionId = call(TcpProtocol.OPEN_CONNECTION, null, out -> {
+                TcpProtocol.writeString(out, databaseName);
+                TcpProtocol.writeProperties(out, properties);
+            }, TcpProtocol::readString);
+            synchronized (this) {
+                sessions.add(sessionId);
+            }
+            return sessionId;
+        } finally {
+            synchronized (this) {
+                pendingConnections--;
+                closeIfIdle();
+            }
+        }
+    }
+
+    /**
+     * Closes a connection. Closing the last open connection closes the sockets and their reader threads,
+     * they are opened again by the next request.
+     */
+    @Override
+    public void closeConnection(final String sessionId) throws SQLException {
+        try {
+            call(TcpProtocol.CLOSE_CONNECTION, sessionId, out -> {}, in -> null);
+        } finally {
+            synchronized (this) {
+                if (sessions.remove(sessionId)) {
+                    closeIfIdle();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void createStatement(final String sessionId) throws SQLException {
+        call(TcpProtocol.CREATE_STATEMENT, sessionId, out -> {}, in -> null);
+    }
+
+    @Override
+    public void closeStatement(final String sessionId) throws SQLException {
+        call(TcpProtocol.CLOSE_STATEMENT, sessionId, out -> {}, in -> null);
+    }
+
+    @Override
+    public String createPreparedStatement(final String sessionId, final String sql) throws SQLException {
+        return call(TcpProtocol.CREATE_PREPARED_STATEMENT, sessionId,
+                out -> TcpProtocol.writeString(out, sql), TcpProtocol::readString);
+    }
+
+    @Override
+    public void closePreparedStatement(final String sessionId, final String handle) throws SQLException {
+        call(TcpProtocol.CLOSE_PREPARED_STATEMENT, sessionId, out -> TcpProtocol.writeString(out, handle), in -> null);
+    }
+
+    @Override
+    public void createCallableStatement(final String sessionId, final String sql) throws SQLException {
+        call(TcpProtocol.CREATE_CALLABLE_STATEMENT, sessionId, out -> TcpProtocol.writeString(out, sql), in -> null);
+    }
+
+    @Override
+    public DatabaseResult executeQuery(final String sessionId, final String sql) throws SQLException {
+        return call(TcpProtocol.EXECUTE_QUERY, sessionId,
+                out -> TcpProtocol.writeString(out, sql), TcpProtocol::readResult);
+    }
+
+    @Override
+    public DatabaseResult executeStatement(final String sessionId, final String sql) throws SQLException {
+        return call(TcpProtocol.EXECUTE_STATEMENT, sessionId,
+                out -> TcpProtocol.writeString(out, sql), TcpProtocol::readResult);
+    }
+
+    @Override
+    public int executeUpdate(final String sessionId, final String sql) throws SQLException {
+        return call(TcpProtocol.EXECUTE_UPDATE, sessionId,
+                out -> TcpProtocol.writeString(out, sql), DataInputStream::readInt);
+    }
+
+    @Override
+    public int[] executeBatch(final String sessionId, final List<String> statements) throws SQLException {
+        return call(TcpProtocol.EXECUTE_BATCH, sessionId,
+                out -> TcpProtocol.writeStrings(out, statements), TcpProtocol::readUpdateCounts);
+    }
+
+    @Override
+    public DatabaseResult executePreparedQuery(final String sessionId,
+                                               final String handle,
+                                               final PreparedStatementCall call) throws SQLException {
+        return call(TcpProtocol.EXECUTE_PREPARED_QUERY, sessionId, out -> {
+            TcpProtocol.writeString(out, handle);
+            TcpProtocol.writeCall(out, call);
+        }, TcpProtocol::readResult);
+    }
+
+    @Override
+    public DatabaseResult executePreparedStatement(final String sessionId,
+                                                   final String handle,
+                                                   final PreparedStatementCall call) throws SQLException {
+        return call(TcpProtocol.EXECUTE_PREPARED_STATEMENT, sessionId, out -> {
+            TcpProtocol.writeString(out, handle);
+            TcpProtocol.writeCall(out, call);
+        }, TcpProtocol::readResult);
+    }
+
+    @Override
+    public int executePreparedUpdate(final String sessionId,
+                                     final String handle,
+                                     final PreparedStatementCall call) throws SQLException {
+        return call(TcpProtocol.EXECUTE_PREPARED_UPDATE, sessionId, out -> {
+            TcpProtocol.writeString(out, handle);
+            TcpProtocol.writeCall(out, call);
+        }, DataInputStream::readInt);
+    }
+
+    @Override
+    public int[] executePreparedBatch(final String sessionId,
+                                      final String handle,
+                                      final List<PreparedStatementCall> calls) throws SQLException {
+        return call(TcpProtocol.EXECUTE_PREPARED_BATCH, sessionId, out -> {
+            TcpProtocol.writeString(out, handle);
+            out.writeInt(calls.size());
+            for (final PreparedStatementCall call : calls) {
+                TcpProtocol.writeCall(out, call);
+            }
+        }, TcpProtocol::readUpdateCounts);
+    }
+
+    @Override
+    public void setTransactionState(final String sessionId, final boolean transactionState) throws SQLException {
+        call(TcpProtocol.SET_TRANSACTION_STATE, sessionId, out -> out.writeBoolean(transactionState), in -> null);
+    }
+
+    @Override
+    public boolean getTransactionState(final String sessionId) throws SQLException {
+        return call(TcpProtocol.GET_TRANSACTION_STATE, sessionId, out -> {}, DataInputStream::readBoolean);
+    }
+
+    @Override
+    public void commit(final String sessionId) throws SQLException {
+        call(TcpProtocol.COMMIT, sessionId, out -> {}, in -> null);
+    }
+
+    @Override
+    public void rollback(final String sessionId) throws SQLException {
+        call(TcpProtocol.ROLLBACK, sessionId, out -> {}, in -> null);
+    }
+
+    /**
+     * Closes all sockets, pending requests fail.
+     */
+    @Override
+    public void close() {
+        for (final Channel channel : channels) {
+            channel.close(new IOException("Transport closed"));
+        }
+    }
+
+    private void closeIfIdle() {
+        if (pendingConnections == 0 && sessions.isEmpty()) {
+            close();
+        }
+    }
+
+    /**
+     * Gets the number of open connections using this transport.
+     * @return The number of connections
+     */
+    public synchronized int getConnections() {
+        return sessions.size();
+    }
+
+    /**
+     * Whether the transport holds any open socket.
+     * @return True if at least one socket is open
+     */
+    public boolean isConnected() {
+        for (final Channel channel : channels) {
+            if (channel.isConnected()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sends the operation on the next socket and waits for its response.
+     * @param operation The operation
+     * @param sessionId The session of the calling connection
+     * @param request Writes the arguments of the operation
+     * @param response Reads the result of the operation
+     * @param <T> The result type
+     * @return The result
+     * @throws SQLException In case the operation failed on the server or the exchange failed
+     */
+    private <T> T call(final byte operation,
+                       final String sessionId,
+                       final Request request,
+                       final Response<T> response) throws SQLException {
+        try {
+            final ByteArrayOutputStream payload = new ByteArrayOutputStream();
+            final DataOutputStream out = new DataOutputStream(payload);
+            out.writeByte(operation);
+            TcpProtocol.writeString(out, sessionId);
+            request.write(out);
+
+            final Channel channel = channels[Math.floorMod(nextChannel.getAndIncrement(), channels.length)];
+            final byte[] frame = channel.exchange(payload.toByteArray());
+
+            final DataInputStream in = new DataInputStream(
+                    new ByteArrayInputStream(frame, Integer.BYTES, frame.length - Integer.BYTES));
+            if (in.readByte() == TcpProtocol.ERROR) {
+                throw new SQLException(TcpProtocol.readString(in), TcpProtocol.readString(in));
+            }
+            return response.read(in);
+        } catch (final IOException e) {
+            throw new SQLException("Failed to communicate with server " + address, e);
+        }
+    }
+
+    public SocketAddress getAddress() {
+        return address;
+    }
+
+    public int getTimeout() {
+        return timeout;
+    }
+
+    @Override
+    public String toString() {
+        return "TcpTransport{" +
+                "address=" + address +
+                ", channels=" + channels.length +
+                '}';
+    }
+
+    @FunctionalInterface
+    private interface Request {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface Response<T> {
+        T read(DataInputStream in) throws IOException;
+    }
+
+    /**
+     * Single socket with the requests waiting for their response. The socket is opened on first use and
+     * opened again on the next request after it has failed.
+     */
+    private final class Channel {
+
+        private final AtomicInteger requestIds = new AtomicInteger();
+        private final Map<Integer, CompletableFuture<byte[]>> pending = new ConcurrentHashMap<>();
+
+        private SocketChannel socket;
+        private DataOutputStream out;
+
+        byte[] exchange(final byte[] payload) throws IOException {
+            final int id = requestIds.incrementAndGet();
+            final CompletableFuture<byte[]> response = new CompletableFuture<>();
+            pending.put(id, response);
+
+            try {
+                synchronized (this) {
+                    connect();
+                    TcpProtocol.writeFrame(out, id, payload, payload.length);
+                    out.flush();
+                }
+                return timeout > 0 ? response.get(timeout, TimeUnit.MILLISECONDS) : response.get();
+            } catch (final IOException e) {
+                close(e);
+                throw e;
+            } catch (final ExecutionException e) {
+                throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+            } catch (final TimeoutException e) {
+                throw new IOException("No response within " + timeout + "ms", e);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for response", e);
+            } finally {
+                pending.remove(id);
+            }
+        }
+
+        private void connect() throws IOException {
+            if (socket != null) {
+                return;
+            }
+
+            final SocketChannel connected = open();
+            socket = connected;
+            out = new DataOutputStream(new BufferedOutputStream(SocketChannelStreams.newOutputStream(connected)));
+
+            final DataInputStream in =
+                    new DataInputStream(new BufferedInputStream(SocketChannelStreams.newInputStream(connected)));
+            final Thread reader = new Thread(() -> read(connected, in), "citrus-db-tcp-" + address);
+            reader.setDaemon(true);
+            reader.start();
+        }
+
+        private SocketChannel open() throws IOException {
+            if (address instanceof InetSocketAddress) {
+                final InetSocketAddress inetAddress = (InetSocketAddress) address;
+                final SocketChannel channel = SocketChannel.open();
+                try {
+                    channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                    channel.setOption(StandardSocketOptions.SO_KEEPALIVE, true);
+                    channel.socket().connect(inetAddress.isUnresolved()
+                            ? new InetSocketAddress(inetAddress.getHostString(), inetAddress.getPort())
+                            : inetAddress, Math.max(timeout, 0));
+                    return channel;
+                } catch (final IOException e) {
+                    channel.close();
+                    throw e;
+                }
+            }
+
+            return SocketChannel.open(address);
+        }
+
+        private void read(final SocketChannel connected, final DataInputStream in) {
+            try {
+                while (true) {
+                    final byte[] frame = TcpProtocol.readFrame(in);
+                    final int id = ((frame[0] & 0xFF) << 24) | ((frame[1] & 0xFF) << 16)
+                            | ((frame[2] & 0xFF) << 8) | (frame[3] & 0xFF);
+                    final CompletableFuture<byte[]> response = pending.get(id);
+                    if (response != null) {
+                        response.complete(frame);
+                    }
+                }
+            } catch (final IOException e) {
+                synchronized (this) {
+                    if (socket == connected) {
+                        close(e);
+                    }
+                }
+            }
+        }
+
+        synchronized boolean isConnected() {
+            return socket != null;
+        }
+
+        synchronized void close(final IOException cause) {
+            if (socket != null) {
+                try {
+                    socket.close();
+                } catch (final IOException e) {
+                    LOG.log(Level.FINE, "Failed to close socket", e);
+                }
+                socket = null;
+                out = null;
+            }
+
+            pending.values().forEach(response -> response.completeExceptionally(cause));
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.driver.transport;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.net.ConnectException;
+import java.net.ProtocolFamily;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * Access to unix domain sockets, available with Java 16 and newer. The socket classes are looked up at
+ * runtime so that the driver still runs on Java 11, where connecting to a socket path fails with a
+ * descriptive error.
+ */
+public final class UnixDomainSockets {
+
+    /** Url prefix of connections to a server listening on a unix domain socket */
+    public static final String URL_PREFIX = "jdbc:citrus:unix:";
+
+    private UnixDomainSockets() {
+    }
+
+    /**
+     * Checks whether the running JVM supports unix domain socket channels.
+     * @return true if unix domain sockets are supported
+     */
+    public static boolean isSupported() {
+        try {
+            Class.forName("java.net.UnixDomainSocketAddress");
+            return true;
+        } catch (final ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Creates the address of the socket file with the given path.
+     * @param path The path of the socket file
+     * @return The socket address
+     * @throws IOException In case unix domain sockets are not supported
+     */
+    public static SocketAddress getAddress(final Path path) throws IOException {
+        try {
+            return (SocketAddress) Class.forName("java.net.UnixDomainSocketAddress")
+                    .getMethod("of", Path.class)
+                    .invoke(null, path);
+        } catch (final ClassNotFoundException | NoSuchMethodException | IllegalAccessException e) {
+            throw unsupported(e);
+        } catch (final InvocationTargetException e) {
+            throw new IOException("Invalid unix domain socket path: " + path, e.getCause());
+        }
+    }
+
+    /**
+     * Opens a server channel bound to the socket file with the given path. A socket file left behind by a
+     * server that has not been shut down properly is replaced, see {@link #deleteStaleSocket(Path)}.
+     * @param path The path of the socket file
+     * @return The bound server channel
+     * @throws IOException In case the channel could not be bound or unix domain sockets are not supported
+     */
+    public static ServerSocketChannel bind(final Path path) throws IOException {
+        final SocketAddress address = getAddress(path);
+
+        final ServerSocketChannel channel;
+        try {
+            channel = (ServerSocketChannel) ServerSocketChannel.class
+                    .getMethod("open", ProtocolFamily.class)
+                    .invoke(null, StandardProtocolFamily.valueOf("UNIX"));
+        } catch (final NoSuchMethodException | IllegalAccessException | IllegalArgumentException e) {
+            throw unsupported(e);
+        } catch (final InvocationTargetException e) {
+            throw new IOException("Failed to open unix domain socket", e.getCause());
+        }
+
+        try {
+            deleteStaleSocket(path);
+            channel.bind(address);
+            return channel;
+        } catch (final IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Deletes a socket file no server is listening on anymore. Regular files, directories and sockets still
+     * accepting connections are left untouched, as the path may have been misconfigured.
+     * @param path The path of the socket file
+     * @throws IOException In case the path is not a stale socket or could not be deleted
+     */
+    public static void deleteStaleSocket(final Path path) throws IOException {
+        final BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        } catch (final NoSuchFileException e) {
+            return;
+        }
+
+        if (!attributes.isOther()) {
+            throw new IOException("Unable to bind unix domain socket, " + path + " exists and is not a socket");
+        }
+
+        try (final SocketChannel ignored = SocketChannel.open(getAddress(path))) {
+            throw new IOException("Unable to bind unix domain socket, " + path + " is in use by another server");
+        } catch (final ConnectException e) {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    /**
+     * Extracts the socket file path from a unix domain socket connection url. Parameters following the
+     * path are ignored.
+     * @param url The connection url
+     * @return The path or null if the url does not reference a unix domain socket
+     */
+    public static String getPath(final String url) {
+        if (url == null || !url.startsWith(URL_PREFIX)) {
+            return null;
+        }
+
+        final String path = url.substring(URL_PREFIX.length());
+        final int parameters = path.indexOf('?');
+        return parameters >= 0 ? path.substring(0, parameters) : path;
+    }
+
+    private static IOException unsupported(final Exception cause) {
+        return new IOException("Unix domain sockets require Java 16 or newer, running on Java "
+                + System.getProperty("java.version"), cause);
+    }
+}
@@ -19,13 +19,12 @@ package com.consol.citrus.db.driver.xml;
 import com.consol.citrus.db.driver.JdbcDriverException;
 import com.consol.citrus.db.driver.data.Row;
 import com.consol.citrus.db.driver.dataset.*;
-import org.w3c.dom.*;
-import org.w3c.dom.bootstrap.DOMImplementationRegistry;
-import org.w3c.dom.ls.*;
 
+import javax.xml.stream.XMLStreamException;
 import java.io.*;
 import java.nio.file.Path;
 import java.sql.SQLException;
+import java.util.function.Consumer;
 
 /**
  * @author Christoph Deppisch
@@ -35,7 +34,8 @@ public class XmlDataSetProducer implements DataSetProducer {
     /** Json data used as table source */
     private final InputStream input;
 
-    private DataSetBuilder builder;
+    /** Data set produced on first call, shared by all subsequent calls as it is immutable */
+    private DataSet dataSet;
 
     public XmlDataSetProducer(File file) {
         this(file.toPath());
@@ -58,59 +58,36 @@ public class XmlDataSetProducer implements DataSetProducer {
     }
 
     @Override
-    public DataSet produce() throws SQLException {
-        if (builder != null) {
-            return builder.build();
+    public synchronized DataSet produce() throws SQLException {
+        if (dataSet != null) {
+            return dataSet;
         }
 
-        builder = new DataSetBuilder();
+        final DataSetBuilder builder = new DataSetBuilder();
+        readRows(builder::add);
 
-        try {
-            DOMImplementationLS domImpl = ((DOMImplementationLS) DOMImplementationRegistry.newInstance().getDOMImplementation("LS"));
-            LSParser parser = domImpl.createLSParser(DOMImplementationLS.MODE_SYNCHRONOUS, null);
-            LSInput lsInput = domImpl.createLSInput();
-            lsInput.setByteStream(input);
-
-            Document document = parser.parse(lsInput);
-            NodeList rows = document.getDocumentElement().getChildNodes();
-
-            for (int i = 0; i < rows.getLength(); i++) {
-                Node rowNode = rows.item(i);
-                if (rowNode instanceof Element) {
-                    Element rowElement = (Element) rowNode;
-                    Row row = new Row();
-
-                    NodeList columns = rowElement.getChildNodes();
-                    for (int k = 0; k < columns.getLength(); k++) {
-                        Node columnNode = columns.item(k);
-                        if (columnNode instanceof Element) {
-                            Element columnElement = (Element) columnNode;
-
-                            StringBuilder nodeValue = new StringBuilder();
-                            NodeList textNodes = columnElement.getChildNodes();
-                            for (int m = 0; m < textNodes.getLength(); m++) {
-                                Node item = textNodes.item(m);
-                                if ((item instanceof CharacterData && !(item instanceof Comment)) || item instanceof EntityReference) {
-                                    nodeValue.append(item.getNodeValue());
-                                }
-                            }
-
-                            row.getValues().put(columnElement.getTagName(), nodeValue.toString());
-                        }
-                    }
-
-                    for (int k = 0; k < rowElement.getAttributes().getLength(); k++) {
-                        Node column = rowElement.getAttributes().item(k);
-                        row.getValues().put(column.getLocalName(), column.getNodeValue());
-                    }
+        dataSet = builder.build();
+        return dataSet;
+    }
 
-                    builder.add(row);
+    /**
+     * Reads the rows one at a time handing each row to the given callback as soon as it has been read,
+     * so that large Xml inputs can be consumed in bounded memory. The input can only be read once,
+     * hence either use this method or {@link #produce()}.
+     * @param rowCallback The callback receiving the rows in document order
+     */
+    public void readRows(final Consumer<Row> rowCallback) {
+        try (InputStream in = input) {
+            final XmlRowReader reader = new XmlRowReader(in);
+            try {
+                while (reader.nextElement()) {
+                    rowCallback.accept(reader.readRow());
                 }
+            } finally {
+                reader.close();
             }
-        } catch (IllegalAccessException | InstantiationException | ClassNotFoundException e) {
-            throw new JdbcDriverException("Unable to read table data set from Json input", e);
+        } catch (XMLStreamException | IOException e) {
+            throw new JdbcDriverException("Unable to read table data set from Xml input", e);
         }
-
-        return builder.build();
     }
 }
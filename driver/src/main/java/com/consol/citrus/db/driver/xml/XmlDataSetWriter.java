@@ -16,10 +16,16 @@
 
 package com.consol.citrus.db.driver.xml;
 
+import com.consol.citrus.db.driver.data.Row;
 import com.consol.citrus.db.driver.dataset.DataSet;
+import com.consol.citrus.db.driver.dataset.DataSetCursor;
 import com.consol.citrus.db.driver.dataset.DataSetWriter;
 import org.w3c.dom.Node;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
 /**
  * @author Christoph Deppisch
  */
@@ -32,32 +38,31 @@ public class XmlDataSetWriter implements DataSetWriter {
     private String spaces = "  ";
 
     @Override
-    public String write(DataSet dataSet) {
-        StringBuilder xmlOutput = new StringBuilder();
-
-        xmlOutput.append("<").append(DATASET).append(">\n");
+    public void write(DataSet dataSet, Writer writer) throws IOException {
+        writer.append("<").append(DATASET).append(">\n");
 
-        dataSet.getRows().forEach(row -> {
+        DataSetCursor cursor = dataSet.cursor();
+        Row row;
+        while ((row = cursor.next()) != null) {
             if (mode == Node.ELEMENT_NODE) {
-                xmlOutput.append(spaces).append("<").append(ROW).append(">\n");
-                row.getValues().forEach((key, value) -> {
-                    xmlOutput.append(spaces).append(spaces).append("<").append(key).append(">");
-                    xmlOutput.append(value);
-                    xmlOutput.append("</").append(key).append(">\n");
-                });
-                xmlOutput.append(spaces).append("</").append(ROW).append(">\n");
+                writer.append(spaces).append("<").append(ROW).append(">\n");
+                for (Map.Entry<String, Object> column : row.getValues().entrySet()) {
+                    writer.append(spaces).append(spaces).append("<").append(column.getKey()).append(">");
+                    writer.append(String.valueOf(column.getValue()));
+                    writer.append("</").append(column.getKey()).append(">\n");
+                }
+                writer.append(spaces).append("</").append(ROW).append(">\n");
             } else if (mode == Node.ATTRIBUTE_NODE) {
-                xmlOutput.append(spaces).append("<").append(ROW).append("\n");
-                row.getValues().forEach((key, value) -> {
-                    xmlOutput.append(spaces).append(spaces).append(key).append("=\"").append(value).append("\"").append("\n");
-                });
-                xmlOutput.append(spaces).append(spaces).append("/>\n");
+                writer.append(spaces).append("<").append(ROW).append("\n");
+                for (Map.Entry<String, Object> column : row.getValues().entrySet()) {
+                    writer.append(spaces).append(spaces).append(column.getKey()).append("=\"").append(String.valueOf(column.getValue())).append("\"").append("\n");
+                }
+                writer.append(spaces).append(spaces).append("/>\n");
             }
-        });
-
-        xmlOutput.append("</").append(DATASET).append(">");
+        }
 
-        return xmlOutput.toString();
+        writer.append("</").append(DATASET).append(">");
+        writer.flush();
     }
 
     /**
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.driver.xml;
+
+import com.consol.citrus.db.driver.data.ColumnDictionary;
+import com.consol.citrus.db.driver.data.Row;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Reads rows from Xml with a StAX stream reader, so that only the row currently read is held in memory.
+ * Each child element of a row element is a column holding the text of the element, each attribute of the
+ * row element is a column holding the attribute value. Attribute columns follow the element columns ordered
+ * by attribute name. Consecutive rows holding the same columns share one column dictionary.
+ */
+final class XmlRowReader {
+
+    private static final XMLInputFactory INPUT_FACTORY = XMLInputFactory.newInstance();
+
+    private final XMLStreamReader reader;
+
+    /** Column dictionary of the last row read */
+    private ColumnDictionary dictionary;
+
+    /**
+     * Default constructor reading the given Xml input positioned on the document element.
+     * @param input The Xml input
+     * @throws XMLStreamException in case the input has no document element
+     */
+    XmlRowReader(final InputStream input) throws XMLStreamException {
+        synchronized (INPUT_FACTORY) {
+            this.reader = INPUT_FACTORY.createXMLStreamReader(input);
+        }
+        reader.nextTag();
+    }
+
+    /**
+     * Moves to the next child element of the element the reader is currently placed in.
+     * @return False if the end of the current element has been reached instead
+     * @throws XMLStreamException in case the Xml is not well formed
+     */
+    boolean nextElement() throws XMLStreamException {
+        while (reader.hasNext()) {
+            final int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                return true;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the qualified name of the element the reader is placed on.
+     * @return The element name including its prefix
+     */
+    String getElementName() {
+        final String prefix = reader.getPrefix();
+        return prefix == null || prefix.isEmpty() ? reader.getLocalName() : prefix + ":" + reader.getLocalName();
+    }
+
+    /**
+     * Reads the row element the reader is placed on up to its end.
+     * @return The row
+     * @throws XMLStreamException in case the Xml is not well formed
+     */
+    Row readRow() throws XMLStreamException {
+        final List<String> names = new ArrayList<>();
+        final List<Object> values = new ArrayList<>();
+
+        final TreeMap<String, Integer> attributes = new TreeMap<>();
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            final String prefix = reader.getAttributePrefix(i);
+            attributes.put(prefix == null || prefix.isEmpty() ? reader.getAttributeLocalName(i)
+                    : prefix + ":" + reader.getAttributeLocalName(i), i);
+        }
+        final List<String> attributeNames = new ArrayList<>(attributes.size());
+        final List<String> attributeValues = new ArrayList<>(attributes.size());
+        for (final Integer index : attributes.values()) {
+            attributeNames.add(reader.getAttributeLocalName(index));
+            attributeValues.add(reader.getAttributeValue(index));
+        }
+
+        while (nextElement()) {
+            put(names, values, getElementName(), readText());
+        }
+
+        for (int i = 0; i < attributeNames.size(); i++) {
+            put(names, values, attributeNames.get(i), attributeValues.get(i));
+        }
+
+        if (dictionary == null || !dictionary.getColumns().equals(names)) {
+            dictionary = ColumnDictionary.of(names);
+        }
+        return new Row(dictionary, values.toArray());
+    }
+
+    /**
+     * Closes the stream reader. The underlying input is not closed.
+     */
+    void close() {
+        try {
+            reader.close();
+        } catch (final XMLStreamException e) {
+            //releasing the reader is best effort
+        }
+    }
+
+    /**
+     * Reads the text directly held by the element the reader is placed on up to its end.
+     * Text of nested elements and comments are ignored.
+     * @return The text of the element
+     * @throws XMLStreamException in case the Xml is not well formed
+     */
+    private String readText() throws XMLStreamException {
+        final StringBuilder text = new StringBuilder();
+        int depth = 0;
+        while (reader.hasNext()) {
+            final int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                if (depth == 0) {
+                    break;
+                }
+                depth--;
+            } else if (depth == 0 && (event == XMLStreamConstants.CHARACTERS
+                    || event == XMLStreamConstants.CDATA
+                    || event == XMLStreamConstants.SPACE
+                    || event == XMLStreamConstants.ENTITY_REFERENCE)) {
+                text.append(reader.getText());
+            }
+        }
+        return text.toString();
+    }
+
+    private static void put(final List<String> names, final List<Object> values, final String name, final String value) {
+        final int existing = names.indexOf(name);
+        if (existing >= 0) {
+            values.set(existing, value);
+        } else {
+            names.add(name);
+            values.add(value);
+        }
+    }
+}
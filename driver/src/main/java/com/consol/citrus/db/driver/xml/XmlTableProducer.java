@@ -18,15 +18,14 @@ package com.consol.citrus.db.driver.xml;
 
 import com.consol.citrus.db.driver.JdbcDriverException;
 import com.consol.citrus.db.driver.data.*;
-import org.w3c.dom.CharacterData;
-import org.w3c.dom.*;
-import org.w3c.dom.bootstrap.DOMImplementationRegistry;
-import org.w3c.dom.ls.*;
 
+import javax.xml.stream.XMLStreamException;
 import java.io.*;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 /**
  * @author Christoph Deppisch
@@ -59,63 +58,37 @@ public class XmlTableProducer implements TableProducer {
     @Override
     public List<Table> produce() {
         List<Table> tables = new ArrayList<>();
+        read(table -> tables.add(new Table(table)), (table, row) -> tables.get(tables.size() - 1).getRows().add(row));
+        return tables;
+    }
 
-        try {
-            DOMImplementationLS domImpl = ((DOMImplementationLS) DOMImplementationRegistry.newInstance().getDOMImplementation("LS"));
-            LSParser parser = domImpl.createLSParser(DOMImplementationLS.MODE_SYNCHRONOUS, null);
-            LSInput lsInput = domImpl.createLSInput();
-            lsInput.setByteStream(input);
-
-            Document document = parser.parse(lsInput);
-            NodeList tableNodes = document.getDocumentElement().getChildNodes();
-
-            for (int i = 0; i < tableNodes.getLength(); i++) {
-                Node tableNode = tableNodes.item(i);
-                if (tableNode instanceof Element) {
-                    Table table = new Table(((Element) tableNode).getTagName());
-                    NodeList rows = tableNode.getChildNodes();
-
-                    for (int j = 0; j < rows.getLength(); j++) {
-                        Node rowNode = rows.item(j);
-                        if (rowNode instanceof Element) {
-                            Element rowElement = (Element) rowNode;
-                            Row row = new Row();
-
-                            NodeList columns = rowElement.getChildNodes();
-                            for (int k = 0; k < columns.getLength(); k++) {
-                                Node columnNode = columns.item(k);
-                                if (columnNode instanceof Element) {
-                                    Element columnElement = (Element) columnNode;
-
-                                    StringBuilder nodeValue = new StringBuilder();
-                                    NodeList textNodes = columnElement.getChildNodes();
-                                    for (int m = 0; m < textNodes.getLength(); m++) {
-                                        Node item = textNodes.item(m);
-                                        if ((item instanceof CharacterData && !(item instanceof Comment)) || item instanceof EntityReference) {
-                                            nodeValue.append(item.getNodeValue());
-                                        }
-                                    }
-
-                                    row.getValues().put(columnElement.getTagName(), nodeValue.toString());
-                                }
-                            }
+    /**
+     * Reads the rows of all tables one at a time handing each row to the given callback as soon as it has
+     * been read, so that large Xml inputs can be consumed in bounded memory. The input can only be read once,
+     * hence either use this method or {@link #produce()}.
+     * @param rowCallback The callback receiving the table name and the row in document order
+     */
+    public void readRows(final BiConsumer<String, Row> rowCallback) {
+        read(table -> {}, rowCallback);
+    }
 
-                            for (int k = 0; k < rowElement.getAttributes().getLength(); k++) {
-                                Node column = rowElement.getAttributes().item(k);
-                                row.getValues().put(column.getLocalName(), column.getNodeValue());
-                            }
+    private void read(final Consumer<String> tableCallback, final BiConsumer<String, Row> rowCallback) {
+        try (InputStream in = input) {
+            final XmlRowReader reader = new XmlRowReader(in);
+            try {
+                while (reader.nextElement()) {
+                    final String table = reader.getElementName();
+                    tableCallback.accept(table);
 
-                            table.getRows().add(row);
-                        }
+                    while (reader.nextElement()) {
+                        rowCallback.accept(table, reader.readRow());
                     }
-
-                    tables.add(table);
                 }
+            } finally {
+                reader.close();
             }
-        } catch (IllegalAccessException | InstantiationException | ClassNotFoundException e) {
-            throw new JdbcDriverException("Unable to read table data set from Json input", e);
+        } catch (XMLStreamException | IOException e) {
+            throw new JdbcDriverException("Unable to read table data set from Xml input", e);
         }
-
-        return tables;
     }
 }
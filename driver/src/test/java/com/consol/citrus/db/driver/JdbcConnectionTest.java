@@ -27,6 +27,8 @@ import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.StatusLine;
 import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.mockito.ArgumentCaptor;
 import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -41,6 +43,7 @@ import java.sql.Statement;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 
@@ -198,6 +201,39 @@ public class JdbcConnectionTest {
         Assert.assertFalse(isAutoCommit);
     }
 
+    @Test
+    public void testSessionIdIsSent() throws Exception{
+
+        //GIVEN
+        final JdbcConnection connection = new JdbcConnection(httpClient, serverUrl, false, "session-1");
+        when(statusLine.getStatusCode()).thenReturn(200);
+        when(httpEntity.getContent()).thenReturn(new ByteArrayInputStream("false".getBytes()));
+
+        //WHEN
+        connection.getAutoCommit();
+
+        //THEN
+        final ArgumentCaptor<HttpUriRequest> request = ArgumentCaptor.forClass(HttpUriRequest.class);
+        verify(httpClient).execute(request.capture());
+        assertEquals(request.getValue().getFirstHeader(JdbcConnection.SESSION_HEADER).getValue(), "session-1");
+    }
+
+    @Test
+    public void testNoSessionIdIsSentWithoutSession() throws Exception{
+
+        //GIVEN
+        when(statusLine.getStatusCode()).thenReturn(200);
+        when(httpEntity.getContent()).thenReturn(new ByteArrayInputStream("false".getBytes()));
+
+        //WHEN
+        jdbcConnection.getAutoCommit();
+
+        //THEN
+        final ArgumentCaptor<HttpUriRequest> request = ArgumentCaptor.forClass(HttpUriRequest.class);
+        verify(httpClient).execute(request.capture());
+        Assert.assertNull(request.getValue().getFirstHeader(JdbcConnection.SESSION_HEADER));
+    }
+
     @Test(expectedExceptions = SQLException.class)
     public void testGetAutoCommitHttpCallFailed() throws Exception{
 
@@ -315,6 +351,22 @@ public class JdbcConnectionTest {
         assertEquals(statement, expectedStatement);
     }
 
+    @Test
+    public void testPrepareStatementWithStatementHandle() throws Exception {
+
+        //GIVEN
+        final String sql = "SELECT something FROM somewhere WHERE id = ?";
+        final JdbcStatement expectedStatement = new JdbcPreparedStatement(httpClient, sql, serverUrl, jdbcConnection, "7");
+        when(statusLine.getStatusCode()).thenReturn(200);
+        when(httpEntity.getContent()).thenReturn(new ByteArrayInputStream("7".getBytes()));
+
+        //WHEN
+        final Statement statement = jdbcConnection.prepareStatement(sql);
+
+        //THEN
+        assertEquals(statement, expectedStatement);
+    }
+
     @Test(expectedExceptions = SQLException.class)
     public void testPrepareStatementHttpCallFailed() throws Exception{
 
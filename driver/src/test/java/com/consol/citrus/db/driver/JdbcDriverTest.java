@@ -16,12 +16,15 @@
 
 package com.consol.citrus.db.driver;
 
+import com.consol.citrus.db.driver.transport.InProcessRegistry;
+import com.consol.citrus.db.driver.transport.JdbcTransport;
 import org.apache.http.HttpResponse;
 import org.apache.http.ProtocolVersion;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.message.BasicHttpResponse;
 import org.apache.http.message.BasicStatusLine;
+import org.apache.http.pool.PoolStats;
 import org.mockito.Mockito;
 import org.mockito.stubbing.Answer;
 import org.testng.Assert;
@@ -29,6 +32,7 @@ import org.testng.annotations.*;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.Collections;
 import java.util.Properties;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -64,6 +68,31 @@ public class JdbcDriverTest {
         driver.connect("jdbc:citrus:http://localhost:3306/testdb", credentials);
     }
 
+    @Test
+    public void connectInProcess() throws SQLException {
+        JdbcTransport transport = Mockito.mock(JdbcTransport.class);
+        when(transport.openConnection("embedded", Collections.singletonMap("username", "citrus"))).thenReturn("session");
+
+        Properties credentials = new Properties();
+        credentials.put("username", "citrus");
+
+        InProcessRegistry.register("embedded", transport);
+        try {
+            JdbcConnection connection = (JdbcConnection) driver.connect("jdbc:citrus:inproc:embedded", credentials);
+            Assert.assertSame(connection.getTransport(), transport);
+
+            connection.createStatement();
+            Mockito.verify(transport).createStatement("session");
+        } finally {
+            InProcessRegistry.unregister("embedded", transport);
+        }
+    }
+
+    @Test(expectedExceptions = SQLException.class)
+    public void connectInProcessUnknownName() throws SQLException {
+        driver.connect("jdbc:citrus:inproc:unknown", new Properties());
+    }
+
     @Test
     public void connectWithPresetServerUrl() throws SQLException, IOException {
         driver.setServerUrl("http://localhost:3306");
@@ -82,6 +111,96 @@ public class JdbcDriverTest {
         driver.connect("jdbc:mysql://database:1234/mysqldb", credentials);
     }
 
+    @Test
+    public void connectWithDriverProperties() throws SQLException, IOException {
+        when(httpClient.execute(any(HttpUriRequest.class))).thenAnswer((Answer<HttpResponse>) invocation -> {
+                    HttpUriRequest request = invocation.getArgument(0);
+                    Assert.assertEquals(request.getURI().toString(), "http://localhost:3306/connection?database=testdb&username=citrus");
+                    return new BasicHttpResponse(new BasicStatusLine(new ProtocolVersion("HTTP", 1, 1), 200, "OK"));
+                }
+        );
+
+        Properties properties = new Properties();
+        properties.put("username", "citrus");
+        properties.put(JdbcDriver.POOL_MAX_TOTAL_PROPERTY, "50");
+        properties.put(JdbcDriver.POOL_MAX_PER_ROUTE_PROPERTY, "50");
+
+        driver.connect("jdbc:citrus:http://localhost:3306/testdb", properties);
+    }
+
+    @Test
+    public void connectionPoolStats() {
+        Assert.assertNull(driver.getConnectionPoolStats());
+
+        System.setProperty(JdbcDriver.POOL_MAX_TOTAL_PROPERTY, "42");
+        try {
+            PoolStats stats = new JdbcDriver().getConnectionPoolStats();
+            Assert.assertNotNull(stats);
+            Assert.assertEquals(stats.getMax(), 42);
+            Assert.assertEquals(stats.getLeased(), 0);
+            Assert.assertEquals(stats.getPending(), 0);
+            Assert.assertEquals(stats.getAvailable(), 0);
+        } finally {
+            System.clearProperty(JdbcDriver.POOL_MAX_TOTAL_PROPERTY);
+        }
+    }
+
+    @Test
+    public void connectionPoolLimitsAppliedOnce() {
+        JdbcDriver pooledDriver = new JdbcDriver();
+
+        Properties first = new Properties();
+        first.put(JdbcDriver.POOL_MAX_TOTAL_PROPERTY, "50");
+        Properties second = new Properties();
+        second.put(JdbcDriver.POOL_MAX_TOTAL_PROPERTY, "10");
+
+        for (Properties properties : new Properties[] { first, second }) {
+            try {
+                pooledDriver.connect("jdbc:citrus:http://localhost:1/testdb", properties);
+                Assert.fail("Missing connection refused error");
+            } catch (SQLException e) {
+                // no server listening
+            }
+        }
+
+        Assert.assertEquals(pooledDriver.getConnectionPoolStats().getMax(), 50);
+    }
+
+    @Test
+    public void serverUriCacheIsBounded() {
+        JdbcDriver pooledDriver = new JdbcDriver();
+
+        for (int i = 0; i <= JdbcDriver.MAX_CACHED_SERVER_URIS; i++) {
+            try {
+                pooledDriver.connect("jdbc:citrus:http://localhost:1/testdb" + i, new Properties());
+                Assert.fail("Missing connection refused error");
+            } catch (SQLException e) {
+                // no server listening
+            }
+        }
+
+        Assert.assertTrue(pooledDriver.getCachedServerUris() <= JdbcDriver.MAX_CACHED_SERVER_URIS);
+    }
+
+    @Test
+    public void invalidNumericSetting() {
+        System.setProperty(JdbcDriver.POOL_MAX_TOTAL_PROPERTY, "many");
+        try {
+            Assert.assertEquals(new JdbcDriver().getConnectionPoolStats().getMax(), 200);
+        } finally {
+            System.clearProperty(JdbcDriver.POOL_MAX_TOTAL_PROPERTY);
+        }
+    }
+
+    @Test(expectedExceptions = SQLException.class)
+    public void invalidTcpChannelsProperty() throws SQLException {
+        Properties properties = new Properties();
+        properties.put(JdbcDriver.TCP_CHANNELS_PROPERTY, "many");
+
+        // falls back to the default number of channels and fails with connection refused
+        new JdbcDriver().connect("jdbc:citrus:tcp://localhost:1/testdb", properties);
+    }
+
     @Test
     public void acceptUrl() throws SQLException {
         Assert.assertTrue(driver.acceptsURL("jdbc:citrus:http://localhost:3306/testdb"));
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.driver;
+
+import com.consol.citrus.db.driver.data.Row;
+import com.consol.citrus.db.driver.dataset.DataSet;
+import com.consol.citrus.db.driver.dataset.DataSetBuilder;
+import org.testng.annotations.Test;
+
+import java.math.BigDecimal;
+import java.sql.ResultSetMetaData;
+import java.sql.Types;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+
+public class JdbcResultSetMetaDataTest {
+
+    @Test
+    public void testMetaDataIsServedFromSchema() throws Exception {
+
+        //GIVEN
+        final Map<String, Object> values = new LinkedHashMap<>();
+        values.put("id", 1);
+        values.put("price", new BigDecimal("9.99"));
+        values.put("description", null);
+        final DataSet dataSet = new DataSetBuilder().add(new Row(values)).build();
+
+        //WHEN
+        final ResultSetMetaData metaData = new JdbcResultSetMetaData(dataSet);
+
+        //THEN
+        assertEquals(metaData.getColumnCount(), 3);
+        assertEquals(metaData.getColumnName(1), "id");
+        assertEquals(metaData.getColumnLabel(2), "price");
+        assertEquals(metaData.getColumnType(1), Types.INTEGER);
+        assertEquals(metaData.getColumnType(2), Types.DECIMAL);
+        assertEquals(metaData.getColumnTypeName(2), "DECIMAL");
+        assertEquals(metaData.getColumnClassName(2), BigDecimal.class.getName());
+        assertEquals(metaData.isNullable(1), ResultSetMetaData.columnNoNulls);
+        assertEquals(metaData.isNullable(3), ResultSetMetaData.columnNullable);
+    }
+}
@@ -1,6 +1,9 @@
 package com.consol.citrus.db.driver;
 
+import com.consol.citrus.db.driver.data.ColumnDictionary;
 import com.consol.citrus.db.driver.data.Row;
+import com.consol.citrus.db.driver.dataset.ColumnVector;
+import com.consol.citrus.db.driver.dataset.ColumnarDataSet;
 import com.consol.citrus.db.driver.dataset.DataSet;
 import com.consol.citrus.db.driver.dataset.DataSetBuilder;
 import com.consol.citrus.db.driver.statement.JdbcStatement;
@@ -26,6 +29,8 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Time;
 import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.SortedMap;
 import java.util.TreeMap;
 
@@ -809,6 +814,84 @@ public class JdbcResultSetTest {
         assertFalse(nextRowContainsNewData);
     }
 
+    @Test
+    public void testColumnarDataSetIsReadWithoutBoxing() throws SQLException {
+
+        //GIVEN
+        final DataSet dataSet = new ColumnarDataSet(ColumnDictionary.of("id", "amount", "name"),
+                ColumnVector.of(Arrays.asList(1, 2)),
+                ColumnVector.of(Arrays.asList(10.5D, null)),
+                ColumnVector.of(Arrays.asList("foo", "bar")));
+        final JdbcResultSet resultSet = new JdbcResultSet(dataSet, null);
+
+        //WHEN
+        assertTrue(resultSet.next());
+        final int firstId = resultSet.getInt(1);
+        final double firstAmount = resultSet.getDouble("amount");
+        final boolean firstAmountWasNull = resultSet.wasNull();
+        final String firstName = resultSet.getString("name");
+
+        assertTrue(resultSet.next());
+        final long secondId = resultSet.getLong("id");
+        final double secondAmount = resultSet.getDouble(2);
+        final boolean secondAmountWasNull = resultSet.wasNull();
+        final Object secondName = resultSet.getObject(3);
+
+        //THEN
+        assertEquals(firstId, 1);
+        assertEquals(firstAmount, 10.5D);
+        assertFalse(firstAmountWasNull);
+        assertEquals(firstName, "foo");
+        assertEquals(secondId, 2L);
+        assertEquals(secondAmount, 0D);
+        assertTrue(secondAmountWasNull);
+        assertEquals(secondName, "bar");
+        assertFalse(resultSet.next());
+    }
+
+    @Test
+    public void testResultSetsSharingDataSetUseOwnCursors() throws SQLException {
+
+        //GIVEN
+        final DataSet dataSet = new DataSetBuilder()
+                .add(new Row(Collections.singletonMap("id", 1)), new Row(Collections.singletonMap("id", 2)))
+                .build();
+        final JdbcResultSet first = new JdbcResultSet(dataSet, null);
+        final JdbcResultSet second = new JdbcResultSet(dataSet, null);
+
+        //WHEN
+        assertTrue(first.next());
+        assertTrue(first.next());
+        assertFalse(first.next());
+        assertTrue(second.next());
+
+        //THEN
+        assertEquals(first.getInt("id"), 2);
+        assertEquals(first.getRow(), 2);
+        assertEquals(second.getInt("id"), 1);
+        assertEquals(second.getRow(), 1);
+    }
+
+    @Test
+    public void testResultSetsSharingColumnarDataSetUseOwnCursors() throws SQLException {
+
+        //GIVEN
+        final DataSet dataSet = new ColumnarDataSet(ColumnDictionary.of("id"), ColumnVector.of(Arrays.asList(1, 2)));
+        final JdbcResultSet first = new JdbcResultSet(dataSet, null);
+        final JdbcResultSet second = new JdbcResultSet(dataSet, null);
+
+        //WHEN
+        assertTrue(first.next());
+        assertTrue(first.next());
+        assertTrue(second.next());
+
+        //THEN
+        assertEquals(first.getInt(1), 2);
+        assertEquals(second.getInt(1), 1);
+        assertFalse(first.next());
+        assertTrue(second.next());
+    }
+
     @Test
     public void testToString(){
         ToStringVerifier.forClass(JdbcResultSet.class).verify();
@@ -822,6 +905,7 @@ public class JdbcResultSetTest {
                         new JdbcStatement(mock(HttpClient.class), "asdf", mock(JdbcConnection.class)),
                         new JdbcStatement(mock(HttpClient.class), "asdf", mock(JdbcConnection.class)))
                 .suppress(Warning.NONFINAL_FIELDS)
+                .withIgnoredFields("cursor")
                 .verify();
     }
 
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.driver.csv;
+
+import com.consol.citrus.db.driver.JdbcDriverException;
+import com.consol.citrus.db.driver.data.Row;
+import com.consol.citrus.db.driver.dataset.ColumnarDataSet;
+import com.consol.citrus.db.driver.dataset.DataSet;
+import com.consol.citrus.db.driver.dataset.DataSetBuilder;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class CsvDataSetProducerTest {
+
+    @Test
+    public void testProduce() {
+
+        //GIVEN
+        final CsvDataSetProducer producer = new CsvDataSetProducer(
+                "id,name,email\r\n" +
+                "1,Sheldon,\r\n" +
+                "2,\"Hofstadter, Leonard\",leo@bigbangtheory.org\r\n");
+
+        //WHEN
+        final DataSet dataSet = producer.produce();
+
+        //THEN
+        assertTrue(dataSet instanceof ColumnarDataSet);
+        assertEquals(dataSet.getColumns(), Arrays.asList("id", "name", "email"));
+        assertEquals(dataSet.getRows().size(), 2);
+        assertEquals(dataSet.getRows().get(0).getValues().toString(), "{id=1, name=Sheldon, email=null}");
+        assertEquals(dataSet.getRows().get(1).getValues().toString(), "{id=2, name=Hofstadter, Leonard, email=leo@bigbangtheory.org}");
+        assertSame(producer.produce(), dataSet);
+    }
+
+    @Test
+    public void testTypeHints() {
+
+        //GIVEN
+        final CsvDataSetProducer producer = new CsvDataSetProducer(
+                "id:INTEGER,count:bigint,amount:DOUBLE,price:DECIMAL,active:BOOLEAN,birthday:DATE,time:stamp\n" +
+                "-1,10000000000,1.5,9.99,true,2018-01-01,noon\n" +
+                ",,,,,,\n");
+
+        //WHEN
+        final ColumnarDataSet dataSet = (ColumnarDataSet) producer.produce();
+
+        //THEN
+        assertEquals(dataSet.getColumns(), Arrays.asList("id", "count", "amount", "price", "active", "birthday", "time:stamp"));
+        assertEquals(dataSet.getSchema().getColumnType(0), Types.INTEGER);
+        assertEquals(dataSet.getColumn(0).getInt(0), -1);
+        assertEquals(dataSet.getColumn(1).getLong(0), 10000000000L);
+        assertEquals(dataSet.getColumn(2).getDouble(0), 1.5D);
+
+        final Row row = dataSet.getRow(0);
+        assertEquals(row.getValue("price"), new BigDecimal("9.99"));
+        assertEquals(row.getValue("active"), true);
+        assertEquals(row.getValue("birthday"), Date.valueOf("2018-01-01"));
+        assertEquals(row.getValue("time:stamp"), "noon");
+
+        for (int column = 0; column < dataSet.getColumns().size(); column++) {
+            assertTrue(dataSet.getColumn(column).isNull(1));
+        }
+    }
+
+    @Test
+    public void testQuotedFields() {
+
+        //GIVEN
+        final CsvDataSetProducer producer = new CsvDataSetProducer(
+                "\uFEFFtext;empty\n" +
+                "\"multi\nline \"\"quoted\"\"\";\"\"\n" +
+                "short\n").delimiter(';');
+
+        //WHEN
+        final DataSet dataSet = producer.produce();
+
+        //THEN
+        assertEquals(dataSet.getColumns(), Arrays.asList("text", "empty"));
+        assertEquals(dataSet.getRows().get(0).getValue("text"), "multi\nline \"quoted\"");
+        assertEquals(dataSet.getRows().get(0).getValue("empty"), "");
+        assertEquals(dataSet.getRows().get(1).getValue("text"), "short");
+        assertNull(dataSet.getRows().get(1).getValue("empty"));
+    }
+
+    @Test
+    public void testProduceFromMappedFile() throws Exception {
+
+        //GIVEN
+        final Map<String, Object> first = new LinkedHashMap<>();
+        first.put("id", "1");
+        first.put("name", "foo, \"bar\"");
+        final Map<String, Object> second = new LinkedHashMap<>();
+        second.put("id", "2");
+        second.put("name", null);
+        final DataSet expected = new DataSetBuilder().add(new Row(first), new Row(second)).build();
+
+        final Path file = Files.createTempFile("dataset", ".csv");
+        try {
+            Files.write(file, new CsvDataSetWriter().write(expected).getBytes(StandardCharsets.UTF_8));
+
+            //WHEN
+            final DataSet dataSet = new CsvDataSetProducer(file).produce();
+
+            //THEN
+            assertEquals(dataSet, expected);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testProduceFromInputStream() {
+
+        //GIVEN
+        final CsvDataSetProducer producer = new CsvDataSetProducer(
+                new ByteArrayInputStream("id\n1\n".getBytes(StandardCharsets.UTF_8)));
+
+        //WHEN
+        final DataSet dataSet = producer.produce();
+
+        //THEN
+        assertEquals(dataSet.getRows().get(0).getValue("id"), "1");
+    }
+
+    @Test
+    public void testProduceEmpty() {
+        final DataSet dataSet = new CsvDataSetProducer("").produce();
+
+        assertEquals(dataSet.getColumns().size(), 0);
+        assertEquals(dataSet.getRows().size(), 0);
+    }
+
+    @Test(expectedExceptions = JdbcDriverException.class, expectedExceptionsMessageRegExp = ".*row 1 column 'id'.*")
+    public void testInvalidValue() {
+        new CsvDataSetProducer("id:INTEGER\nfoo\n").produce();
+    }
+
+    @Test(expectedExceptions = JdbcDriverException.class)
+    public void testTooManyFields() {
+        new CsvDataSetProducer("id\n1,2\n").produce();
+    }
+
+    @Test(expectedExceptions = JdbcDriverException.class)
+    public void testUnterminatedQuote() {
+        new CsvDataSetProducer("id\n\"1\n").produce();
+    }
+
+    @Test(expectedExceptions = JdbcDriverException.class)
+    public void testMissingFile() {
+        new CsvDataSetProducer(Path.of("missing.csv")).produce();
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.driver.csv;
+
+import com.consol.citrus.db.driver.data.Row;
+import com.consol.citrus.db.driver.dataset.DataSet;
+import com.consol.citrus.db.driver.dataset.DataSetBuilder;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+
+public class CsvDataSetWriterTest {
+
+    @Test
+    public void testWrite() {
+
+        //GIVEN
+        final Map<String, Object> first = new LinkedHashMap<>();
+        first.put("id", 1);
+        first.put("name", "Sheldon, Lee \"Shelly\"");
+        first.put("email", null);
+        final Map<String, Object> second = new LinkedHashMap<>();
+        second.put("id", 2);
+        second.put("name", "");
+        final DataSet dataSet = new DataSetBuilder().add(new Row(first), new Row(second)).build();
+
+        //WHEN
+        final String csv = new CsvDataSetWriter().write(dataSet);
+
+        //THEN
+        assertEquals(csv, "id,name,email\n" +
+                "1,\"Sheldon, Lee \"\"Shelly\"\"\",\n" +
+                "2,\"\",\n");
+    }
+
+    @Test
+    public void testWriteToOutputStream() throws Exception {
+
+        //GIVEN
+        final DataSet dataSet = new DataSetBuilder()
+                .add(new Row(Collections.singletonMap("text", "multi\nline;value")))
+                .build();
+        final CsvDataSetWriter writer = new CsvDataSetWriter();
+        writer.setDelimiter(';');
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        //WHEN
+        writer.write(dataSet, output);
+
+        //THEN
+        assertEquals(output.toString(StandardCharsets.UTF_8.name()), "text\n\"multi\nline;value\"\n");
+    }
+
+    @Test
+    public void testWriteEmptyDataSet() {
+        assertEquals(new CsvDataSetWriter().write(new DataSet()), "\n");
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.driver.csv;
+
+import com.consol.citrus.db.driver.data.Table;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+
+public class CsvTableProducerTest {
+
+    @Test
+    public void testProduce() throws Exception {
+
+        //GIVEN
+        final Path file = Files.createTempFile("characters", ".csv");
+        try {
+            Files.write(file, "id:INTEGER,firstname\n1,Sheldon\n2,Leonard\n".getBytes(StandardCharsets.UTF_8));
+
+            //WHEN
+            final List<Table> tables = new CsvTableProducer(file).produce();
+
+            //THEN
+            assertEquals(tables.size(), 1);
+            assertEquals(tables.get(0).getName(), file.getFileName().toString().replace(".csv", ""));
+            assertEquals(tables.get(0).getColumns().toString(), "[id, firstname]");
+            assertEquals(tables.get(0).getRows().size(), 2);
+            assertEquals(tables.get(0).getRows().get(1).getValues().toString(), "{id=2, firstname=Leonard}");
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testProduceWithTableName() {
+
+        //WHEN
+        final List<Table> tables = new CsvTableProducer("friends", "id\t name\n3\tRajesh\n").delimiter('\t').produce();
+
+        //THEN
+        assertEquals(tables.get(0).getName(), "friends");
+        assertEquals(tables.get(0).getColumns().toString(), "[id,  name]");
+        assertEquals(tables.get(0).getRows().get(0).getValue(" name"), "Rajesh");
+    }
+}
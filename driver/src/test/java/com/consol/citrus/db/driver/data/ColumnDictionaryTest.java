@@ -0,0 +1,130 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.driver.data;
+
+import com.consol.citrus.db.driver.dataset.DataSet;
+import com.consol.citrus.db.driver.dataset.DataSetBuilder;
+import nl.jqno.equalsverifier.EqualsVerifier;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+public class ColumnDictionaryTest {
+
+    @Test
+    public void testIndexOf() {
+
+        //GIVEN
+        final ColumnDictionary dictionary = ColumnDictionary.of("id", "name");
+
+        //WHEN
+        final int id = dictionary.indexOf("id");
+        final int name = dictionary.indexOf("name");
+        final int unknown = dictionary.indexOf("unknown");
+
+        //THEN
+        assertEquals(id, 0);
+        assertEquals(name, 1);
+        assertEquals(unknown, -1);
+        assertEquals(dictionary.getColumn(1), "name");
+        assertEquals(dictionary.getColumns(), Arrays.asList("id", "name"));
+    }
+
+    @Test
+    public void testRowsOfDataSetShareDictionary() {
+
+        //GIVEN
+        final Row first = new Row(values(1, "foo"));
+        final Row second = new Row(values(2, "bar"));
+        assertNotSame(first.getColumnDictionary(), second.getColumnDictionary());
+
+        //WHEN
+        final DataSet dataSet = new DataSetBuilder().add(first, second).build();
+
+        //THEN
+        assertSame(dataSet.getRows().get(0).getColumnDictionary(), dataSet.getRows().get(1).getColumnDictionary());
+    }
+
+    @Test
+    public void testAddingColumnDoesNotChangeSharedDictionary() {
+
+        //GIVEN
+        final ColumnDictionary dictionary = ColumnDictionary.of("id");
+        final Row first = new Row(dictionary, 1);
+        final Row second = new Row(dictionary, 2);
+
+        //WHEN
+        first.getValues().put("name", "foo");
+
+        //THEN
+        assertEquals(first.getColumns(), Arrays.asList("id", "name"));
+        assertEquals(first.getValue(1), "foo");
+        assertEquals(second.getColumns(), Collections.singletonList("id"));
+        assertSame(second.getColumnDictionary(), dictionary);
+    }
+
+    @Test
+    public void testRowValuesBehaveLikeMap() {
+
+        //GIVEN
+        final Map<String, Object> expected = values(1, "foo");
+        final Row row = new Row(ColumnDictionary.of("id", "name"), 1, "foo");
+
+        //WHEN
+        final Map<String, Object> values = row.getValues();
+
+        //THEN
+        assertEquals(values, expected);
+        assertEquals(expected, values);
+        assertEquals(values.hashCode(), expected.hashCode());
+        assertEquals(values.toString(), expected.toString());
+        assertEquals(row, new Row(expected));
+        assertEquals(row.hashCode(), new Row(expected).hashCode());
+
+        values.remove("id");
+        assertEquals(row.getColumns(), Collections.singletonList("name"));
+        assertEquals(row.getValue(0), "foo");
+        assertEquals(row.getColumnIndex("id"), -1);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testValuesMustMatchColumns() {
+        new Row(ColumnDictionary.of("id", "name"), 1);
+    }
+
+    @Test
+    public void equalsContract() {
+        EqualsVerifier.forClass(ColumnDictionary.class)
+                .withIgnoredFields("indices", "columns")
+                .verify();
+    }
+
+    private Map<String, Object> values(final int id, final String name) {
+        final Map<String, Object> values = new LinkedHashMap<>();
+        values.put("id", id);
+        values.put("name", name);
+        return values;
+    }
+}
@@ -14,7 +14,9 @@ import java.util.Map;
 import java.util.SortedMap;
 import java.util.TreeMap;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.powermock.api.mockito.PowerMockito.spy;
 import static org.powermock.api.mockito.PowerMockito.verifyStatic;
 import static org.testng.Assert.assertEquals;
@@ -67,7 +69,7 @@ public class RowTest extends PowerMockTestCase {
 
         //THEN
         assertEquals(value, Integer.valueOf((String) VALUE_2));
-        verifyConversion(VALUE_2, int.class);
+        verifyNoFallbackConversion();
 
     }
 
@@ -90,10 +92,24 @@ public class RowTest extends PowerMockTestCase {
 
         //THEN
         assertEquals(value, Double.valueOf((String) VALUE_2));
-        verifyConversion(VALUE_2, double.class);
+        verifyNoFallbackConversion();
 
     }
 
+    @Test
+    public void testGetValueWithFallbackConversion(){
+
+        //GIVEN
+        row.getValues().put(COLUMN_3, "yes");
+
+        //WHEN
+        final Object value = row.getValue(COLUMN_3, boolean.class);
+
+        //THEN
+        assertEquals(value, Boolean.TRUE);
+        verifyConversion("yes", boolean.class);
+    }
+
     @Test
     public void getGetValues(){
 
@@ -117,6 +133,23 @@ public class RowTest extends PowerMockTestCase {
                 .verify();
     }
 
+    @Test
+    public void testGetValueDoesNotModifyRow(){
+
+        //GIVEN
+        final Row other = generateRow();
+        final int hashCode = row.hashCode();
+
+        //WHEN
+        row.getValue(COLUMN_1);
+        row.getValue(2);
+
+        //THEN
+        assertEquals(row, other);
+        assertEquals(row.hashCode(), hashCode);
+        assertEquals(row.toString(), other.toString());
+    }
+
     private Row generateRow() {
         final SortedMap<String, Object> values = generateRowValues();
         final Row row = new Row();
@@ -132,6 +165,11 @@ public class RowTest extends PowerMockTestCase {
         return values;
     }
 
+    private void verifyNoFallbackConversion() {
+        verifyStatic(ConvertUtils.class, never());
+        ConvertUtils.convert(any(Object.class), any(Class.class));
+    }
+
     private void verifyConversion(final Object toBeConverted, final Class<?> clazz) {
         verifyStatic(ConvertUtils.class);
         ConvertUtils.convert(eq(toBeConverted), eq(clazz));
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.driver.data;
+
+import org.testng.annotations.Test;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.function.Function;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+public class ValueConvertersTest {
+
+    @Test
+    public void testNumberConversions() {
+        assertEquals(ValueConverters.convert(42, int.class), 42);
+        assertEquals(ValueConverters.convert(42, long.class), 42L);
+        assertEquals(ValueConverters.convert(42L, int.class), 42);
+        assertEquals(ValueConverters.convert(4.2D, float.class), 4.2F);
+        assertEquals(ValueConverters.convert(7, short.class), (short) 7);
+        assertEquals(ValueConverters.convert(7, byte.class), (byte) 7);
+        assertEquals(ValueConverters.convert(1.5D, BigDecimal.class), new BigDecimal("1.5"));
+        assertEquals(ValueConverters.convert(42, String.class), "42");
+    }
+
+    @Test
+    public void testStringConversions() {
+        assertEquals(ValueConverters.convert("42", int.class), 42);
+        assertEquals(ValueConverters.convert(" 42 ", long.class), 42L);
+        assertEquals(ValueConverters.convert("4.2", double.class), 4.2D);
+        assertEquals(ValueConverters.convert("9.99", BigDecimal.class), new BigDecimal("9.99"));
+        assertEquals(ValueConverters.convert("2018-05-04", Date.class), Date.valueOf("2018-05-04"));
+        assertEquals(ValueConverters.convert("12:30:00", Time.class), Time.valueOf("12:30:00"));
+        assertEquals(ValueConverters.convert("2018-05-04 12:30:00.5", Timestamp.class),
+                Timestamp.valueOf("2018-05-04 12:30:00.5"));
+    }
+
+    @Test
+    public void testLongToDateConversions() {
+        assertEquals(ValueConverters.convert(1000L, Timestamp.class), new Timestamp(1000L));
+        assertEquals(ValueConverters.convert(1000L, Date.class), new Date(1000L));
+        assertEquals(ValueConverters.convert(1000L, Time.class), new Time(1000L));
+        assertEquals(ValueConverters.convert(1000L, double.class), 1000D);
+    }
+
+    @Test
+    public void testValuesNotCoveredAreConvertedLikeConvertUtils() {
+        assertEquals(ValueConverters.convert("foo", int.class), 0);
+        assertEquals(ValueConverters.convert(Long.MAX_VALUE, int.class), 0);
+        assertEquals(ValueConverters.convert("yes", boolean.class), true);
+    }
+
+    @Test
+    public void testConverterIsCached() {
+
+        //WHEN
+        final Function<Object, Object> converter = ValueConverters.converter(String.class, int.class);
+
+        //THEN
+        assertSame(ValueConverters.converter(String.class, int.class), converter);
+        assertSame(ValueConverters.converter(Integer.class, Integer.class), Function.identity());
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.driver.dataset;
+
+import com.consol.citrus.db.driver.data.ColumnDictionary;
+import com.consol.citrus.db.driver.data.Row;
+import org.testng.annotations.Test;
+
+import java.math.BigDecimal;
+import java.sql.ResultSetMetaData;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class ColumnarDataSetTest {
+
+    @Test
+    public void testColumnsAreStoredByType() {
+
+        //WHEN
+        final ColumnarDataSet dataSet = ColumnarDataSet.of(rows());
+
+        //THEN
+        assertTrue(dataSet.getColumn(0) instanceof ColumnVector.IntColumn);
+        assertTrue(dataSet.getColumn(1) instanceof ColumnVector.LongColumn);
+        assertTrue(dataSet.getColumn(2) instanceof ColumnVector.DoubleColumn);
+        assertTrue(dataSet.getColumn(3) instanceof ColumnVector.StringColumn);
+        assertTrue(dataSet.getColumn(4) instanceof ColumnVector.ObjectColumn);
+        assertEquals(dataSet.getRowCount(), 3);
+    }
+
+    @Test
+    public void testPrimitiveAccess() {
+
+        //GIVEN
+        final ColumnarDataSet dataSet = ColumnarDataSet.of(rows());
+
+        //WHEN
+        final ColumnVector ids = dataSet.getColumn(dataSet.getColumnIndex("id"));
+        final ColumnVector amounts = dataSet.getColumn(dataSet.getColumnIndex("amount"));
+
+        //THEN
+        assertEquals(ids.getInt(2), 3);
+        assertEquals(ids.getLong(2), 3L);
+        assertEquals(amounts.getDouble(0), 1.5D);
+        assertEquals(amounts.getInt(0), 1);
+        assertTrue(amounts.isNull(1));
+        assertEquals(amounts.getDouble(1), 0D);
+        assertFalse(ids.hasNulls());
+    }
+
+    @Test
+    public void testRowsAreMaterializedUnchanged() {
+
+        //GIVEN
+        final List<Row> rows = rows();
+
+        //WHEN
+        final ColumnarDataSet dataSet = ColumnarDataSet.of(rows);
+
+        //THEN
+        assertEquals(dataSet.getRows(), rows);
+        assertEquals(dataSet, new DataSet(rows));
+        assertEquals(dataSet.getNextRow(), rows.get(0));
+        assertEquals(dataSet.getNextRow(), rows.get(1));
+        assertEquals(dataSet.getNextRow(), rows.get(2));
+        assertNull(dataSet.getNextRow());
+        assertEquals(dataSet.getCursor(), 3);
+    }
+
+    @Test
+    public void testSchema() {
+
+        //WHEN
+        final DataSetSchema schema = ColumnarDataSet.of(rows()).getSchema();
+
+        //THEN
+        assertEquals(schema.getColumns(), Arrays.asList("id", "total", "amount", "name", "price"));
+        assertEquals(schema.getColumnType(0), Types.INTEGER);
+        assertEquals(schema.getColumnType(1), Types.BIGINT);
+        assertEquals(schema.getColumnType(2), Types.DOUBLE);
+        assertEquals(schema.getColumnType(3), Types.VARCHAR);
+        assertEquals(schema.getColumnType(4), Types.DECIMAL);
+        assertEquals(schema.isNullable(0), ResultSetMetaData.columnNoNulls);
+        assertEquals(schema.isNullable(2), ResultSetMetaData.columnNullable);
+    }
+
+    @Test
+    public void testNarrowingMatchesRowConversion() {
+
+        //GIVEN
+        final Row row = new Row(ColumnDictionary.of("total", "amount"), Long.MAX_VALUE, 1e20D);
+        final ColumnarDataSet dataSet = ColumnarDataSet.of(Arrays.asList(row, new Row(ColumnDictionary.of("total", "amount"), 42L, 2.7D)));
+
+        //WHEN
+        final ColumnVector totals = dataSet.getColumn(0);
+        final ColumnVector amounts = dataSet.getColumn(1);
+
+        //THEN
+        assertEquals(totals.getInt(0), row.getValue(0, int.class));
+        assertEquals(amounts.getInt(0), row.getValue(1, int.class));
+        assertEquals(amounts.getLong(0), row.getValue(1, long.class));
+        assertEquals(totals.getInt(1), 42);
+        assertEquals(amounts.getInt(1), 2);
+        assertEquals(amounts.getLong(1), 2L);
+    }
+
+    @Test
+    public void testBuilder() {
+
+        //GIVEN
+        final ColumnVector.Builder ints = ColumnVector.builder();
+        final ColumnVector.Builder mixed = ColumnVector.builder();
+        final ColumnVector.Builder strings = ColumnVector.builder();
+        for (int i = 0; i < 40; i++) {
+            ints.add(i % 3 == 0 ? null : i);
+            mixed.add(i);
+            strings.add(i % 2 == 0 ? "foo" : "bar");
+        }
+        mixed.add("foo");
+
+        //WHEN
+        final ColumnVector intColumn = ints.build();
+        final ColumnVector mixedColumn = mixed.build();
+        final ColumnVector stringColumn = strings.build();
+
+        //THEN
+        assertTrue(intColumn instanceof ColumnVector.IntColumn);
+        assertEquals(intColumn.size(), 40);
+        assertTrue(intColumn.isNull(39));
+        assertEquals(intColumn.getInt(38), 38);
+        assertTrue(mixedColumn instanceof ColumnVector.ObjectColumn);
+        assertEquals(mixedColumn.size(), 41);
+        assertEquals(mixedColumn.getObject(39), 39);
+        assertEquals(mixedColumn.getObject(40), "foo");
+        assertTrue(stringColumn instanceof ColumnVector.StringColumn);
+        assertEquals(stringColumn.getObject(39), "bar");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testColumnsMustHaveSameSize() {
+        new ColumnarDataSet(ColumnDictionary.of("a", "b"),
+                ColumnVector.of(Arrays.asList(1, 2)), ColumnVector.of(Arrays.asList(1)));
+    }
+
+    private List<Row> rows() {
+        return Arrays.asList(
+                row(1, 10L, 1.5D, "foo", new BigDecimal("1.00")),
+                row(2, 20L, null, "bar", "n/a"),
+                row(3, 30L, 2.5D, "foo", null));
+    }
+
+    private Row row(final int id, final long total, final Double amount, final String name, final Object price) {
+        final Map<String, Object> values = new LinkedHashMap<>();
+        values.put("id", id);
+        values.put("total", total);
+        values.put("amount", amount);
+        values.put("name", name);
+        values.put("price", price);
+        return new Row(values);
+    }
+}
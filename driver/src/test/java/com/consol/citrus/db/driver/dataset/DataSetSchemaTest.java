@@ -0,0 +1,120 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.driver.dataset;
+
+import com.consol.citrus.db.driver.data.Row;
+import org.testng.annotations.Test;
+
+import java.sql.ResultSetMetaData;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+public class DataSetSchemaTest {
+
+    @Test
+    public void testSchemaIsInferredFromRows() {
+
+        //GIVEN
+        final DataSet dataSet = new DataSetBuilder()
+                .add(row(1, null), row(2, "foo"))
+                .build();
+
+        //WHEN
+        final DataSetSchema schema = dataSet.getSchema();
+
+        //THEN
+        assertEquals(schema.getColumns(), Arrays.asList("id", "name"));
+        assertEquals(schema.getColumnType(0), Types.INTEGER);
+        assertEquals(schema.getColumnTypeName(0), "INTEGER");
+        assertEquals(schema.getColumnClassName(0), Integer.class.getName());
+        assertEquals(schema.isNullable(0), ResultSetMetaData.columnNoNulls);
+        assertEquals(schema.getColumnType(1), Types.VARCHAR);
+        assertEquals(schema.getColumnClassName(1), String.class.getName());
+        assertEquals(schema.isNullable(1), ResultSetMetaData.columnNullable);
+    }
+
+    @Test
+    public void testColumnsMissingInRowsAreNullable() {
+
+        //GIVEN
+        final Map<String, Object> partial = new LinkedHashMap<>(Collections.singletonMap("id", 3L));
+        final Map<String, Object> other = new LinkedHashMap<>(Collections.singletonMap("active", true));
+        final DataSet dataSet = new DataSetBuilder()
+                .add(new Row(partial), new Row(other))
+                .build();
+
+        //WHEN
+        final DataSetSchema schema = dataSet.getSchema();
+
+        //THEN
+        assertEquals(schema.getColumns(), Arrays.asList("id", "active"));
+        assertEquals(schema.getColumnType(0), Types.BIGINT);
+        assertEquals(schema.getColumnType(1), Types.BOOLEAN);
+        assertEquals(schema.isNullable(0), ResultSetMetaData.columnNullable);
+        assertEquals(schema.isNullable(1), ResultSetMetaData.columnNullable);
+    }
+
+    @Test
+    public void testColumnWithoutValuesHasNullType() {
+
+        //GIVEN
+        final DataSet dataSet = new DataSetBuilder().add(row(1, null)).build();
+
+        //WHEN
+        final DataSetSchema schema = dataSet.getSchema();
+
+        //THEN
+        assertEquals(schema.getColumnType(1), Types.NULL);
+        assertEquals(schema.getColumnClassName(1), Object.class.getName());
+    }
+
+    @Test
+    public void testSchemaIsCached() {
+
+        //GIVEN
+        final DataSet dataSet = new DataSetBuilder().add(row(1, "foo")).build();
+        final DataSetSchema schema = dataSet.getSchema();
+
+        //WHEN
+        final DataSetSchema cached = dataSet.getSchema();
+
+        //THEN
+        assertSame(cached, schema);
+        assertEquals(cached.getColumns(), Arrays.asList("id", "name"));
+    }
+
+    @Test
+    public void testEmptyDataSet() {
+        assertSame(new DataSet().getSchema(), DataSetSchema.EMPTY);
+        assertEquals(new DataSet().getColumns(), Collections.emptyList());
+    }
+
+    private Row row(final int id, final String name) {
+        final Map<String, Object> values = new LinkedHashMap<>();
+        values.put("id", id);
+        values.put("name", name);
+        return new Row(values);
+    }
+}
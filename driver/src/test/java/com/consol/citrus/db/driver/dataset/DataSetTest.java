@@ -55,9 +55,65 @@ public class DataSetTest {
         assertEquals(dataSet.getCursor(), 1);
     }
 
+    @Test
+    public void testCursorsAreIndependent(){
+
+        //GIVEN
+        final DataSet dataSet = createTestDataSet();
+        final DataSetCursor first = dataSet.cursor();
+        final DataSetCursor second = dataSet.cursor();
+
+        //WHEN
+        final Row firstRow = first.next();
+        final Row exhausted = first.next();
+        final Row secondRow = second.next();
+
+        //THEN
+        assertEquals(firstRow, dataSet.getRows().get(0));
+        assertNull(exhausted);
+        assertEquals(first.getPosition(), 1);
+        assertEquals(secondRow, dataSet.getRows().get(0));
+        assertEquals(second.getPosition(), 1);
+        assertEquals(dataSet.getCursor(), 0);
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public void testRowsAreImmutable(){
+
+        //GIVEN
+        final List<Row> rows = Lists.newArrayList(new Row(Collections.singletonMap("foo", "bar")));
+        final DataSet dataSet = new DataSet(rows);
+        rows.clear();
+        assertEquals(dataSet.getRows().size(), 1);
+
+        //WHEN
+        dataSet.getRows().add(new Row());
+
+        //THEN
+        //Exception is thrown
+    }
+
+    @Test
+    public void testBuilderDerivesDataSetWithAdditionalRows(){
+
+        //GIVEN
+        final Row first = new Row(Collections.singletonMap("foo", "bar"));
+        final Row second = new Row(Collections.singletonMap("foo", "baz"));
+        final DataSet dataSet = new DataSetBuilder().add(first).build();
+
+        //WHEN
+        final DataSet derived = new DataSetBuilder(dataSet).addAll(Collections.singletonList(second)).build();
+
+        //THEN
+        assertEquals(derived.getRows(), Lists.newArrayList(first, second));
+        assertEquals(dataSet.getRows(), Collections.singletonList(first));
+    }
+
     @Test
     public void testToString(){
-        ToStringVerifier.forClass(DataSet.class).verify();
+        ToStringVerifier.forClass(DataSet.class)
+                .withIgnoredFields("schema")
+                .verify();
     }
 
     @Test
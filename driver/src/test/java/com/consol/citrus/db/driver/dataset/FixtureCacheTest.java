@@ -0,0 +1,197 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.driver.dataset;
+
+import com.consol.citrus.db.driver.data.Row;
+import com.consol.citrus.db.driver.data.Table;
+import com.consol.citrus.db.driver.data.TableProducer;
+import com.consol.citrus.db.driver.json.JsonDataSetProducer;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+public class FixtureCacheTest {
+
+    private Path directory;
+    private Path fixture;
+    private FixtureCache fixtureCache;
+
+    @BeforeMethod
+    public void setup() throws Exception {
+        directory = Files.createTempDirectory("fixture-cache");
+        fixture = Files.createTempFile("fixture", ".json");
+        write("[ { \"id\" : 1, \"name\" : \"foo\" } ]", 1000L);
+        fixtureCache = new FixtureCache(directory.resolve("cache"));
+    }
+
+    @AfterMethod
+    public void cleanup() throws Exception {
+        Files.deleteIfExists(fixture);
+        try (final Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testCachedDataSetIsReused() throws Exception {
+
+        //GIVEN
+        final DataSet initial = fixtureCache.getDataSet(fixture, () -> new JsonDataSetProducer(fixture));
+        final DataSetProducer producer = mock(DataSetProducer.class);
+
+        //WHEN
+        final DataSet cached = new FixtureCache(fixtureCache.getDirectory()).getDataSet(fixture, () -> producer);
+
+        //THEN
+        assertEquals(cached.getRows(), initial.getRows());
+        assertEquals(cached.getColumns(), initial.getColumns());
+        verify(producer, never()).produce();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCacheHitDoesNotCreateProducer() throws Exception {
+
+        //GIVEN
+        fixtureCache.getDataSet(fixture, () -> new JsonDataSetProducer(fixture));
+        fixtureCache.getTables(fixture, () -> () -> Collections.singletonList(new Table("users")));
+        final Supplier<DataSetProducer> dataSetProducer = mock(Supplier.class);
+        final Supplier<TableProducer> tableProducer = mock(Supplier.class);
+
+        //WHEN
+        final DataSet cached = fixtureCache.getDataSet(fixture, dataSetProducer);
+        final List<Table> tables = fixtureCache.getTables(fixture, tableProducer);
+
+        //THEN
+        assertEquals(cached.getRows().get(0).getValue("id"), 1);
+        assertEquals(tables.get(0).getName(), "users");
+        verify(dataSetProducer, never()).get();
+        verify(tableProducer, never()).get();
+    }
+
+    @Test
+    public void testModifiedFixtureIsParsedAgain() throws Exception {
+
+        //GIVEN
+        fixtureCache.getDataSet(fixture, () -> new JsonDataSetProducer(fixture));
+        write("[ { \"id\" : 2, \"name\" : \"bar\" } ]", 2000L);
+
+        //WHEN
+        final DataSet modified = fixtureCache.getDataSet(fixture, () -> new JsonDataSetProducer(fixture));
+        final DataSetProducer producer = mock(DataSetProducer.class);
+        final DataSet cached = fixtureCache.getDataSet(fixture, () -> producer);
+
+        //THEN
+        assertEquals(modified.getRows().get(0).getValue("id"), 2);
+        assertEquals(cached.getRows().get(0).getValues(), modified.getRows().get(0).getValues());
+        verify(producer, never()).produce();
+    }
+
+    @Test
+    public void testTouchedFixtureIsTakenFromCache() throws Exception {
+
+        //GIVEN
+        fixtureCache.getDataSet(fixture, () -> new JsonDataSetProducer(fixture));
+        Files.setLastModifiedTime(fixture, FileTime.fromMillis(3000L));
+        final DataSetProducer producer = mock(DataSetProducer.class);
+
+        //WHEN
+        final DataSet touched = fixtureCache.getDataSet(fixture, () -> producer);
+        write("[ { \"id\" : 3, \"name\" : \"baz\" } ]", 4000L);
+        final DataSet changed = fixtureCache.getDataSet(fixture, () -> new JsonDataSetProducer(fixture));
+
+        //THEN
+        assertEquals(touched.getRows().get(0).getValue("name"), "foo");
+        assertEquals(changed.getRows().get(0).getValue("name"), "baz");
+        verify(producer, never()).produce();
+    }
+
+    @Test
+    public void testBrokenEntryIsRebuilt() throws Exception {
+
+        //GIVEN
+        fixtureCache.getDataSet(fixture, () -> new JsonDataSetProducer(fixture));
+        try (final Stream<Path> entries = Files.list(fixtureCache.getDirectory())) {
+            for (final Path entry : (Iterable<Path>) entries::iterator) {
+                Files.write(entry, new byte[] { 1, 2, 3 });
+            }
+        }
+        final DataSetProducer producer = mock(DataSetProducer.class);
+        when(producer.produce()).thenReturn(new JsonDataSetProducer(fixture).produce());
+
+        //WHEN
+        final DataSet rebuilt = fixtureCache.getDataSet(fixture, () -> producer);
+        final DataSet cached = fixtureCache.getDataSet(fixture, () -> producer);
+
+        //THEN
+        assertEquals(rebuilt.getRows().get(0).getValue("id"), 1);
+        assertEquals(cached.getRows().get(0).getValues(), rebuilt.getRows().get(0).getValues());
+        verify(producer, times(1)).produce();
+    }
+
+    @Test
+    public void testCachedTables() throws Exception {
+
+        //GIVEN
+        final Table users = new Table("public", "users");
+        users.setRows(Collections.singletonList(new Row(new LinkedHashMap<>(Collections.singletonMap("id", 1)))));
+        final Table roles = new Table("roles");
+        final TableProducer initialProducer = () -> Arrays.asList(users, roles);
+        fixtureCache.getTables(fixture, () -> initialProducer);
+        final TableProducer producer = mock(TableProducer.class);
+
+        //WHEN
+        final List<Table> tables = fixtureCache.getTables(fixture, () -> producer);
+
+        //THEN
+        assertEquals(tables.size(), 2);
+        assertEquals(tables.get(0).getSchema(), "public");
+        assertEquals(tables.get(0).getName(), "users");
+        assertEquals(tables.get(0).getRows(), users.getRows());
+        assertNull(tables.get(1).getSchema());
+        assertEquals(tables.get(1).getName(), "roles");
+        assertEquals(tables.get(1).getRows(), Collections.emptyList());
+        verify(producer, never()).produce();
+    }
+
+    private void write(final String content, final long modified) throws IOException {
+        Files.write(fixture, content.getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(fixture, FileTime.fromMillis(modified));
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.db.driver.dataset;
+
+import com.consol.citrus.db.driver.JdbcDriverException;
+import com.consol.citrus.db.driver.data.Row;
+import com.consol.citrus.db.driver.exchange.DatabaseResult;
+import com.consol.citrus.db.driver.exchange.DatabaseResultCodec;
+import com.consol.citrus.db.driver.exchange.DatabaseResultReader;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class StreamingDataSetTest {
+
+    private Closeable resource;
+    private byte[] result;
+
+    @BeforeMethod
+    public void setup() throws Exception {
+        resource = mock(Closeable.class);
+
+        final DataSet dataSet = new DataSetBuilder()
+                .add(row(1), row(2), row(3))
+                .build();
+        result = new DatabaseResultCodec().encode(new DatabaseResult(dataSet));
+    }
+
+    @Test
+    public void testRowsAreStreamed() throws Exception {
+
+        //GIVEN
+        final StreamingDataSet dataSet = createDataSet();
+
+        //WHEN
+        final Row first = dataSet.getNextRow();
+        final Row second = dataSet.getNextRow();
+
+        //THEN
+        assertEquals(first.getValue("id"), 1);
+        assertEquals(second.getValue("id"), 2);
+        assertEquals(dataSet.getCursor(), 2);
+        assertEquals(dataSet.getColumns(), Collections.singletonList("id"));
+        assertFalse(dataSet.isClosed());
+        verify(resource, never()).close();
+    }
+
+    @Test
+    public void testResourceIsReleasedOnExhaustion() throws Exception {
+
+        //GIVEN
+        final StreamingDataSet dataSet = createDataSet();
+
+        //WHEN
+        dataSet.getNextRow();
+        dataSet.getNextRow();
+        dataSet.getNextRow();
+        final Row exhausted = dataSet.getNextRow();
+
+        //THEN
+        assertNull(exhausted);
+        assertNull(dataSet.getNextRow());
+        assertEquals(dataSet.getCursor(), 3);
+        assertTrue(dataSet.isClosed());
+        verify(resource, times(1)).close();
+    }
+
+    @Test
+    public void testResourceIsReleasedOnClose() throws Exception {
+
+        //GIVEN
+        final StreamingDataSet dataSet = createDataSet();
+        dataSet.getNextRow();
+
+        //WHEN
+        dataSet.close();
+        dataSet.close();
+
+        //THEN
+        assertNull(dataSet.getNextRow());
+        verify(resource, times(1)).close();
+    }
+
+    @Test
+    public void testGetRowsReadsRemainingRows() throws Exception {
+
+        //GIVEN
+        final StreamingDataSet dataSet = createDataSet();
+        dataSet.getNextRow();
+
+        //WHEN
+        final List<Row> rows = dataSet.getRows();
+
+        //THEN
+        assertEquals(rows, Arrays.asList(row(2), row(3)));
+        assertTrue(dataSet.isClosed());
+        verify(resource).close();
+
+        assertEquals(dataSet.getNextRow(), row(2));
+        assertEquals(dataSet.getCursor(), 2);
+    }
+
+    @Test(expectedExceptions = JdbcDriverException.class)
+    public void testBrokenStream() throws Exception {
+
+        //GIVEN
+        final byte[] truncated = Arrays.copyOf(result, result.length - 3);
+        final StreamingDataSet dataSet = new StreamingDataSet(
+                new DatabaseResultReader(new ByteArrayInputStream(truncated)), resource);
+        dataSet.getNextRow();
+        dataSet.getNextRow();
+
+        //WHEN
+        dataSet.getNextRow();
+
+        //THEN
+        //Exception is thrown
+    }
+
+    private StreamingDataSet createDataSet() throws Exception {
+        return new StreamingDataSet(new DatabaseResultReader(new ByteArrayInputStream(result)), resource);
+    }
+
+    private Row row(final int id) {
+        return new Row(new LinkedHashMap<>(Collections.singletonMap("id", id)));
+    }
+}
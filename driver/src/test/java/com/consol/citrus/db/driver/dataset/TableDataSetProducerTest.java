@@ -74,6 +74,19 @@ public class TableDataSetProducerTest {
         Assert.assertEquals(dataSet.getRows().get(2).getValue("profession"), "this_and_that");
     }
 
+    @Test
+    public void testProduceColumnar() throws Exception {
+        TableDataSetProducer dataSetProducer = new TableDataSetProducer(table).columnar();
+        DataSet dataSet = dataSetProducer.produce();
+        Assert.assertTrue(dataSet instanceof ColumnarDataSet);
+        Assert.assertEquals(dataSet.getColumns().toString(), "[id, name, profession, email]");
+        Assert.assertEquals(dataSet.getRows().size(), 3);
+        Assert.assertEquals(dataSet.getRows().get(1).getValue("email"), "leo@bigbangtheory.org");
+        Assert.assertNull(dataSet.getRows().get(2).getValue("email"));
+        Assert.assertEquals(dataSet.getNextRow().getValue("name"), "Sheldon");
+        Assert.assertEquals(dataSet.getCursor(), 1);
+    }
+
     @Test
     public void testProduceLimit() throws Exception {
         TableDataSetProducer dataSetProducer = new TableDataSetProducer(table, 2);
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.db.driver.datasource;
+
+import com.consol.citrus.db.driver.transport.InProcessRegistry;
+import com.consol.citrus.db.driver.transport.JdbcTransport;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertTrue;
+
+public class CitrusDataSourceTest {
+
+    private static final String NAME = "datasource";
+
+    private JdbcTransport transport;
+    private CitrusDataSource dataSource;
+
+    @BeforeMethod
+    public void setup() throws SQLException {
+        transport = mock(JdbcTransport.class);
+        when(transport.openConnection(eq(NAME), anyMap())).thenReturn("first", "second", "third");
+        InProcessRegistry.register(NAME, transport);
+
+        dataSource = new CitrusDataSource();
+        dataSource.setUrl(InProcessRegistry.URL_PREFIX + NAME);
+        dataSource.setUsername("citrus");
+        dataSource.setPassword("secret");
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        dataSource.close();
+        InProcessRegistry.unregister(NAME, transport);
+    }
+
+    @Test
+    public void testConnectionIsReused() throws SQLException {
+
+        //GIVEN
+        final Connection first = dataSource.getConnection();
+        first.createStatement();
+        first.close();
+
+        //WHEN
+        final Connection second = dataSource.getConnection();
+        second.createStatement();
+
+        //THEN
+        assertNotSame(second, first);
+        assertTrue(first.isClosed());
+        assertFalse(second.isClosed());
+        assertEquals(dataSource.getIdleConnections(), 0);
+        verify(transport, times(1)).openConnection(NAME, credentials());
+        verify(transport, times(2)).createStatement("first");
+        verify(transport, times(0)).closeConnection(any());
+    }
+
+    @Test
+    public void testConcurrentConnections() throws SQLException {
+
+        //GIVEN
+        final Connection first = dataSource.getConnection();
+        final Connection second = dataSource.getConnection();
+
+        //WHEN
+        first.close();
+        second.close();
+
+        //THEN
+        assertEquals(dataSource.getIdleConnections(), 2);
+        verify(transport, times(2)).openConnection(NAME, credentials());
+    }
+
+    @Test
+    public void testMaxIdle() throws SQLException {
+
+        //GIVEN
+        dataSource.setMaxIdle(1);
+        final Connection first = dataSource.getConnection();
+        final Connection second = dataSource.getConnection();
+
+        //WHEN
+        first.close();
+        second.close();
+
+        //THEN
+        assertEquals(dataSource.getIdleConnections(), 1);
+        verify(transport).closeConnection("second");
+    }
+
+    @Test
+    public void testCloseDataSource() throws SQLException {
+
+        //GIVEN
+        final Connection first = dataSource.getConnection();
+        final Connection second = dataSource.getConnection();
+        first.close();
+
+        //WHEN
+        dataSource.close();
+        second.close();
+
+        //THEN
+        assertEquals(dataSource.getIdleConnections(), 0);
+        verify(transport).closeConnection("first");
+        verify(transport).closeConnection("second");
+    }
+
+    @Test(expectedExceptions = SQLException.class)
+    public void testGetConnectionFromClosedDataSource() throws SQLException {
+        dataSource.close();
+        dataSource.getConnection();
+    }
+
+    @Test
+    public void testConnectionWithOtherCredentials() throws SQLException {
+
+        //WHEN
+        dataSource.getConnection("other", "secret").close();
+
+        //THEN
+        assertEquals(dataSource.getIdleConnections(), 0);
+        verify(transport).closeConnection("first");
+    }
+
+    @Test(expectedExceptions = SQLException.class)
+    public void testUnsupportedUrl() throws SQLException {
+        dataSource.setUrl("jdbc:unknown:foo");
+        dataSource.getConnection();
+    }
+
+    private static Map<String, String> credentials() {
+        final Map<String, String> credentials = new HashMap<>();
+        credentials.put("username", "citrus");
+        credentials.put("password", "secret");
+        return credentials;
+    }
+}
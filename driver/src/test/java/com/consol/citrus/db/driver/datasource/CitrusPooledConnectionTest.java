@@ -0,0 +1,254 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.db.driver.datasource;
+
+import com.consol.citrus.db.driver.JdbcConnection;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import javax.sql.ConnectionEvent;
+import javax.sql.ConnectionEventListener;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+public class CitrusPooledConnectionTest {
+
+    private Connection physicalConnection;
+    private ConnectionEventListener listener;
+    private CitrusPooledConnection pooledConnection;
+
+    @BeforeMethod
+    public void setup() {
+        physicalConnection = mock(Connection.class);
+        listener = mock(ConnectionEventListener.class);
+
+        pooledConnection = new CitrusPooledConnection(physicalConnection);
+        pooledConnection.addConnectionEventListener(listener);
+    }
+
+    @Test
+    public void testCloseLogicalConnection() throws SQLException {
+
+        //GIVEN
+        final Connection connection = pooledConnection.getConnection();
+        connection.createStatement();
+
+        //WHEN
+        connection.close();
+        connection.close();
+
+        //THEN
+        assertTrue(connection.isClosed());
+        verify(physicalConnection).createStatement();
+        verify(physicalConnection, never()).close();
+        verify(physicalConnection, never()).rollback();
+        verify(listener, times(1)).connectionClosed(any(ConnectionEvent.class));
+    }
+
+    @Test(expectedExceptions = SQLException.class, expectedExceptionsMessageRegExp = "Connection is closed")
+    public void testUseClosedLogicalConnection() throws SQLException {
+        final Connection connection = pooledConnection.getConnection();
+        connection.close();
+        connection.createStatement();
+    }
+
+    @Test
+    public void testOpenTransactionIsRolledBack() throws SQLException {
+
+        //GIVEN
+        final Connection connection = pooledConnection.getConnection();
+        connection.setAutoCommit(false);
+
+        //WHEN
+        connection.close();
+
+        //THEN
+        verify(physicalConnection).rollback();
+        verify(physicalConnection).setAutoCommit(true);
+        verify(listener).connectionClosed(any(ConnectionEvent.class));
+    }
+
+    @Test
+    public void testNewHandleClosesPreviousHandle() throws SQLException {
+
+        //GIVEN
+        final Connection first = pooledConnection.getConnection();
+
+        //WHEN
+        final Connection second = pooledConnection.getConnection();
+
+        //THEN
+        assertTrue(first.isClosed());
+        assertFalse(second.isClosed());
+        assertNotEquals(second, first);
+        assertEquals(second, second);
+        verify(listener, never()).connectionClosed(any(ConnectionEvent.class));
+    }
+
+    @Test
+    public void testClosePooledConnection() throws SQLException {
+
+        //WHEN
+        pooledConnection.close();
+
+        //THEN
+        verify(physicalConnection).close();
+        verify(listener, never()).connectionClosed(any(ConnectionEvent.class));
+    }
+
+    @Test
+    public void testStatementsReferToLogicalConnection() throws SQLException {
+
+        //GIVEN
+        final PreparedStatement physicalStatement = mock(PreparedStatement.class);
+        when(physicalConnection.prepareStatement("SELECT")).thenReturn(physicalStatement);
+        final Connection connection = pooledConnection.getConnection();
+
+        //WHEN
+        final PreparedStatement statement = connection.prepareStatement("SELECT");
+        statement.executeQuery();
+
+        //THEN
+        assertSame(statement.getConnection(), connection);
+        verify(physicalStatement).executeQuery();
+    }
+
+    @Test
+    public void testResultSetsReferToLogicalStatement() throws SQLException {
+
+        //GIVEN
+        final Statement physicalStatement = mock(Statement.class);
+        final ResultSet physicalResultSet = mock(ResultSet.class);
+        when(physicalConnection.createStatement()).thenReturn(physicalStatement);
+        when(physicalStatement.executeQuery("SELECT")).thenReturn(physicalResultSet);
+        when(physicalResultSet.getStatement()).thenReturn(physicalStatement);
+        when(physicalResultSet.next()).thenReturn(true);
+        final Connection connection = pooledConnection.getConnection();
+
+        //WHEN
+        final Statement statement = connection.createStatement();
+        final ResultSet resultSet = statement.executeQuery("SELECT");
+
+        //THEN
+        assertTrue(resultSet.next());
+        assertSame(resultSet.getStatement(), statement);
+        assertSame(resultSet.getStatement().getConnection(), connection);
+    }
+
+    @Test
+    public void testMetaDataRefersToLogicalConnection() throws SQLException {
+
+        //GIVEN
+        final DatabaseMetaData physicalMetaData = mock(DatabaseMetaData.class);
+        when(physicalConnection.getMetaData()).thenReturn(physicalMetaData);
+        when(physicalMetaData.getConnection()).thenReturn(physicalConnection);
+        when(physicalMetaData.getDatabaseProductName()).thenReturn("Citrus");
+        final Connection connection = pooledConnection.getConnection();
+
+        //WHEN
+        final DatabaseMetaData metaData = connection.getMetaData();
+
+        //THEN
+        assertEquals(metaData.getDatabaseProductName(), "Citrus");
+        assertSame(metaData.getConnection(), connection);
+    }
+
+    @Test
+    public void testCloseLogicalConnectionClosesStatements() throws SQLException {
+
+        //GIVEN
+        final Statement open = mock(Statement.class);
+        final Statement closed = mock(Statement.class);
+        when(physicalConnection.createStatement()).thenReturn(open, closed);
+        final Connection connection = pooledConnection.getConnection();
+        connection.createStatement();
+        connection.createStatement().close();
+
+        //WHEN
+        connection.close();
+
+        //THEN
+        verify(open).close();
+        verify(closed, times(1)).close();
+        verify(physicalConnection, never()).close();
+    }
+
+    @Test
+    public void testConnectionErrorIsReported() throws SQLException {
+
+        //GIVEN
+        final Statement physicalStatement = mock(Statement.class);
+        when(physicalConnection.createStatement()).thenReturn(physicalStatement);
+        when(physicalStatement.executeUpdate("DELETE"))
+                .thenThrow(new SQLException("Unknown session: 1", JdbcConnection.UNKNOWN_SESSION_STATE));
+        final Statement statement = pooledConnection.getConnection().createStatement();
+
+        //WHEN
+        expectThrows(SQLException.class, () -> statement.executeUpdate("DELETE"));
+
+        //THEN
+        verify(listener).connectionErrorOccurred(any(ConnectionEvent.class));
+    }
+
+    @Test
+    public void testClosedPhysicalConnectionIsReported() throws SQLException {
+
+        //GIVEN
+        when(physicalConnection.getSchema()).thenThrow(new SQLException("Connection refused"));
+        when(physicalConnection.isClosed()).thenReturn(false, true);
+        final Connection connection = pooledConnection.getConnection();
+
+        //WHEN
+        expectThrows(SQLException.class, connection::getSchema);
+
+        //THEN
+        verify(listener).connectionErrorOccurred(any(ConnectionEvent.class));
+    }
+
+    @Test
+    public void testStatementErrorIsNotReported() throws SQLException {
+
+        //GIVEN
+        final Statement physicalStatement = mock(Statement.class);
+        when(physicalConnection.createStatement()).thenReturn(physicalStatement);
+        when(physicalStatement.executeUpdate("DELETE")).thenThrow(new SQLException("No rule matching", "42000"));
+        final Statement statement = pooledConnection.getConnection().createStatement();
+
+        //WHEN
+        expectThrows(SQLException.class, () -> statement.executeUpdate("DELETE"));
+
+        //THEN
+        verify(listener, never()).connectionErrorOccurred(any(ConnectionEvent.class));
+    }
+}
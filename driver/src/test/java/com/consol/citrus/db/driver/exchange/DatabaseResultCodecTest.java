@@ -0,0 +1,213 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.db.driver.exchange;
+
+import com.consol.citrus.db.driver.data.ColumnDictionary;
+import com.consol.citrus.db.driver.data.Row;
+import com.consol.citrus.db.driver.dataset.ColumnarDataSet;
+import com.consol.citrus.db.driver.dataset.DataSet;
+import com.consol.citrus.db.driver.dataset.DataSetBuilder;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class DatabaseResultCodecTest {
+
+    private final DatabaseResultCodec codec = new DatabaseResultCodec();
+
+    @Test
+    public void testAffectedRowsRoundTrip() throws Exception {
+
+        //GIVEN
+        final DatabaseResult databaseResult = new DatabaseResult(42);
+
+        //WHEN
+        final DatabaseResult decoded = codec.decode(codec.encode(databaseResult));
+
+        //THEN
+        assertFalse(decoded.isDataSet());
+        assertEquals(decoded.getAffectedRows(), 42);
+        assertNull(decoded.getDataSet());
+    }
+
+    @Test
+    public void testDataSetRoundTrip() throws Exception {
+
+        //GIVEN
+        final Timestamp timestamp = new Timestamp(1000L);
+        timestamp.setNanos(123456789);
+
+        final Map<String, Object> values = new LinkedHashMap<>();
+        values.put("string", "foo");
+        values.put("unicode", "äöü€");
+        values.put("integer", 42);
+        values.put("long", Long.MAX_VALUE);
+        values.put("double", 4.2D);
+        values.put("float", 2.1F);
+        values.put("true", true);
+        values.put("false", false);
+        values.put("short", (short) 7);
+        values.put("byte", (byte) 1);
+        values.put("decimal", new BigDecimal("12345678901234567890.123"));
+        values.put("bigInteger", new BigInteger("123456789012345678901234567890"));
+        values.put("date", new Date(86400000L));
+        values.put("time", new Time(3600000L));
+        values.put("timestamp", timestamp);
+        values.put("null", null);
+        values.put("list", Arrays.asList("a", "b"));
+
+        final DataSet dataSet = new DataSetBuilder().add(new Row(values)).build();
+
+        //WHEN
+        final DatabaseResult decoded = codec.decode(codec.encode(new DatabaseResult(dataSet)));
+
+        //THEN
+        assertTrue(decoded.isDataSet());
+        assertEquals(decoded.getAffectedRows(), -1);
+        assertEquals(decoded.getDataSet(), dataSet);
+        assertEquals(decoded.getDataSet().getRows().get(0).getColumns(), dataSet.getColumns());
+    }
+
+    @Test
+    public void testRectangularRowsAreDecodedIntoColumns() throws Exception {
+
+        //GIVEN
+        final ColumnDictionary columns = ColumnDictionary.of("id", "name");
+        final DataSet dataSet = new DataSetBuilder()
+                .add(new Row(columns, 1, "foo"), new Row(columns, 2, null), new Row(columns, 3, "bar"))
+                .build();
+
+        //WHEN
+        final DatabaseResult decoded = codec.decode(codec.encode(new DatabaseResult(dataSet)));
+
+        //THEN
+        assertTrue(decoded.getDataSet() instanceof ColumnarDataSet);
+        final ColumnarDataSet columnar = (ColumnarDataSet) decoded.getDataSet();
+        assertEquals(columnar.getRowCount(), 3);
+        assertEquals(columnar.getColumn(0).getInt(2), 3);
+        assertTrue(columnar.getColumn(1).isNull(1));
+        assertEquals(columnar.getRows(), dataSet.getRows());
+    }
+
+    @Test
+    public void testEncodeReadsRowsThroughCursor() throws Exception {
+
+        //GIVEN
+        final ColumnDictionary columns = ColumnDictionary.of("id", "name");
+        final List<Row> rows = Arrays.asList(new Row(columns, 1, "foo"), new Row(columns, 2, "bar"));
+        final DataSet dataSet = new DataSet(rows) {
+            @Override
+            public List<Row> getRows() {
+                throw new UnsupportedOperationException("Rows must be read through a cursor");
+            }
+        };
+
+        //WHEN
+        final DatabaseResult decoded = codec.decode(codec.encode(new DatabaseResult(dataSet)));
+
+        //THEN
+        assertEquals(decoded.getDataSet().getRows(), rows);
+    }
+
+    @Test
+    public void testByteArrayRoundTrip() throws Exception {
+
+        //GIVEN
+        final byte[] bytes = new byte[] { 1, 2, 3 };
+        final DataSet dataSet = new DataSetBuilder()
+                .add(new Row(new LinkedHashMap<>(Collections.singletonMap("blob", bytes))))
+                .build();
+
+        //WHEN
+        final DatabaseResult decoded = codec.decode(codec.encode(new DatabaseResult(dataSet)));
+
+        //THEN
+        assertEquals((byte[]) decoded.getDataSet().getRows().get(0).getValue("blob"), bytes);
+    }
+
+    @Test
+    public void testHeterogeneousRowsRoundTrip() throws Exception {
+
+        //GIVEN
+        final Map<String, Object> first = new LinkedHashMap<>();
+        first.put("id", 1);
+        first.put("name", "foo");
+
+        final Map<String, Object> second = new LinkedHashMap<>();
+        second.put("name", "bar");
+        second.put("id", 2);
+
+        final Map<String, Object> third = new LinkedHashMap<>();
+        third.put("id", 3);
+        third.put("extra", "baz");
+
+        final DataSet dataSet = new DataSetBuilder()
+                .add(new Row(first), new Row(second), new Row(third))
+                .build();
+
+        //WHEN
+        final DatabaseResult decoded = codec.decode(codec.encode(new DatabaseResult(dataSet)));
+
+        //THEN
+        assertEquals(decoded.getDataSet(), dataSet);
+        assertEquals(decoded.getDataSet().getRows().get(1).getColumns(), Arrays.asList("name", "id"));
+        assertEquals(decoded.getDataSet().getRows().get(2).getColumns(), Arrays.asList("id", "extra"));
+        assertEquals(decoded.getDataSet().getColumns(), Arrays.asList("id", "name", "extra"));
+    }
+
+    @Test
+    public void testEmptyDataSetRoundTrip() throws Exception {
+
+        //GIVEN
+        final DatabaseResult databaseResult = new DatabaseResult(new DataSet());
+
+        //WHEN
+        final DatabaseResult decoded = codec.decode(codec.encode(databaseResult));
+
+        //THEN
+        assertTrue(decoded.isDataSet());
+        assertTrue(decoded.getDataSet().getRows().isEmpty());
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void testDecodeInvalidData() throws Exception {
+
+        //GIVEN
+        final byte[] data = "{\"affectedRows\":1}".getBytes();
+
+        //WHEN
+        codec.decode(data);
+
+        //THEN
+        //Exception is thrown
+    }
+}
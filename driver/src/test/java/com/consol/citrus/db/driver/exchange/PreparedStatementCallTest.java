@@ -0,0 +1,75 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.db.driver.exchange;
+
+import org.testng.annotations.Test;
+
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+public class PreparedStatementCallTest {
+
+    @Test
+    public void testParametersAreAccessibleByIndexAndName() {
+
+        //GIVEN
+        final PreparedStatementCall call = new PreparedStatementCall("SELECT * FROM users WHERE id=? AND name=:name",
+                Arrays.asList(StatementParameter.indexed(1, 42L), StatementParameter.named("name", "foo")));
+
+        //WHEN
+        final Object id = call.getParameter(1);
+        final Object name = call.getParameter("name");
+
+        //THEN
+        assertEquals(id, 42L);
+        assertEquals(name, "foo");
+        assertNull(call.getParameter(2));
+        assertEquals(call.getParameterValues(), Arrays.asList(42L, "foo"));
+    }
+
+    @Test
+    public void testComposedStatement() {
+
+        //GIVEN
+        final PreparedStatementCall call = new PreparedStatementCall("SELECT * FROM users WHERE name=:name or id=?",
+                Arrays.asList(StatementParameter.indexed(2, 42), StatementParameter.named("name", "foo")));
+
+        //WHEN
+        final String composedStatement = call.getComposedStatement();
+
+        //THEN
+        assertEquals(composedStatement, "SELECT * FROM users WHERE name=:name or id=? - (foo,42)");
+    }
+
+    @Test
+    public void testUnboundPlaceholdersAreKept() {
+
+        //GIVEN
+        final PreparedStatementCall call = new PreparedStatementCall("? = CALL find(?, :name)",
+                Collections.singletonList(new StatementParameter(2, null, Types.INTEGER, null)));
+
+        //WHEN
+        final String composedStatement = call.getComposedStatement();
+
+        //THEN
+        assertEquals(composedStatement, "? = CALL find(?, :name) - (?,:name)");
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.db.driver.exchange;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jparams.verifier.tostring.ToStringVerifier;
+import nl.jqno.equalsverifier.EqualsVerifier;
+import org.testng.annotations.Test;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+
+public class StatementParameterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void testSqlTypeOf() {
+        assertEquals(StatementParameter.sqlTypeOf(null), Types.NULL);
+        assertEquals(StatementParameter.sqlTypeOf("foo"), Types.VARCHAR);
+        assertEquals(StatementParameter.sqlTypeOf(42), Types.INTEGER);
+        assertEquals(StatementParameter.sqlTypeOf(42L), Types.BIGINT);
+        assertEquals(StatementParameter.sqlTypeOf(new BigDecimal("1.50")), Types.DECIMAL);
+        assertEquals(StatementParameter.sqlTypeOf(new byte[]{ 1 }), Types.VARBINARY);
+        assertEquals(StatementParameter.sqlTypeOf(Date.valueOf("2018-01-01")), Types.DATE);
+        assertEquals(StatementParameter.sqlTypeOf(Timestamp.valueOf("2018-01-01 12:00:00.5")), Types.TIMESTAMP);
+        assertEquals(StatementParameter.sqlTypeOf(new Object()), Types.JAVA_OBJECT);
+    }
+
+    @Test
+    public void testTypedValuesSurviveJsonRoundTrip() throws Exception {
+
+        //GIVEN
+        final List<StatementParameter> parameters = Arrays.asList(
+                StatementParameter.indexed(1, 42L),
+                StatementParameter.indexed(2, (short) 7),
+                StatementParameter.indexed(3, 1.5f),
+                StatementParameter.indexed(4, new BigDecimal("1.50")),
+                StatementParameter.indexed(5, Date.valueOf("2018-01-01")),
+                StatementParameter.indexed(6, Time.valueOf("12:30:00")),
+                StatementParameter.indexed(7, Timestamp.valueOf("2018-01-01 12:00:00.123456789")),
+                StatementParameter.indexed(8, new byte[]{ 1, 2, 3 }),
+                StatementParameter.named("name", "foo"),
+                new StatementParameter(null, "missing", Types.INTEGER, null));
+
+        //WHEN
+        final List<StatementParameter> deserialized = objectMapper.readValue(
+                objectMapper.writeValueAsString(parameters), new TypeReference<List<StatementParameter>>() {});
+
+        //THEN
+        assertEquals(deserialized, parameters);
+    }
+
+    @Test
+    public void testValueIsConvertedToSqlType() throws Exception {
+
+        //WHEN
+        final StatementParameter parameter = objectMapper.readValue(
+                "{\"index\":1,\"sqlType\":4,\"value\":\"42\"}", StatementParameter.class);
+
+        //THEN
+        assertEquals(parameter.getValue(), 42);
+    }
+
+    @Test
+    public void testInconvertibleValueIsKept() throws Exception {
+
+        //WHEN
+        final StatementParameter parameter = objectMapper.readValue(
+                "{\"index\":1,\"sqlType\":4,\"value\":\"foo\"}", StatementParameter.class);
+
+        //THEN
+        assertEquals(parameter.getValue(), "foo");
+    }
+
+    @Test
+    public void testToString(){
+        ToStringVerifier.forClass(StatementParameter.class).verify();
+    }
+
+    @Test
+    public void equalsContract(){
+        EqualsVerifier.forClass(StatementParameter.class).verify();
+    }
+}
@@ -50,4 +50,24 @@ public class JsonDataSetProducerTest {
         Assert.assertEquals(dataSet.getNextRow().getValues().toString(), "{id=2, firstname=Leonard, lastname=Hofstadter, username=batman, password=wayne, email=leo@bigbangtheory.org}");
     }
 
+    @Test
+    public void testStreamRows() throws Exception {
+        JsonDataSetProducer dataSetProducer = new JsonDataSetProducer(Paths.get(ClassLoader.getSystemResource("dataset.json").toURI()));
+
+        try (JsonRowReader rows = dataSetProducer.rows()) {
+            Assert.assertEquals(rows.next().getValue("username"), "flash");
+            Assert.assertEquals(rows.next().getValue("username"), "batman");
+            Assert.assertFalse(rows.hasNext());
+        }
+    }
+
+    @Test
+    public void testProduceSnapshotOnce() throws Exception {
+        JsonDataSetProducer dataSetProducer = new JsonDataSetProducer(Paths.get(ClassLoader.getSystemResource("dataset.json").toURI()));
+
+        DataSet dataSet = dataSetProducer.produce();
+
+        Assert.assertSame(dataSetProducer.produce(), dataSet);
+    }
+
 }
\ No newline at end of file
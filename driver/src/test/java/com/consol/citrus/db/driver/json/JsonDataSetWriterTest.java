@@ -0,0 +1,58 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.driver.json;
+
+import com.consol.citrus.db.driver.data.Row;
+import com.consol.citrus.db.driver.dataset.DataSet;
+import com.consol.citrus.db.driver.dataset.DataSetBuilder;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class JsonDataSetWriterTest {
+
+    @Test
+    public void testWrite() throws Exception {
+        Assert.assertEquals(
+                new JsonDataSetWriter().write(new JsonDataSetProducer(Paths.get(ClassLoader.getSystemResource("dataset.json").toURI())).produce()),
+                new String(Files.readAllBytes(Paths.get(ClassLoader.getSystemResource("dataset.json").toURI()))));
+    }
+
+    @Test
+    public void testWriteToOutputStream() throws Exception {
+        final Map<String, Object> values = new LinkedHashMap<>();
+        values.put("id", 1);
+        values.put("name", "\"foo\"");
+        values.put("email", null);
+        final DataSet dataSet = new DataSetBuilder().add(new Row(values)).build();
+
+        final JsonDataSetWriter writer = new JsonDataSetWriter();
+        writer.setPrettyPrint(false);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        writer.write(dataSet, output);
+
+        Assert.assertEquals(output.toString(StandardCharsets.UTF_8.name()), "[{\"id\":1,\"name\":\"\\\"foo\\\"\",\"email\":null}]");
+        Assert.assertEquals(new JsonDataSetProducer(output.toString(StandardCharsets.UTF_8.name())).produce(), dataSet);
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.driver.json;
+
+import com.consol.citrus.db.driver.JdbcDriverException;
+import com.consol.citrus.db.driver.data.Row;
+import com.fasterxml.jackson.core.JsonParseException;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.NoSuchElementException;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class JsonRowReaderTest {
+
+    @Test
+    public void testRowsAreReadLazily() throws Exception {
+
+        //GIVEN
+        final JsonRowReader reader = new JsonRowReader(input("[{\"id\": 1, \"name\": \"foo\"}, {\"id\": 2, \"name\": null}, {"));
+
+        //WHEN
+        final Row first = reader.next();
+        final Row second = reader.next();
+
+        //THEN
+        assertEquals(first.getValues().toString(), "{id=1, name=foo}");
+        assertEquals(second.getValues().toString(), "{id=2, name=null}");
+        assertSame(second.getColumnDictionary(), first.getColumnDictionary());
+    }
+
+    @Test(expectedExceptions = JdbcDriverException.class)
+    public void testBrokenInput() throws Exception {
+
+        //GIVEN
+        final JsonRowReader reader = new JsonRowReader(input("[{\"id\": 1}, {"));
+        reader.next();
+
+        //WHEN
+        reader.next();
+
+        //THEN
+        //Exception is thrown
+    }
+
+    @Test
+    public void testValueTypes() throws Exception {
+
+        //GIVEN
+        final JsonRowReader reader = new JsonRowReader(input(
+                "[{\"int\": 1, \"long\": 10000000000, \"double\": 1.5, \"flag\": true, \"list\": [1, 2], \"object\": {\"a\": \"b\"}}]"));
+
+        //WHEN
+        final Row row = reader.next();
+
+        //THEN
+        assertEquals(row.getValue("int"), 1);
+        assertEquals(row.getValue("long"), 10000000000L);
+        assertEquals(row.getValue("double"), 1.5D);
+        assertEquals(row.getValue("flag"), true);
+        assertEquals(row.getValue("list"), Arrays.asList(1, 2));
+        assertEquals(row.getValue("object"), Collections.singletonMap("a", "b"));
+        assertFalse(reader.hasNext());
+    }
+
+    @Test
+    public void testRowsWithDifferentColumns() throws Exception {
+
+        //GIVEN
+        final JsonRowReader reader = new JsonRowReader(input("[{\"id\": 1}, {\"id\": 2, \"email\": \"foo\"}, {\"id\": 3, \"id\": 4}]"));
+
+        //WHEN
+        final Row first = reader.next();
+        final Row second = reader.next();
+        final Row third = reader.next();
+
+        //THEN
+        assertEquals(first.getColumns(), Collections.singletonList("id"));
+        assertEquals(second.getColumns(), Arrays.asList("id", "email"));
+        assertNotSame(second.getColumnDictionary(), first.getColumnDictionary());
+        assertEquals(third.getValues().toString(), "{id=4}");
+    }
+
+    @Test
+    public void testInputIsClosedOnExhaustion() throws Exception {
+
+        //GIVEN
+        final boolean[] closed = new boolean[1];
+        final InputStream input = new ByteArrayInputStream("[{\"id\": 1}]".getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public void close() throws IOException {
+                closed[0] = true;
+                super.close();
+            }
+        };
+        final JsonRowReader reader = new JsonRowReader(input);
+
+        //WHEN
+        reader.next();
+        final boolean hasNext = reader.hasNext();
+
+        //THEN
+        assertFalse(hasNext);
+        assertTrue(closed[0]);
+    }
+
+    @Test(expectedExceptions = NoSuchElementException.class)
+    public void testEmptyInput() throws Exception {
+
+        //GIVEN
+        final JsonRowReader reader = new JsonRowReader(input("[]"));
+
+        //WHEN
+        reader.next();
+
+        //THEN
+        //Exception is thrown
+    }
+
+    @Test(expectedExceptions = JsonParseException.class)
+    public void testInputMustBeArray() throws Exception {
+
+        //WHEN
+        new JsonRowReader(input("{\"id\": 1}"));
+
+        //THEN
+        //Exception is thrown
+    }
+
+    private InputStream input(final String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
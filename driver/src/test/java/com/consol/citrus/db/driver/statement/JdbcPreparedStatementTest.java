@@ -21,15 +21,26 @@ import com.consol.citrus.db.driver.JdbcResultSet;
 import com.consol.citrus.db.driver.data.CitrusBlob;
 import com.consol.citrus.db.driver.data.CitrusClob;
 import com.consol.citrus.db.driver.dataset.DataSet;
+import com.consol.citrus.db.driver.exchange.StatementParameter;
 import com.consol.citrus.db.driver.utils.LobUtils;
 import com.jparams.verifier.tostring.ToStringVerifier;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import nl.jqno.equalsverifier.Warning;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.StatusLine;
 import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.message.BasicHeader;
+import org.apache.http.util.EntityUtils;
 import org.powermock.api.mockito.PowerMockito;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
 import java.io.StringReader;
@@ -41,10 +52,14 @@ import java.sql.SQLException;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.sql.Types;
+import java.util.Arrays;
+import java.util.Collections;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -52,6 +67,7 @@ import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 @SuppressWarnings({"SqlDialectInspection", "SqlNoDataSourceInspection"})
 public class JdbcPreparedStatementTest {
@@ -143,17 +159,16 @@ public class JdbcPreparedStatementTest {
         jdbcPreparedStatement.setString(1, "DUS");
         jdbcPreparedStatement.addBatch();
 
-        doReturn(false).when(jdbcPreparedStatement).execute(any());
-        when(jdbcPreparedStatement.getUpdateCount()).thenReturn(42).thenReturn(84);
-
         final int[] expectedUpdateCounts = new int[]{42,84};
+        doReturn(expectedUpdateCounts).when(jdbcPreparedStatement).executeBatch(anyList());
 
         //WHEN
         final int[] updateCounts = jdbcPreparedStatement.executeBatch();
 
         //THEN
-        verify(jdbcPreparedStatement).execute("SELECT id, name FROM airports WHERE name = ? - (MUC)");
-        verify(jdbcPreparedStatement).execute("SELECT id, name FROM airports WHERE name = ? - (DUS)");
+        verify(jdbcPreparedStatement).executeBatch(Arrays.asList(
+                "SELECT id, name FROM airports WHERE name = ? - (MUC)",
+                "SELECT id, name FROM airports WHERE name = ? - (DUS)"));
         assertEquals(updateCounts, expectedUpdateCounts);
     }
 
@@ -299,6 +314,78 @@ public class JdbcPreparedStatementTest {
 
         //THEN
         verify(statementParameters).setParameter(index, null);
+        verify(statementParameters).setSqlType(index, Types.NULL);
+    }
+
+    @Test
+    public void testSqlTypeOfNullParameterIsSent(){
+
+        //WHEN
+        jdbcPreparedStatement.setNull(1, Types.INTEGER);
+
+        //THEN
+        assertEquals(jdbcPreparedStatement.getParameters().toParameterList(),
+                Collections.singletonList(new StatementParameter(1, null, Types.INTEGER, null)));
+    }
+
+    @Test
+    public void testExecuteQueryWithStatementHandle() throws Exception {
+
+        //GIVEN
+        final HttpClient httpClient = mockHttpClient("application/json",
+                "{\"dataSet\":{\"rows\":[{\"values\":{\"id\":42}}]},\"affectedRows\":-1,\"isDataSet\":true}");
+        final JdbcPreparedStatement statement = new JdbcPreparedStatement(
+                httpClient, "SELECT id FROM users WHERE id = ?", "url", jdbcConnectionMock, "7");
+        statement.setLong(1, 42L);
+
+        //WHEN
+        statement.executeQuery();
+
+        //THEN
+        verify(httpClient).execute(argThat((HttpUriRequest request) ->
+                request.getURI().toString().equals("url/preparedStatement/7/query") &&
+                        readBody(request).equals("[{\"index\":1,\"sqlType\":-5,\"value\":42}]")));
+    }
+
+    @Test
+    public void testExecuteBatchWithStatementHandle() throws Exception {
+
+        //GIVEN
+        final HttpClient httpClient = mockHttpClient("application/json", "[1,1]");
+        final JdbcPreparedStatement statement = new JdbcPreparedStatement(
+                httpClient, "INSERT INTO users VALUES (?)", "url", jdbcConnectionMock, "7");
+        statement.setInt(1, 1);
+        statement.addBatch();
+        statement.setInt(1, 2);
+        statement.addBatch();
+
+        //WHEN
+        final int[] updateCounts = statement.executeBatch();
+
+        //THEN
+        assertEquals(updateCounts, new int[]{ 1, 1 });
+        verify(httpClient).execute(argThat((HttpUriRequest request) ->
+                request.getURI().toString().equals("url/preparedStatement/7/batch") &&
+                        readBody(request).equals("[[{\"index\":1,\"sqlType\":4,\"value\":1}]," +
+                                "[{\"index\":1,\"sqlType\":4,\"value\":2}]]")));
+    }
+
+    @Test
+    public void testCloseReleasesStatementHandle() throws Exception {
+
+        //GIVEN
+        final HttpClient httpClient = mockHttpClient("text/plain", "");
+        final JdbcPreparedStatement statement = new JdbcPreparedStatement(
+                httpClient, "SELECT 1", "url", jdbcConnectionMock, "7");
+
+        //WHEN
+        statement.close();
+
+        //THEN
+        assertTrue(statement.isClosed());
+        verify(httpClient).execute(argThat((HttpUriRequest request) ->
+                request.getMethod().equals("DELETE") &&
+                        request.getURI().toString().equals("url/preparedStatement/7")));
     }
 
     @Test
@@ -581,6 +668,7 @@ public class JdbcPreparedStatementTest {
 
         //THEN
         verify(statementParameters).setParameter(index, value);
+        verify(statementParameters).setSqlType(index, 42);
     }
 
     @Test
@@ -620,6 +708,29 @@ public class JdbcPreparedStatementTest {
                 .verify();
     }
 
+    private HttpClient mockHttpClient(final String contentType, final String body) throws IOException {
+        final HttpClient httpClient = mock(HttpClient.class);
+        final HttpResponse httpResponse = mock(HttpResponse.class);
+        final StatusLine statusLine = mock(StatusLine.class);
+        final HttpEntity httpEntity = mock(HttpEntity.class);
+
+        when(httpClient.execute(any())).thenReturn(httpResponse);
+        when(httpResponse.getStatusLine()).thenReturn(statusLine);
+        when(httpResponse.getEntity()).thenReturn(httpEntity);
+        when(statusLine.getStatusCode()).thenReturn(200);
+        when(httpEntity.getContentType()).thenReturn(new BasicHeader(HttpHeaders.CONTENT_TYPE, contentType));
+        when(httpEntity.getContent()).thenReturn(new ByteArrayInputStream(body.getBytes()));
+        return httpClient;
+    }
+
+    private String readBody(final HttpUriRequest request) {
+        try {
+            return EntityUtils.toString(((HttpEntityEnclosingRequest) request).getEntity());
+        } catch (final IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private int getRandomIndex() {
         return (int)(Math.random()*10);
     }
@@ -18,9 +18,14 @@ package com.consol.citrus.db.driver.statement;
 
 import com.consol.citrus.db.driver.JdbcConnection;
 import com.consol.citrus.db.driver.JdbcResultSet;
+import com.consol.citrus.db.driver.data.Row;
 import com.consol.citrus.db.driver.dataset.DataSet;
+import com.consol.citrus.db.driver.dataset.DataSetBuilder;
+import com.consol.citrus.db.driver.exchange.DatabaseResult;
+import com.consol.citrus.db.driver.exchange.DatabaseResultCodec;
 import com.consol.citrus.db.driver.statement.JdbcPreparedStatement;
 import com.consol.citrus.db.driver.statement.JdbcStatement;
+import com.consol.citrus.db.driver.transport.HttpTransport;
 import com.jparams.verifier.tostring.ToStringVerifier;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import nl.jqno.equalsverifier.Warning;
@@ -29,6 +34,8 @@ import org.apache.http.HttpHeaders;
 import org.apache.http.HttpResponse;
 import org.apache.http.StatusLine;
 import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.message.BasicHeader;
 import org.powermock.api.mockito.PowerMockito;
 import org.testng.annotations.BeforeMethod;
@@ -38,9 +45,15 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
@@ -98,6 +111,100 @@ public class JdbcStatementTest {
         assertEquals(resultSet.getString(1), "bar");
     }
 
+    @Test
+    public void testExecuteQueryWithBinaryResult() throws Exception{
+
+        //GIVEN
+        final DataSet dataSet = new DataSetBuilder()
+                .add(new Row(new LinkedHashMap<>(Collections.singletonMap("foo", "bar"))))
+                .build();
+        final byte[] binaryResult = new DatabaseResultCodec().encode(new DatabaseResult(dataSet));
+
+        when(statusLine.getStatusCode()).thenReturn(200);
+        when(httpEntity.getContentType())
+                .thenReturn(new BasicHeader(HttpHeaders.CONTENT_TYPE, DatabaseResultCodec.CONTENT_TYPE));
+        when(httpEntity.getContent())
+                .thenReturn(new ByteArrayInputStream(binaryResult));
+
+        //WHEN
+        final ResultSet resultSet = jdbcStatement.executeQuery("SELECT something FROM somewhere");
+
+        //THEN
+        assertTrue(resultSet.next());
+        assertEquals(resultSet.getMetaData().getColumnLabel(1), "foo");
+        assertEquals(resultSet.getString(1), "bar");
+        verify(httpClient).execute(argThat((HttpUriRequest request) ->
+                request.getFirstHeader(HttpHeaders.ACCEPT).getValue().equals(HttpTransport.ACCEPTED_RESULT_TYPES)));
+    }
+
+    @Test
+    public void testExecuteQueryWithResultStreaming() throws Exception{
+
+        //GIVEN
+        final DataSet dataSet = new DataSetBuilder()
+                .add(new Row(new LinkedHashMap<>(Collections.singletonMap("foo", "bar"))))
+                .build();
+        final byte[] binaryResult = new DatabaseResultCodec().encode(new DatabaseResult(dataSet));
+
+        final CloseableHttpResponse httpResponse = mock(CloseableHttpResponse.class);
+        final JdbcConnection connection = mock(JdbcConnection.class);
+        when(connection.isResultStreaming()).thenReturn(true);
+        when(httpClient.execute(any())).thenReturn(httpResponse);
+        when(httpResponse.getStatusLine()).thenReturn(statusLine);
+        when(httpResponse.getEntity()).thenReturn(httpEntity);
+        when(statusLine.getStatusCode()).thenReturn(200);
+        when(httpEntity.getContentType())
+                .thenReturn(new BasicHeader(HttpHeaders.CONTENT_TYPE, DatabaseResultCodec.CONTENT_TYPE));
+        when(httpEntity.getContent())
+                .thenReturn(new ByteArrayInputStream(binaryResult));
+
+        final JdbcStatement statement = new JdbcStatement(httpClient, "db.klingon-empire.kr", connection);
+
+        //WHEN
+        final ResultSet resultSet = statement.executeQuery("SELECT something FROM somewhere");
+
+        //THEN
+        verify(httpResponse, never()).close();
+        assertTrue(resultSet.next());
+        assertEquals(resultSet.getString(1), "bar");
+        assertFalse(resultSet.next());
+        verify(httpResponse).close();
+    }
+
+    @Test
+    public void testClosingStreamedResultSetReleasesResponse() throws Exception{
+
+        //GIVEN
+        final DataSet dataSet = new DataSetBuilder()
+                .add(new Row(new LinkedHashMap<>(Collections.singletonMap("foo", "bar"))))
+                .add(new Row(new LinkedHashMap<>(Collections.singletonMap("foo", "baz"))))
+                .build();
+        final byte[] binaryResult = new DatabaseResultCodec().encode(new DatabaseResult(dataSet));
+
+        final CloseableHttpResponse httpResponse = mock(CloseableHttpResponse.class);
+        final JdbcConnection connection = mock(JdbcConnection.class);
+        when(connection.isResultStreaming()).thenReturn(true);
+        when(httpClient.execute(any())).thenReturn(httpResponse);
+        when(httpResponse.getStatusLine()).thenReturn(statusLine);
+        when(httpResponse.getEntity()).thenReturn(httpEntity);
+        when(statusLine.getStatusCode()).thenReturn(200);
+        when(httpEntity.getContentType())
+                .thenReturn(new BasicHeader(HttpHeaders.CONTENT_TYPE, DatabaseResultCodec.CONTENT_TYPE));
+        when(httpEntity.getContent())
+                .thenReturn(new ByteArrayInputStream(binaryResult));
+
+        final JdbcStatement statement = new JdbcStatement(httpClient, "db.klingon-empire.kr", connection);
+        final ResultSet resultSet = statement.executeQuery("SELECT something FROM somewhere");
+        assertTrue(resultSet.next());
+
+        //WHEN
+        resultSet.close();
+
+        //THEN
+        verify(httpResponse).close();
+        verify(httpEntity, never()).isStreaming();
+    }
+
     @Test(expectedExceptions = SQLException.class)
     public void testExecuteQueryHttpCallFailed() throws Exception{
 
@@ -397,6 +504,53 @@ public class JdbcStatementTest {
         //THEN
         assertEquals(affectedRows, expectedAffectedRows);
     }
+    @Test
+    public void testExecuteBatchInSingleRequest() throws Exception {
+
+        //GIVEN
+        prepareBatchStatements();
+
+        //WHEN
+        jdbcStatement.executeBatch();
+
+        //THEN
+        verify(httpClient).execute(argThat((HttpUriRequest request) ->
+                request.getURI().toString().endsWith("/batch")));
+    }
+
+    @Test
+    public void testExecuteBatchFallbackWithoutBatchEndpoint() throws Exception {
+
+        //GIVEN
+        when(statusLine.getStatusCode()).thenReturn(404).thenReturn(200);
+        when(httpEntity.getContentType())
+                .thenReturn(new BasicHeader(HttpHeaders.CONTENT_TYPE, "application/json"));
+        when(httpEntity.getContent())
+                .thenReturn(new ByteArrayInputStream(databaseAffectedRowsResponse.getBytes()))
+                .thenReturn(new ByteArrayInputStream(databaseAffectedRowsResponse.getBytes()));
+
+        jdbcStatement.addBatch("statement one");
+        jdbcStatement.addBatch("statement two");
+
+        //WHEN
+        final int[] affectedRows = jdbcStatement.executeBatch();
+
+        //THEN
+        assertEquals(affectedRows, new int[]{AFFECTED_ROWS, AFFECTED_ROWS});
+        verify(httpClient, times(3)).execute(any());
+    }
+
+    @Test
+    public void testExecuteEmptyBatch() throws Exception {
+
+        //WHEN
+        final int[] affectedRows = jdbcStatement.executeBatch();
+
+        //THEN
+        assertEquals(affectedRows.length, 0);
+        verify(httpClient, never()).execute(any());
+    }
+
     @Test
     public void testExecuteLargeBatch() throws Exception {
 
@@ -433,13 +587,9 @@ public class JdbcStatementTest {
     }
 
     private void prepareBatchStatements() throws IOException, SQLException {
-        when(statusLine.getStatusCode()).thenReturn(200).thenReturn(200);
-        when(httpEntity.getContentType())
-                .thenReturn(new BasicHeader(HttpHeaders.CONTENT_TYPE, "application/json"))
-                .thenReturn(new BasicHeader(HttpHeaders.CONTENT_TYPE, "application/json"));
+        when(statusLine.getStatusCode()).thenReturn(200);
         when(httpEntity.getContent())
-                .thenReturn(new ByteArrayInputStream(databaseAffectedRowsResponse.getBytes()))
-                .thenReturn(new ByteArrayInputStream(databaseAffectedRowsResponse.getBytes()));
+                .thenReturn(new ByteArrayInputStream(("[" + AFFECTED_ROWS + "," + AFFECTED_ROWS + "]").getBytes()));
 
         jdbcStatement.addBatch("statement one");
         jdbcStatement.addBatch("statement two");
@@ -17,11 +17,17 @@
 package com.consol.citrus.db.driver.statement;
 
 
+import com.consol.citrus.db.driver.exchange.StatementParameter;
 import com.jparams.verifier.tostring.ToStringVerifier;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 import static org.testng.Assert.assertEquals;
 
 public class StatementParametersTest {
@@ -144,4 +150,38 @@ public class StatementParametersTest {
         EqualsVerifier.forClass(StatementParameters.class)
                 .verify();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testToParameterList(){
+
+        //GIVEN
+        statementParameters.setParameter(2, 42L);
+        statementParameters.setParameter(1, "first");
+        statementParameters.setParameter("named", null);
+        statementParameters.setSqlType("named", Types.DATE);
+
+        //WHEN
+        final List<StatementParameter> parameters = statementParameters.toParameterList();
+
+        //THEN
+        assertEquals(parameters, Arrays.asList(
+                new StatementParameter(1, null, Types.VARCHAR, "first"),
+                new StatementParameter(2, null, Types.BIGINT, 42L),
+                new StatementParameter(null, "named", Types.DATE, null)));
+    }
+
+    @Test
+    public void testSqlTypeIsResetWithValue(){
+
+        //GIVEN
+        statementParameters.setParameter(1, null);
+        statementParameters.setSqlType(1, Types.DATE);
+
+        //WHEN
+        statementParameters.setParameter(1, 42);
+
+        //THEN
+        assertEquals(statementParameters.toParameterList(),
+                Collections.singletonList(new StatementParameter(1, null, Types.INTEGER, 42)));
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.db.driver.transport;
+
+import com.consol.citrus.db.driver.JdbcConnection;
+import com.consol.citrus.db.driver.data.Row;
+import com.consol.citrus.db.driver.dataset.DataSetBuilder;
+import com.consol.citrus.db.driver.exchange.DatabaseResult;
+import com.consol.citrus.db.driver.exchange.DatabaseResultCodec;
+import org.mockito.ArgumentCaptor;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.expectThrows;
+
+public class Http2TransportTest {
+
+    private HttpClient httpClient;
+    private Http2Transport transport;
+
+    @BeforeMethod
+    public void setup() {
+        httpClient = mock(HttpClient.class);
+        transport = new Http2Transport(httpClient, "http://localhost:4567", false, Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void testOpenConnection() throws Exception {
+
+        //GIVEN
+        respond(200, "text/plain", "session\n".getBytes(StandardCharsets.UTF_8));
+
+        //WHEN
+        final String sessionId = transport.openConnection("test db", Collections.singletonMap("user", "a&b"));
+
+        //THEN
+        assertEquals(sessionId, "session");
+        final HttpRequest request = sentRequest();
+        assertEquals(request.method(), "GET");
+        assertEquals(request.uri().toString(), "http://localhost:4567/connection?database=test+db&user=a%26b");
+        assertEquals(request.timeout().orElse(null), Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void testExecuteUpdate() throws Exception {
+
+        //GIVEN
+        respond(200, "text/plain", "3".getBytes(StandardCharsets.UTF_8));
+
+        //WHEN
+        final int updateCount = transport.executeUpdate("session", "DELETE FROM users");
+
+        //THEN
+        assertEquals(updateCount, 3);
+        final HttpRequest request = sentRequest();
+        assertEquals(request.method(), "POST");
+        assertEquals(request.uri().getPath(), "/update");
+        assertEquals(request.headers().firstValue(JdbcConnection.SESSION_HEADER).orElse(null), "session");
+    }
+
+    @Test
+    public void testExecuteQuery() throws Exception {
+
+        //GIVEN
+        final Map<String, Object> values = new LinkedHashMap<>();
+        values.put("id", 1);
+        final DatabaseResult expected = new DatabaseResult(new DataSetBuilder().add(new Row(values)).build());
+        respond(200, DatabaseResultCodec.CONTENT_TYPE, new DatabaseResultCodec().encode(expected));
+
+        //WHEN
+        final DatabaseResult result = transport.executeQuery("session", "SELECT id FROM users");
+
+        //THEN
+        assertEquals(result.getDataSet().getRows().get(0).getValue("id"), 1);
+        assertEquals(sentRequest().headers().firstValue("Accept").orElse(null), HttpTransport.ACCEPTED_RESULT_TYPES);
+    }
+
+    @Test
+    public void testExecuteBatchWithoutBatchEndpoint() throws Exception {
+
+        //GIVEN
+        respond(404, "text/plain", new byte[0]);
+
+        //WHEN
+        final int[] updateCounts = transport.executeBatch("session", Arrays.asList("INSERT", "INSERT"));
+
+        //THEN
+        assertNull(updateCounts);
+    }
+
+    @Test
+    public void testUnknownSession() throws Exception {
+
+        //GIVEN
+        respond(410, "text/plain", "Unknown session: evicted".getBytes(StandardCharsets.UTF_8));
+
+        //WHEN
+        final SQLException exception = expectThrows(SQLException.class, () -> transport.createStatement("evicted"));
+
+        //THEN
+        assertEquals(exception.getMessage(), "Unknown session: evicted");
+        assertEquals(exception.getSQLState(), JdbcConnection.UNKNOWN_SESSION_STATE);
+    }
+
+    @Test
+    public void testServerError() throws Exception {
+
+        //GIVEN
+        respond(500, "text/plain", "No rule matching".getBytes(StandardCharsets.UTF_8));
+
+        //WHEN
+        final SQLException exception = expectThrows(SQLException.class, () -> transport.commit("session"));
+
+        //THEN
+        assertEquals(exception.getMessage(), "Failed to commit statements: No rule matching");
+    }
+
+    @SuppressWarnings("unchecked")
+    private void respond(final int status, final String contentType, final byte[] body) throws Exception {
+        final HttpResponse<InputStream> response = mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(status);
+        when(response.headers()).thenReturn(HttpHeaders.of(
+                Collections.singletonMap("Content-Type", Collections.singletonList(contentType)), (name, value) -> true));
+        when(response.body()).thenReturn(new ByteArrayInputStream(body));
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class))).thenReturn(response);
+    }
+
+    @SuppressWarnings("unchecked")
+    private HttpRequest sentRequest() throws Exception {
+        final ArgumentCaptor<HttpRequest> request = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(httpClient).send(request.capture(), any(HttpResponse.BodyHandler.class));
+        return request.getValue();
+    }
+}
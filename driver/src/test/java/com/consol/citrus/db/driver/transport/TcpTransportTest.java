@@ -0,0 +1,287 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.driver.transport;
+
+import com.consol.citrus.db.driver.data.Row;
+import com.consol.citrus.db.driver.dataset.DataSetBuilder;
+import com.consol.citrus.db.driver.exchange.DatabaseResult;
+import com.consol.citrus.db.driver.exchange.PreparedStatementCall;
+import com.consol.citrus.db.driver.exchange.StatementParameter;
+import org.mockito.Mockito;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+public class TcpTransportTest {
+
+    private JdbcTransport endpoint;
+    private ServerSocket serverSocket;
+    private ExecutorService workers;
+    private TcpTransport transport;
+    private final List<Socket> sockets = new ArrayList<>();
+
+    @BeforeMethod
+    public void setup() throws IOException {
+        endpoint = Mockito.mock(JdbcTransport.class);
+        serverSocket = new ServerSocket(0);
+        workers = Executors.newCachedThreadPool();
+        workers.execute(this::serve);
+        transport = new TcpTransport("localhost", serverSocket.getLocalPort(), 1, 5000);
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        transport.close();
+        serverSocket.close();
+        workers.shutdownNow();
+    }
+
+    @Test
+    public void testOpenConnection() throws Exception {
+
+        //GIVEN
+        final LinkedHashMap<String, String> properties = new LinkedHashMap<>();
+        properties.put("username", "citrus");
+        when(endpoint.openConnection("testdb", properties)).thenReturn("session");
+
+        //WHEN
+        final String sessionId = transport.openConnection("testdb", properties);
+
+        //THEN
+        assertEquals(sessionId, "session");
+    }
+
+    @Test
+    public void testExecuteQuery() throws Exception {
+
+        //GIVEN
+        final Row row = new Row(new LinkedHashMap<>(Collections.singletonMap("id", 42)));
+        when(endpoint.executeQuery("session", "SELECT id FROM users"))
+                .thenReturn(new DatabaseResult(new DataSetBuilder().add(row).build()));
+
+        //WHEN
+        final DatabaseResult result = transport.executeQuery("session", "SELECT id FROM users");
+
+        //THEN
+        assertEquals(result.getDataSet().getRows().get(0).getValues(), row.getValues());
+    }
+
+    @Test
+    public void testAbsentResults() throws Exception {
+
+        //WHEN
+        final DatabaseResult result = transport.executeStatement("session", "CALL foo()");
+        final int[] updateCounts = transport.executeBatch("session", Arrays.asList("INSERT 1", "INSERT 2"));
+
+        //THEN
+        assertNull(result);
+        assertNull(updateCounts);
+        verify(endpoint).executeBatch("session", Arrays.asList("INSERT 1", "INSERT 2"));
+    }
+
+    @Test
+    public void testPreparedStatementParameters() throws Exception {
+
+        //GIVEN
+        final PreparedStatementCall call = new PreparedStatementCall("UPDATE users SET name = ? WHERE id = ?",
+                Arrays.asList(StatementParameter.indexed(1, "foo"), StatementParameter.indexed(2, 7L)));
+        when(endpoint.executePreparedUpdate("session", "handle", call)).thenReturn(1);
+        when(endpoint.executePreparedBatch("session", "handle", Arrays.asList(call, call))).thenReturn(new int[] { 1, 1 });
+
+        //WHEN
+        final int updateCount = transport.executePreparedUpdate("session", "handle", call);
+        final int[] updateCounts = transport.executePreparedBatch("session", "handle", Arrays.asList(call, call));
+
+        //THEN
+        assertEquals(updateCount, 1);
+        assertEquals(updateCounts, new int[] { 1, 1 });
+    }
+
+    @Test
+    public void testTransactionState() throws Exception {
+
+        //GIVEN
+        when(endpoint.getTransactionState("session")).thenReturn(true);
+
+        //WHEN
+        transport.setTransactionState("session", true);
+        final boolean transactionState = transport.getTransactionState("session");
+
+        //THEN
+        assertTrue(transactionState);
+        verify(endpoint).setTransactionState("session", true);
+    }
+
+    @Test
+    public void testServerError() throws Exception {
+
+        //GIVEN
+        when(endpoint.executeUpdate("session", "DELETE")).thenThrow(new SQLException("No rule matching"));
+
+        //WHEN
+        final SQLException exception = expectThrows(SQLException.class, () -> transport.executeUpdate("session", "DELETE"));
+
+        //THEN
+        assertEquals(exception.getMessage(), "No rule matching");
+    }
+
+    @Test
+    public void testRequestsArePipelined() throws Exception {
+
+        //GIVEN
+        final CountDownLatch blocked = new CountDownLatch(1);
+        when(endpoint.executeUpdate("session", "SLOW")).thenAnswer(invocation -> {
+            assertTrue(blocked.await(5, TimeUnit.SECONDS));
+            return 1;
+        });
+        when(endpoint.executeUpdate("session", "FAST")).thenAnswer(invocation -> {
+            blocked.countDown();
+            return 2;
+        });
+        final ExecutorService clients = Executors.newFixedThreadPool(2);
+
+        //WHEN
+        final Future<Integer> slow = clients.submit(() -> transport.executeUpdate("session", "SLOW"));
+        final Future<Integer> fast = clients.submit(() -> transport.executeUpdate("session", "FAST"));
+
+        //THEN
+        assertEquals(fast.get(5, TimeUnit.SECONDS).intValue(), 2);
+        assertEquals(slow.get(5, TimeUnit.SECONDS).intValue(), 1);
+        clients.shutdown();
+    }
+
+    @Test
+    public void testReconnectAfterServerClosedSocket() throws Exception {
+
+        //GIVEN
+        when(endpoint.executeUpdate(anyString(), anyString())).thenReturn(1);
+        transport.executeUpdate("session", "INSERT");
+        synchronized (sockets) {
+            for (final Socket socket : sockets) {
+                socket.close();
+            }
+        }
+
+        //WHEN
+        int updateCount;
+        try {
+            updateCount = transport.executeUpdate("session", "INSERT");
+        } catch (final SQLException e) {
+            updateCount = transport.executeUpdate("session", "INSERT");
+        }
+
+        //THEN
+        assertEquals(updateCount, 1);
+    }
+
+    @Test
+    public void testLastClosedConnectionReleasesSockets() throws Exception {
+
+        //GIVEN
+        when(endpoint.openConnection(anyString(), any())).thenReturn("first", "second");
+        when(endpoint.executeUpdate(anyString(), anyString())).thenReturn(1);
+        transport.openConnection("db", Collections.emptyMap());
+        transport.openConnection("db", Collections.emptyMap());
+
+        //WHEN
+        transport.closeConnection("first");
+        final boolean connectedAfterFirstClose = transport.isConnected();
+        transport.closeConnection("second");
+
+        //THEN
+        assertTrue(connectedAfterFirstClose);
+        assertEquals(transport.getConnections(), 0);
+        assertFalse(transport.isConnected());
+        assertEquals(transport.executeUpdate("session", "INSERT"), 1);
+    }
+
+    /**
+     * Minimal server answering each request frame on its own worker thread.
+     */
+    private void serve() {
+        try {
+            while (true) {
+                final Socket socket = serverSocket.accept();
+                synchronized (sockets) {
+                    sockets.add(socket);
+                }
+                workers.execute(() -> read(socket));
+            }
+        } catch (final IOException e) {
+            // server socket closed
+        }
+    }
+
+    private void read(final Socket socket) {
+        try {
+            final DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            while (true) {
+                final byte[] frame = TcpProtocol.readFrame(in);
+                workers.execute(() -> {
+                    try {
+                        final ByteArrayOutputStream response = new ByteArrayOutputStream();
+                        TcpProtocol.dispatch(endpoint,
+                                new DataInputStream(new ByteArrayInputStream(frame, 4, frame.length - 4)),
+                                new DataOutputStream(response));
+                        final int id = new DataInputStream(new ByteArrayInputStream(frame)).readInt();
+                        synchronized (out) {
+                            TcpProtocol.writeFrame(out, id, response.toByteArray(), response.size());
+                            out.flush();
+                        }
+                    } catch (final IOException e) {
+                        // socket closed
+                    }
+                });
+            }
+        } catch (final IOException e) {
+            // socket closed
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.driver.transport;
+
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+public class UnixDomainSocketsTest {
+
+    @Test
+    public void testGetPath() {
+        assertEquals(UnixDomainSockets.getPath("jdbc:citrus:unix:/tmp/citrus.sock"), "/tmp/citrus.sock");
+        assertEquals(UnixDomainSockets.getPath("jdbc:citrus:unix:/tmp/citrus.sock?database=testdb"), "/tmp/citrus.sock");
+        assertNull(UnixDomainSockets.getPath("jdbc:citrus:tcp://localhost:4566/testdb"));
+        assertNull(UnixDomainSockets.getPath(null));
+    }
+
+    @Test
+    public void testUnsupported() {
+        if (UnixDomainSockets.isSupported()) {
+            throw new SkipException("Unix domain sockets are supported by this JVM");
+        }
+
+        //WHEN
+        final IOException exception = expectThrows(IOException.class,
+                () -> UnixDomainSockets.getAddress(Path.of("citrus.sock")));
+
+        //THEN
+        assertTrue(exception.getMessage().startsWith("Unix domain sockets require Java 16 or newer"));
+    }
+
+    @Test
+    public void testBindReplacesStaleSocketFile() throws IOException {
+        if (!UnixDomainSockets.isSupported()) {
+            throw new SkipException("Unix domain sockets require Java 16 or newer");
+        }
+
+        //GIVEN
+        final Path directory = Files.createTempDirectory("citrus-db");
+        final Path socket = directory.resolve("citrus.sock");
+        UnixDomainSockets.bind(socket).close();
+
+        //WHEN
+        try (final ServerSocketChannel channel = UnixDomainSockets.bind(socket)) {
+
+            //THEN
+            assertEquals(channel.getLocalAddress(), UnixDomainSockets.getAddress(socket));
+        } finally {
+            Files.deleteIfExists(socket);
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    public void testBindKeepsSocketInUse() throws IOException {
+        if (!UnixDomainSockets.isSupported()) {
+            throw new SkipException("Unix domain sockets require Java 16 or newer");
+        }
+
+        //GIVEN
+        final Path directory = Files.createTempDirectory("citrus-db");
+        final Path socket = directory.resolve("citrus.sock");
+
+        try (final ServerSocketChannel ignored = UnixDomainSockets.bind(socket)) {
+
+            //WHEN
+            final IOException exception = expectThrows(IOException.class, () -> UnixDomainSockets.bind(socket));
+
+            //THEN
+            assertTrue(exception.getMessage().endsWith("is in use by another server"));
+            assertTrue(Files.exists(socket));
+        } finally {
+            Files.deleteIfExists(socket);
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    public void testDeleteStaleSocketKeepsRegularFile() throws IOException {
+
+        //GIVEN
+        final Path file = Files.createTempFile("citrus-db", ".sock");
+
+        try {
+            //WHEN
+            final IOException exception = expectThrows(IOException.class, () -> UnixDomainSockets.deleteStaleSocket(file));
+
+            //THEN
+            assertTrue(exception.getMessage().endsWith("exists and is not a socket"));
+            assertTrue(Files.exists(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testDeleteStaleSocketKeepsDirectory() throws IOException {
+
+        //GIVEN
+        final Path directory = Files.createTempDirectory("citrus-db");
+
+        try {
+            //WHEN
+            expectThrows(IOException.class, () -> UnixDomainSockets.deleteStaleSocket(directory));
+
+            //THEN
+            assertTrue(Files.isDirectory(directory));
+        } finally {
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    public void testDeleteStaleSocketIgnoresMissingFile() throws IOException {
+        UnixDomainSockets.deleteStaleSocket(Path.of("target", "missing-citrus.sock"));
+    }
+}
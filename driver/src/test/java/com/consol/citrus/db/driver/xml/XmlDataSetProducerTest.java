@@ -16,11 +16,14 @@
 
 package com.consol.citrus.db.driver.xml;
 
+import com.consol.citrus.db.driver.data.Row;
 import com.consol.citrus.db.driver.dataset.DataSet;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * @author Christoph Deppisch
@@ -63,4 +66,15 @@ public class XmlDataSetProducerTest {
         Assert.assertEquals(dataSet.getNextRow().getValues().toString(), "{email=leo@bigbangtheory.org, firstname=Leonard, id=2, lastname=Hofstadter, password=wayne, username=batman}");
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testReadRows() throws Exception {
+        XmlDataSetProducer dataSetProducer = new XmlDataSetProducer(Paths.get(ClassLoader.getSystemResource("dataset.xml").toURI()));
+
+        List<Row> rows = new ArrayList<>();
+        dataSetProducer.readRows(rows::add);
+
+        Assert.assertEquals(rows.size(), 2L);
+        Assert.assertEquals(rows.get(1).getValue("email"), "leo@bigbangtheory.org");
+    }
+
+}
@@ -20,6 +20,7 @@ import org.testng.Assert;
 import org.testng.annotations.Test;
 import org.w3c.dom.Node;
 
+import java.io.StringWriter;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 
@@ -61,4 +62,13 @@ public class XmlDataSetWriterTest {
                         "</dataset>");
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testWriteToWriter() throws Exception {
+        StringWriter output = new StringWriter();
+        new XmlDataSetWriter().write(new XmlDataSetProducer(Paths.get(ClassLoader.getSystemResource("dataset.xml").toURI())).produce(), output);
+
+        Assert.assertEquals(output.toString(),
+                new String(Files.readAllBytes(Paths.get(ClassLoader.getSystemResource("dataset.xml").toURI()))));
+    }
+
+}
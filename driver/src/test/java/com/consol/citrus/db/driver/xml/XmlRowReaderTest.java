@@ -0,0 +1,88 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.driver.xml;
+
+import com.consol.citrus.db.driver.data.Row;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class XmlRowReaderTest {
+
+    @Test
+    public void testColumnSemantics() throws Exception {
+
+        //GIVEN
+        final XmlRowReader reader = reader("<dataset>" +
+                "<row name=\"attribute\" id=\"1\">" +
+                "<name> foo <!-- comment --><![CDATA[<bar>]]>&amp;<nested>ignored</nested></name>" +
+                "<email/>" +
+                "</row>" +
+                "</dataset>");
+
+        //WHEN
+        assertTrue(reader.nextElement());
+        final Row row = reader.readRow();
+
+        //THEN
+        assertEquals(row.getValues().toString(), "{name=attribute, email=, id=1}");
+        assertFalse(reader.nextElement());
+    }
+
+    @Test
+    public void testElementText() throws Exception {
+
+        //GIVEN
+        final XmlRowReader reader = reader("<dataset><row><name> foo <!-- comment --><![CDATA[<bar>]]>&amp;<nested>ignored</nested></name></row></dataset>");
+
+        //WHEN
+        assertTrue(reader.nextElement());
+        final Row row = reader.readRow();
+
+        //THEN
+        assertEquals(row.getValue("name"), " foo <bar>&");
+    }
+
+    @Test
+    public void testRowsShareColumnDictionary() throws Exception {
+
+        //GIVEN
+        final XmlRowReader reader = reader("<dataset><row id=\"1\"/><row id=\"2\"/></dataset>");
+
+        //WHEN
+        assertTrue(reader.nextElement());
+        final Row first = reader.readRow();
+        assertTrue(reader.nextElement());
+        final Row second = reader.readRow();
+
+        //THEN
+        assertEquals(second.getValue("id"), "2");
+        assertSame(second.getColumnDictionary(), first.getColumnDictionary());
+        assertFalse(reader.nextElement());
+    }
+
+    private XmlRowReader reader(final String xml) throws Exception {
+        return new XmlRowReader(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+    }
+}
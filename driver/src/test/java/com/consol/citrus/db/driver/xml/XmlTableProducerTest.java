@@ -16,11 +16,13 @@
 
 package com.consol.citrus.db.driver.xml;
 
+import com.consol.citrus.db.driver.data.Row;
 import com.consol.citrus.db.driver.data.Table;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -49,4 +51,19 @@ public class XmlTableProducerTest {
         Assert.assertEquals(tables.get(1).getRows().get(1).getValues().toString(), "{id=4, firstname=Howard, lastname=Wolowitz, email=womanizr@bigbangtheory.org}");
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testReadRows() throws Exception {
+        XmlTableProducer dataSetProducer = new XmlTableProducer(Paths.get(ClassLoader.getSystemResource("database.xml").toURI()));
+
+        List<String> tables = new ArrayList<>();
+        List<Row> rows = new ArrayList<>();
+        dataSetProducer.readRows((table, row) -> {
+            tables.add(table);
+            rows.add(row);
+        });
+
+        Assert.assertEquals(tables.toString(), "[characters, characters, friends, friends]");
+        Assert.assertEquals(rows.get(2).getValues().toString(), "{id=3, firstname=Rajesh, lastname=Koothrappali}");
+    }
+
+}
@@ -47,6 +47,10 @@ import org.slf4j.LoggerFactory;
 import org.springframework.util.StringUtils;
 
 /**
+ * Controller forwarding the jdbc operations to the Citrus endpoint adapter. The open connection count and
+ * the transaction state are kept once for the whole server and are shared by all clients, as the released
+ * server version this module builds against does not expose the client sessions yet.
+ *
  * @author Christoph Deppisch
  * @since 2.7.3
  */
@@ -16,6 +16,10 @@
 
 package com.consol.citrus.db.server;
 
+import com.consol.citrus.db.driver.JdbcConnection;
+import com.consol.citrus.db.driver.dataset.FixtureCache;
+import com.consol.citrus.db.driver.transport.InProcessRegistry;
+import com.consol.citrus.db.driver.transport.UnixDomainSockets;
 import com.consol.citrus.db.server.builder.RuleBasedControllerBuilder;
 import com.consol.citrus.db.server.controller.JdbcController;
 import com.consol.citrus.db.server.controller.RuleBasedController;
@@ -27,19 +31,35 @@ import com.consol.citrus.db.server.handler.connection.GetTransactionStateHandler
 import com.consol.citrus.db.server.handler.connection.OpenConnectionHandler;
 import com.consol.citrus.db.server.handler.connection.RollbackTransactionStatementsHandler;
 import com.consol.citrus.db.server.handler.connection.SetTransactionStateHandler;
+import com.consol.citrus.db.server.handler.statement.ClosePreparedStatementHandler;
 import com.consol.citrus.db.server.handler.statement.CloseStatementHandler;
 import com.consol.citrus.db.server.handler.statement.CreateCallableStatementHandler;
 import com.consol.citrus.db.server.handler.statement.CreatePreparedStatementHandler;
 import com.consol.citrus.db.server.handler.statement.CreateStatementHandler;
+import com.consol.citrus.db.server.handler.statement.ExecuteBatchHandler;
+import com.consol.citrus.db.server.handler.statement.ExecutePreparedBatchHandler;
+import com.consol.citrus.db.server.handler.statement.ExecutePreparedQueryHandler;
+import com.consol.citrus.db.server.handler.statement.ExecutePreparedStatementHandler;
+import com.consol.citrus.db.server.handler.statement.ExecutePreparedUpdateHandler;
 import com.consol.citrus.db.server.handler.statement.ExecuteQueryHandler;
 import com.consol.citrus.db.server.handler.statement.ExecuteStatementHandler;
 import com.consol.citrus.db.server.handler.statement.ExecuteUpdateHandler;
+import com.consol.citrus.db.server.handler.statement.PreparedStatementRegistry;
+import com.consol.citrus.db.server.session.JdbcSession;
+import com.consol.citrus.db.server.session.SessionRegistry;
+import com.consol.citrus.db.server.session.UnknownSessionException;
+import com.consol.citrus.db.server.transformer.ContentNegotiationRoute;
 import com.consol.citrus.db.server.transformer.JsonResponseTransformer;
+import com.consol.citrus.db.server.transport.Http2ServerFactory;
+import com.consol.citrus.db.server.transport.JdbcEndpoint;
+import com.consol.citrus.db.server.transport.TcpListener;
 import com.consol.citrus.db.server.util.DeamonThread;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import spark.Service;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
@@ -63,7 +83,22 @@ public class JdbcServer {
     /** The spark service */
     private Service service;
 
-    /** Transforms response data to JSON */
+    /** Sessions of the connected clients */
+    private SessionRegistry sessions;
+
+    /** Prepared statements of clients without session */
+    private PreparedStatementRegistry preparedStatements;
+
+    /** Endpoint serving in process and tcp connections, null if both are disabled */
+    private JdbcEndpoint endpoint;
+
+    /** Listener of the binary tcp transport */
+    private TcpListener tcpListener;
+
+    /** Listener of the binary transport on a unix domain socket */
+    private TcpListener unixSocketListener;
+
+    /** Transforms response data to JSON unless the binary representation is requested */
     private JsonResponseTransformer responseTransformer = new JsonResponseTransformer();
 
     /**
@@ -101,7 +136,12 @@ public class JdbcServer {
             controller = new RuleBasedController();
         }
 
-        return new RuleBasedControllerBuilder((RuleBasedController) controller);
+        final RuleBasedController ruleBasedController = (RuleBasedController) controller;
+        if (ruleBasedController.getFixtureCache() == null && configuration.getFixtureCacheDirectory() != null) {
+            ruleBasedController.setFixtureCache(new FixtureCache(Paths.get(configuration.getFixtureCacheDirectory())));
+        }
+
+        return new RuleBasedControllerBuilder(ruleBasedController);
     }
 
     /**
@@ -128,6 +168,10 @@ public class JdbcServer {
      * Start server instance and listen for incoming requests.
      */
     public void start() {
+        sessions = new SessionRegistry(configuration.getSessionTimeout(), configuration.getMaxPreparedStatements());
+        preparedStatements = new PreparedStatementRegistry(configuration.getMaxPreparedStatements());
+        startEndpoint();
+
         if (configuration.isDeamon()) {
             Executors.newSingleThreadExecutor(DeamonThread::new).submit(this::initService);
         } else {
@@ -136,13 +180,61 @@ public class JdbcServer {
     }
 
     private void initService() {
+        if (configuration.isHttp2()) {
+            Http2ServerFactory.register();
+        }
         service = Service.ignite();
         service.port(configuration.getPort());
-        service.before((request, response) -> log.info(request.requestMethod() + " " + request.url()));
+
+        service.before((request, response) -> {
+            log.info(request.requestMethod() + " " + request.url());
+            try {
+                JdbcSession.bind(sessions.resolve(request.headers(JdbcConnection.SESSION_HEADER)));
+            } catch (final UnknownSessionException e) {
+                throw service.halt(410, e.getMessage());
+            }
+        });
+        service.afterAfter((request, response) -> JdbcSession.bind(null));
         registerEndpoints();
         service.exception(JdbcServerException.class, new JdbcServerExceptionHandler());
     }
 
+    /**
+     * Makes the server reachable for drivers in the same JVM and over the binary transport
+     */
+    private void startEndpoint() {
+        if (configuration.getInProcessName() == null
+                && configuration.getTcpPort() <= 0
+                && configuration.getUnixSocketPath() == null) {
+            return;
+        }
+
+        endpoint = new JdbcEndpoint(controller, sessions, preparedStatements);
+        if (configuration.getInProcessName() != null) {
+            InProcessRegistry.register(configuration.getInProcessName(), endpoint);
+        }
+
+        if (configuration.getTcpPort() > 0) {
+            try {
+                tcpListener = new TcpListener(endpoint, configuration.getTcpPort());
+            } catch (final IOException e) {
+                throw new JdbcServerException("Failed to start tcp listener on port " + configuration.getTcpPort(), e);
+            }
+            tcpListener.start();
+        }
+
+        if (configuration.getUnixSocketPath() != null) {
+            try {
+                unixSocketListener = new TcpListener(endpoint,
+                        UnixDomainSockets.bind(Paths.get(configuration.getUnixSocketPath())));
+            } catch (final IOException e) {
+                throw new JdbcServerException("Failed to start listener on unix domain socket "
+                        + configuration.getUnixSocketPath(), e);
+            }
+            unixSocketListener.start();
+        }
+    }
+
     private void registerEndpoints() {
         registerConnectionEndpoint();
         registerStatementEndpoint();
@@ -155,8 +247,8 @@ public class JdbcServer {
      */
     private void registerConnectionEndpoint() {
         service.path("/connection", () -> {
-            service.get("", new OpenConnectionHandler(controller));
-            service.delete("", new CloseConnectionHandler(controller));
+            service.get("", new OpenConnectionHandler(controller, sessions));
+            service.delete("", new CloseConnectionHandler(controller, sessions));
         });
 
         service.path("/connection/transaction", () -> {
@@ -177,21 +269,33 @@ public class JdbcServer {
         });
 
         service.post("/query",
-                new ExecuteQueryHandler(controller),
-                responseTransformer);
+                new ContentNegotiationRoute(new ExecuteQueryHandler(controller), responseTransformer));
 
         service.post("/execute",
-                new ExecuteStatementHandler(controller),
-                responseTransformer);
+                new ContentNegotiationRoute(new ExecuteStatementHandler(controller), responseTransformer));
 
         service.post("/update", new ExecuteUpdateHandler(controller));
+
+        service.post("/batch",
+                new ExecuteBatchHandler(controller),
+                responseTransformer);
     }
 
     /**
      * Handles all operations that are prepared statement specific
      */
     private void registerPreparedStatementEndpoint(){
-        service.post("/preparedStatement", new CreatePreparedStatementHandler(controller));
+        service.post("/preparedStatement", new CreatePreparedStatementHandler(controller, preparedStatements));
+
+        service.path("/preparedStatement/:handle", () -> {
+            service.post("/query", new ContentNegotiationRoute(
+                    new ExecutePreparedQueryHandler(controller, preparedStatements), responseTransformer));
+            service.post("/execute", new ContentNegotiationRoute(
+                    new ExecutePreparedStatementHandler(controller, preparedStatements), responseTransformer));
+            service.post("/update", new ExecutePreparedUpdateHandler(controller, preparedStatements));
+            service.post("/batch", new ExecutePreparedBatchHandler(controller, preparedStatements), responseTransformer);
+            service.delete("", new ClosePreparedStatementHandler(controller, preparedStatements));
+        });
     }
 
     /**
@@ -205,6 +309,26 @@ public class JdbcServer {
      * Stops the server instance.
      */
     public void stop() {
+        if (tcpListener != null) {
+            tcpListener.close();
+            tcpListener = null;
+        }
+
+        if (unixSocketListener != null) {
+            unixSocketListener.close();
+            unixSocketListener = null;
+            try {
+                UnixDomainSockets.deleteStaleSocket(Paths.get(configuration.getUnixSocketPath()));
+            } catch (final IOException e) {
+                log.warn("Failed to delete unix domain socket " + configuration.getUnixSocketPath(), e);
+            }
+        }
+
+        if (endpoint != null && configuration.getInProcessName() != null) {
+            InProcessRegistry.unregister(configuration.getInProcessName(), endpoint);
+        }
+        endpoint = null;
+
         if(service != null){
             service.stop();
         }
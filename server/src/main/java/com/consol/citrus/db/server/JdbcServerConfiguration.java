@@ -36,6 +36,27 @@ public class JdbcServerConfiguration {
 
     private boolean deamon = false;
 
+    /** Maximum number of prepared statements cached for execution by handle */
+    private int maxPreparedStatements = 1000;
+
+    /** Time in milliseconds after which idle client sessions are discarded */
+    private long sessionTimeout = 1800000L;
+
+    /** Directory holding the parsed fixture files, fixtures are parsed on every start if not set */
+    private String fixtureCacheDirectory;
+
+    /** Name the server is reachable under in the same JVM, in process connections are disabled if not set */
+    private String inProcessName;
+
+    /** Port of the binary tcp listener, the listener is disabled if not set */
+    private int tcpPort;
+
+    /** Path of the unix domain socket the binary listener binds to, requires Java 16 or newer */
+    private String unixSocketPath;
+
+    /** Whether the http port also serves cleartext HTTP/2, see {@link #setHttp2(boolean)} */
+    private boolean http2;
+
     public String getHost() {
         return host;
     }
@@ -123,4 +144,132 @@ public class JdbcServerConfiguration {
     public void setDeamon(boolean deamon) {
         this.deamon = deamon;
     }
+
+    /**
+     * Gets the maxPreparedStatements.
+     *
+     * @return The maximum number of cached prepared statements
+     */
+    public int getMaxPreparedStatements() {
+        return maxPreparedStatements;
+    }
+
+    /**
+     * Sets the maxPreparedStatements.
+     *
+     * @param maxPreparedStatements The maximum number of cached prepared statements
+     */
+    public void setMaxPreparedStatements(final int maxPreparedStatements) {
+        this.maxPreparedStatements = maxPreparedStatements;
+    }
+
+    /**
+     * Gets the sessionTimeout.
+     *
+     * @return The idle time in milliseconds after which client sessions are discarded
+     */
+    public long getSessionTimeout() {
+        return sessionTimeout;
+    }
+
+    /**
+     * Sets the sessionTimeout.
+     *
+     * @param sessionTimeout The idle time in milliseconds after which client sessions are discarded
+     */
+    public void setSessionTimeout(final long sessionTimeout) {
+        this.sessionTimeout = sessionTimeout;
+    }
+
+    /**
+     * Gets the fixtureCacheDirectory.
+     *
+     * @return The directory holding the parsed fixture files or null if the fixture cache is disabled
+     */
+    public String getFixtureCacheDirectory() {
+        return fixtureCacheDirectory;
+    }
+
+    /**
+     * Sets the fixtureCacheDirectory.
+     *
+     * @param fixtureCacheDirectory The directory holding the parsed fixture files
+     */
+    public void setFixtureCacheDirectory(final String fixtureCacheDirectory) {
+        this.fixtureCacheDirectory = fixtureCacheDirectory;
+    }
+
+    /**
+     * Gets the inProcessName.
+     *
+     * @return The name drivers in the same JVM connect to with jdbc:citrus:inproc:name or null if disabled
+     */
+    public String getInProcessName() {
+        return inProcessName;
+    }
+
+    /**
+     * Sets the inProcessName.
+     *
+     * @param inProcessName The name drivers in the same JVM connect to with jdbc:citrus:inproc:name
+     */
+    public void setInProcessName(final String inProcessName) {
+        this.inProcessName = inProcessName;
+    }
+
+    /**
+     * Gets the tcpPort.
+     *
+     * @return The port drivers connect to with jdbc:citrus:tcp://host:port or 0 if disabled
+     */
+    public int getTcpPort() {
+        return tcpPort;
+    }
+
+    /**
+     * Sets the tcpPort.
+     *
+     * @param tcpPort The port drivers connect to with jdbc:citrus:tcp://host:port
+     */
+    public void setTcpPort(final int tcpPort) {
+        this.tcpPort = tcpPort;
+    }
+
+    /**
+     * Gets the unixSocketPath.
+     *
+     * @return The socket file drivers connect to with jdbc:citrus:unix:path or null if disabled
+     */
+    public String getUnixSocketPath() {
+        return unixSocketPath;
+    }
+
+    /**
+     * Sets the unixSocketPath.
+     *
+     * @param unixSocketPath The socket file drivers connect to with jdbc:citrus:unix:path
+     */
+    public void setUnixSocketPath(final String unixSocketPath) {
+        this.unixSocketPath = unixSocketPath;
+    }
+
+    /**
+     * Gets the http2.
+     *
+     * @return Whether drivers may connect with jdbc:citrus:h2c://host:port
+     */
+    public boolean isHttp2() {
+        return http2;
+    }
+
+    /**
+     * Enables cleartext HTTP/2 (h2c) next to HTTP/1.1 on the http port. Spark offers no way to configure the
+     * embedded Jetty of a single service, so enabling it replaces the default Jetty factory of Spark: every Spark
+     * service started afterwards within the same JVM serves h2c as well.
+     *
+     * @param http2 Whether drivers may connect with jdbc:citrus:h2c://host:port
+     */
+    public void setHttp2(final boolean http2) {
+        this.http2 = http2;
+    }
 }
@@ -65,6 +65,50 @@ public class JdbcServerOptions {
                 }
             }
         });
+
+        options.add(new CliOption("b", "binary", "Port of the binary tcp listener drivers connect to with jdbc:citrus:tcp://host:port - the listener is disabled if not set") {
+            @Override
+            protected void doProcess(JdbcServerConfiguration configuration, String arg, String value, LinkedList<String> remainingArgs){
+                if (value != null && value.length() > 0) {
+                    configuration.setTcpPort(Integer.valueOf(value));
+                } else {
+                    throw new JdbcServerException("Missing parameter value for -b/-binary option");
+                }
+            }
+        });
+
+        options.add(new CliOption("u", "unix", "Unix domain socket file drivers connect to with jdbc:citrus:unix:path - requires Java 16 or newer") {
+            @Override
+            protected void doProcess(JdbcServerConfiguration configuration, String arg, String value, LinkedList<String> remainingArgs){
+                if (value != null && value.length() > 0) {
+                    configuration.setUnixSocketPath(value);
+                } else {
+                    throw new JdbcServerException("Missing parameter value for -u/-unix option");
+                }
+            }
+        });
+
+        options.add(new CliOption("2", "http2", "Flag to serve cleartext HTTP/2 next to HTTP/1.1 - drivers connect with jdbc:citrus:h2c://host:port") {
+            @Override
+            protected void doProcess(JdbcServerConfiguration configuration, String arg, String value, LinkedList<String> remainingArgs){
+                if (value != null && value.length() > 0) {
+                    configuration.setHttp2(Boolean.valueOf(value));
+                } else {
+                    throw new JdbcServerException("Missing parameter value for -2/-http2 option");
+                }
+            }
+        });
+
+        options.add(new CliOption("c", "cache", "Directory to cache parsed fixture files in - fixtures are only parsed again when they have been changed") {
+            @Override
+            protected void doProcess(JdbcServerConfiguration configuration, String arg, String value, LinkedList<String> remainingArgs){
+                if (value != null && value.length() > 0) {
+                    configuration.setFixtureCacheDirectory(value);
+                } else {
+                    throw new JdbcServerException("Missing parameter value for -c/-cache option");
+                }
+            }
+        });
     }
 
     /**
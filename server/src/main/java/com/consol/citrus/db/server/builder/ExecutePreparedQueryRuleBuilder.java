@@ -0,0 +1,55 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.db.server.builder;
+
+import com.consol.citrus.db.driver.dataset.DataSet;
+import com.consol.citrus.db.driver.exchange.DatabaseResult;
+import com.consol.citrus.db.driver.exchange.PreparedStatementCall;
+import com.consol.citrus.db.server.controller.RuleBasedController;
+import com.consol.citrus.db.server.rules.ExecutePreparedQueryRule;
+import com.consol.citrus.db.server.rules.Mapping;
+import com.consol.citrus.db.server.rules.Precondition;
+import com.consol.citrus.db.server.rules.StaticResultMapping;
+
+public class ExecutePreparedQueryRuleBuilder
+        extends AbstractRuleBuilder<ExecutePreparedQueryRule, PreparedStatementCall, DatabaseResult> {
+
+    private final Precondition<PreparedStatementCall> precondition;
+
+    ExecutePreparedQueryRuleBuilder(final Precondition<PreparedStatementCall> precondition,
+                                    final RuleBasedController controller) {
+        super(controller);
+        this.precondition = precondition;
+    }
+
+    public ExecutePreparedQueryRule thenReturn(final DataSet dataSet) {
+        return createRule(precondition, StaticResultMapping.ofDataSet(dataSet));
+    }
+
+    @Override
+    protected ExecutePreparedQueryRule createRule(
+            final Precondition<PreparedStatementCall> precondition,
+            final Mapping<PreparedStatementCall, DatabaseResult> mapping) {
+        final ExecutePreparedQueryRule rule = new ExecutePreparedQueryRule(precondition, mapping);
+        addRule(rule);
+        return rule;
+    }
+
+    Precondition<PreparedStatementCall> getPrecondition() {
+        return precondition;
+    }
+}
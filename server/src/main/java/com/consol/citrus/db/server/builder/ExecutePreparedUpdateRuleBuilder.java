@@ -0,0 +1,61 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.db.server.builder;
+
+import com.consol.citrus.db.driver.exchange.PreparedStatementCall;
+import com.consol.citrus.db.server.JdbcServerException;
+import com.consol.citrus.db.server.controller.RuleBasedController;
+import com.consol.citrus.db.server.rules.ExecutePreparedUpdateRule;
+import com.consol.citrus.db.server.rules.Mapping;
+import com.consol.citrus.db.server.rules.Precondition;
+
+public class ExecutePreparedUpdateRuleBuilder
+        extends AbstractRuleBuilder<ExecutePreparedUpdateRule, PreparedStatementCall, Integer> {
+
+    private final Precondition<PreparedStatementCall> precondition;
+
+    ExecutePreparedUpdateRuleBuilder(final Precondition<PreparedStatementCall> precondition,
+                                     final RuleBasedController controller) {
+        super(controller);
+        this.precondition = precondition;
+    }
+
+    public ExecutePreparedUpdateRule thenReturn(final Integer rowsUpdated) {
+        return createRule(precondition, any -> rowsUpdated);
+    }
+
+    public ExecutePreparedUpdateRule thenReturn() {
+        return createRule(precondition, any -> 0);
+    }
+
+    public ExecutePreparedUpdateRule thenThrow(final JdbcServerException exception) {
+        return createRule(precondition, any -> { throw exception; });
+    }
+
+    @Override
+    protected ExecutePreparedUpdateRule createRule(
+            final Precondition<PreparedStatementCall> precondition,
+            final Mapping<PreparedStatementCall, Integer> mapping) {
+        final ExecutePreparedUpdateRule rule = new ExecutePreparedUpdateRule(precondition, mapping);
+        addRule(rule);
+        return rule;
+    }
+
+    Precondition<PreparedStatementCall> getPrecondition() {
+        return precondition;
+    }
+}
@@ -16,21 +16,16 @@
 
 package com.consol.citrus.db.server.builder;
 
-import com.consol.citrus.db.driver.data.Table;
 import com.consol.citrus.db.driver.dataset.DataSet;
-import com.consol.citrus.db.driver.dataset.TableDataSetProducer;
 import com.consol.citrus.db.driver.exchange.DatabaseResult;
-import com.consol.citrus.db.driver.json.JsonDataSetProducer;
-import com.consol.citrus.db.driver.xml.XmlDataSetProducer;
-import com.consol.citrus.db.server.JdbcServerException;
 import com.consol.citrus.db.server.controller.RuleBasedController;
 import com.consol.citrus.db.server.rules.ExecuteRule;
 import com.consol.citrus.db.server.rules.Mapping;
 import com.consol.citrus.db.server.rules.Precondition;
+import com.consol.citrus.db.server.rules.StaticResultMapping;
 
 import java.io.File;
 import java.nio.file.Path;
-import java.sql.SQLException;
 
 public class ExecuteRuleBuilder extends AbstractRuleBuilder<ExecuteRule, String, DatabaseResult>{
 
@@ -42,33 +37,25 @@ public class ExecuteRuleBuilder extends AbstractRuleBuilder<ExecuteRule, String,
     }
 
     public ExecuteRule thenReturn(final DataSet dataSet) {
-        return createRule(precondition, any -> new DatabaseResult(dataSet));
+        return createRule(precondition, StaticResultMapping.ofDataSet(dataSet));
     }
 
     public ExecuteRule thenReturn(final File file) {
         return thenReturn(file.toPath());
     }
 
+    /**
+     * Returns the data set read from the given file. The file is read again as soon as it has been modified.
+     * The parsed data set is taken from the fixture cache of the controller if one has been configured.
+     * @param path The json, xml or csv file to read the data set from
+     * @return The rule
+     */
     public ExecuteRule thenReturn(final Path path) {
-        final DataSet dataSet;
-
-        try {
-            if (path.toString().endsWith(".json")) {
-                dataSet = new JsonDataSetProducer(path).produce();
-            } else if (path.toString().endsWith(".xml")) {
-                dataSet = new XmlDataSetProducer(path).produce();
-            } else {
-                dataSet = new TableDataSetProducer(new Table("empty")).produce();
-            }
-        } catch (final SQLException e) {
-            throw new JdbcServerException(e);
-        }
-
-        return createRule(precondition, any -> new DatabaseResult(dataSet));
+        return createRule(precondition, StaticResultMapping.ofFile(path, getController().getFixtureCache()));
     }
 
     public ExecuteRule thenReturn() {
-        return createRule(precondition, any -> new DatabaseResult(new DataSet()));
+        return createRule(precondition, StaticResultMapping.ofDataSet(new DataSet()));
     }
 
     @Override
@@ -16,8 +16,11 @@
 
 package com.consol.citrus.db.server.builder;
 
+import com.consol.citrus.db.driver.exchange.PreparedStatementCall;
 import com.consol.citrus.db.server.controller.RuleBasedController;
 import com.consol.citrus.db.server.rules.Precondition;
+import com.consol.citrus.db.server.rules.PreparedStatementPrecondition;
+import com.consol.citrus.db.server.rules.StatementPrecondition;
 
 import java.util.regex.Pattern;
 
@@ -38,7 +41,7 @@ public class StatementRuleBuilder {
     }
 
     public CreatePreparedStatementRuleBuilder prepare(final String sql) {
-        return prepare((stmt) -> stmt.equals(sql));
+        return prepare(StatementPrecondition.equalTo(sql));
     }
 
     public CreatePreparedStatementRuleBuilder prepare(final Precondition<String> matcher) {
@@ -46,27 +49,58 @@ public class StatementRuleBuilder {
     }
 
     public ExecuteQueryRuleBuilder executeQuery(final String sql) {
-        return new ExecuteQueryRuleBuilder((stmt) -> stmt.equals(sql), controller);
+        return new ExecuteQueryRuleBuilder(StatementPrecondition.equalTo(sql), controller);
     }
 
     public ExecuteQueryRuleBuilder executeQuery(final Pattern sql) {
-        return new ExecuteQueryRuleBuilder((stmt) -> sql.matcher(stmt).matches(), controller);
+        return new ExecuteQueryRuleBuilder(StatementPrecondition.matching(sql), controller);
     }
 
     public ExecuteRuleBuilder execute(final String sql) {
-        return new ExecuteRuleBuilder((stmt) -> stmt.equals(sql), controller);
+        return new ExecuteRuleBuilder(StatementPrecondition.equalTo(sql), controller);
     }
 
     public ExecuteRuleBuilder execute(final Pattern sql) {
-        return new ExecuteRuleBuilder((stmt) -> sql.matcher(stmt).matches(), controller);
+        return new ExecuteRuleBuilder(StatementPrecondition.matching(sql), controller);
     }
 
     public ExecuteUpdateRuleBuilder executeUpdate(final String sql) {
-        return new ExecuteUpdateRuleBuilder((stmt) -> stmt.equals(sql), controller);
+        return new ExecuteUpdateRuleBuilder(StatementPrecondition.equalTo(sql), controller);
     }
 
     public ExecuteUpdateRuleBuilder executeUpdate(final Pattern sql) {
-        return new ExecuteUpdateRuleBuilder((stmt) -> sql.matcher(stmt).matches(), controller);
+        return new ExecuteUpdateRuleBuilder(StatementPrecondition.matching(sql), controller);
+    }
+
+    /**
+     * Matches executions of the given prepared statement bound to exactly the given parameter values.
+     * Values are compared with their Java type, e.g. {@code setLong(1, 42L)} is matched by {@code 42L}.
+     * @param sql The prepared statement
+     * @param parameters The parameter values in order of their index followed by named parameters
+     * @return The rule builder
+     */
+    public ExecutePreparedQueryRuleBuilder executePreparedQuery(final String sql, final Object... parameters) {
+        return executePreparedQuery(new PreparedStatementPrecondition(sql, parameters));
+    }
+
+    public ExecutePreparedQueryRuleBuilder executePreparedQuery(final Precondition<PreparedStatementCall> matcher) {
+        return new ExecutePreparedQueryRuleBuilder(matcher, controller);
+    }
+
+    public ExecutePreparedRuleBuilder executePrepared(final String sql, final Object... parameters) {
+        return executePrepared(new PreparedStatementPrecondition(sql, parameters));
+    }
+
+    public ExecutePreparedRuleBuilder executePrepared(final Precondition<PreparedStatementCall> matcher) {
+        return new ExecutePreparedRuleBuilder(matcher, controller);
+    }
+
+    public ExecutePreparedUpdateRuleBuilder executePreparedUpdate(final String sql, final Object... parameters) {
+        return executePreparedUpdate(new PreparedStatementPrecondition(sql, parameters));
+    }
+
+    public ExecutePreparedUpdateRuleBuilder executePreparedUpdate(final Precondition<PreparedStatementCall> matcher) {
+        return new ExecutePreparedUpdateRuleBuilder(matcher, controller);
     }
 
     public CloseStatementRuleBuilder close() {
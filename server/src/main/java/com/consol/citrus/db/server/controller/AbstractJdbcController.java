@@ -17,9 +17,12 @@
 package com.consol.citrus.db.server.controller;
 
 import com.consol.citrus.db.driver.exchange.DatabaseResult;
+import com.consol.citrus.db.driver.exchange.PreparedStatementCall;
+import com.consol.citrus.db.server.session.JdbcSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -58,6 +61,36 @@ public abstract class AbstractJdbcController implements JdbcController {
      */
     protected abstract int handleUpdate(String sql);
 
+    /**
+     * Provides the data set for a cached prepared statement execution. Subclasses may evaluate the typed
+     * parameters directly, by default the composed statement is handled as query.
+     * @param call The prepared statement and its bound parameters
+     * @return The data set mapped to the given call
+     */
+    protected DatabaseResult handlePreparedQuery(final PreparedStatementCall call) {
+        return handleQuery(call.getComposedStatement());
+    }
+
+    /**
+     * Provides the result for a cached prepared statement execution. Subclasses may evaluate the typed
+     * parameters directly, by default the composed statement is executed.
+     * @param call The prepared statement and its bound parameters
+     * @return The result mapped to the given call
+     */
+    protected DatabaseResult handlePreparedExecute(final PreparedStatementCall call) {
+        return handleExecute(call.getComposedStatement());
+    }
+
+    /**
+     * Provides the number of rows updated by a cached prepared statement execution. Subclasses may evaluate
+     * the typed parameters directly, by default the composed statement is handled as update.
+     * @param call The prepared statement and its bound parameters
+     * @return The amount of rows affected by the call
+     */
+    protected int handlePreparedUpdate(final PreparedStatementCall call) {
+        return handleUpdate(call.getComposedStatement());
+    }
+
     @Override
     public void openConnection(final Map<String, String> properties){
         if(log.isDebugEnabled()){
@@ -118,6 +151,67 @@ public abstract class AbstractJdbcController implements JdbcController {
         return rows;
     }
 
+    @Override
+    public int[] executeBatch(final List<String> statements){
+        log.debug("EXECUTE BATCH with {} statements", statements.size());
+
+        final int[] rows = new int[statements.size()];
+        for (int i = 0; i < rows.length; i++) {
+            log.debug("EXECUTE UPDATE: {}", statements.get(i));
+            rows[i] = handleUpdate(statements.get(i));
+        }
+
+        log.debug("BATCH EXECUTION SUCCESSFUL");
+        return rows;
+    }
+
+    @Override
+    public DatabaseResult executePreparedQuery(final PreparedStatementCall call){
+        log.debug("EXECUTE PREPARED QUERY: {} with parameters {}", call.getStatement(), call.getParameters());
+        final DatabaseResult databaseResult = handlePreparedQuery(call);
+
+        logDataSet(databaseResult);
+
+        log.debug("QUERY EXECUTION SUCCESSFUL");
+        return databaseResult;
+    }
+
+    @Override
+    public DatabaseResult executePreparedStatement(final PreparedStatementCall call){
+        log.debug("EXECUTE PREPARED STATEMENT: {} with parameters {}", call.getStatement(), call.getParameters());
+
+        final DatabaseResult databaseResult = handlePreparedExecute(call);
+
+        logDataSet(databaseResult);
+        log.debug("STATEMENT EXECUTION SUCCESSFUL");
+        return databaseResult;
+    }
+
+    @Override
+    public int executePreparedUpdate(final PreparedStatementCall call){
+        log.debug("EXECUTE PREPARED UPDATE: {} with parameters {}", call.getStatement(), call.getParameters());
+
+        final int rows = handlePreparedUpdate(call);
+
+        log.debug("ROWS UPDATED {}", rows);
+        log.debug("UPDATE EXECUTION SUCCESSFUL");
+        return rows;
+    }
+
+    @Override
+    public int[] executePreparedBatch(final List<PreparedStatementCall> calls){
+        log.debug("EXECUTE PREPARED BATCH with {} parameter sets", calls.size());
+
+        final int[] rows = new int[calls.size()];
+        for (int i = 0; i < rows.length; i++) {
+            log.debug("EXECUTE PREPARED UPDATE: {} with parameters {}", calls.get(i).getStatement(), calls.get(i).getParameters());
+            rows[i] = handlePreparedUpdate(calls.get(i));
+        }
+
+        log.debug("BATCH EXECUTION SUCCESSFUL");
+        return rows;
+    }
+
     @Override
     public void closeStatement(){
         log.debug("CLOSE STATEMENT");
@@ -126,13 +220,20 @@ public abstract class AbstractJdbcController implements JdbcController {
     @Override
     public void setTransactionState(final boolean transactionState) {
         log.debug("RECEIVED TRANSACTION STATE CHANGE: {}", transactionState);
-        this.transactionState = transactionState;
+        final JdbcSession session = JdbcSession.current();
+        if (session != null) {
+            session.setTransactionState(transactionState);
+        } else {
+            this.transactionState = transactionState;
+        }
     }
 
     @Override
     public boolean getTransactionState() {
-        log.debug("GET TRANSACTION STATE: {}", transactionState);
-        return this.transactionState;
+        final JdbcSession session = JdbcSession.current();
+        final boolean state = session != null ? session.getTransactionState() : this.transactionState;
+        log.debug("GET TRANSACTION STATE: {}", state);
+        return state;
     }
 
     @Override
@@ -18,8 +18,10 @@ package com.consol.citrus.db.server.controller;
 
 
 import com.consol.citrus.db.driver.exchange.DatabaseResult;
+import com.consol.citrus.db.driver.exchange.PreparedStatementCall;
 import com.consol.citrus.db.server.JdbcServerException;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -77,6 +79,59 @@ public interface JdbcController {
      */
     int executeUpdate(String sql);
 
+    /**
+     * Execute batch of update statements in one go.
+     * @param statements The update statements to execute in order
+     * @return The number of affected rows for each statement
+     * @throws JdbcServerException In case that one of the updates could not be performed
+     */
+    default int[] executeBatch(final List<String> statements) {
+        return statements.stream().mapToInt(this::executeUpdate).toArray();
+    }
+
+    /**
+     * Execute query of a cached prepared statement with its typed parameters. Controllers not
+     * overriding this method receive the composed statement.
+     * @param call The prepared statement and its bound parameters
+     * @throws JdbcServerException In case there was an error processing the query
+     * @return The result of the query
+     */
+    default DatabaseResult executePreparedQuery(final PreparedStatementCall call) {
+        return executeQuery(call.getComposedStatement());
+    }
+
+    /**
+     * Execute cached prepared statement with its typed parameters. Controllers not
+     * overriding this method receive the composed statement.
+     * @param call The prepared statement and its bound parameters
+     * @throws JdbcServerException In case that the statement could not be executed
+     * @return The result of the execution
+     */
+    default DatabaseResult executePreparedStatement(final PreparedStatementCall call) {
+        return executeStatement(call.getComposedStatement());
+    }
+
+    /**
+     * Execute update of a cached prepared statement with its typed parameters. Controllers not
+     * overriding this method receive the composed statement.
+     * @param call The prepared statement and its bound parameters
+     * @return The number of affected rows
+     * @throws JdbcServerException In case that the update could not be performed
+     */
+    default int executePreparedUpdate(final PreparedStatementCall call) {
+        return executeUpdate(call.getComposedStatement());
+    }
+
+    /**
+     * Execute batch of prepared statement updates in one go.
+     * @param calls The prepared statement executions in order
+     * @return The number of affected rows for each execution
+     * @throws JdbcServerException In case that one of the updates could not be performed
+     */
+    default int[] executePreparedBatch(final List<PreparedStatementCall> calls) {
+        return calls.stream().mapToInt(this::executePreparedUpdate).toArray();
+    }
+
     /**
      * Close request.
      * @throws JdbcServerException In case the statement could not be closed
@@ -16,23 +16,27 @@
 
 package com.consol.citrus.db.server.controller;
 
+import com.consol.citrus.db.driver.dataset.FixtureCache;
 import com.consol.citrus.db.driver.exchange.DatabaseResult;
+import com.consol.citrus.db.driver.exchange.PreparedStatementCall;
 import com.consol.citrus.db.server.rules.CloseConnectionRule;
 import com.consol.citrus.db.server.rules.CloseStatementRule;
 import com.consol.citrus.db.server.rules.CommitTransactionRule;
 import com.consol.citrus.db.server.rules.CreateCallableStatementRule;
 import com.consol.citrus.db.server.rules.CreatePreparedStatementRule;
 import com.consol.citrus.db.server.rules.CreateStatementRule;
+import com.consol.citrus.db.server.rules.ExecutePreparedQueryRule;
+import com.consol.citrus.db.server.rules.ExecutePreparedRule;
+import com.consol.citrus.db.server.rules.ExecutePreparedUpdateRule;
 import com.consol.citrus.db.server.rules.ExecuteQueryRule;
 import com.consol.citrus.db.server.rules.ExecuteRule;
 import com.consol.citrus.db.server.rules.ExecuteUpdateRule;
 import com.consol.citrus.db.server.rules.OpenConnectionRule;
 import com.consol.citrus.db.server.rules.RollbackTransactionRule;
 import com.consol.citrus.db.server.rules.Rule;
+import com.consol.citrus.db.server.rules.RuleIndex;
 import com.consol.citrus.db.server.rules.StartTransactionRule;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -42,18 +46,24 @@ public class RuleBasedController extends AbstractJdbcController{
 
     private final AbstractJdbcController delegateJdbcController;
 
-    private List<OpenConnectionRule> openConnectionRules = new ArrayList<>();
-    private List<CloseConnectionRule> closeConnectionRules = new ArrayList<>();
-    private List<CreateStatementRule> createStatementRules = new ArrayList<>();
-    private List<CreatePreparedStatementRule> createPreparedStatementRules = new ArrayList<>();
-    private List<CloseStatementRule> closeStatementRules = new ArrayList<>();
-    private List<ExecuteQueryRule> executeQueryRules = new ArrayList<>();
-    private List<ExecuteRule> executeRules = new ArrayList<>();
-    private List<ExecuteUpdateRule> executeUpdateRules = new ArrayList<>();
-    private List<StartTransactionRule> startTransactionRule = new ArrayList<>();
-    private List<CommitTransactionRule> commitTransactionRule = new ArrayList<>();
-    private List<RollbackTransactionRule> rollbackTransactionRule = new ArrayList<>();
-    private List<CreateCallableStatementRule> createCallableStatementRules = new ArrayList<>();
+    private final RuleIndex<Map<String, String>, OpenConnectionRule> openConnectionRules = new RuleIndex<>(any -> null);
+    private final RuleIndex<Void, CloseConnectionRule> closeConnectionRules = new RuleIndex<>(any -> null);
+    private final RuleIndex<Void, CreateStatementRule> createStatementRules = new RuleIndex<>(any -> null);
+    private final RuleIndex<String, CreatePreparedStatementRule> createPreparedStatementRules = new RuleIndex<>(sql -> sql);
+    private final RuleIndex<Void, CloseStatementRule> closeStatementRules = new RuleIndex<>(any -> null);
+    private final RuleIndex<String, ExecuteQueryRule> executeQueryRules = new RuleIndex<>(sql -> sql);
+    private final RuleIndex<String, ExecuteRule> executeRules = new RuleIndex<>(sql -> sql);
+    private final RuleIndex<String, ExecuteUpdateRule> executeUpdateRules = new RuleIndex<>(sql -> sql);
+    private final RuleIndex<PreparedStatementCall, ExecutePreparedQueryRule> executePreparedQueryRules = new RuleIndex<>(PreparedStatementCall::getStatement);
+    private final RuleIndex<PreparedStatementCall, ExecutePreparedRule> executePreparedRules = new RuleIndex<>(PreparedStatementCall::getStatement);
+    private final RuleIndex<PreparedStatementCall, ExecutePreparedUpdateRule> executePreparedUpdateRules = new RuleIndex<>(PreparedStatementCall::getStatement);
+    private final RuleIndex<Void, StartTransactionRule> startTransactionRule = new RuleIndex<>(any -> null);
+    private final RuleIndex<Void, CommitTransactionRule> commitTransactionRule = new RuleIndex<>(any -> null);
+    private final RuleIndex<Void, RollbackTransactionRule> rollbackTransactionRule = new RuleIndex<>(any -> null);
+    private final RuleIndex<String, CreateCallableStatementRule> createCallableStatementRules = new RuleIndex<>(sql -> sql);
+
+    /** Cache of parsed fixture files used by rules returning file based results, null if disabled */
+    private FixtureCache fixtureCache;
 
     public RuleBasedController() {
         delegateJdbcController = new SimpleJdbcController();
@@ -65,82 +75,90 @@ public class RuleBasedController extends AbstractJdbcController{
 
     @Override
     protected DatabaseResult handleQuery(final String sql){
-        return executeQueryRules.stream()
-                .filter(rule -> rule.matches(sql))
-                .findFirst()
-                .orElse(new ExecuteQueryRule(delegateJdbcController::handleQuery))
-                .applyOn(sql);
+        final ExecuteQueryRule rule = executeQueryRules.claim(sql);
+        return rule != null ? rule.applyClaimed(sql) : delegateJdbcController.handleQuery(sql);
     }
 
     @Override
     protected DatabaseResult handleExecute(final String sql){
-        return executeRules.stream()
-                .filter(rule -> rule.matches(sql))
-                .findFirst()
-                .orElse(new ExecuteRule(delegateJdbcController::handleExecute))
-                .applyOn(sql);
+        final ExecuteRule rule = executeRules.claim(sql);
+        return rule != null ? rule.applyClaimed(sql) : delegateJdbcController.handleExecute(sql);
     }
 
     @Override
     protected int handleUpdate(final String sql){
-        return executeUpdateRules.stream()
-                .filter(rule -> rule.matches(sql))
-                .findFirst()
-                .orElse(new ExecuteUpdateRule(delegateJdbcController::handleUpdate))
-                .applyOn(sql);
+        final ExecuteUpdateRule rule = executeUpdateRules.claim(sql);
+        return rule != null ? rule.applyClaimed(sql) : delegateJdbcController.handleUpdate(sql);
+    }
+
+    /**
+     * Evaluates the prepared statement rules on the typed parameters. Calls without matching prepared
+     * statement rule are evaluated as composed statement against the query rules.
+     */
+    @Override
+    protected DatabaseResult handlePreparedQuery(final PreparedStatementCall call){
+        final ExecutePreparedQueryRule rule = executePreparedQueryRules.claim(call);
+        return rule != null ? rule.applyClaimed(call) : super.handlePreparedQuery(call);
+    }
+
+    @Override
+    protected DatabaseResult handlePreparedExecute(final PreparedStatementCall call){
+        final ExecutePreparedRule rule = executePreparedRules.claim(call);
+        return rule != null ? rule.applyClaimed(call) : super.handlePreparedExecute(call);
+    }
+
+    @Override
+    protected int handlePreparedUpdate(final PreparedStatementCall call){
+        final ExecutePreparedUpdateRule rule = executePreparedUpdateRules.claim(call);
+        return rule != null ? rule.applyClaimed(call) : super.handlePreparedUpdate(call);
     }
 
     @Override
     public void openConnection(final Map<String, String> properties){
-        openConnectionRules.stream()
-                .filter(rule -> rule.matches(properties))
-                .findFirst()
-                .orElse(new OpenConnectionRule())
-                .applyOn(properties);
+        final OpenConnectionRule rule = openConnectionRules.claim(properties);
+        if (rule != null) {
+            rule.applyClaimed(properties);
+        }
 
         delegateJdbcController.openConnection(properties);
     }
 
     @Override
     public void closeConnection(){
-        closeConnectionRules.stream()
-                .filter(rule -> rule.matches(null))
-                .findFirst()
-                .orElse(new CloseConnectionRule())
-                .applyOn(null);
+        final CloseConnectionRule rule = closeConnectionRules.claim(null);
+        if (rule != null) {
+            rule.applyClaimed(null);
+        }
 
         delegateJdbcController.closeConnection();
     }
 
     @Override
     public void createStatement(){
-        createStatementRules.stream()
-                .filter(rule -> rule.matches(null))
-                .findFirst()
-                .orElse(new CreateStatementRule())
-                .applyOn(null);
+        final CreateStatementRule rule = createStatementRules.claim(null);
+        if (rule != null) {
+            rule.applyClaimed(null);
+        }
 
         delegateJdbcController.createStatement();
     }
 
     @Override
     public void createPreparedStatement(final String sql){
-        createPreparedStatementRules.stream()
-                .filter(rule -> rule.matches(sql))
-                .findFirst()
-                .orElse(new CreatePreparedStatementRule())
-                .applyOn(null);
+        final CreatePreparedStatementRule rule = createPreparedStatementRules.claim(sql);
+        if (rule != null) {
+            rule.applyClaimed(null);
+        }
 
         delegateJdbcController.createPreparedStatement(sql);
     }
 
     @Override
     public void closeStatement(){
-        closeStatementRules.stream()
-                .filter(rule -> rule.matches(null))
-                .findFirst()
-                .orElse(new CloseStatementRule())
-                .applyOn(null);
+        final CloseStatementRule rule = closeStatementRules.claim(null);
+        if (rule != null) {
+            rule.applyClaimed(null);
+        }
 
         delegateJdbcController.closeStatement();
     }
@@ -148,11 +166,10 @@ public class RuleBasedController extends AbstractJdbcController{
     @Override
     public void setTransactionState(final boolean transactionState) {
         if(transactionState){
-            startTransactionRule.stream()
-                    .filter(rule -> rule.matches(null))
-                    .findFirst()
-                    .orElse(new StartTransactionRule())
-                    .applyOn(null);
+            final StartTransactionRule rule = startTransactionRule.claim(null);
+            if (rule != null) {
+                rule.applyClaimed(null);
+            }
         }
 
         delegateJdbcController.setTransactionState(transactionState);
@@ -160,37 +177,52 @@ public class RuleBasedController extends AbstractJdbcController{
 
     @Override
     public void commitStatements() {
-        commitTransactionRule.stream()
-                .filter(rule -> rule.matches(null))
-                .findFirst()
-                .orElse(new CommitTransactionRule())
-                .applyOn(null);
+        final CommitTransactionRule rule = commitTransactionRule.claim(null);
+        if (rule != null) {
+            rule.applyClaimed(null);
+        }
 
         delegateJdbcController.commitStatements();
     }
 
     @Override
     public void rollbackStatements() {
-        rollbackTransactionRule.stream()
-                .filter(rule -> rule.matches(null))
-                .findFirst()
-                .orElse(new RollbackTransactionRule())
-                .applyOn(null);
+        final RollbackTransactionRule rule = rollbackTransactionRule.claim(null);
+        if (rule != null) {
+            rule.applyClaimed(null);
+        }
 
         delegateJdbcController.rollbackStatements();
     }
 
     @Override
     public void createCallableStatement(final String sql) {
-        createCallableStatementRules.stream()
-                .filter(rule -> rule.matches(sql))
-                .findFirst()
-                .orElse(new CreateCallableStatementRule())
-                .applyOn(null);
+        final CreateCallableStatementRule rule = createCallableStatementRules.claim(sql);
+        if (rule != null) {
+            rule.applyClaimed(null);
+        }
 
         delegateJdbcController.createStatement();
     }
 
+    /**
+     * Gets the fixtureCache.
+     *
+     * @return The fixture cache or null if fixtures are parsed on every read
+     */
+    public FixtureCache getFixtureCache() {
+        return fixtureCache;
+    }
+
+    /**
+     * Sets the fixtureCache.
+     *
+     * @param fixtureCache The fixture cache to use for rules returning file based results
+     */
+    public void setFixtureCache(final FixtureCache fixtureCache) {
+        this.fixtureCache = fixtureCache;
+    }
+
     public RuleBasedController add(final Rule rule) {
         if (rule instanceof OpenConnectionRule) {
             add((OpenConnectionRule) rule);
@@ -208,6 +240,12 @@ public class RuleBasedController extends AbstractJdbcController{
             add((ExecuteRule) rule);
         } else if (rule instanceof ExecuteUpdateRule) {
             add((ExecuteUpdateRule) rule);
+        } else if (rule instanceof ExecutePreparedQueryRule) {
+            add((ExecutePreparedQueryRule) rule);
+        } else if (rule instanceof ExecutePreparedRule) {
+            add((ExecutePreparedRule) rule);
+        } else if (rule instanceof ExecutePreparedUpdateRule) {
+            add((ExecutePreparedUpdateRule) rule);
         } else if (rule instanceof StartTransactionRule) {
             add((StartTransactionRule) rule);
         } else if (rule instanceof CommitTransactionRule) {
@@ -253,6 +291,18 @@ public class RuleBasedController extends AbstractJdbcController{
         this.executeUpdateRules.add(rule);
     }
 
+    private void add(final ExecutePreparedQueryRule rule) {
+        this.executePreparedQueryRules.add(rule);
+    }
+
+    private void add(final ExecutePreparedRule rule) {
+        this.executePreparedRules.add(rule);
+    }
+
+    private void add(final ExecutePreparedUpdateRule rule) {
+        this.executePreparedUpdateRules.add(rule);
+    }
+
     private void add(final StartTransactionRule rule) {
         this.startTransactionRule.add(rule);
     }
@@ -17,6 +17,7 @@
 package com.consol.citrus.db.server.handler;
 
 import com.consol.citrus.db.server.controller.JdbcController;
+import com.consol.citrus.db.server.session.JdbcSession;
 import spark.Route;
 
 public abstract class AbstractJdbcRequestHandler implements Route {
@@ -26,4 +27,32 @@ public abstract class AbstractJdbcRequestHandler implements Route {
     public AbstractJdbcRequestHandler(final JdbcController controller){
         this.controller = controller;
     }
+
+    /**
+     * Gets the session of the connection the current request belongs to.
+     * @return The session or null if the client does not use sessions
+     */
+    protected JdbcSession getSession() {
+        return JdbcSession.current();
+    }
+
+    /**
+     * Records a statement opened by the connection of the current request.
+     */
+    protected void statementOpened() {
+        final JdbcSession session = getSession();
+        if (session != null) {
+            session.statementOpened();
+        }
+    }
+
+    /**
+     * Records a statement closed by the connection of the current request.
+     */
+    protected void statementClosed() {
+        final JdbcSession session = getSession();
+        if (session != null) {
+            session.statementClosed();
+        }
+    }
 }
@@ -18,19 +18,33 @@ package com.consol.citrus.db.server.handler.connection;
 
 import com.consol.citrus.db.server.controller.JdbcController;
 import com.consol.citrus.db.server.handler.AbstractJdbcRequestHandler;
+import com.consol.citrus.db.server.session.JdbcSession;
+import com.consol.citrus.db.server.session.SessionRegistry;
 import spark.Request;
 import spark.Response;
 
 public class CloseConnectionHandler extends AbstractJdbcRequestHandler {
 
 
+    private final SessionRegistry sessions;
+
     public CloseConnectionHandler(final JdbcController controller) {
+        this(controller, null);
+    }
+
+    public CloseConnectionHandler(final JdbcController controller, final SessionRegistry sessions) {
         super(controller);
+        this.sessions = sessions;
     }
 
     @Override
     public String handle(final Request request, final Response response){
         controller.closeConnection();
+
+        final JdbcSession session = getSession();
+        if (sessions != null && session != null) {
+            sessions.close(session.getId());
+        }
         return "";
     }
 }
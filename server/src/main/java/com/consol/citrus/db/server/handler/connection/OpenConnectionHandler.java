@@ -18,17 +18,29 @@ package com.consol.citrus.db.server.handler.connection;
 
 import com.consol.citrus.db.server.controller.JdbcController;
 import com.consol.citrus.db.server.handler.AbstractJdbcRequestHandler;
+import com.consol.citrus.db.server.session.JdbcSession;
+import com.consol.citrus.db.server.session.SessionRegistry;
 import spark.Request;
 import spark.Response;
 
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Opens a connection. If a {@link SessionRegistry} is given, a new session is opened for the connection
+ * and its id is returned to the client, otherwise the response body is empty.
+ */
 public class OpenConnectionHandler extends AbstractJdbcRequestHandler {
 
+    private final SessionRegistry sessions;
 
     public OpenConnectionHandler(final JdbcController controller) {
+        this(controller, null);
+    }
+
+    public OpenConnectionHandler(final JdbcController controller, final SessionRegistry sessions) {
         super(controller);
+        this.sessions = sessions;
     }
 
     @Override
@@ -37,7 +49,10 @@ public class OpenConnectionHandler extends AbstractJdbcRequestHandler {
         request.queryParams().forEach(
                 (parameter) -> parameters.put(parameter, request.queryParams(parameter)));
 
+        final JdbcSession session = sessions != null ? sessions.open() : null;
+        JdbcSession.bind(session);
+
         controller.openConnection(parameters);
-        return "";
+        return session != null ? session.getId() : "";
     }
 }
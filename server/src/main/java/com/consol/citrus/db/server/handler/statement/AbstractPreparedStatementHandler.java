@@ -0,0 +1,85 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.db.server.handler.statement;
+
+import com.consol.citrus.db.driver.exchange.PreparedStatementCall;
+import com.consol.citrus.db.driver.exchange.StatementParameter;
+import com.consol.citrus.db.server.JdbcServerException;
+import com.consol.citrus.db.server.controller.JdbcController;
+import com.consol.citrus.db.server.handler.AbstractJdbcRequestHandler;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import spark.Request;
+
+import java.io.IOException;
+import java.util.List;
+
+import static spark.Spark.halt;
+
+/**
+ * Base class for handlers operating on a statement cached in the {@link PreparedStatementRegistry}.
+ * The statement handle is given as path parameter, unknown handles are answered with 404.
+ */
+public abstract class AbstractPreparedStatementHandler extends AbstractJdbcRequestHandler {
+
+    static final TypeReference<List<StatementParameter>> PARAMETERS_TYPE =
+            new TypeReference<List<StatementParameter>>() {};
+
+    static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    final PreparedStatementRegistry registry;
+
+    AbstractPreparedStatementHandler(final JdbcController controller, final PreparedStatementRegistry registry) {
+        super(controller);
+        this.registry = registry;
+    }
+
+    /**
+     * Gets the registry holding the statements of the current request's connection.
+     * @return The session registry or the shared registry for clients without session
+     */
+    PreparedStatementRegistry getRegistry() {
+        return getSession() != null ? getSession().getPreparedStatements() : registry;
+    }
+
+    /**
+     * Gets the prepared statement referenced by the request.
+     * @param request The request holding the statement handle
+     * @return The prepared statement
+     */
+    String getStatement(final Request request) {
+        final String statement = getRegistry().get(request.params(":handle"));
+        if (statement == null) {
+            throw halt(404, "Unknown prepared statement handle: " + request.params(":handle"));
+        }
+        return statement;
+    }
+
+    /**
+     * Reads the call of the prepared statement referenced by the request.
+     * @param request The request holding the statement handle and the parameters as Json array
+     * @return The prepared statement call
+     */
+    PreparedStatementCall readCall(final Request request) {
+        final String statement = getStatement(request);
+        try {
+            return new PreparedStatementCall(statement, OBJECT_MAPPER.readValue(request.body(), PARAMETERS_TYPE));
+        } catch (final IOException e) {
+            throw new JdbcServerException("Invalid prepared statement request - expected Json array of parameters", e);
+        }
+    }
+}
@@ -31,6 +31,7 @@ public class CloseStatementHandler extends AbstractJdbcRequestHandler {
     @Override
     public String handle(final Request request, final Response response) {
         controller.closeStatement();
+        statementClosed();
         return "";
     }
 }
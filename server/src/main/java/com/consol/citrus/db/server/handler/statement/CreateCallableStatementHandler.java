@@ -30,6 +30,7 @@ public class CreateCallableStatementHandler extends AbstractJdbcRequestHandler {
     @Override
     public String handle(final Request request, final Response response) throws Exception {
         controller.createCallableStatement(request.body());
+        statementOpened();
         return "";
     }
 }
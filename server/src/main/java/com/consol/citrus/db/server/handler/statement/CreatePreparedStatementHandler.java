@@ -21,16 +21,33 @@ import com.consol.citrus.db.server.handler.AbstractJdbcRequestHandler;
 import spark.Request;
 import spark.Response;
 
+/**
+ * Prepares a statement. If a {@link PreparedStatementRegistry} is given, the statement is cached and its handle
+ * is returned to the client, otherwise the response body is empty and the client has to send the composed
+ * statement on each execution. Statements of clients using sessions are cached in the session.
+ */
 public class CreatePreparedStatementHandler extends AbstractJdbcRequestHandler {
 
+    private final PreparedStatementRegistry registry;
 
     public CreatePreparedStatementHandler(final JdbcController controller) {
+        this(controller, null);
+    }
+
+    public CreatePreparedStatementHandler(final JdbcController controller, final PreparedStatementRegistry registry) {
         super(controller);
+        this.registry = registry;
     }
 
     @Override
     public String handle(final Request request, final Response response) {
         controller.createPreparedStatement(request.body());
-        return "";
+        statementOpened();
+
+        if (registry == null) {
+            return "";
+        }
+        return getSession() != null ?
+                getSession().getPreparedStatements().register(request.body()) : registry.register(request.body());
     }
 }
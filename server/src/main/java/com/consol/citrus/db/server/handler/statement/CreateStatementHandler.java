@@ -33,6 +33,7 @@ public class CreateStatementHandler extends AbstractJdbcRequestHandler {
     @Override
     public String handle(final Request request, final Response response) throws IOException {
         controller.createStatement();
+        statementOpened();
         return "";
     }
 }
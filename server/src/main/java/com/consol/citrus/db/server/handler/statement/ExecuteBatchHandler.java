@@ -0,0 +1,55 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.db.server.handler.statement;
+
+import com.consol.citrus.db.server.JdbcServerException;
+import com.consol.citrus.db.server.controller.JdbcController;
+import com.consol.citrus.db.server.handler.AbstractJdbcRequestHandler;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import spark.Request;
+import spark.Response;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Executes all statements of a batch sent as Json array in a single request.
+ */
+public class ExecuteBatchHandler extends AbstractJdbcRequestHandler {
+
+    private static final TypeReference<List<String>> STATEMENTS_TYPE = new TypeReference<List<String>>() {};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public ExecuteBatchHandler(final JdbcController controller) {
+        super(controller);
+    }
+
+    @Override
+    public int[] handle(final Request request, final Response response) {
+        final List<String> statements;
+        try {
+            statements = objectMapper.readValue(request.body(), STATEMENTS_TYPE);
+        } catch (final IOException e) {
+            throw new JdbcServerException("Invalid batch request - expected Json array of statements", e);
+        }
+
+        response.type("application/json");
+        return controller.executeBatch(statements);
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.db.server.handler.statement;
+
+import com.consol.citrus.db.driver.exchange.PreparedStatementCall;
+import com.consol.citrus.db.driver.exchange.StatementParameter;
+import com.consol.citrus.db.server.JdbcServerException;
+import com.consol.citrus.db.server.controller.JdbcController;
+import com.fasterxml.jackson.core.type.TypeReference;
+import spark.Request;
+import spark.Response;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Executes a prepared statement once for each parameter set of a batch sent as Json array in a single request.
+ */
+public class ExecutePreparedBatchHandler extends AbstractPreparedStatementHandler {
+
+    private static final TypeReference<List<List<StatementParameter>>> BATCH_TYPE =
+            new TypeReference<List<List<StatementParameter>>>() {};
+
+    public ExecutePreparedBatchHandler(final JdbcController controller, final PreparedStatementRegistry registry) {
+        super(controller, registry);
+    }
+
+    @Override
+    public int[] handle(final Request request, final Response response) {
+        final String statement = getStatement(request);
+
+        final List<List<StatementParameter>> batch;
+        try {
+            batch = OBJECT_MAPPER.readValue(request.body(), BATCH_TYPE);
+        } catch (final IOException e) {
+            throw new JdbcServerException("Invalid batch request - expected Json array of parameter sets", e);
+        }
+
+        response.type("application/json");
+        return controller.executePreparedBatch(batch.stream()
+                .map(parameters -> new PreparedStatementCall(statement, parameters))
+                .collect(Collectors.toList()));
+    }
+}
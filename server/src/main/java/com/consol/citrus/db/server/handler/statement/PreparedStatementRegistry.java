@@ -0,0 +1,93 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.db.server.handler.statement;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches the statements prepared by clients under a handle so that executions only have to send the
+ * handle along with the bound parameters. The registry is bounded, the least recently used statement is
+ * evicted once the maximum number of statements is exceeded.
+ */
+public class PreparedStatementRegistry {
+
+    /** Sequence generating the statement handles */
+    private final AtomicLong handleSequence = new AtomicLong();
+
+    /** Prepared statements by handle in access order */
+    private final Map<String, String> statements;
+
+    /**
+     * Constructor using the maximum number of statements to cache.
+     * @param maxStatements The maximum number of cached statements
+     */
+    public PreparedStatementRegistry(final int maxStatements) {
+        this.statements = new LinkedHashMap<String, String>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, String> eldest) {
+                return size() > maxStatements;
+            }
+        };
+    }
+
+    /**
+     * Caches the given statement under a new handle.
+     * @param sql The prepared statement
+     * @return The handle of the statement
+     */
+    public String register(final String sql) {
+        final String handle = String.valueOf(handleSequence.incrementAndGet());
+        synchronized (statements) {
+            statements.put(handle, sql);
+        }
+        return handle;
+    }
+
+    /**
+     * Gets the statement cached under the given handle.
+     * @param handle The statement handle
+     * @return The prepared statement or null if the handle is unknown
+     */
+    public String get(final String handle) {
+        synchronized (statements) {
+            return statements.get(handle);
+        }
+    }
+
+    /**
+     * Removes the statement cached under the given handle.
+     * @param handle The statement handle
+     * @return The released statement or null if the handle is unknown
+     */
+    public String release(final String handle) {
+        synchronized (statements) {
+            return statements.remove(handle);
+        }
+    }
+
+    /**
+     * Gets the number of cached statements.
+     * @return The number of cached statements
+     */
+    public int size() {
+        synchronized (statements) {
+            return statements.size();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.server.rules;
+
+import com.consol.citrus.db.driver.exchange.PreparedStatementCall;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Precondition matching executions of a prepared statement bound to exactly the given parameter values.
+ * The statement is exposed so that rules using this precondition can be looked up by statement.
+ */
+public final class PreparedStatementPrecondition implements Precondition<PreparedStatementCall> {
+
+    private final String statement;
+
+    /** The expected parameter values in order of their index followed by named parameters */
+    private final List<Object> parameterValues;
+
+    public PreparedStatementPrecondition(final String statement, final Object... parameterValues) {
+        this.statement = Objects.requireNonNull(statement);
+        this.parameterValues = Collections.unmodifiableList(Arrays.asList(parameterValues));
+    }
+
+    @Override
+    public boolean match(final PreparedStatementCall candidate) {
+        return statement.equals(candidate.getStatement()) &&
+                parameterValues.equals(candidate.getParameterValues());
+    }
+
+    public String getStatement() {
+        return statement;
+    }
+
+    public List<Object> getParameterValues() {
+        return parameterValues;
+    }
+
+    @Override
+    public String toString() {
+        return "PreparedStatementPrecondition{" +
+                "statement='" + statement + '\'' +
+                ", parameterValues=" + parameterValues +
+                '}';
+    }
+}
@@ -26,8 +26,8 @@ public class Rule<P, R, T extends Rule> {
     /** The mapping of the rule transforming P -> R */
     private final Mapping<P, R> mapping;
 
-    /** The amount of invocations */
-    private AtomicInteger maxInvocation;
+    /** The amount of invocations left, null for unlimited invocations */
+    private volatile AtomicInteger maxInvocation;
 
     /** The self reference of this rule */
     private final T self;
@@ -57,37 +57,101 @@ public class Rule<P, R, T extends Rule> {
         this.self = (T) this;
     }
 
+    /**
+     * Gets the precondition of this rule.
+     * @return The precondition
+     */
+    Precondition<P> getPrecondition() {
+        return precondition;
+    }
+
     /**
      * Determines whether a given object fulfills the precondition of this rule
      * @param candidate The object to evaluate the precondition on
      * @return The result of the precondition evaluation
      */
     public final boolean matches(final P candidate) {
-        final boolean matching = (maxInvocation == null || maxInvocation.get() != 0) && precondition.match(candidate);
+        final AtomicInteger invocations = maxInvocation;
+        final boolean matching = (invocations == null || invocations.get() != 0) && precondition.match(candidate);
 
         if (matching) {
-            log.debug(String.format("Found matching rule for candidate '%s'", Optional.ofNullable(candidate).map(Object::toString).orElse("")));
-        } else {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Found matching rule for candidate '%s'", Optional.ofNullable(candidate).map(Object::toString).orElse("")));
+            }
+        } else if (log.isTraceEnabled()) {
             log.trace(String.format("Rule mismatch for candidate '%s'", Optional.ofNullable(candidate).map(Object::toString).orElse("")));
         }
 
         return matching;
     }
 
+    /**
+     * Determines whether a given object fulfills the precondition of this rule and reserves one of the remaining
+     * invocations in the same step, so that concurrent requests can not apply the rule more often than specified.
+     * A claimed rule has to be applied using {@link #applyClaimed(Object)}.
+     * @param candidate The object to evaluate the precondition on
+     * @return Whether the precondition is fulfilled and an invocation could be reserved
+     */
+    public final boolean claim(final P candidate) {
+        return matches(candidate) && reserve();
+    }
+
+    /**
+     * Determines whether all invocations of this rule have been used up.
+     * @return Whether the rule can not be applied anymore
+     */
+    public final boolean isExhausted() {
+        final AtomicInteger invocations = maxInvocation;
+        return invocations != null && invocations.get() == 0;
+    }
+
     /**
      * Applies the rule on the given domain object and returns the mapped codomain object
      * @param domainObject The object to be mapped
      * @return The mapped object of the codomain
-     * @throws JdbcServerException In case of an error
+     * @throws JdbcServerException In case of an error or if all invocations of the rule have been used up
      */
     public final R applyOn(final P domainObject){
-        if (maxInvocation != null) {
-            maxInvocation.decrementAndGet();
+        if (!reserve()) {
+            throw new JdbcServerException("Rule has been applied the maximum number of times");
         }
+        return mapping.map(domainObject);
+    }
 
+    /**
+     * Applies the rule on the given domain object after an invocation has been reserved by {@link #claim(Object)}.
+     * @param domainObject The object to be mapped
+     * @return The mapped object of the codomain
+     * @throws JdbcServerException In case of an error
+     */
+    public final R applyClaimed(final P domainObject){
         return mapping.map(domainObject);
     }
 
+    /**
+     * Reserves one of the remaining invocations. As before a negative amount of invocations never reaches
+     * zero and is therefore not limited.
+     * @return Whether an invocation could be reserved
+     */
+    boolean reserve() {
+        final AtomicInteger invocations = maxInvocation;
+        if (invocations == null) {
+            return true;
+        }
+
+        int remaining;
+        do {
+            remaining = invocations.get();
+            if (remaining == 0) {
+                return false;
+            } else if (remaining < 0) {
+                return true;
+            }
+        } while (!invocations.compareAndSet(remaining, remaining - 1));
+
+        return true;
+    }
+
     /**
      * Specifies the maximum invocations possible for that rule
      * @param times The maximum amount of invocations
@@ -0,0 +1,339 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.server.rules;
+
+import com.consol.citrus.db.server.util.DeamonThread;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Index of the rules of one kind, looking up the first registered rule matching a candidate without
+ * evaluating all rules one after another. Rules are grouped by their precondition:
+ * <ul>
+ *     <li>rules matching an exact statement are kept in a hash map by statement</li>
+ *     <li>rules matching a statement pattern are combined into a single alternation that determines the
+ *     first pattern rule matching a statement in one pass</li>
+ *     <li>rules with arbitrary preconditions are evaluated in order of registration</li>
+ * </ul>
+ * Across these groups the rule registered first wins, just as if all rules were evaluated in order.
+ *
+ * The index is copy-on-write: lookups work on an immutable snapshot without any locking, while added rules
+ * are published by building a new snapshot on the next lookup. Rules that have used up their invocations
+ * are compacted out of the index in the background.
+ *
+ * @param <P> The input type of the rules
+ * @param <T> The type of the rules
+ */
+public class RuleIndex<P, T extends Rule<P, ?, T>> {
+
+    /** Pattern flags that can be expressed as inline flags within the combined pattern */
+    private static final int INLINE_FLAGS = Pattern.CASE_INSENSITIVE | Pattern.UNIX_LINES | Pattern.MULTILINE |
+            Pattern.DOTALL | Pattern.UNICODE_CASE | Pattern.UNICODE_CHARACTER_CLASS;
+
+    /** Back references, quotations and named groups change their meaning when combined with other patterns */
+    private static final Pattern NOT_COMBINABLE = Pattern.compile("\\\\(?:\\d|k<|Q)|\\(\\?<[a-zA-Z]");
+
+    /** Executor compacting exhausted rules out of all indices */
+    private static final Executor COMPACTION_EXECUTOR = Executors.newSingleThreadExecutor(DeamonThread::new);
+
+    /** Extracts the statement of a candidate */
+    private final Function<P, String> statementOf;
+
+    private final Executor compactionExecutor;
+
+    /** All rules in order of registration, guarded by this */
+    private final List<T> rules = new ArrayList<>();
+
+    /** The snapshot used for lookups, null if rules have been added since it has been built */
+    private volatile Snapshot<P, T> snapshot;
+
+    private final AtomicBoolean compactionScheduled = new AtomicBoolean();
+
+    /**
+     * Constructor using the function to determine the statement of a candidate.
+     * @param statementOf Function extracting the statement of a candidate, e.g. the sql of a prepared statement call
+     */
+    public RuleIndex(final Function<P, String> statementOf) {
+        this(statementOf, COMPACTION_EXECUTOR);
+    }
+
+    RuleIndex(final Function<P, String> statementOf, final Executor compactionExecutor) {
+        this.statementOf = statementOf;
+        this.compactionExecutor = compactionExecutor;
+    }
+
+    /**
+     * Adds a rule to the index. Rules added earlier take precedence over rules added later.
+     * @param rule The rule to add
+     */
+    public synchronized void add(final T rule) {
+        rules.add(rule);
+        snapshot = null;
+    }
+
+    /**
+     * Finds the first registered rule matching the given candidate and reserves one of its invocations.
+     * The returned rule has to be applied using {@link Rule#applyClaimed(Object)}.
+     * @param candidate The candidate to find a rule for
+     * @return The claimed rule or null if no rule matches
+     */
+    public T claim(final P candidate) {
+        final Snapshot<P, T> current = getSnapshot();
+        final String statement = candidate != null ? statementOf.apply(candidate) : null;
+        final T rule = current.claim(statement, candidate);
+
+        if (rule != null && rule.isExhausted()) {
+            scheduleCompaction();
+        }
+        return rule;
+    }
+
+    /**
+     * Gets the number of rules in the index including rules not yet compacted out.
+     * @return The number of rules
+     */
+    public synchronized int size() {
+        return rules.size();
+    }
+
+    private Snapshot<P, T> getSnapshot() {
+        final Snapshot<P, T> current = snapshot;
+        if (current != null) {
+            return current;
+        }
+
+        synchronized (this) {
+            if (snapshot == null) {
+                snapshot = new Snapshot<>(rules);
+            }
+            return snapshot;
+        }
+    }
+
+    private void scheduleCompaction() {
+        if (compactionScheduled.compareAndSet(false, true)) {
+            compactionExecutor.execute(this::compact);
+        }
+    }
+
+    /**
+     * Removes exhausted rules and publishes a new snapshot, lookups keep using the previous snapshot
+     * until the new one is available.
+     */
+    private void compact() {
+        compactionScheduled.set(false);
+
+        synchronized (this) {
+            if (rules.removeIf(Rule::isExhausted)) {
+                snapshot = new Snapshot<>(rules);
+            }
+        }
+    }
+
+    private static boolean isCombinable(final Pattern pattern) {
+        return (pattern.flags() & ~INLINE_FLAGS) == 0 && !NOT_COMBINABLE.matcher(pattern.pattern()).find();
+    }
+
+    /**
+     * Immutable view on the rules grouped by their preconditions.
+     */
+    private static final class Snapshot<P, T extends Rule<P, ?, T>> {
+
+        private final Map<String, List<IndexedRule<T>>> statementRules = new HashMap<>();
+        private final List<IndexedRule<T>> patternRules = new ArrayList<>();
+        private final List<IndexedRule<T>> genericRules = new ArrayList<>();
+
+        /** Combined pattern of all pattern rules, null if there are no pattern rules */
+        private final PatternAlternation alternation;
+
+        private Snapshot(final List<T> rules) {
+            final List<Pattern> patterns = new ArrayList<>();
+
+            for (int order = 0; order < rules.size(); order++) {
+                final T rule = rules.get(order);
+                final IndexedRule<T> indexedRule = new IndexedRule<>(order, rule);
+                final Precondition<P> precondition = rule.getPrecondition();
+
+                if (precondition instanceof StatementPrecondition) {
+                    final StatementPrecondition statementPrecondition = (StatementPrecondition) precondition;
+                    if (statementPrecondition.getStatement() != null) {
+                        addStatementRule(statementPrecondition.getStatement(), indexedRule);
+                    } else if (isCombinable(statementPrecondition.getPattern())) {
+                        patternRules.add(indexedRule);
+                        patterns.add(statementPrecondition.getPattern());
+                    } else {
+                        genericRules.add(indexedRule);
+                    }
+                } else if (precondition instanceof PreparedStatementPrecondition) {
+                    addStatementRule(((PreparedStatementPrecondition) precondition).getStatement(), indexedRule);
+                } else {
+                    genericRules.add(indexedRule);
+                }
+            }
+
+            alternation = patterns.isEmpty() ? null : new PatternAlternation(patterns);
+        }
+
+        private void addStatementRule(final String statement, final IndexedRule<T> indexedRule) {
+            statementRules.computeIfAbsent(statement, key -> new ArrayList<>(1)).add(indexedRule);
+        }
+
+        private T claim(final String statement, final P candidate) {
+            IndexedRule<T> match = null;
+
+            if (statement != null) {
+                match = findFirst(statementRules.getOrDefault(statement, Collections.emptyList()), 0, candidate, null);
+
+                if (alternation != null) {
+                    final int firstPatternMatch = alternation.firstMatch(statement);
+                    if (firstPatternMatch >= 0) {
+                        match = findFirst(patternRules, firstPatternMatch, candidate, match);
+                    }
+                }
+            }
+
+            match = findFirst(genericRules, 0, candidate, match);
+
+            if (match == null) {
+                return null;
+            } else if (match.rule.reserve()) {
+                return match.rule;
+            }
+
+            // the invocations of the rule have been used up by a concurrent request in the meantime
+            return claim(statement, candidate);
+        }
+
+        /**
+         * Evaluates the given rules in order, starting at the given position, until a rule matches or the rules
+         * have been registered after the best match found so far.
+         */
+        private IndexedRule<T> findFirst(final List<IndexedRule<T>> rules, final int from,
+                                         final P candidate, final IndexedRule<T> bestMatch) {
+            final int limit = bestMatch != null ? bestMatch.order : Integer.MAX_VALUE;
+            for (int i = from; i < rules.size(); i++) {
+                final IndexedRule<T> indexedRule = rules.get(i);
+                if (indexedRule.order > limit) {
+                    break;
+                }
+                if (indexedRule.rule.matches(candidate)) {
+                    return indexedRule;
+                }
+            }
+            return bestMatch;
+        }
+    }
+
+    /**
+     * Rule together with its registration order.
+     */
+    private static final class IndexedRule<T> {
+        private final int order;
+        private final T rule;
+
+        private IndexedRule(final int order, final T rule) {
+            this.order = order;
+            this.rule = rule;
+        }
+    }
+
+    /**
+     * Single pattern combining the patterns of all pattern rules as alternatives in order of registration.
+     * As alternatives are tried in order, the alternative matching a statement is the first pattern rule
+     * matching it.
+     */
+    private static final class PatternAlternation {
+
+        /** The combined pattern, null if the patterns could not be combined */
+        private final Pattern pattern;
+
+        /** The group number of each alternative */
+        private final int[] groups;
+
+        private PatternAlternation(final List<Pattern> alternatives) {
+            final StringBuilder combined = new StringBuilder();
+            groups = new int[alternatives.size()];
+
+            int group = 1;
+            for (int i = 0; i < alternatives.size(); i++) {
+                final Pattern alternative = alternatives.get(i);
+                if (i > 0) {
+                    combined.append('|');
+                }
+                combined.append("((?").append(inlineFlags(alternative.flags())).append(':')
+                        .append(alternative.pattern()).append("))");
+
+                groups[i] = group;
+                group += 1 + alternative.matcher("").groupCount();
+            }
+
+            Pattern compiled;
+            try {
+                compiled = Pattern.compile(combined.toString());
+            } catch (final PatternSyntaxException e) {
+                compiled = null;
+            }
+            this.pattern = compiled;
+        }
+
+        /**
+         * Determines the position of the first pattern matching the given statement.
+         * @param statement The statement to match
+         * @return The position of the first matching pattern or -1 if no pattern matches
+         */
+        private int firstMatch(final String statement) {
+            if (pattern == null) {
+                return 0;
+            }
+
+            final Matcher matcher = pattern.matcher(statement);
+            if (!matcher.matches()) {
+                return -1;
+            }
+
+            for (int i = 0; i < groups.length; i++) {
+                if (matcher.start(groups[i]) >= 0) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private static String inlineFlags(final int flags) {
+            final StringBuilder inline = new StringBuilder();
+            if ((flags & Pattern.CASE_INSENSITIVE) != 0) inline.append('i');
+            if ((flags & Pattern.UNIX_LINES) != 0) inline.append('d');
+            if ((flags & Pattern.MULTILINE) != 0) inline.append('m');
+            if ((flags & Pattern.DOTALL) != 0) inline.append('s');
+            if ((flags & Pattern.UNICODE_CASE) != 0) inline.append('u');
+            if ((flags & Pattern.UNICODE_CHARACTER_CLASS) != 0) inline.append('U');
+            return inline.toString();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.server.rules;
+
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * Precondition matching statements either by their exact text or by a regular expression. In contrast to
+ * arbitrary preconditions the statement and the pattern are exposed, so that rules using this precondition
+ * can be looked up by statement instead of being evaluated one after another.
+ */
+public final class StatementPrecondition implements Precondition<String> {
+
+    /** The exact statement to match, null if a pattern is used */
+    private final String statement;
+
+    /** The pattern to match, null if an exact statement is used */
+    private final Pattern pattern;
+
+    private StatementPrecondition(final String statement, final Pattern pattern) {
+        this.statement = statement;
+        this.pattern = pattern;
+    }
+
+    /**
+     * Creates a precondition matching the given statement exactly.
+     * @param statement The statement to match
+     * @return The precondition
+     */
+    public static StatementPrecondition equalTo(final String statement) {
+        return new StatementPrecondition(Objects.requireNonNull(statement), null);
+    }
+
+    /**
+     * Creates a precondition matching statements completely matched by the given pattern.
+     * @param pattern The pattern to match
+     * @return The precondition
+     */
+    public static StatementPrecondition matching(final Pattern pattern) {
+        return new StatementPrecondition(null, Objects.requireNonNull(pattern));
+    }
+
+    @Override
+    public boolean match(final String candidate) {
+        if (statement != null) {
+            return statement.equals(candidate);
+        }
+        return candidate != null && pattern.matcher(candidate).matches();
+    }
+
+    public String getStatement() {
+        return statement;
+    }
+
+    public Pattern getPattern() {
+        return pattern;
+    }
+
+    @Override
+    public String toString() {
+        return "StatementPrecondition{" +
+                "statement='" + statement + '\'' +
+                ", pattern=" + pattern +
+                '}';
+    }
+}
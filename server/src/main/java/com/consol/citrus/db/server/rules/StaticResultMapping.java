@@ -0,0 +1,201 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.server.rules;
+
+import com.consol.citrus.db.driver.csv.CsvDataSetProducer;
+import com.consol.citrus.db.driver.data.Table;
+import com.consol.citrus.db.driver.dataset.DataSet;
+import com.consol.citrus.db.driver.dataset.DataSetProducer;
+import com.consol.citrus.db.driver.dataset.FixtureCache;
+import com.consol.citrus.db.driver.dataset.TableDataSetProducer;
+import com.consol.citrus.db.driver.exchange.DatabaseResult;
+import com.consol.citrus.db.driver.json.JsonDataSetProducer;
+import com.consol.citrus.db.driver.xml.XmlDataSetProducer;
+import com.consol.citrus.db.server.JdbcServerException;
+import com.consol.citrus.db.server.transformer.CachedDatabaseResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping returning the same result on every invocation, so that the rendered response can be cached.
+ * Results read from a file are reloaded when the file has been modified, which discards the cached rendering
+ * of the previous content. The modification time of the file is checked at most once per reload interval, so
+ * that rule hits do not stat the file on every request.
+ *
+ * @param <P> The input type of the mapping
+ */
+public class StaticResultMapping<P> implements Mapping<P, DatabaseResult> {
+
+    /** Logger */
+    private static final Logger log = LoggerFactory.getLogger(StaticResultMapping.class);
+
+    /** Default interval in milliseconds between two checks of the source modification time */
+    public static final long DEFAULT_RELOAD_INTERVAL = 1000L;
+
+    /** The file the result has been read from, null for results not backed by a file */
+    private final Path source;
+
+    /** Cache of parsed fixture files, null if the source is parsed on every read */
+    private final FixtureCache fixtureCache;
+
+    /** Interval in nanoseconds between two checks of the modification time, negative to never reload */
+    private final long reloadInterval;
+
+    /** The modification time of the source the current result has been read from */
+    private volatile FileTime lastModified;
+
+    /** The {@link System#nanoTime()} at which the modification time is checked next */
+    private volatile long nextReloadCheck;
+
+    private volatile CachedDatabaseResult result;
+
+    private StaticResultMapping(final CachedDatabaseResult result) {
+        this.source = null;
+        this.fixtureCache = null;
+        this.reloadInterval = -1L;
+        this.result = result;
+    }
+
+    private StaticResultMapping(final Path source, final FixtureCache fixtureCache, final long reloadInterval) {
+        this.source = source;
+        this.fixtureCache = fixtureCache;
+        this.reloadInterval = reloadInterval < 0 ? -1L : TimeUnit.MILLISECONDS.toNanos(reloadInterval);
+        this.lastModified = getLastModified(source);
+        this.nextReloadCheck = System.nanoTime() + this.reloadInterval;
+        this.result = new CachedDatabaseResult(produce());
+    }
+
+    /**
+     * Creates a mapping returning the given data set.
+     * @param dataSet The data set to return
+     * @param <P> The input type of the mapping
+     * @return The mapping
+     */
+    public static <P> StaticResultMapping<P> ofDataSet(final DataSet dataSet) {
+        return new StaticResultMapping<>(new CachedDatabaseResult(dataSet));
+    }
+
+    /**
+     * Creates a mapping returning the given number of affected rows.
+     * @param affectedRows The number of affected rows to return
+     * @param <P> The input type of the mapping
+     * @return The mapping
+     */
+    public static <P> StaticResultMapping<P> ofAffectedRows(final int affectedRows) {
+        return new StaticResultMapping<>(new CachedDatabaseResult(affectedRows));
+    }
+
+    /**
+     * Creates a mapping returning the data set read from the given json, xml or csv file.
+     * @param source The file to read the data set from
+     * @param <P> The input type of the mapping
+     * @return The mapping
+     * @throws JdbcServerException In case the file can not be read
+     */
+    public static <P> StaticResultMapping<P> ofFile(final Path source) {
+        return ofFile(source, null);
+    }
+
+    /**
+     * Creates a mapping returning the data set read from the given json, xml or csv file. The parsed data set
+     * is taken from the given fixture cache as long as the file has not been changed.
+     * @param source The file to read the data set from
+     * @param fixtureCache The cache of parsed fixture files, may be null
+     * @param <P> The input type of the mapping
+     * @return The mapping
+     * @throws JdbcServerException In case the file can not be read
+     */
+    public static <P> StaticResultMapping<P> ofFile(final Path source, final FixtureCache fixtureCache) {
+        return ofFile(source, fixtureCache, DEFAULT_RELOAD_INTERVAL);
+    }
+
+    /**
+     * Creates a mapping returning the data set read from the given json, xml or csv file.
+     * @param source The file to read the data set from
+     * @param fixtureCache The cache of parsed fixture files, may be null
+     * @param reloadInterval Milliseconds between two checks whether the file has been modified,
+     *                       0 to check on every invocation, negative to never reload the file
+     * @param <P> The input type of the mapping
+     * @return The mapping
+     * @throws JdbcServerException In case the file can not be read
+     */
+    public static <P> StaticResultMapping<P> ofFile(final Path source, final FixtureCache fixtureCache, final long reloadInterval) {
+        return new StaticResultMapping<>(source, fixtureCache, reloadInterval);
+    }
+
+    @Override
+    public DatabaseResult map(final P domainElement) {
+        if (reloadInterval >= 0 && System.nanoTime() - nextReloadCheck >= 0) {
+            reloadIfModified();
+        }
+        return result;
+    }
+
+    private void reloadIfModified() {
+        nextReloadCheck = System.nanoTime() + reloadInterval;
+        final FileTime modified = getLastModified(source);
+        if (modified == null || modified.equals(lastModified)) {
+            return;
+        }
+
+        synchronized (this) {
+            if (!modified.equals(lastModified)) {
+                log.debug("RELOAD RESULT FROM MODIFIED FILE: {}", source);
+                result = new CachedDatabaseResult(produce());
+                lastModified = modified;
+            }
+        }
+    }
+
+    private static FileTime getLastModified(final Path source) {
+        try {
+            return Files.getLastModifiedTime(source);
+        } catch (final IOException e) {
+            return null;
+        }
+    }
+
+    private DataSet produce() {
+        try {
+            return fixtureCache != null
+                    ? fixtureCache.getDataSet(source, () -> getProducer(source))
+                    : getProducer(source).produce();
+        } catch (final SQLException e) {
+            throw new JdbcServerException(e);
+        }
+    }
+
+    private static DataSetProducer getProducer(final Path source) {
+        if (source.toString().endsWith(".json")) {
+            return new JsonDataSetProducer(source);
+        } else if (source.toString().endsWith(".xml")) {
+            return new XmlDataSetProducer(source);
+        } else if (source.toString().endsWith(".csv")) {
+            return new CsvDataSetProducer(source);
+        } else {
+            return new TableDataSetProducer(new Table("empty"));
+        }
+    }
+}
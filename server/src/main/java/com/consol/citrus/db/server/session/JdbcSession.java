@@ -0,0 +1,118 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.db.server.session;
+
+import com.consol.citrus.db.server.handler.statement.PreparedStatementRegistry;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * State of a single client connection. Requests carrying the session id are bound to the session for
+ * the time they are processed so that controllers and handlers can access the state of the calling
+ * connection via {@link #current()}.
+ */
+public class JdbcSession {
+
+    /** Session bound to the request processed by the current thread */
+    private static final ThreadLocal<JdbcSession> CURRENT = new ThreadLocal<>();
+
+    private final String id;
+
+    /** Prepared statements cached for this session */
+    private final PreparedStatementRegistry preparedStatements;
+
+    /** Number of statements opened and not yet closed */
+    private final AtomicInteger openStatements = new AtomicInteger();
+
+    /** Whether the connection is within a transaction */
+    private volatile boolean transactionState;
+
+    /** Time of the last request in milliseconds */
+    private volatile long lastAccess;
+
+    JdbcSession(final String id, final int maxPreparedStatements, final long now) {
+        this.id = id;
+        this.preparedStatements = new PreparedStatementRegistry(maxPreparedStatements);
+        this.lastAccess = now;
+    }
+
+    /**
+     * Gets the session bound to the current request.
+     * @return The session or null if the request does not belong to a session
+     */
+    public static JdbcSession current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds the given session to the current thread, null removes any binding.
+     * @param session The session to bind
+     */
+    public static void bind(final JdbcSession session) {
+        if (session != null) {
+            CURRENT.set(session);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public PreparedStatementRegistry getPreparedStatements() {
+        return preparedStatements;
+    }
+
+    public boolean getTransactionState() {
+        return transactionState;
+    }
+
+    public void setTransactionState(final boolean transactionState) {
+        this.transactionState = transactionState;
+    }
+
+    public int getOpenStatements() {
+        return openStatements.get();
+    }
+
+    public void statementOpened() {
+        openStatements.incrementAndGet();
+    }
+
+    public void statementClosed() {
+        openStatements.updateAndGet(count -> count > 0 ? count - 1 : 0);
+    }
+
+    long getLastAccess() {
+        return lastAccess;
+    }
+
+    void touch(final long now) {
+        lastAccess = now;
+    }
+
+    @Override
+    public String toString() {
+        return "JdbcSession{" +
+                "id='" + id + '\'' +
+                ", openStatements=" + openStatements +
+                ", transactionState=" + transactionState +
+                ", lastAccess=" + lastAccess +
+                '}';
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.db.server.session;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Registry of the sessions opened by clients. Sessions are held in a plain {@link ConcurrentHashMap}, lookups
+ * are lock free and updates only lock a single bin of the map, which is enough for the number of connections
+ * a test server serves without striping the registry any further. Sessions idle for longer than the configured
+ * timeout are evicted, the eviction runs at most once per half timeout and is piggybacked on session
+ * lookups so that no background thread is required.
+ */
+public class SessionRegistry {
+
+    /** Logger */
+    private static final Logger log = LoggerFactory.getLogger(SessionRegistry.class);
+
+    private final Map<String, JdbcSession> sessions;
+
+    /** Time in milliseconds a session may be idle before it gets evicted */
+    private final long idleTimeout;
+
+    /** Maximum number of prepared statements cached per session */
+    private final int maxPreparedStatements;
+
+    /** Time of the next idle session eviction */
+    private final AtomicLong nextEviction;
+
+    private final LongSupplier clock;
+
+    /**
+     * Constructor using idle timeout and prepared statement cache size.
+     * @param idleTimeout The time in milliseconds a session may be idle
+     * @param maxPreparedStatements The maximum number of prepared statements cached per session
+     */
+    public SessionRegistry(final long idleTimeout, final int maxPreparedStatements) {
+        this(idleTimeout, maxPreparedStatements, System::currentTimeMillis);
+    }
+
+    SessionRegistry(final long idleTimeout, final int maxPreparedStatements, final LongSupplier clock) {
+        this.sessions = new ConcurrentHashMap<>();
+        this.idleTimeout = idleTimeout;
+        this.maxPreparedStatements = maxPreparedStatements;
+        this.clock = clock;
+        this.nextEviction = new AtomicLong(clock.getAsLong() + idleTimeout / 2);
+    }
+
+    /**
+     * Opens a new session.
+     * @return The new session
+     */
+    public JdbcSession open() {
+        final JdbcSession session = new JdbcSession(UUID.randomUUID().toString(), maxPreparedStatements, now());
+        sessions.put(session.getId(), session);
+        return session;
+    }
+
+    /**
+     * Gets the session with the given id and marks it as accessed. Sessions are only created by {@link #open()},
+     * so ids the registry does not know - never opened or evicted in the meantime - are rejected instead of
+     * silently continuing with a fresh session that lost the prepared statements and transaction state.
+     * @param id The session id, may be null
+     * @return The session or null if no id is given
+     * @throws UnknownSessionException In case no session with the given id is open
+     */
+    public JdbcSession resolve(final String id) {
+        if (id == null || id.isEmpty()) {
+            return null;
+        }
+
+        final long now = now();
+        final JdbcSession session = sessions.get(id);
+        if (session == null) {
+            throw new UnknownSessionException(id);
+        }
+        session.touch(now);
+        return session;
+    }
+
+    /**
+     * Removes the session with the given id.
+     * @param id The session id
+     */
+    public void close(final String id) {
+        if (id != null) {
+            sessions.remove(id);
+        }
+    }
+
+    /**
+     * Gets the number of open sessions.
+     * @return The number of sessions
+     */
+    public int size() {
+        return sessions.size();
+    }
+
+    private long now() {
+        final long now = clock.getAsLong();
+        final long eviction = nextEviction.get();
+        if (now >= eviction && nextEviction.compareAndSet(eviction, now + idleTimeout / 2)) {
+            evictIdleSessions(now);
+        }
+        return now;
+    }
+
+    private void evictIdleSessions(final long now) {
+        sessions.values().removeIf(session -> {
+            final boolean idle = now - session.getLastAccess() > idleTimeout;
+            if (idle) {
+                log.debug("EVICT IDLE SESSION: {}", session.getId());
+            }
+            return idle;
+        });
+    }
+}
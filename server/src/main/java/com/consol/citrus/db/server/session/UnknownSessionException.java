@@ -0,0 +1,37 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.db.server.session;
+
+import com.consol.citrus.db.server.JdbcServerException;
+
+/**
+ * Raised for requests referencing a session the server does not know, either because the client never opened
+ * it or because it has been evicted after being idle for too long.
+ */
+public class UnknownSessionException extends JdbcServerException {
+
+    private final String sessionId;
+
+    public UnknownSessionException(final String sessionId) {
+        super("Unknown session: " + sessionId);
+        this.sessionId = sessionId;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+}
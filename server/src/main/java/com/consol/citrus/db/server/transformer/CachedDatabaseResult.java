@@ -0,0 +1,54 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.server.transformer;
+
+import com.consol.citrus.db.driver.dataset.DataSet;
+import com.consol.citrus.db.driver.exchange.DatabaseResult;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Database result that does not change between requests, e.g. the result of a rule returning a static data set.
+ * The result is rendered only once per wire format, the rendered bytes are cached and written to every
+ * response as they are.
+ */
+public class CachedDatabaseResult extends DatabaseResult {
+
+    /** Rendered representations by media type */
+    private final ConcurrentMap<String, byte[]> renderings = new ConcurrentHashMap<>(2);
+
+    public CachedDatabaseResult(final DataSet dataSet) {
+        super(dataSet);
+    }
+
+    public CachedDatabaseResult(final int affectedRows) {
+        super(affectedRows);
+    }
+
+    /**
+     * Gets the representation of this result in the given media type, rendering it on first access.
+     * @param mediaType The media type of the representation
+     * @param renderer The renderer creating the representation
+     * @return The rendered representation
+     */
+    byte[] render(final String mediaType, final Function<DatabaseResult, byte[]> renderer) {
+        return renderings.computeIfAbsent(mediaType, key -> renderer.apply(this));
+    }
+}
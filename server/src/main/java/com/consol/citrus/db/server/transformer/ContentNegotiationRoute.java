@@ -0,0 +1,134 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.db.server.transformer;
+
+import com.consol.citrus.db.driver.exchange.DatabaseResult;
+import com.consol.citrus.db.driver.exchange.DatabaseResultCodec;
+import com.consol.citrus.db.server.JdbcServerException;
+import spark.Request;
+import spark.Response;
+import spark.Route;
+
+import java.io.IOException;
+
+/**
+ * Renders database results of the delegate route either as Json or in the binary representation
+ * depending on the media types accepted by the client. Json stays the default so that the server can
+ * still be queried with generic http tools, the binary representation has to be requested explicitly
+ * via Accept header.
+ *
+ * The binary representation is written directly to the response stream without buffering the complete
+ * result so that clients receive the rows as chunked transfer and can start decoding before the whole
+ * result has been written. Results that do not change between requests are rendered only once per
+ * representation and the cached bytes are written to the response stream as they are.
+ */
+public class ContentNegotiationRoute implements Route {
+
+    private final Route delegate;
+    private final JsonResponseTransformer jsonResponseTransformer;
+    private final DatabaseResultCodec resultCodec;
+
+    public ContentNegotiationRoute(final Route delegate, final JsonResponseTransformer jsonResponseTransformer) {
+        this(delegate, jsonResponseTransformer, new DatabaseResultCodec());
+    }
+
+    ContentNegotiationRoute(final Route delegate,
+                            final JsonResponseTransformer jsonResponseTransformer,
+                            final DatabaseResultCodec resultCodec) {
+        this.delegate = delegate;
+        this.jsonResponseTransformer = jsonResponseTransformer;
+        this.resultCodec = resultCodec;
+    }
+
+    /** Media type of the json representation */
+    private static final String JSON_CONTENT_TYPE = "application/json";
+
+    @Override
+    public Object handle(final Request request, final Response response) throws Exception {
+        final Object result = delegate.handle(request, response);
+
+        if (result instanceof CachedDatabaseResult) {
+            final CachedDatabaseResult cachedResult = (CachedDatabaseResult) result;
+            if (acceptsBinary(request.headers("Accept"))) {
+                write(response, DatabaseResultCodec.CONTENT_TYPE,
+                        cachedResult.render(DatabaseResultCodec.CONTENT_TYPE, this::encode));
+            } else {
+                write(response, JSON_CONTENT_TYPE,
+                        cachedResult.render(JSON_CONTENT_TYPE, jsonResponseTransformer::renderBytes));
+            }
+            return "";
+        }
+
+        if (result instanceof DatabaseResult && acceptsBinary(request.headers("Accept"))) {
+            response.type(DatabaseResultCodec.CONTENT_TYPE);
+            try {
+                resultCodec.encode((DatabaseResult) result, response.raw().getOutputStream());
+            } catch (final IOException e) {
+                throw new JdbcServerException("Could not write binary response", e);
+            }
+            return "";
+        }
+
+        return jsonResponseTransformer.render(result);
+    }
+
+    private byte[] encode(final DatabaseResult result) {
+        try {
+            return resultCodec.encode(result);
+        } catch (final IOException e) {
+            throw new JdbcServerException("Could not encode binary response", e);
+        }
+    }
+
+    private void write(final Response response, final String contentType, final byte[] body) {
+        response.type(contentType);
+        response.raw().setContentLength(body.length);
+        try {
+            response.raw().getOutputStream().write(body);
+        } catch (final IOException e) {
+            throw new JdbcServerException("Could not write response", e);
+        }
+    }
+
+    /**
+     * Checks whether the given Accept header explicitly lists the binary result representation.
+     * @param accept The Accept header value, may be null
+     * @return True if the binary representation has been requested
+     */
+    static boolean acceptsBinary(final String accept) {
+        if (accept == null) {
+            return false;
+        }
+
+        for (final String mediaRange : accept.split(",")) {
+            final String[] tokens = mediaRange.split(";");
+            if (!DatabaseResultCodec.CONTENT_TYPE.equalsIgnoreCase(tokens[0].trim())) {
+                continue;
+            }
+
+            for (int i = 1; i < tokens.length; i++) {
+                final String parameter = tokens[i].trim().replace(" ", "");
+                if (parameter.matches("q=0(\\.0*)?")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        return false;
+    }
+}
@@ -40,4 +40,17 @@ public class JsonResponseTransformer implements ResponseTransformer {
             throw new JdbcServerException("Could not prepare json response", e);
         }
     }
+
+    /**
+     * Renders the given model as UTF-8 encoded json.
+     * @param model The model to render
+     * @return The json bytes
+     */
+    public byte[] renderBytes(final Object model) {
+        try {
+            return objectMapper.writeValueAsBytes(model);
+        } catch (final JsonProcessingException e) {
+            throw new JdbcServerException("Could not prepare json response", e);
+        }
+    }
 }
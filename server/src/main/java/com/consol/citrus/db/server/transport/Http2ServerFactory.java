@@ -0,0 +1,85 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.db.server.transport;
+
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.server.Connector;
+import org.eclipse.jetty.server.HttpConnectionFactory;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.eclipse.jetty.util.thread.ThreadPool;
+import spark.embeddedserver.EmbeddedServers;
+import spark.embeddedserver.jetty.EmbeddedJettyFactory;
+import spark.embeddedserver.jetty.JettyServerFactory;
+
+/**
+ * Creates the Jetty servers behind Spark with cleartext HTTP/2 (h2c) enabled next to HTTP/1.1. Spark creates
+ * the connectors itself, so the h2c connection factory is added to them when the server starts. Clients either
+ * upgrade an HTTP/1.1 connection or send the HTTP/2 preface right away, HTTP/1.1 clients are served as before.
+ */
+public class Http2ServerFactory implements JettyServerFactory {
+
+    /**
+     * Registers this factory as the default embedded Jetty server of Spark. The registration replaces the Jetty
+     * factory for the whole JVM, all Spark services started afterwards serve h2c as well. It is done only for
+     * servers enabling HTTP/2 in their configuration.
+     */
+    public static void register() {
+        EmbeddedServers.add(EmbeddedServers.Identifiers.JETTY, new EmbeddedJettyFactory(new Http2ServerFactory()));
+    }
+
+    @Override
+    public Server create(final int maxThreads, final int minThreads, final int threadTimeoutMillis) {
+        if (maxThreads > 0) {
+            final int min = minThreads > 0 ? minThreads : 8;
+            final int idleTimeout = threadTimeoutMillis > 0 ? threadTimeoutMillis : 60000;
+            return create(new QueuedThreadPool(maxThreads, min, idleTimeout));
+        }
+
+        return new Http2Server(null);
+    }
+
+    @Override
+    public Server create(final ThreadPool threadPool) {
+        return new Http2Server(threadPool);
+    }
+
+    /**
+     * Server adding the h2c connection factory to its connectors on start.
+     */
+    private static class Http2Server extends Server {
+
+        Http2Server(final ThreadPool threadPool) {
+            super(threadPool);
+        }
+
+        @Override
+        protected void doStart() throws Exception {
+            for (final Connector connector : getConnectors()) {
+                final HttpConnectionFactory http = connector.getConnectionFactory(HttpConnectionFactory.class);
+                if (connector instanceof ServerConnector && http != null
+                        && connector.getConnectionFactory(HTTP2CServerConnectionFactory.class) == null) {
+                    ((ServerConnector) connector).addConnectionFactory(
+                            new HTTP2CServerConnectionFactory(http.getHttpConfiguration()));
+                }
+            }
+
+            super.doStart();
+        }
+    }
+}
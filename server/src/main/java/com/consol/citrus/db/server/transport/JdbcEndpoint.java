@@ -0,0 +1,275 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.server.transport;
+
+import com.consol.citrus.db.driver.JdbcConnection;
+import com.consol.citrus.db.driver.exchange.DatabaseResult;
+import com.consol.citrus.db.driver.exchange.PreparedStatementCall;
+import com.consol.citrus.db.driver.transport.JdbcTransport;
+import com.consol.citrus.db.server.controller.JdbcController;
+import com.consol.citrus.db.server.handler.statement.PreparedStatementRegistry;
+import com.consol.citrus.db.server.session.JdbcSession;
+import com.consol.citrus.db.server.session.SessionRegistry;
+import com.consol.citrus.db.server.session.UnknownSessionException;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Server side of the transports not running through the http endpoints. Each operation is bound to the
+ * session of the calling connection and dispatched to the controller, results are handed over as they are
+ * returned by the controller. Errors of the controller are reported as {@link SQLException} holding the
+ * message the http endpoints respond with.
+ */
+public class JdbcEndpoint implements JdbcTransport {
+
+    private final JdbcController controller;
+
+    private final SessionRegistry sessions;
+
+    /** Prepared statements of clients without session */
+    private final PreparedStatementRegistry registry;
+
+    public JdbcEndpoint(final JdbcController controller,
+                        final SessionRegistry sessions,
+                        final PreparedStatementRegistry registry) {
+        this.controller = controller;
+        this.sessions = sessions;
+        this.registry = registry;
+    }
+
+    @Override
+    public String openConnection(final String databaseName, final Map<String, String> properties) throws SQLException {
+        final Map<String, String> parameters = new HashMap<>(properties);
+        parameters.put("database", databaseName);
+
+        return call(null, () -> {
+            final JdbcSession session = sessions.open();
+            JdbcSession.bind(session);
+            controller.openConnection(parameters);
+            return session.getId();
+        });
+    }
+
+    @Override
+    public void closeConnection(final String sessionId) throws SQLException {
+        call(sessionId, () -> {
+            controller.closeConnection();
+            sessions.close(sessionId);
+            return null;
+        });
+    }
+
+    @Override
+    public void createStatement(final String sessionId) throws SQLException {
+        call(sessionId, () -> {
+            controller.createStatement();
+            statementOpened();
+            return null;
+        });
+    }
+
+    @Override
+    public void closeStatement(final String sessionId) throws SQLException {
+        call(sessionId, () -> {
+            controller.closeStatement();
+            statementClosed();
+            return null;
+        });
+    }
+
+    @Override
+    public String createPreparedStatement(final String sessionId, final String sql) throws SQLException {
+        return call(sessionId, () -> {
+            controller.createPreparedStatement(sql);
+            statementOpened();
+            return getRegistry().register(sql);
+        });
+    }
+
+    @Override
+    public void closePreparedStatement(final String sessionId, final String handle) throws SQLException {
+        call(sessionId, () -> {
+            getRegistry().release(handle);
+            controller.closeStatement();
+            statementClosed();
+            return null;
+        });
+    }
+
+    @Override
+    public void createCallableStatement(final String sessionId, final String sql) throws SQLException {
+        call(sessionId, () -> {
+            controller.createCallableStatement(sql);
+            statementOpened();
+            return null;
+        });
+    }
+
+    @Override
+    public DatabaseResult executeQuery(final String sessionId, final String sql) throws SQLException {
+        return call(sessionId, () -> controller.executeQuery(sql));
+    }
+
+    @Override
+    public DatabaseResult executeStatement(final String sessionId, final String sql) throws SQLException {
+        return call(sessionId, () -> controller.executeStatement(sql));
+    }
+
+    @Override
+    public int executeUpdate(final String sessionId, final String sql) throws SQLException {
+        return call(sessionId, () -> controller.executeUpdate(sql));
+    }
+
+    @Override
+    public int[] executeBatch(final String sessionId, final List<String> statements) throws SQLException {
+        return call(sessionId, () -> controller.executeBatch(statements));
+    }
+
+    @Override
+    public DatabaseResult executePreparedQuery(final String sessionId,
+                                               final String handle,
+                                               final PreparedStatementCall call) throws SQLException {
+        return call(sessionId, () -> controller.executePreparedQuery(resolve(handle, call)));
+    }
+
+    @Override
+    public DatabaseResult executePreparedStatement(final String sessionId,
+                                                   final String handle,
+                                                   final PreparedStatementCall call) throws SQLException {
+        return call(sessionId, () -> controller.executePreparedStatement(resolve(handle, call)));
+    }
+
+    @Override
+    public int executePreparedUpdate(final String sessionId,
+                                     final String handle,
+                                     final PreparedStatementCall call) throws SQLException {
+        return call(sessionId, () -> controller.executePreparedUpdate(resolve(handle, call)));
+    }
+
+    @Override
+    public int[] executePreparedBatch(final String sessionId,
+                                      final String handle,
+                                      final List<PreparedStatementCall> calls) throws SQLException {
+        return call(sessionId, () -> controller.executePreparedBatch(calls.stream()
+                .map(call -> resolve(handle, call))
+                .collect(Collectors.toList())));
+    }
+
+    @Override
+    public void setTransactionState(final String sessionId, final boolean transactionState) throws SQLException {
+        call(sessionId, () -> {
+            controller.setTransactionState(transactionState);
+            return null;
+        });
+    }
+
+    @Override
+    public boolean getTransactionState(final String sessionId) throws SQLException {
+        return call(sessionId, controller::getTransactionState);
+    }
+
+    @Override
+    public void commit(final String sessionId) throws SQLException {
+        call(sessionId, () -> {
+            controller.commitStatements();
+            return null;
+        });
+    }
+
+    @Override
+    public void rollback(final String sessionId) throws SQLException {
+        call(sessionId, () -> {
+            controller.rollbackStatements();
+            return null;
+        });
+    }
+
+    /**
+     * Invokes the given operation with the session of the calling connection bound to the current thread.
+     * The session bound before is restored afterwards as the caller may be running within a server request.
+     * @param sessionId The session id, may be null
+     * @param operation The operation to invoke
+     * @param <T> The result type of the operation
+     * @return The result of the operation
+     * @throws SQLException In case the operation failed
+     */
+    private <T> T call(final String sessionId, final Operation<T> operation) throws SQLException {
+        final JdbcSession previous = JdbcSession.current();
+        try {
+            JdbcSession.bind(sessions.resolve(sessionId));
+            return operation.invoke();
+        } catch (final SQLException e) {
+            throw e;
+        } catch (final UnknownSessionException e) {
+            throw new SQLException(e.getMessage(), JdbcConnection.UNKNOWN_SESSION_STATE, e);
+        } catch (final RuntimeException e) {
+            throw new SQLException(e.getMessage(), e);
+        } finally {
+            JdbcSession.bind(previous);
+        }
+    }
+
+    /**
+     * Creates the call of the statement registered under the given handle.
+     * @param handle The handle of the prepared statement
+     * @param call The call holding the bound parameters
+     * @return The call of the registered statement
+     * @throws UnknownHandleException In case no statement is registered under the handle
+     */
+    private PreparedStatementCall resolve(final String handle, final PreparedStatementCall call) {
+        final String statement = getRegistry().get(handle);
+        if (statement == null) {
+            throw new UnknownHandleException(handle);
+        }
+        return new PreparedStatementCall(statement, call.getParameters());
+    }
+
+    private PreparedStatementRegistry getRegistry() {
+        final JdbcSession session = JdbcSession.current();
+        return session != null ? session.getPreparedStatements() : registry;
+    }
+
+    private void statementOpened() {
+        final JdbcSession session = JdbcSession.current();
+        if (session != null) {
+            session.statementOpened();
+        }
+    }
+
+    private void statementClosed() {
+        final JdbcSession session = JdbcSession.current();
+        if (session != null) {
+            session.statementClosed();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Operation<T> {
+        T invoke() throws SQLException;
+    }
+
+    private static final class UnknownHandleException extends RuntimeException {
+        private UnknownHandleException(final String handle) {
+            super("Unknown prepared statement handle: " + handle);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.server.transport;
+
+import com.consol.citrus.db.driver.transport.JdbcTransport;
+import com.consol.citrus.db.driver.transport.SocketChannelStreams;
+import com.consol.citrus.db.driver.transport.TcpProtocol;
+import com.consol.citrus.db.server.util.DeamonThread;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Listener serving the binary {@link TcpProtocol} on a tcp port or a unix domain socket. Each accepted socket
+ * gets a reader thread decoding the request frames, the requests are handled by a worker pool so that
+ * pipelined requests do not wait for each other. Responses are written in the order the requests complete.
+ */
+public class TcpListener implements Closeable {
+
+    /** Logger */
+    private static final Logger log = LoggerFactory.getLogger(TcpListener.class);
+
+    private final JdbcTransport endpoint;
+    private final ServerSocketChannel serverSocket;
+    private final ExecutorService workers = Executors.newCachedThreadPool(DeamonThread::new);
+    private final Set<SocketChannel> sockets = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Binds the listener to the given port.
+     * @param endpoint The endpoint serving the requests
+     * @param port The port to listen on
+     * @throws IOException In case the port could not be bound
+     */
+    public TcpListener(final JdbcTransport endpoint, final int port) throws IOException {
+        this(endpoint, bind(port));
+    }
+
+    /**
+     * Constructor using an already bound server channel, e.g. a channel bound to a unix domain socket.
+     * @param endpoint The endpoint serving the requests
+     * @param serverSocket The bound server channel
+     */
+    public TcpListener(final JdbcTransport endpoint, final ServerSocketChannel serverSocket) {
+        this.endpoint = endpoint;
+        this.serverSocket = serverSocket;
+    }
+
+    private static ServerSocketChannel bind(final int port) throws IOException {
+        final ServerSocketChannel serverSocket = ServerSocketChannel.open();
+        try {
+            serverSocket.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+            serverSocket.bind(new InetSocketAddress(port));
+            return serverSocket;
+        } catch (final IOException e) {
+            serverSocket.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Starts accepting sockets in background.
+     */
+    public void start() {
+        new DeamonThread(this::accept).start();
+    }
+
+    private void accept() {
+        while (serverSocket.isOpen()) {
+            try {
+                final SocketChannel socket = serverSocket.accept();
+                if (socket.getLocalAddress() instanceof InetSocketAddress) {
+                    socket.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                }
+                sockets.add(socket);
+                new DeamonThread(() -> serve(socket)).start();
+            } catch (final IOException e) {
+                if (serverSocket.isOpen()) {
+                    log.warn("Failed to accept tcp connection", e);
+                }
+            }
+        }
+    }
+
+    private void serve(final SocketChannel socket) {
+        try (final SocketChannel client = socket) {
+            final DataInputStream in =
+                    new DataInputStream(new BufferedInputStream(SocketChannelStreams.newInputStream(client)));
+            final DataOutputStream out =
+                    new DataOutputStream(new BufferedOutputStream(SocketChannelStreams.newOutputStream(client)));
+
+            while (true) {
+                final byte[] frame = TcpProtocol.readFrame(in);
+                workers.execute(() -> handle(frame, out));
+            }
+        } catch (final IOException e) {
+            if (serverSocket.isOpen()) {
+                log.debug("Tcp connection closed", e);
+            }
+        } finally {
+            sockets.remove(socket);
+        }
+    }
+
+    private void handle(final byte[] frame, final DataOutputStream out) {
+        final DataInputStream request = new DataInputStream(
+                new ByteArrayInputStream(frame, Integer.BYTES, frame.length - Integer.BYTES));
+        final int id = ((frame[0] & 0xFF) << 24) | ((frame[1] & 0xFF) << 16)
+                | ((frame[2] & 0xFF) << 8) | (frame[3] & 0xFF);
+
+        try {
+            final ByteArrayOutputStream response = new ByteArrayOutputStream();
+            try {
+                TcpProtocol.dispatch(endpoint, request, new DataOutputStream(response));
+            } catch (final RuntimeException e) {
+                // the result could not be written, answer with an error instead of leaving the client waiting
+                log.warn("Failed to write tcp response", e);
+                response.reset();
+                TcpProtocol.writeError(new DataOutputStream(response), e);
+            }
+
+            synchronized (out) {
+                TcpProtocol.writeFrame(out, id, response.toByteArray(), response.size());
+                out.flush();
+            }
+        } catch (final IOException e) {
+            log.debug("Failed to answer tcp request", e);
+        }
+    }
+
+    /**
+     * Gets the address the listener is bound to.
+     * @return The tcp or unix domain socket address
+     * @throws IOException In case the address could not be determined
+     */
+    public SocketAddress getAddress() throws IOException {
+        return serverSocket.getLocalAddress();
+    }
+
+    /**
+     * Stops accepting sockets and closes all open sockets.
+     */
+    @Override
+    public void close() {
+        try {
+            serverSocket.close();
+        } catch (final IOException e) {
+            log.warn("Failed to close tcp listener", e);
+        }
+
+        for (final SocketChannel socket : sockets) {
+            try {
+                socket.close();
+            } catch (final IOException e) {
+                log.debug("Failed to close tcp connection", e);
+            }
+        }
+        workers.shutdown();
+    }
+}
@@ -21,6 +21,7 @@ import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.Arrays;
 import java.util.Random;
 
 import static org.mockito.ArgumentMatchers.anyString;
@@ -94,4 +95,15 @@ public class AbstractJdbcControllerTest {
         verify(jdbcController).handleUpdate(sql);
         Assert.assertEquals(affectedRows, this.affectedRows);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testExecuteBatchDelegatesToHandleUpdate(){
+        //WHEN
+        final int[] affectedRows = jdbcController.executeBatch(Arrays.asList(sql, "other statement"));
+
+        //THEN
+        verify(jdbcController).handleUpdate(sql);
+        verify(jdbcController).handleUpdate("other statement");
+        Assert.assertEquals(affectedRows, new int[]{ this.affectedRows, this.affectedRows });
+    }
+}
@@ -16,7 +16,12 @@
 
 package com.consol.citrus.db.server.controller;
 
+import com.consol.citrus.db.driver.dataset.DataSet;
 import com.consol.citrus.db.driver.exchange.DatabaseResult;
+import com.consol.citrus.db.driver.exchange.PreparedStatementCall;
+import com.consol.citrus.db.driver.exchange.StatementParameter;
+import com.consol.citrus.db.server.rules.ExecutePreparedQueryRule;
+import com.consol.citrus.db.server.rules.ExecutePreparedUpdateRule;
 import com.consol.citrus.db.server.rules.ExecuteQueryRule;
 import com.consol.citrus.db.server.rules.ExecuteUpdateRule;
 import com.consol.citrus.db.server.rules.Mapping;
@@ -24,6 +29,7 @@ import com.consol.citrus.db.server.rules.Precondition;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Random;
@@ -117,6 +123,88 @@ public class RuleBasedControllerTest {
         assertEquals(updatedRows, expectedUpdatedRows);
     }
 
+    @Test
+    public void testExecuteBatchEvaluatesUpdateRulesPerStatement(){
+
+        //GIVEN
+        final String matchingUpdate = "matching update";
+        final String otherUpdate = "other update";
+
+        final Precondition<String> precondition = (Precondition<String>) mock(Precondition.class);
+        when(precondition.match(matchingUpdate)).thenReturn(true);
+
+        final Mapping<String, Integer> mapping = (Mapping<String, Integer>) mock(Mapping.class);
+        when(mapping.map(matchingUpdate)).thenReturn(42);
+        when(jdbcControllerMock.handleUpdate(otherUpdate)).thenReturn(7);
+
+        ruleBasedController.add(new ExecuteUpdateRule(precondition, mapping));
+
+        //WHEN
+        final int[] updatedRows = ruleBasedController.executeBatch(Arrays.asList(matchingUpdate, otherUpdate, matchingUpdate));
+
+        //THEN
+        assertEquals(updatedRows, new int[]{ 42, 7, 42 });
+    }
+
+    @Test
+    public void testPreparedQueryRulesMatchTypedParameters(){
+
+        //GIVEN
+        final DatabaseResult expectedResult = new DatabaseResult(new DataSet());
+        final PreparedStatementCall call = new PreparedStatementCall("SELECT * FROM users WHERE id=?",
+                Collections.singletonList(StatementParameter.indexed(1, 42L)));
+
+        ruleBasedController.add(new ExecutePreparedQueryRule(
+                candidate -> candidate.getParameter(1).equals(42L), any -> expectedResult));
+
+        //WHEN
+        final DatabaseResult result = ruleBasedController.executePreparedQuery(call);
+
+        //THEN
+        assertEquals(result, expectedResult);
+    }
+
+    @Test
+    public void testPreparedQueryFallsBackToComposedStatement(){
+
+        //GIVEN
+        final DatabaseResult expectedResult = new DatabaseResult(new DataSet());
+        final PreparedStatementCall call = new PreparedStatementCall("SELECT * FROM users WHERE id=?",
+                Collections.singletonList(StatementParameter.indexed(1, 42)));
+
+        ruleBasedController.add(new ExecutePreparedQueryRule(
+                candidate -> candidate.getParameter(1).equals(42L), any -> new DatabaseResult(0)));
+        ruleBasedController.add(new ExecuteQueryRule(
+                sql -> sql.equals("SELECT * FROM users WHERE id=? - (42)"), any -> expectedResult));
+
+        //WHEN
+        final DatabaseResult result = ruleBasedController.executePreparedQuery(call);
+
+        //THEN
+        assertEquals(result, expectedResult);
+    }
+
+    @Test
+    public void testPreparedBatchEvaluatesUpdateRulesPerCall(){
+
+        //GIVEN
+        final String sql = "INSERT INTO users VALUES (?)";
+        final PreparedStatementCall matchingCall =
+                new PreparedStatementCall(sql, Collections.singletonList(StatementParameter.indexed(1, 1)));
+        final PreparedStatementCall otherCall =
+                new PreparedStatementCall(sql, Collections.singletonList(StatementParameter.indexed(1, 2)));
+
+        ruleBasedController.add(new ExecutePreparedUpdateRule(
+                candidate -> candidate.getParameter(1).equals(1), any -> 42));
+        when(jdbcControllerMock.handleUpdate(otherCall.getComposedStatement())).thenReturn(7);
+
+        //WHEN
+        final int[] updatedRows = ruleBasedController.executePreparedBatch(Arrays.asList(matchingCall, otherCall));
+
+        //THEN
+        assertEquals(updatedRows, new int[]{ 42, 7 });
+    }
+
     @Test
     public void testHandleUpdateWithoutMatch(){
 
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.db.server.handler;
+
+import com.consol.citrus.db.server.JdbcServerException;
+import com.consol.citrus.db.server.controller.JdbcController;
+import com.consol.citrus.db.server.handler.statement.ExecuteBatchHandler;
+import org.testng.annotations.Test;
+import spark.Request;
+import spark.Response;
+
+import java.util.Arrays;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+public class ExecuteBatchHandlerTest {
+
+    private final JdbcController controllerMock = mock(JdbcController.class);
+    private final ExecuteBatchHandler executeBatchHandler = new ExecuteBatchHandler(controllerMock);
+
+    @Test
+    public void testControllerIsUsed(){
+
+        //GIVEN
+        final Request requestMock = mock(Request.class);
+        when(requestMock.body()).thenReturn("[\"INSERT INTO foo VALUES (1)\",\"INSERT INTO foo VALUES (2)\"]");
+
+        final Response responseMock = mock(Response.class);
+
+        final int[] expectedUpdatedRows = new int[]{ 1, 1 };
+        when(controllerMock.executeBatch(anyList())).thenReturn(expectedUpdatedRows);
+
+        //WHEN
+        final int[] updatedRows = executeBatchHandler.handle(requestMock, responseMock);
+
+        //THEN
+        verify(controllerMock).executeBatch(Arrays.asList("INSERT INTO foo VALUES (1)", "INSERT INTO foo VALUES (2)"));
+        verify(responseMock).type("application/json");
+        assertEquals(updatedRows, expectedUpdatedRows);
+    }
+
+    @Test(expectedExceptions = JdbcServerException.class)
+    public void testInvalidBatchRequest(){
+
+        //GIVEN
+        final Request requestMock = mock(Request.class);
+        when(requestMock.body()).thenReturn("INSERT INTO foo VALUES (1)");
+
+        //WHEN
+        executeBatchHandler.handle(requestMock, mock(Response.class));
+
+        //THEN
+        //Exception is thrown
+    }
+}
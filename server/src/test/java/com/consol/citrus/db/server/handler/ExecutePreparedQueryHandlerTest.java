@@ -0,0 +1,75 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.db.server.handler;
+
+import com.consol.citrus.db.driver.exchange.DatabaseResult;
+import com.consol.citrus.db.driver.exchange.PreparedStatementCall;
+import com.consol.citrus.db.driver.exchange.StatementParameter;
+import com.consol.citrus.db.server.controller.JdbcController;
+import com.consol.citrus.db.server.handler.statement.ExecutePreparedQueryHandler;
+import com.consol.citrus.db.server.handler.statement.PreparedStatementRegistry;
+import org.testng.annotations.Test;
+import spark.HaltException;
+import spark.Request;
+import spark.Response;
+
+import java.util.Collections;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+public class ExecutePreparedQueryHandlerTest {
+
+    private final JdbcController controllerMock = mock(JdbcController.class);
+    private final PreparedStatementRegistry registry = new PreparedStatementRegistry(10);
+    private final ExecutePreparedQueryHandler handler = new ExecutePreparedQueryHandler(controllerMock, registry);
+
+    @Test
+    public void testControllerIsUsed(){
+
+        //GIVEN
+        final String sql = "SELECT * FROM users WHERE id=?";
+        final Request requestMock = mock(Request.class);
+        when(requestMock.params(":handle")).thenReturn(registry.register(sql));
+        when(requestMock.body()).thenReturn("[{\"index\":1,\"sqlType\":-5,\"value\":42}]");
+
+        final DatabaseResult expectedResult = new DatabaseResult(0);
+        when(controllerMock.executePreparedQuery(new PreparedStatementCall(sql,
+                Collections.singletonList(StatementParameter.indexed(1, 42L))))).thenReturn(expectedResult);
+
+        //WHEN
+        final DatabaseResult result = handler.handle(requestMock, mock(Response.class));
+
+        //THEN
+        assertEquals(result, expectedResult);
+    }
+
+    @Test(expectedExceptions = HaltException.class)
+    public void testUnknownStatementHandle(){
+
+        //GIVEN
+        final Request requestMock = mock(Request.class);
+        when(requestMock.params(":handle")).thenReturn("unknown");
+
+        //WHEN
+        handler.handle(requestMock, mock(Response.class));
+
+        //THEN
+        //Exception is thrown
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.db.server.handler;
+
+import com.consol.citrus.db.server.handler.statement.PreparedStatementRegistry;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNull;
+
+public class PreparedStatementRegistryTest {
+
+    @Test
+    public void testRegisterAndRelease(){
+
+        //GIVEN
+        final PreparedStatementRegistry registry = new PreparedStatementRegistry(10);
+
+        //WHEN
+        final String first = registry.register("SELECT 1");
+        final String second = registry.register("SELECT 1");
+
+        //THEN
+        assertNotEquals(first, second);
+        assertEquals(registry.get(first), "SELECT 1");
+        assertEquals(registry.release(first), "SELECT 1");
+        assertNull(registry.get(first));
+        assertEquals(registry.size(), 1);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedStatementIsEvicted(){
+
+        //GIVEN
+        final PreparedStatementRegistry registry = new PreparedStatementRegistry(2);
+        final String first = registry.register("first");
+        final String second = registry.register("second");
+        registry.get(first);
+
+        //WHEN
+        final String third = registry.register("third");
+
+        //THEN
+        assertEquals(registry.size(), 2);
+        assertEquals(registry.get(first), "first");
+        assertNull(registry.get(second));
+        assertEquals(registry.get(third), "third");
+    }
+}
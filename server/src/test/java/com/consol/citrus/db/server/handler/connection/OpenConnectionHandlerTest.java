@@ -17,6 +17,8 @@
 package com.consol.citrus.db.server.handler.connection;
 
 import com.consol.citrus.db.server.controller.JdbcController;
+import com.consol.citrus.db.server.session.JdbcSession;
+import com.consol.citrus.db.server.session.SessionRegistry;
 import org.testng.annotations.Test;
 import spark.Request;
 import spark.Response;
@@ -28,6 +30,8 @@ import java.util.Map;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
 
 public class OpenConnectionHandlerTest {
 
@@ -54,4 +58,24 @@ public class OpenConnectionHandlerTest {
         verify(controllerMock).openConnection(expectedMap);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testSessionIsOpened(){
+
+        //GIVEN
+        final SessionRegistry sessions = new SessionRegistry(1000L, 10);
+        final OpenConnectionHandler handler = new OpenConnectionHandler(mock(JdbcController.class), sessions);
+        final Request requestMock = mock(Request.class);
+        final Response responseMock = mock(Response.class);
+
+        //WHEN
+        final Object sessionId = handler.handle(requestMock, responseMock);
+
+        //THEN
+        try {
+            assertEquals(sessions.size(), 1);
+            assertSame(JdbcSession.current(), sessions.resolve((String) sessionId));
+        } finally {
+            JdbcSession.bind(null);
+        }
+    }
+}
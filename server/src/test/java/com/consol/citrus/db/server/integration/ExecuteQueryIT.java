@@ -0,0 +1,212 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.db.server.integration;
+
+import com.consol.citrus.db.driver.JdbcDriver;
+import com.consol.citrus.db.driver.data.Row;
+import com.consol.citrus.db.driver.dataset.DataSetBuilder;
+import com.consol.citrus.db.server.JdbcServer;
+import com.consol.citrus.db.server.JdbcServerConfiguration;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.util.EntityUtils;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.regex.Pattern;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class ExecuteQueryIT {
+
+    private static final int PORT = 4568;
+    private static final String QUERY = "SELECT id, name FROM users";
+    private static final String LARGE_QUERY = "SELECT id FROM large_table";
+    private static final int LARGE_RESULT_SIZE = 10000;
+    private static final String PREPARED_QUERY = "SELECT id, name FROM users WHERE id = ?";
+
+    private JdbcServer jdbcServer;
+    private final JdbcDriver jdbcDriver = new JdbcDriver();
+
+    @BeforeClass
+    public void setUp() {
+        final JdbcServerConfiguration configuration = new JdbcServerConfiguration();
+        configuration.setPort(PORT);
+
+        jdbcServer = new JdbcServer(configuration);
+
+        final Map<String, Object> first = new LinkedHashMap<>();
+        first.put("id", 1);
+        first.put("name", "foo");
+        final Map<String, Object> second = new LinkedHashMap<>();
+        second.put("id", 2);
+        second.put("name", null);
+
+        jdbcServer.when().statement().executeQuery(QUERY)
+                .thenReturn(new DataSetBuilder().add(new Row(first), new Row(second)).build());
+
+        final DataSetBuilder largeDataSet = new DataSetBuilder();
+        for (int i = 0; i < LARGE_RESULT_SIZE; i++) {
+            largeDataSet.add(new Row(new LinkedHashMap<>(Collections.singletonMap("id", i))));
+        }
+        jdbcServer.when().statement().executeQuery(LARGE_QUERY).thenReturn(largeDataSet.build());
+
+        jdbcServer.when().statement().executeUpdate(Pattern.compile("INSERT INTO users .*")).thenReturn(1);
+
+        jdbcServer.when().statement().executePreparedQuery(PREPARED_QUERY, 1L)
+                .thenReturn(new DataSetBuilder().add(new Row(first)).build());
+        jdbcServer.when().statement().executeQuery(PREPARED_QUERY + " - (2)")
+                .thenReturn(new DataSetBuilder().add(new Row(second)).build());
+
+        jdbcServer.startAndAwaitInitialization();
+    }
+
+    @AfterClass
+    public void tearDown() {
+        jdbcServer.stop();
+    }
+
+    @Test
+    public void testExecuteQuery() throws Exception {
+
+        //GIVEN
+        final Connection connection = jdbcDriver.connect("jdbc:citrus:localhost:" + PORT, new Properties());
+        final Statement statement = connection.createStatement();
+
+        //WHEN
+        final ResultSet resultSet = statement.executeQuery(QUERY);
+
+        //THEN
+        assertTrue(resultSet.next());
+        assertEquals(resultSet.getInt("id"), 1);
+        assertEquals(resultSet.getString("name"), "foo");
+        assertTrue(resultSet.next());
+        assertEquals(resultSet.getInt("id"), 2);
+        assertEquals(resultSet.getString("name"), null);
+        assertTrue(resultSet.wasNull());
+        assertFalse(resultSet.next());
+    }
+
+    @Test
+    public void testExecuteQueryWithResultStreaming() throws Exception {
+
+        //GIVEN
+        final Properties properties = new Properties();
+        properties.setProperty(JdbcDriver.RESULT_STREAMING_PROPERTY, "true");
+        final Connection connection = jdbcDriver.connect("jdbc:citrus:localhost:" + PORT, properties);
+
+        //WHEN
+        int rows = 0;
+        try (final Statement statement = connection.createStatement();
+             final ResultSet resultSet = statement.executeQuery(LARGE_QUERY)) {
+            while (resultSet.next()) {
+                assertEquals(resultSet.getInt(1), rows++);
+            }
+        }
+
+        final Statement statement = connection.createStatement();
+        final ResultSet partiallyRead = statement.executeQuery(LARGE_QUERY);
+        assertTrue(partiallyRead.next());
+        partiallyRead.close();
+
+        //THEN
+        assertEquals(rows, LARGE_RESULT_SIZE);
+        final ResultSet resultSet = statement.executeQuery(QUERY);
+        assertTrue(resultSet.next());
+        assertEquals(resultSet.getString("name"), "foo");
+    }
+
+    @Test
+    public void testExecuteBatch() throws Exception {
+
+        //GIVEN
+        final Connection connection = jdbcDriver.connect("jdbc:citrus:localhost:" + PORT, new Properties());
+        final PreparedStatement statement = connection.prepareStatement("INSERT INTO users VALUES (?)");
+        for (int i = 0; i < 100; i++) {
+            statement.setInt(1, i);
+            statement.addBatch();
+        }
+
+        //WHEN
+        final int[] updateCounts = statement.executeBatch();
+
+        //THEN
+        assertEquals(updateCounts.length, 100);
+        assertTrue(Arrays.stream(updateCounts).allMatch(count -> count == 1));
+    }
+
+    @Test
+    public void testExecutePreparedQueryByHandle() throws Exception {
+
+        //GIVEN
+        final Connection connection = jdbcDriver.connect("jdbc:citrus:localhost:" + PORT, new Properties());
+        final PreparedStatement statement = connection.prepareStatement(PREPARED_QUERY);
+
+        //WHEN
+        statement.setLong(1, 1L);
+        final ResultSet typedMatch = statement.executeQuery();
+        assertTrue(typedMatch.next());
+        final int typedId = typedMatch.getInt("id");
+
+        statement.setLong(1, 2L);
+        final ResultSet composedMatch = statement.executeQuery();
+        assertTrue(composedMatch.next());
+        final int composedId = composedMatch.getInt("id");
+
+        statement.close();
+
+        //THEN
+        assertEquals(typedId, 1);
+        assertEquals(composedId, 2);
+        assertTrue(statement.isClosed());
+    }
+
+    @Test
+    public void testJsonIsDefaultRepresentation() throws Exception {
+
+        //GIVEN
+        try (final CloseableHttpClient httpClient = HttpClients.createDefault()) {
+
+            //WHEN
+            final HttpResponse response = httpClient.execute(RequestBuilder.post("http://localhost:" + PORT + "/query")
+                    .addHeader(HttpHeaders.ACCEPT, "*/*")
+                    .setEntity(new StringEntity(QUERY, ContentType.TEXT_PLAIN))
+                    .build());
+
+            //THEN
+            assertEquals(ContentType.get(response.getEntity()).getMimeType(), "application/json");
+            assertTrue(EntityUtils.toString(response.getEntity()).contains("\"name\":\"foo\""));
+        }
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.db.server.integration;
+
+import com.consol.citrus.db.driver.JdbcDriver;
+import com.consol.citrus.db.driver.data.Row;
+import com.consol.citrus.db.driver.dataset.DataSetBuilder;
+import com.consol.citrus.db.server.JdbcServer;
+import com.consol.citrus.db.server.JdbcServerConfiguration;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class Http2IT {
+
+    private static final int PORT = 4573;
+    private static final String URL = "jdbc:citrus:h2c://localhost:" + PORT + "/testdb";
+    private static final String QUERY = "SELECT id FROM users";
+    private static final String PREPARED_QUERY = "SELECT id FROM users WHERE id = ?";
+
+    private JdbcServer jdbcServer;
+    private final JdbcDriver jdbcDriver = new JdbcDriver();
+
+    @BeforeClass
+    public void setUp() {
+        final JdbcServerConfiguration configuration = new JdbcServerConfiguration();
+        configuration.setPort(PORT);
+        configuration.setHttp2(true);
+
+        jdbcServer = new JdbcServer(configuration);
+
+        jdbcServer.when().statement().executeQuery(QUERY)
+                .thenReturn(new DataSetBuilder()
+                        .add(new Row(new LinkedHashMap<>(Collections.singletonMap("id", 1))))
+                        .add(new Row(new LinkedHashMap<>(Collections.singletonMap("id", 2))))
+                        .build());
+        jdbcServer.when().statement().executePreparedQuery(PREPARED_QUERY, 2L)
+                .thenReturn(new DataSetBuilder()
+                        .add(new Row(new LinkedHashMap<>(Collections.singletonMap("id", 2))))
+                        .build());
+        jdbcServer.when().statement().executeUpdate(Pattern.compile("INSERT INTO users .*")).thenReturn(1);
+
+        jdbcServer.startAndAwaitInitialization();
+    }
+
+    @AfterClass
+    public void tearDown() {
+        jdbcServer.stop();
+    }
+
+    @Test
+    public void testServerSpeaksHttp2() throws Exception {
+
+        //GIVEN
+        final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+        final HttpRequest request = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + PORT + "/connection?database=testdb")).GET().build();
+
+        //WHEN
+        final HttpResponse<String> upgrade = client.send(request, HttpResponse.BodyHandlers.ofString());
+        final HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+        //THEN
+        assertEquals(upgrade.statusCode(), 200);
+        assertEquals(upgrade.version(), HttpClient.Version.HTTP_2);
+        assertEquals(response.version(), HttpClient.Version.HTTP_2);
+    }
+
+    @Test
+    public void testServerSpeaksHttp11() throws Exception {
+
+        //GIVEN
+        final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        //WHEN
+        final HttpResponse<String> response = client.send(HttpRequest.newBuilder(
+                URI.create("http://localhost:" + PORT + "/connection?database=testdb")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        //THEN
+        assertEquals(response.statusCode(), 200);
+        assertEquals(response.version(), HttpClient.Version.HTTP_1_1);
+    }
+
+    @Test
+    public void testExecuteQuery() throws Exception {
+
+        //GIVEN
+        try (final Connection connection = jdbcDriver.connect(URL, new Properties());
+             final Statement statement = connection.createStatement()) {
+
+            //WHEN
+            final ResultSet resultSet = statement.executeQuery(QUERY);
+
+            //THEN
+            assertTrue(resultSet.next());
+            assertEquals(resultSet.getInt("id"), 1);
+            assertTrue(resultSet.next());
+            assertEquals(resultSet.getInt("id"), 2);
+            assertFalse(resultSet.next());
+        }
+    }
+
+    @Test
+    public void testExecuteStreamedQueryOverHttpUrl() throws Exception {
+
+        //GIVEN
+        final Properties properties = new Properties();
+        properties.setProperty(JdbcDriver.HTTP2_PROPERTY, "true");
+        properties.setProperty(JdbcDriver.RESULT_STREAMING_PROPERTY, "true");
+
+        try (final Connection connection = jdbcDriver.connect("jdbc:citrus:http://localhost:" + PORT + "/testdb", properties);
+             final Statement statement = connection.createStatement()) {
+
+            //WHEN
+            final ResultSet resultSet = statement.executeQuery(QUERY);
+
+            //THEN
+            assertTrue(resultSet.next());
+            assertEquals(resultSet.getInt("id"), 1);
+            assertTrue(resultSet.next());
+            assertEquals(resultSet.getInt("id"), 2);
+            assertFalse(resultSet.next());
+        }
+    }
+
+    @Test
+    public void testExecutePreparedQuery() throws Exception {
+
+        //GIVEN
+        try (final Connection connection = jdbcDriver.connect(URL, new Properties());
+             final PreparedStatement statement = connection.prepareStatement(PREPARED_QUERY)) {
+            statement.setLong(1, 2L);
+
+            //WHEN
+            final ResultSet resultSet = statement.executeQuery();
+
+            //THEN
+            assertTrue(resultSet.next());
+            assertEquals(resultSet.getInt("id"), 2);
+        }
+    }
+
+    @Test
+    public void testConnectionsAreMultiplexed() throws Exception {
+
+        //GIVEN
+        final ExecutorService clients = Executors.newFixedThreadPool(8);
+        final List<Future<Integer>> results = new ArrayList<>();
+
+        //WHEN
+        for (int i = 0; i < 32; i++) {
+            final int id = i;
+            results.add(clients.submit(() -> {
+                try (final Connection connection = jdbcDriver.connect(URL, new Properties());
+                     final Statement statement = connection.createStatement()) {
+                    return statement.executeUpdate("INSERT INTO users VALUES (" + id + ")");
+                }
+            }));
+        }
+
+        //THEN
+        for (final Future<Integer> result : results) {
+            assertEquals(result.get(10, TimeUnit.SECONDS).intValue(), 1);
+        }
+        clients.shutdown();
+    }
+
+    @Test
+    public void testTransactionState() throws Exception {
+
+        //GIVEN
+        try (final Connection connection = jdbcDriver.connect(URL, new Properties())) {
+
+            //WHEN
+            connection.setAutoCommit(false);
+
+            //THEN
+            assertFalse(connection.getAutoCommit());
+            connection.commit();
+        }
+    }
+}
@@ -16,8 +16,11 @@
 
 package com.consol.citrus.db.server.integration;
 
+import com.consol.citrus.db.driver.JdbcConnection;
 import com.consol.citrus.db.driver.JdbcDriver;
+import com.consol.citrus.db.driver.transport.HttpTransport;
 import com.consol.citrus.db.server.JdbcServer;
+import org.apache.http.impl.client.HttpClients;
 import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeSuite;
 import org.testng.annotations.Test;
@@ -26,8 +29,11 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Properties;
 
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.expectThrows;
 
 public class OpenConnectionIT{
 
@@ -58,4 +64,35 @@ public class OpenConnectionIT{
         assertFalse(connection.isClosed());
     }
 
+    @Test
+    public void testConnectionsHaveIndependentTransactionState() throws SQLException {
+
+        //GIVEN
+        final String url = "jdbc:citrus:localhost:4567";
+        final Connection first = jdbcDriver.connect(url, new Properties());
+        final Connection second = jdbcDriver.connect(url, new Properties());
+
+        //WHEN
+        first.setAutoCommit(false);
+        second.setAutoCommit(true);
+
+        //THEN
+        assertFalse(first.getAutoCommit());
+        assertTrue(second.getAutoCommit());
+    }
+
+    @Test
+    public void testUnknownSession() {
+
+        //GIVEN
+        final HttpTransport transport = new HttpTransport(HttpClients.createDefault(), "http://localhost:4567", false);
+
+        //WHEN
+        final SQLException exception = expectThrows(SQLException.class, () -> transport.createStatement("evicted"));
+
+        //THEN
+        assertEquals(exception.getSQLState(), JdbcConnection.UNKNOWN_SESSION_STATE);
+        assertEquals(exception.getMessage(), "Unknown session: evicted");
+    }
+
 }
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.server.integration;
+
+import com.consol.citrus.db.driver.JdbcDriver;
+import com.consol.citrus.db.driver.data.Row;
+import com.consol.citrus.db.driver.dataset.DataSetBuilder;
+import com.consol.citrus.db.driver.transport.UnixDomainSockets;
+import com.consol.citrus.db.server.JdbcServer;
+import com.consol.citrus.db.server.JdbcServerConfiguration;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Properties;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class UnixDomainSocketIT {
+
+    private static final int PORT = 4572;
+    private static final String QUERY = "SELECT id FROM users";
+
+    private Path directory;
+    private Path socket;
+    private JdbcServer jdbcServer;
+    private final JdbcDriver jdbcDriver = new JdbcDriver();
+
+    @BeforeClass
+    public void setUp() throws IOException {
+        if (!UnixDomainSockets.isSupported()) {
+            throw new SkipException("Unix domain sockets require Java 16 or newer");
+        }
+
+        directory = Files.createTempDirectory("citrus-db");
+        socket = directory.resolve("citrus-db.sock");
+
+        final JdbcServerConfiguration configuration = new JdbcServerConfiguration();
+        configuration.setPort(PORT);
+        configuration.setUnixSocketPath(socket.toString());
+
+        jdbcServer = new JdbcServer(configuration);
+        jdbcServer.when().statement().executeQuery(QUERY)
+                .thenReturn(new DataSetBuilder()
+                        .add(new Row(new LinkedHashMap<>(Collections.singletonMap("id", 1))))
+                        .build());
+
+        jdbcServer.startAndAwaitInitialization();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() throws IOException {
+        if (jdbcServer != null) {
+            jdbcServer.stop();
+            assertFalse(Files.exists(socket));
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    public void testExecuteQuery() throws Exception {
+
+        //GIVEN
+        try (final Connection connection = jdbcDriver.connect("jdbc:citrus:unix:" + socket + "?database=testdb", new Properties());
+             final Statement statement = connection.createStatement()) {
+
+            //WHEN
+            final ResultSet resultSet = statement.executeQuery(QUERY);
+
+            //THEN
+            assertTrue(resultSet.next());
+            assertEquals(resultSet.getInt("id"), 1);
+            assertFalse(resultSet.next());
+        }
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.server.rules;
+
+import com.consol.citrus.db.driver.exchange.DatabaseResult;
+import com.consol.citrus.db.driver.exchange.PreparedStatementCall;
+import com.consol.citrus.db.driver.exchange.StatementParameter;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+public class RuleIndexTest {
+
+    private final RuleIndex<String, ExecuteQueryRule> ruleIndex = new RuleIndex<>(sql -> sql);
+
+    @Test
+    public void testFindByStatement() {
+
+        //GIVEN
+        final RuleIndex<String, ExecuteQueryRule> index = new RuleIndex<>(sql -> sql);
+        for (int i = 0; i < 1000; i++) {
+            index.add(rule(StatementPrecondition.equalTo("SELECT " + i)));
+        }
+        final ExecuteQueryRule expected = rule(StatementPrecondition.equalTo("SELECT foo"));
+        index.add(expected);
+
+        //WHEN
+        final ExecuteQueryRule rule = index.claim("SELECT foo");
+
+        //THEN
+        assertSame(rule, expected);
+        assertNull(index.claim("SELECT bar"));
+    }
+
+    @Test
+    public void testFirstRegisteredRuleWins() {
+
+        //GIVEN
+        final RuleIndex<String, ExecuteQueryRule> index = new RuleIndex<>(sql -> sql);
+        final ExecuteQueryRule generic = rule(sql -> sql.endsWith("users"));
+        final ExecuteQueryRule pattern = rule(StatementPrecondition.matching(Pattern.compile("SELECT .*")));
+        final ExecuteQueryRule statement = rule(StatementPrecondition.equalTo("SELECT * FROM orders"));
+        index.add(generic);
+        index.add(pattern);
+        index.add(statement);
+
+        //WHEN
+        final ExecuteQueryRule usersRule = index.claim("SELECT * FROM users");
+        final ExecuteQueryRule ordersRule = index.claim("SELECT * FROM orders");
+
+        //THEN
+        assertSame(usersRule, generic);
+        assertSame(ordersRule, pattern);
+    }
+
+    @Test
+    public void testFirstMatchingPatternWins() {
+
+        //GIVEN
+        final RuleIndex<String, ExecuteQueryRule> index = new RuleIndex<>(sql -> sql);
+        final ExecuteQueryRule users = rule(StatementPrecondition.matching(Pattern.compile("SELECT (.*) FROM users")));
+        final ExecuteQueryRule caseInsensitive =
+                rule(StatementPrecondition.matching(Pattern.compile("select .*", Pattern.CASE_INSENSITIVE)));
+        final ExecuteQueryRule any = rule(StatementPrecondition.matching(Pattern.compile(".*")));
+        index.add(users);
+        index.add(caseInsensitive);
+        index.add(any);
+
+        //WHEN
+        final ExecuteQueryRule rule = index.claim("SELECT id FROM orders");
+
+        //THEN
+        assertSame(rule, caseInsensitive);
+        assertSame(index.claim("SELECT id FROM users"), users);
+        assertSame(index.claim("DELETE FROM users"), any);
+    }
+
+    @Test
+    public void testExhaustedRulesAreSkipped() {
+
+        //GIVEN
+        final RuleIndex<String, ExecuteQueryRule> index = new RuleIndex<>(sql -> sql);
+        final ExecuteQueryRule once = rule(StatementPrecondition.equalTo("SELECT 1")).times(1);
+        final ExecuteQueryRule patternOnce = rule(StatementPrecondition.matching(Pattern.compile("SELECT \\d"))).times(1);
+        final ExecuteQueryRule fallback = rule(StatementPrecondition.matching(Pattern.compile("SELECT .*")));
+        index.add(once);
+        index.add(patternOnce);
+        index.add(fallback);
+
+        //WHEN
+        index.claim("SELECT 1").applyClaimed("SELECT 1");
+        index.claim("SELECT 1").applyClaimed("SELECT 1");
+
+        //THEN
+        assertSame(index.claim("SELECT 1"), fallback);
+    }
+
+    @Test
+    public void testPatternsWithBackReferences() {
+
+        //GIVEN
+        final ExecuteQueryRule first = rule(StatementPrecondition.matching(Pattern.compile("SELECT (a)")));
+        final ExecuteQueryRule backReference = rule(StatementPrecondition.matching(Pattern.compile("(\\w+) \\1")));
+        ruleIndex.add(first);
+        ruleIndex.add(backReference);
+
+        //WHEN
+        final ExecuteQueryRule rule = ruleIndex.claim("foo foo");
+
+        //THEN
+        assertSame(rule, backReference);
+        assertSame(ruleIndex.claim("SELECT a"), first);
+        assertNull(ruleIndex.claim("foo bar"));
+    }
+
+    @Test
+    public void testFindPreparedStatementRule() {
+
+        //GIVEN
+        final RuleIndex<PreparedStatementCall, ExecutePreparedQueryRule> index =
+                new RuleIndex<>(PreparedStatementCall::getStatement);
+        final ExecutePreparedQueryRule other = preparedRule(new PreparedStatementPrecondition("SELECT ?", 2));
+        final ExecutePreparedQueryRule expected = preparedRule(new PreparedStatementPrecondition("SELECT ?", 1));
+        index.add(other);
+        index.add(expected);
+
+        //WHEN
+        final ExecutePreparedQueryRule rule = index.claim(call(1));
+
+        //THEN
+        assertSame(rule, expected);
+        assertNull(index.claim(call(3)));
+    }
+
+    @Test
+    public void testExhaustedRulesAreCompacted() {
+
+        //GIVEN
+        final RuleIndex<String, ExecuteQueryRule> index = new RuleIndex<>(sql -> sql, Runnable::run);
+        final ExecuteQueryRule once = rule(StatementPrecondition.equalTo("SELECT 1")).times(1);
+        final ExecuteQueryRule twice = rule(StatementPrecondition.matching(Pattern.compile("SELECT \\d"))).times(2);
+        index.add(once);
+        index.add(twice);
+
+        //WHEN
+        index.claim("SELECT 1");
+        index.claim("SELECT 1");
+        final int sizeAfterFirstExhaustion = index.size();
+        index.claim("SELECT 1");
+
+        //THEN
+        assertEquals(sizeAfterFirstExhaustion, 1);
+        assertEquals(index.size(), 0);
+        assertNull(index.claim("SELECT 1"));
+    }
+
+    @Test
+    public void testConcurrentClaimsRespectInvocationLimit() throws Exception {
+
+        //GIVEN
+        final RuleIndex<String, ExecuteQueryRule> index = new RuleIndex<>(sql -> sql);
+        index.add(rule(StatementPrecondition.equalTo("SELECT 1")).times(100));
+
+        final int threads = 8;
+        final AtomicInteger claimed = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        //WHEN
+        final List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < 100; j++) {
+                    if (index.claim("SELECT 1") != null) {
+                        claimed.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (final Future<?> result : results) {
+            result.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        //THEN
+        assertEquals(claimed.get(), 100);
+    }
+
+    private ExecuteQueryRule rule(final Precondition<String> precondition) {
+        return new ExecuteQueryRule(precondition, sql -> new DatabaseResult(0));
+    }
+
+    private ExecutePreparedQueryRule preparedRule(final Precondition<PreparedStatementCall> precondition) {
+        return new ExecutePreparedQueryRule(precondition, call -> new DatabaseResult(0));
+    }
+
+    private PreparedStatementCall call(final int parameter) {
+        return new PreparedStatementCall("SELECT ?", Collections.singletonList(StatementParameter.indexed(1, parameter)));
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.db.server.rules;
+
+import com.consol.citrus.db.server.JdbcServerException;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+public class RuleTest {
+
+    @Test
+    public void testApplyOnExhaustedRule() {
+
+        //GIVEN
+        final ExecuteUpdateRule rule = new ExecuteUpdateRule(statement -> 1).times(1);
+
+        //WHEN
+        final int firstResult = rule.applyOn("UPDATE users");
+
+        //THEN
+        assertEquals(firstResult, 1);
+        assertTrue(rule.isExhausted());
+        assertFalse(rule.matches("UPDATE users"));
+        expectThrows(JdbcServerException.class, () -> rule.applyOn("UPDATE users"));
+    }
+
+    @Test
+    public void testClaimIsLimited() {
+
+        //GIVEN
+        final ExecuteUpdateRule rule = new ExecuteUpdateRule(statement -> 1).times(2);
+
+        //WHEN
+        final boolean first = rule.claim("UPDATE users");
+        final boolean second = rule.claim("UPDATE users");
+        final boolean third = rule.claim("UPDATE users");
+
+        //THEN
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(third);
+        assertTrue(rule.isExhausted());
+    }
+
+    @Test
+    public void testNegativeInvocationsAreUnlimited() {
+
+        //GIVEN
+        final ExecuteUpdateRule rule = new ExecuteUpdateRule(statement -> 1).times(-1);
+
+        //WHEN
+        for (int i = 0; i < 10; i++) {
+            assertEquals(rule.applyOn("UPDATE users").intValue(), 1);
+        }
+
+        //THEN
+        assertFalse(rule.isExhausted());
+        assertTrue(rule.matches("UPDATE users"));
+        assertTrue(rule.claim("UPDATE users"));
+    }
+}
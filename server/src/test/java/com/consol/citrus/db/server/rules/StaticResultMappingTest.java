@@ -0,0 +1,171 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.server.rules;
+
+import com.consol.citrus.db.driver.dataset.DataSet;
+import com.consol.citrus.db.driver.dataset.FixtureCache;
+import com.consol.citrus.db.driver.exchange.DatabaseResult;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.stream.Stream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+public class StaticResultMappingTest {
+
+    @Test
+    public void testSameResultIsReturned() {
+
+        //GIVEN
+        final StaticResultMapping<String> mapping = StaticResultMapping.ofDataSet(new DataSet());
+
+        //WHEN
+        final DatabaseResult first = mapping.map("SELECT 1");
+        final DatabaseResult second = mapping.map("SELECT 2");
+
+        //THEN
+        assertSame(first, second);
+        assertEquals(first.getDataSet(), new DataSet());
+    }
+
+    @Test
+    public void testModifiedFileIsReloaded() throws Exception {
+
+        //GIVEN
+        final Path file = Files.createTempFile("dataset", ".json");
+        try {
+            Files.write(file, "[ { \"id\" : 1 } ]".getBytes(StandardCharsets.UTF_8));
+            Files.setLastModifiedTime(file, FileTime.fromMillis(1000L));
+            final StaticResultMapping<String> mapping = StaticResultMapping.ofFile(file, null, 0L);
+            final DatabaseResult initial = mapping.map("SELECT id FROM users");
+
+            //WHEN
+            Files.write(file, "[ { \"id\" : 2 } ]".getBytes(StandardCharsets.UTF_8));
+            Files.setLastModifiedTime(file, FileTime.fromMillis(2000L));
+            final DatabaseResult reloaded = mapping.map("SELECT id FROM users");
+
+            //THEN
+            assertSame(mapping.map("SELECT id FROM users"), reloaded);
+            assertNotSame(reloaded, initial);
+            assertEquals(initial.getDataSet().getRows().get(0).getValue("id"), 1);
+            assertEquals(reloaded.getDataSet().getRows().get(0).getValue("id"), 2);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testModificationIsCheckedOncePerInterval() throws Exception {
+
+        //GIVEN
+        final Path file = Files.createTempFile("dataset", ".json");
+        try {
+            Files.write(file, "[ { \"id\" : 1 } ]".getBytes(StandardCharsets.UTF_8));
+            Files.setLastModifiedTime(file, FileTime.fromMillis(1000L));
+            final StaticResultMapping<String> mapping = StaticResultMapping.ofFile(file, null, 60000L);
+            final DatabaseResult initial = mapping.map("SELECT id FROM users");
+
+            //WHEN
+            Files.write(file, "[ { \"id\" : 2 } ]".getBytes(StandardCharsets.UTF_8));
+            Files.setLastModifiedTime(file, FileTime.fromMillis(2000L));
+            final DatabaseResult result = mapping.map("SELECT id FROM users");
+
+            //THEN
+            assertSame(result, initial);
+            assertEquals(result.getDataSet().getRows().get(0).getValue("id"), 1);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testReloadingDisabled() throws Exception {
+
+        //GIVEN
+        final Path file = Files.createTempFile("dataset", ".json");
+        try {
+            Files.write(file, "[ { \"id\" : 1 } ]".getBytes(StandardCharsets.UTF_8));
+            final StaticResultMapping<String> mapping = StaticResultMapping.ofFile(file, null, -1L);
+            final DatabaseResult initial = mapping.map("SELECT id FROM users");
+
+            //WHEN
+            Files.delete(file);
+            final DatabaseResult result = mapping.map("SELECT id FROM users");
+
+            //THEN
+            assertSame(result, initial);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testCsvFile() throws Exception {
+
+        //GIVEN
+        final Path file = Files.createTempFile("dataset", ".csv");
+        try {
+            Files.write(file, "id:INTEGER,name\n1,foo\n".getBytes(StandardCharsets.UTF_8));
+
+            //WHEN
+            final DatabaseResult result = StaticResultMapping.<String>ofFile(file).map("SELECT id, name FROM users");
+
+            //THEN
+            assertEquals(result.getDataSet().getRows().get(0).getValue("id"), 1);
+            assertEquals(result.getDataSet().getRows().get(0).getValue("name"), "foo");
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testFixtureCache() throws Exception {
+
+        //GIVEN
+        final Path directory = Files.createTempDirectory("fixture-cache");
+        final Path file = Files.createTempFile("dataset", ".json");
+        try {
+            Files.write(file, "[ { \"id\" : 1 } ]".getBytes(StandardCharsets.UTF_8));
+            final FixtureCache fixtureCache = new FixtureCache(directory);
+            StaticResultMapping.<String>ofFile(file, fixtureCache);
+
+            //WHEN
+            final DatabaseResult result = StaticResultMapping.<String>ofFile(file, fixtureCache).map("SELECT id FROM users");
+
+            //THEN
+            assertEquals(result.getDataSet().getRows().get(0).getValue("id"), 1);
+            try (final Stream<Path> entries = Files.list(directory)) {
+                assertEquals(entries.count(), 1L);
+            }
+        } finally {
+            Files.delete(file);
+            try (final Stream<Path> entries = Files.list(directory)) {
+                for (final Path entry : (Iterable<Path>) entries::iterator) {
+                    Files.delete(entry);
+                }
+            }
+            Files.delete(directory);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.server.session;
+
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.expectThrows;
+
+public class SessionRegistryTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    public void testOpenAndResolve() {
+
+        //GIVEN
+        final SessionRegistry registry = new SessionRegistry(1000L, 10, clock::get);
+
+        //WHEN
+        final JdbcSession first = registry.open();
+        final JdbcSession second = registry.open();
+
+        //THEN
+        assertNotSame(first, second);
+        assertFalse(first.getId().equals(second.getId()));
+        assertSame(registry.resolve(first.getId()), first);
+        assertSame(registry.resolve(second.getId()), second);
+        assertEquals(registry.size(), 2);
+    }
+
+    @Test
+    public void testResolveWithoutId() {
+
+        //GIVEN
+        final SessionRegistry registry = new SessionRegistry(1000L, 10, clock::get);
+
+        //WHEN
+        final JdbcSession session = registry.resolve(null);
+
+        //THEN
+        assertNull(session);
+        assertNull(registry.resolve(""));
+        assertEquals(registry.size(), 0);
+    }
+
+    @Test
+    public void testClose() {
+
+        //GIVEN
+        final SessionRegistry registry = new SessionRegistry(1000L, 10, clock::get);
+        final JdbcSession session = registry.open();
+
+        //WHEN
+        registry.close(session.getId());
+
+        //THEN
+        assertEquals(registry.size(), 0);
+    }
+
+    @Test
+    public void testIdleSessionsAreEvicted() {
+
+        //GIVEN
+        clock.set(0L);
+        final SessionRegistry registry = new SessionRegistry(1000L, 10, clock::get);
+        final JdbcSession idle = registry.open();
+        final JdbcSession active = registry.open();
+        idle.setTransactionState(true);
+
+        clock.set(800L);
+        registry.resolve(active.getId());
+
+        //WHEN
+        clock.set(1600L);
+        registry.resolve(active.getId());
+
+        //THEN
+        assertEquals(registry.size(), 1);
+        expectThrows(UnknownSessionException.class, () -> registry.resolve(idle.getId()));
+        assertSame(registry.resolve(active.getId()), active);
+        assertEquals(registry.size(), 1);
+    }
+
+    @Test
+    public void testResolveUnknownId() {
+
+        //GIVEN
+        final SessionRegistry registry = new SessionRegistry(1000L, 10, clock::get);
+
+        //WHEN
+        final UnknownSessionException exception =
+                expectThrows(UnknownSessionException.class, () -> registry.resolve("unknown"));
+
+        //THEN
+        assertEquals(exception.getSessionId(), "unknown");
+        assertEquals(registry.size(), 0);
+    }
+
+    @Test
+    public void testStatementCount() {
+
+        //GIVEN
+        final JdbcSession session = new SessionRegistry(1000L, 10, clock::get).open();
+
+        //WHEN
+        session.statementOpened();
+        session.statementOpened();
+        session.statementClosed();
+        session.statementClosed();
+        session.statementClosed();
+
+        //THEN
+        assertEquals(session.getOpenStatements(), 0);
+    }
+
+    @Test
+    public void testBind() {
+
+        //GIVEN
+        final JdbcSession session = new SessionRegistry(1000L, 10, clock::get).open();
+
+        //WHEN
+        JdbcSession.bind(session);
+
+        //THEN
+        assertSame(JdbcSession.current(), session);
+        JdbcSession.bind(null);
+        assertNull(JdbcSession.current());
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.db.server.transformer;
+
+import com.consol.citrus.db.driver.exchange.DatabaseResult;
+import com.consol.citrus.db.driver.exchange.DatabaseResultCodec;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import spark.Request;
+import spark.Response;
+import spark.Route;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class ContentNegotiationRouteTest {
+
+    private final DatabaseResult databaseResult = new DatabaseResult(42);
+
+    private JsonResponseTransformer jsonResponseTransformer;
+    private Request request;
+    private Response response;
+    private ContentNegotiationRoute route;
+
+    @BeforeMethod
+    public void setup() throws Exception {
+        final Route delegate = mock(Route.class);
+        jsonResponseTransformer = mock(JsonResponseTransformer.class);
+        request = mock(Request.class);
+        response = mock(Response.class);
+
+        when(delegate.handle(request, response)).thenReturn(databaseResult);
+        when(jsonResponseTransformer.render(databaseResult)).thenReturn("json");
+
+        route = new ContentNegotiationRoute(delegate, jsonResponseTransformer);
+    }
+
+    @Test
+    public void testJsonIsDefault() throws Exception {
+
+        //GIVEN
+        when(request.headers("Accept")).thenReturn(null);
+
+        //WHEN
+        final Object result = route.handle(request, response);
+
+        //THEN
+        assertEquals(result, "json");
+        verify(response, never()).type(any());
+    }
+
+    @Test
+    public void testBinaryRepresentation() throws Exception {
+
+        //GIVEN
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        final HttpServletResponse rawResponse = mock(HttpServletResponse.class);
+        when(rawResponse.getOutputStream()).thenReturn(new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(final WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(final int b) {
+                body.write(b);
+            }
+        });
+        when(response.raw()).thenReturn(rawResponse);
+        when(request.headers("Accept")).thenReturn(DatabaseResultCodec.CONTENT_TYPE + ", application/json;q=0.9");
+
+        //WHEN
+        final Object result = route.handle(request, response);
+
+        //THEN
+        assertEquals(result, "");
+        assertEquals(new DatabaseResultCodec().decode(body.toByteArray()), databaseResult);
+        verify(response).type(DatabaseResultCodec.CONTENT_TYPE);
+        verify(jsonResponseTransformer, never()).render(any());
+    }
+
+    @Test
+    public void testCachedResultIsRenderedOnce() throws Exception {
+
+        //GIVEN
+        final CachedDatabaseResult cachedResult = new CachedDatabaseResult(7);
+        final Route delegate = mock(Route.class);
+        when(delegate.handle(request, response)).thenReturn(cachedResult);
+        when(jsonResponseTransformer.renderBytes(cachedResult)).thenReturn("{}".getBytes(StandardCharsets.UTF_8));
+
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        final HttpServletResponse rawResponse = mock(HttpServletResponse.class);
+        when(rawResponse.getOutputStream()).thenReturn(new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(final WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(final int b) {
+                body.write(b);
+            }
+        });
+        when(response.raw()).thenReturn(rawResponse);
+        final ContentNegotiationRoute cachingRoute = new ContentNegotiationRoute(delegate, jsonResponseTransformer);
+
+        //WHEN
+        final Object first = cachingRoute.handle(request, response);
+        final Object second = cachingRoute.handle(request, response);
+
+        //THEN
+        assertEquals(first, "");
+        assertEquals(second, "");
+        assertEquals(body.toString(StandardCharsets.UTF_8.name()), "{}{}");
+        verify(jsonResponseTransformer, times(1)).renderBytes(cachedResult);
+        verify(rawResponse, times(2)).setContentLength(2);
+        verify(response, times(2)).type("application/json");
+    }
+
+    @Test
+    public void testAcceptsBinary() {
+        assertTrue(ContentNegotiationRoute.acceptsBinary(DatabaseResultCodec.CONTENT_TYPE));
+        assertTrue(ContentNegotiationRoute.acceptsBinary("application/json;q=0.5, " + DatabaseResultCodec.CONTENT_TYPE + ";q=1"));
+        assertFalse(ContentNegotiationRoute.acceptsBinary(DatabaseResultCodec.CONTENT_TYPE + ";q=0"));
+        assertFalse(ContentNegotiationRoute.acceptsBinary("*/*"));
+        assertFalse(ContentNegotiationRoute.acceptsBinary("application/json"));
+        assertFalse(ContentNegotiationRoute.acceptsBinary(null));
+    }
+}
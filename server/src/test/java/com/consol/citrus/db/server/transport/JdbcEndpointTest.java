@@ -0,0 +1,202 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.db.server.transport;
+
+import com.consol.citrus.db.driver.JdbcConnection;
+import com.consol.citrus.db.driver.exchange.DatabaseResult;
+import com.consol.citrus.db.driver.exchange.PreparedStatementCall;
+import com.consol.citrus.db.driver.exchange.StatementParameter;
+import com.consol.citrus.db.server.JdbcServerException;
+import com.consol.citrus.db.server.controller.JdbcController;
+import com.consol.citrus.db.server.handler.statement.PreparedStatementRegistry;
+import com.consol.citrus.db.server.session.JdbcSession;
+import com.consol.citrus.db.server.session.SessionRegistry;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.expectThrows;
+
+public class JdbcEndpointTest {
+
+    private JdbcController controllerMock;
+    private SessionRegistry sessions;
+    private JdbcEndpoint endpoint;
+
+    @BeforeMethod
+    public void setup() {
+        controllerMock = mock(JdbcController.class);
+        sessions = new SessionRegistry(1000L, 10);
+        endpoint = new JdbcEndpoint(controllerMock, sessions, new PreparedStatementRegistry(10));
+    }
+
+    @Test
+    public void testOpenConnection() throws Exception {
+
+        //GIVEN
+        final Map<String, String> expectedProperties = new HashMap<>();
+        expectedProperties.put("database", "testdb");
+        expectedProperties.put("someKey", "someValue");
+
+        //WHEN
+        final String sessionId = endpoint.openConnection("testdb", Collections.singletonMap("someKey", "someValue"));
+
+        //THEN
+        verify(controllerMock).openConnection(expectedProperties);
+        assertEquals(sessions.size(), 1);
+        assertEquals(sessions.resolve(sessionId).getId(), sessionId);
+        assertNull(JdbcSession.current());
+    }
+
+    @Test
+    public void testCloseConnection() throws Exception {
+
+        //GIVEN
+        final String sessionId = endpoint.openConnection("testdb", Collections.emptyMap());
+
+        //WHEN
+        endpoint.closeConnection(sessionId);
+
+        //THEN
+        verify(controllerMock).closeConnection();
+        assertEquals(sessions.size(), 0);
+    }
+
+    @Test
+    public void testEvictedSession() throws Exception {
+
+        //GIVEN
+        final String sessionId = endpoint.openConnection("testdb", Collections.emptyMap());
+        sessions.close(sessionId);
+
+        //WHEN
+        final SQLException exception = expectThrows(SQLException.class, () -> endpoint.executeQuery(sessionId, "SELECT 1"));
+
+        //THEN
+        assertEquals(exception.getSQLState(), JdbcConnection.UNKNOWN_SESSION_STATE);
+        verify(controllerMock, never()).executeQuery(any());
+        assertEquals(sessions.size(), 0);
+        assertNull(JdbcSession.current());
+    }
+
+    @Test
+    public void testSessionIsBoundDuringCall() throws Exception {
+
+        //GIVEN
+        final String sessionId = endpoint.openConnection("testdb", Collections.emptyMap());
+        final DatabaseResult expectedResult = new DatabaseResult(1);
+        final JdbcSession[] boundSession = new JdbcSession[1];
+        doAnswer(invocation -> {
+            boundSession[0] = JdbcSession.current();
+            return expectedResult;
+        }).when(controllerMock).executeQuery("SELECT 1");
+
+        //WHEN
+        final DatabaseResult result = endpoint.executeQuery(sessionId, "SELECT 1");
+
+        //THEN
+        assertSame(result, expectedResult);
+        assertSame(boundSession[0], sessions.resolve(sessionId));
+        assertNull(JdbcSession.current());
+    }
+
+    @Test
+    public void testStatementsAreCounted() throws Exception {
+
+        //GIVEN
+        final String sessionId = endpoint.openConnection("testdb", Collections.emptyMap());
+
+        //WHEN
+        endpoint.createStatement(sessionId);
+        endpoint.createCallableStatement(sessionId, "CALL foo()");
+        endpoint.closeStatement(sessionId);
+
+        //THEN
+        verify(controllerMock).createStatement();
+        verify(controllerMock).createCallableStatement("CALL foo()");
+        verify(controllerMock).closeStatement();
+        assertEquals(sessions.resolve(sessionId).getOpenStatements(), 1);
+    }
+
+    @Test
+    public void testPreparedStatementIsExecutedByHandle() throws Exception {
+
+        //GIVEN
+        final String sql = "SELECT * FROM users WHERE id = ?";
+        final String sessionId = endpoint.openConnection("testdb", Collections.emptyMap());
+        final String handle = endpoint.createPreparedStatement(sessionId, sql);
+        final PreparedStatementCall call = new PreparedStatementCall(sql,
+                Collections.singletonList(StatementParameter.indexed(1, 42)));
+
+        //WHEN
+        endpoint.executePreparedQuery(sessionId, handle, call);
+        endpoint.closePreparedStatement(sessionId, handle);
+
+        //THEN
+        verify(controllerMock).createPreparedStatement(sql);
+        verify(controllerMock).executePreparedQuery(call);
+        verify(controllerMock).closeStatement();
+        assertEquals(sessions.resolve(sessionId).getPreparedStatements().size(), 0);
+        assertEquals(sessions.resolve(sessionId).getOpenStatements(), 0);
+    }
+
+    @Test
+    public void testUnknownHandle() throws Exception {
+
+        //GIVEN
+        final String sessionId = endpoint.openConnection("testdb", Collections.emptyMap());
+        final PreparedStatementCall call = new PreparedStatementCall("SELECT 1", Collections.emptyList());
+
+        //WHEN
+        final SQLException exception =
+                expectThrows(SQLException.class, () -> endpoint.executePreparedUpdate(sessionId, "unknown", call));
+
+        //THEN
+        assertEquals(exception.getMessage(), "Unknown prepared statement handle: unknown");
+        verify(controllerMock, never()).executePreparedUpdate(any());
+    }
+
+    @Test
+    public void testControllerErrorIsSqlException() throws Exception {
+
+        //GIVEN
+        final String sessionId = endpoint.openConnection("testdb", Collections.emptyMap());
+        when(controllerMock.executeUpdate("DELETE")).thenThrow(new JdbcServerException("No rule matching"));
+
+        //WHEN
+        final SQLException exception =
+                expectThrows(SQLException.class, () -> endpoint.executeUpdate(sessionId, "DELETE"));
+
+        //THEN
+        assertEquals(exception.getMessage(), "No rule matching");
+        assertNull(JdbcSession.current());
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.db.server.transport;
+
+import com.consol.citrus.db.driver.exchange.DatabaseResult;
+import com.consol.citrus.db.driver.transport.JdbcTransport;
+import com.consol.citrus.db.driver.transport.TcpTransport;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.net.InetSocketAddress;
+import java.sql.SQLException;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.expectThrows;
+
+public class TcpListenerTest {
+
+    private JdbcTransport endpointMock;
+    private TcpListener listener;
+    private TcpTransport client;
+
+    @BeforeMethod
+    public void setup() throws Exception {
+        endpointMock = mock(JdbcTransport.class);
+        listener = new TcpListener(endpointMock, 0);
+        listener.start();
+        client = new TcpTransport("localhost", ((InetSocketAddress) listener.getAddress()).getPort(), 1, 5000);
+    }
+
+    @AfterMethod
+    public void teardown() {
+        client.close();
+        listener.close();
+    }
+
+    @Test
+    public void testResultWriteFailureIsAnswered() throws Exception {
+
+        //GIVEN
+        final DatabaseResult result = mock(DatabaseResult.class);
+        when(result.isDataSet()).thenThrow(new IllegalStateException("Broken result"));
+        when(endpointMock.executeQuery("session", "SELECT")).thenReturn(result);
+
+        //WHEN
+        final SQLException exception = expectThrows(SQLException.class, () -> client.executeQuery("session", "SELECT"));
+
+        //THEN
+        assertEquals(exception.getMessage(), "Broken result");
+    }
+}